@@ -1,6 +1,6 @@
 /*
  *
- * Copyright (c) 2016 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -113,4 +113,11 @@ public @interface NamedCache {
      * The class of the expiry policy factory used to create an expiry policy for the cache
      */
     Class expiryPolicyFactoryClass() default Object.class;
+
+    /**
+     * The maximum number of entries of the cache held locally for @CacheResult methods. Local entries are
+     * dropped when they are updated or removed on any member. 0 disables the near cache
+     * @return
+     */
+    int nearCacheSize() default 0;
 }
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2018-2020] Payara Foundation and/or affiliates
+// Portions Copyright [2018-2026] Payara Foundation and/or affiliates
 
 package org.glassfish.apf;
 
@@ -81,6 +81,17 @@ public interface Scanner<T> {
      */
     public Set<Class> getElements();
     
+    /**
+     * Return the names of the classes available from this location, without
+     * loading them. Together with {@link #getTypes()} this allows to only load
+     * the classes that need to be processed.
+     * @return the class names, or null if the classes are only available
+     * through {@link #getElements()}
+     */
+    default Set<String> getElementNames() {
+        return null;
+    }
+
     /**
      * Return a class instance available from this location from class name.
      *
@@ -37,15 +37,18 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation and/or affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or affiliates]
 
 package org.glassfish.apf.impl;
 
 import fish.payara.nucleus.hotdeploy.AnnotationProcessorState;
 import fish.payara.nucleus.hotdeploy.ApplicationState;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.EmptyStackException;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeMap;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Set;
@@ -71,6 +74,13 @@ import org.glassfish.apf.ResultType;
 import org.glassfish.apf.HandlerProcessingResult;
 import org.glassfish.apf.ProcessingResult;
 import org.glassfish.apf.Scanner;
+import org.glassfish.hk2.classmodel.reflect.AnnotationModel;
+import org.glassfish.hk2.classmodel.reflect.ClassModel;
+import org.glassfish.hk2.classmodel.reflect.FieldModel;
+import org.glassfish.hk2.classmodel.reflect.MethodModel;
+import org.glassfish.hk2.classmodel.reflect.Parameter;
+import org.glassfish.hk2.classmodel.reflect.Type;
+import org.glassfish.hk2.classmodel.reflect.Types;
 import java.util.logging.Level;
 
 /**
@@ -78,7 +88,16 @@ import java.util.logging.Level;
  * @author dochez
  */
 public class AnnotationProcessorImpl implements AnnotationProcessor {
-    
+
+    /**
+     * When true, classes which the class model shows to carry no annotation with a handler are not loaded for
+     * annotation processing. Defaults to false, loading all classes of the module
+     */
+    public static final String LAZY_CLASS_LOADING_PROPERTY = "fish.payara.deployment.annotation.lazyClassLoading";
+
+    private static final boolean LAZY_CLASS_LOADING =
+            Boolean.getBoolean(LAZY_CLASS_LOADING_PROPERTY);
+
     private AnnotationProcessorImpl delegate;
     private Map<String, List<AnnotationHandler>> handlers = new HashMap<String, List<AnnotationHandler>>();
     
@@ -86,6 +105,9 @@ public class AnnotationProcessorImpl implements AnnotationProcessor {
     private Logger logger;
     private Stack<StackElement> annotatedElements = new Stack<StackElement>();
     private Set<Package> visitedPackages = new HashSet<Package>();
+    private int skippedClasses;
+    // nanoseconds and invocations per annotation type, only recorded when logging at FINE
+    private Map<String, long[]> handlerTimes;
     
     /** Creates a new instance of AnnotationProcessorImpl */
     public AnnotationProcessorImpl() {
@@ -141,27 +163,152 @@ public class AnnotationProcessorImpl implements AnnotationProcessor {
         Scanner<Object> scanner = ctx.getProcessingInput();
         ProcessingResultImpl result;
         errorCount=0;
+        skippedClasses = 0;
+        handlerTimes = logger != null && logger.isLoggable(Level.FINE) ? new HashMap<>() : null;
+        long start = System.nanoTime();
 
+        Collection<Class> elements;
         if (state == null) {
             result = new ProcessingResultImpl();
-            for (Class c : scanner.getElements()) {
+            elements = getElements(scanner, null);
+            for (Class c : elements) {
                 result.add(process(ctx, c));
             }
         } else if (state.isInactive()) {
             result = new ProcessingResultImpl();
-            for (Class c : scanner.getElements()) {
+            elements = getElements(scanner, null);
+            for (Class c : elements) {
                 result.add(process(ctx, c));
             }
             processorState.ifPresent(s -> s.setProcessingResult(result));
         } else {
             result = processorState.get().getProcessingResult(ProcessingResultImpl.class);
-            for (Class modifiedClass : scanner.getElements(state.getClassesChanged().keySet())) {
+            elements = getElements(scanner, state.getClassesChanged().keySet());
+            for (Class modifiedClass : elements) {
                 result.add(process(ctx, modifiedClass));
             }
         }
 
+        if (handlerTimes != null) {
+            logHandlerTimes(ctx, elements.size(), System.nanoTime() - start);
+            handlerTimes = null;
+        }
         return result;
     }
+
+    /**
+     * Loads the classes to process. If enabled with {@link #LAZY_CLASS_LOADING_PROPERTY} and the scanner provides the
+     * class names along with the class model, a class is only loaded if the model shows an annotation with a handler
+     * on the class, its members, its superclasses or its package. Classes the model cannot fully account for are
+     * always loaded.
+     *
+     * @param scanner the scanner of the module
+     * @param classNames the classes to process, null for all classes of the scanner
+     * @return the loaded classes
+     */
+    private Collection<Class> getElements(Scanner<Object> scanner, Set<String> classNames) {
+        Set<String> names = scanner.getElementNames();
+        if (names != null && classNames != null) {
+            names = classNames;
+        }
+        Types types = LAZY_CLASS_LOADING && names != null ? scanner.getTypes() : null;
+        if (types == null) {
+            return classNames == null ? scanner.getElements() : scanner.getElements(classNames);
+        }
+        Set<String> required = new HashSet<>();
+        for (String className : names) {
+            if (requiresProcessing(types, scanner.getClassLoader(), className)) {
+                required.add(className);
+            } else {
+                skippedClasses++;
+            }
+        }
+        if (AnnotationUtils.shouldLog("types")) {
+            logger.log(Level.FINER, "Loading {0} of {1} classes for annotation processing",
+                    new Object[]{required.size(), names.size()});
+        }
+        return scanner.getElements(required);
+    }
+
+    private boolean requiresProcessing(Types types, ClassLoader loader, String className) {
+        Type type = types.getBy(className);
+        if (!(type instanceof ClassModel)) {
+            return true;
+        }
+        int packageEnd = className.lastIndexOf('.');
+        if (packageEnd > 0) {
+            Type packageInfo = types.getBy(className.substring(0, packageEnd) + ".package-info");
+            if (packageInfo != null && hasHandledAnnotation(packageInfo.getAnnotations())) {
+                return true;
+            }
+        }
+        ClassModel current = (ClassModel) type;
+        while (true) {
+            if (isAnnotated(current)) {
+                return true;
+            }
+            ClassModel parent = current.getParent();
+            if (parent == null) {
+                // the superclass is not in the model, only classes of the JDK are known to need no processing
+                try {
+                    String superclassName = SuperclassReader.getSuperclassName(loader, current.getName());
+                    return superclassName != null && !superclassName.startsWith("java.");
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.FINEST, "Unable to read superclass of " + current.getName(), e);
+                    return true;
+                }
+            }
+            current = parent;
+        }
+    }
+
+    private boolean isAnnotated(ClassModel type) {
+        if (hasHandledAnnotation(type.getAnnotations())) {
+            return true;
+        }
+        for (FieldModel field : type.getFields()) {
+            if (hasHandledAnnotation(field.getAnnotations())) {
+                return true;
+            }
+        }
+        for (MethodModel method : type.getMethods()) {
+            if (hasHandledAnnotation(method.getAnnotations())) {
+                return true;
+            }
+            for (Parameter parameter : method.getParameters()) {
+                if (hasHandledAnnotation(parameter.getAnnotations())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasHandledAnnotation(Collection<AnnotationModel> annotations) {
+        for (AnnotationModel annotation : annotations) {
+            if (hasHandler(annotation.getType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasHandler(String annotationType) {
+        return handlers.containsKey(annotationType) || (delegate != null && delegate.hasHandler(annotationType));
+    }
+
+    private void logHandlerTimes(ProcessingContext ctx, int processedClasses, long elapsed) {
+        StringBuilder breakdown = new StringBuilder();
+        for (Map.Entry<String, long[]> handlerTime : new TreeMap<>(handlerTimes).entrySet()) {
+            breakdown.append("\n  ").append(handlerTime.getKey())
+                    .append(": ").append(handlerTime.getValue()[0] / 1000_000).append(" ms, ")
+                    .append(handlerTime.getValue()[1]).append(" invocations");
+        }
+        String archiveName = ctx.getArchive() == null ? null : ctx.getArchive().getName();
+        logger.log(Level.FINE, "Annotation processing of {0} took {1} ms, {2} classes processed, {3} classes not loaded."
+                + " Time spent per annotation handler, including nested processing:{4}",
+                new Object[]{archiveName, elapsed / 1000_000, processedClasses, skippedClasses, breakdown});
+    }
     
     /**
      * Process a set of classes from the parameter list rather than from the 
@@ -330,6 +477,13 @@ public class AnnotationProcessorImpl implements AnnotationProcessor {
     private void process(ProcessingContext ctx, AnnotationInfo element, HandlerProcessingResultImpl result) 
         throws AnnotationProcessorException 
     {
+        process(ctx, element, result, handlerTimes);
+    }
+
+    private void process(ProcessingContext ctx, AnnotationInfo element, HandlerProcessingResultImpl result,
+            Map<String, long[]> times)
+        throws AnnotationProcessorException 
+    {
         
         
         Annotation annotation = element.getAnnotation();
@@ -362,7 +516,7 @@ public class AnnotationProcessorImpl implements AnnotationProcessor {
                             if (resultType==null || resultType==ResultType.UNPROCESSED){
                                 // annotation is present, process it.
                                 AnnotationInfo info = new AnnotationInfo(ctx, ae, depAnnotation, getTopElementType());
-                                process(ctx, info, result);
+                                process(ctx, info, result, times);
                             }
                         }
                     }
@@ -371,6 +525,7 @@ public class AnnotationProcessorImpl implements AnnotationProcessor {
                 // at this point, all annotation that I declared depending on
                 // are processed
                 HandlerProcessingResult processingResult = null;
+                long handlerStart = times == null ? 0 : System.nanoTime();
                 try {
                     processingResult = handler.processAnnotation(element);
                 } catch(AnnotationProcessorException ape) {
@@ -396,12 +551,18 @@ public class AnnotationProcessorImpl implements AnnotationProcessor {
                     AnnotationProcessorException ape = new AnnotationProcessorException(e.getMessage(), element);
                     ape.initCause(e);
                     throw ape;
+                } finally {
+                    if (times != null) {
+                        long[] time = times.computeIfAbsent(annotation.annotationType().getName(), k -> new long[2]);
+                        time[0] += System.nanoTime() - handlerStart;
+                        time[1]++;
+                    }
                 }
                 result.addAll(processingResult);
             }
         } else {
             if (delegate!=null) {
-                delegate.process(ctx, element, result);
+                delegate.process(ctx, element, result, times);
             } else {           
                 ctx.getErrorHandler().fine(new AnnotationProcessorException("No handler defined for " + annotation.annotationType()));
             }
@@ -0,0 +1,85 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.apf.impl;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SuperclassReaderTest {
+
+    private final ClassLoader loader = getClass().getClassLoader();
+
+    @Test
+    public void readsDirectSuperclass() throws IOException {
+        assertEquals(Base.class.getName(), SuperclassReader.getSuperclassName(loader, Derived.class.getName()));
+        assertEquals(Object.class.getName(), SuperclassReader.getSuperclassName(loader, Base.class.getName()));
+    }
+
+    @Test
+    public void objectHasNoSuperclass() throws IOException {
+        assertNull(SuperclassReader.getSuperclassName(loader, Object.class.getName()));
+    }
+
+    @Test(expected = IOException.class)
+    public void missingClassFileFails() throws IOException {
+        SuperclassReader.getSuperclassName(loader, "org.glassfish.apf.impl.DoesNotExist");
+    }
+
+    static class Base {
+    }
+
+    // constants of all sizes and a lambda, so that the constant pool holds two slot and dynamic entries
+    static class Derived extends Base implements Supplier<String> {
+        static final long LONG = 1234567890123L;
+        static final double DOUBLE = 3.25d;
+        static final float FLOAT = 1.5f;
+        static final int INT = 123456789;
+
+        @Override
+        public String get() {
+            Supplier<String> nested = () -> "value" + LONG + DOUBLE + FLOAT + INT;
+            return nested.get();
+        }
+    }
+}
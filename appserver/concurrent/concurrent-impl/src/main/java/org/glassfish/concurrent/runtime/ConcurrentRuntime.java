@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2022] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package org.glassfish.concurrent.runtime;
 
@@ -45,6 +45,8 @@ import com.sun.enterprise.config.serverbeans.Applications;
 import com.sun.enterprise.container.common.spi.util.ComponentEnvManager;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.util.Utility;
+import org.glassfish.api.event.EventListener;
+import org.glassfish.api.event.Events;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.concurrent.LogFacade;
 import org.glassfish.concurrent.runtime.deployer.ContextServiceConfig;
@@ -53,6 +55,7 @@ import org.glassfish.concurrent.runtime.deployer.ManagedScheduledExecutorService
 import org.glassfish.concurrent.runtime.deployer.ManagedThreadFactoryConfig;
 import org.glassfish.hk2.api.PostConstruct;
 import org.glassfish.hk2.api.PreDestroy;
+import org.glassfish.internal.data.ApplicationInfo;
 import org.glassfish.internal.data.ApplicationRegistry;
 import org.glassfish.internal.deployment.Deployment;
 import org.glassfish.resourcebase.resources.api.ResourceInfo;
@@ -85,7 +88,7 @@ import org.glassfish.resourcebase.resources.naming.ResourceNamingService;
  */
 @Service
 @Singleton
-public class ConcurrentRuntime implements PostConstruct, PreDestroy {
+public class ConcurrentRuntime implements PostConstruct, PreDestroy, EventListener {
 
     private static ConcurrentRuntime _runtime;
 
@@ -125,6 +128,9 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
     @Inject
     private ResourceNamingService resourceNamingService;
 
+    @Inject
+    private Events events;
+
     /**
      * Returns the ConcurrentRuntime instance.
      * It follows singleton pattern and only one instance exists at any point
@@ -465,11 +471,23 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
 
     @Override
     public void postConstruct() {
+        events.register(this);
     }
 
     @Override
     public void preDestroy() {
         // TODO shut down objects here
+        events.unregister(this);
+    }
+
+    @Override
+    public void event(Event<?> event) {
+        // cached thread context providers would keep the classes of the application loaded
+        Deployment.APPLICATION_UNLOADED.onMatch(event, this::invalidateThreadContextProviders);
+    }
+
+    private void invalidateThreadContextProviders(ApplicationInfo appInfo) {
+        ThreadContextProviders.invalidate(appInfo.getAppClassLoader());
     }
 
     class HungTasksLogger implements Runnable {
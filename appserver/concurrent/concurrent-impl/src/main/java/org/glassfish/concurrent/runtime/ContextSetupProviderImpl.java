@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2023] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package org.glassfish.concurrent.runtime;
 
@@ -80,13 +80,10 @@ import io.opentracing.propagation.Format;
 import jakarta.enterprise.concurrent.ContextServiceDefinition;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.glassfish.internal.api.Globals;
@@ -118,7 +115,10 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
     private final Set<String> contextPropagate;
     private final Set<String> contextClear;
     private final Set<String> contextUnchanged;
-    private Map<String, ThreadContextProvider> allThreadContextProviders = null;
+    /**
+     * Identifies this configuration in the plans cached by {@link ThreadContextProviders}.
+     */
+    private transient List<Set<String>> planKey;
     /**
      * Points to the context, which contains ALL_REMAINING.
      */
@@ -166,6 +166,7 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
         addToRemainingIfNotPresent(CONTEXT_TYPE_WORKAREA);
 
         initialiseServices();
+        planKey = createPlanKey();
 
         for (String contextType : contextPropagate) {
             switch (contextType) {
@@ -196,56 +197,31 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
         ClassLoader contextClassloader = null;
         SecurityContext currentSecurityContext = null;
         ComponentInvocation savedInvocation = null;
+        ClassLoader currentClassLoader = Utility.getClassLoader();
         if (classloading) {
-            contextClassloader = Utility.getClassLoader();
+            contextClassloader = currentClassLoader;
         }
         if (security) {
             currentSecurityContext = SecurityContext.getCurrent();
         }
 
-        // TODO: put initialization of providers to better place; caching is a problem due to different classloaders
-        allThreadContextProviders = new HashMap<>();
-        for (ThreadContextProvider service : ServiceLoader.load(jakarta.enterprise.concurrent.spi.ThreadContextProvider.class, Utility.getClassLoader())) {
-            String serviceName = service.getThreadContextType();
-            if (contextPropagate.contains(serviceName) || contextClear.contains(serviceName) || contextUnchanged.contains(serviceName)) {
-                allThreadContextProviders.put(serviceName, service);
-            } else {
-                if (allRemaining != null) {
-                    allRemaining.add(serviceName);
-                    allThreadContextProviders.put(serviceName, service);
-                }
-            }
-        }
-        // check, if there is no unexpected provider name
-        Set<String> verifiedContextPropagate = filterVerifiedProviders(contextPropagate);
-        Set<String> verifiedContextClear = filterVerifiedProviders(contextClear);
-        Set<String> verifiedContextUnchanged = filterVerifiedProviders(contextUnchanged);
+        // providers differ between applications, so the plan is resolved for the class loader of the caller
+        ContextPlan plan = ThreadContextProviders.forClassLoader(currentClassLoader).getPlan(planKey, this::createPlan);
 
         ComponentInvocation currentInvocation = invocationManager.getCurrentInvocation();
         if (currentInvocation != null) {
-            if (verifiedContextPropagate.contains(CONTEXT_TYPE_NAMING)) {
+            if (plan.propagateNaming) {
                 savedInvocation = createComponentInvocation(currentInvocation);
             }
-            if (verifiedContextClear.contains(CONTEXT_TYPE_NAMING)) {
+            if (plan.clearNaming) {
                 savedInvocation = new ComponentInvocation();
             }
         }
         boolean useTransactionOfExecutionThread = (transactionManager == null && useTransactionOfExecutionThread(contextObjectProperties))
-                || verifiedContextUnchanged.contains(CONTEXT_TYPE_WORKAREA);
+                || plan.workAreaUnchanged;
 
         // store the snapshots of the current state
-        List<ThreadContextSnapshot> threadContextSnapshots = new ArrayList<>();
-        // remember values from propagate and clear lists
-        verifiedContextPropagate.stream()
-                .map((provider) -> allThreadContextProviders.get(provider))
-                .filter(snapshot -> snapshot != null) // ignore standard providers like CONTEXT_TYPE_CLASSLOADING
-                .map(snapshot -> snapshot.currentContext(contextObjectProperties))
-                .forEach(snapshot -> threadContextSnapshots.add(snapshot));
-        verifiedContextClear.stream()
-                .map((provider) -> allThreadContextProviders.get(provider))
-                .filter(snapshot -> snapshot != null)
-                .map(snapshot -> snapshot.clearedContext(contextObjectProperties))
-                .forEach(snapshot -> threadContextSnapshots.add(snapshot));
+        List<ThreadContextSnapshot> threadContextSnapshots = plan.snapshot(contextObjectProperties);
 
         return new InvocationContext(savedInvocation, contextClassloader, currentSecurityContext, useTransactionOfExecutionThread,
                 threadContextSnapshots, Collections.EMPTY_LIST);
@@ -322,10 +298,12 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
 
         // execute thread contexts snapshots to begin
         List<ThreadContextRestorer> restorers = Collections.EMPTY_LIST;
-        if (handle.getThreadContextSnapshots() != null) {
-            restorers = handle.getThreadContextSnapshots().stream()
-                    .map((ThreadContextSnapshot snapshot) -> snapshot.begin())
-                    .collect(Collectors.toList());
+        List<ThreadContextSnapshot> snapshots = handle.getThreadContextSnapshots();
+        if (snapshots != null && !snapshots.isEmpty()) {
+            restorers = new ArrayList<>(snapshots.size());
+            for (ThreadContextSnapshot snapshot : snapshots) {
+                restorers.add(snapshot.begin());
+            }
         }
 
         return new InvocationContext(invocation, resetClassLoader, resetSecurityContext, handle.isUseTransactionOfExecutionThread(),
@@ -456,7 +434,55 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
         return ManagedTask.SUSPEND;
     }
 
-    private Set<String> filterVerifiedProviders(Set<String> providers) {
+    /**
+     * Resolves the configured context types against the providers visible to an application.
+     */
+    private ContextPlan createPlan(Map<String, ThreadContextProvider> providers) {
+        // work on copies, providers of one application must not leak into the plans of another
+        Set<String> propagate = new HashSet<>(contextPropagate);
+        Set<String> clear = new HashSet<>(contextClear);
+        Set<String> unchanged = new HashSet<>(contextUnchanged);
+        Set<String> remaining = propagate;
+        if (allRemaining == contextClear) {
+            remaining = clear;
+        } else if (allRemaining == contextUnchanged) {
+            remaining = unchanged;
+        }
+        for (String serviceName : providers.keySet()) {
+            if (!(propagate.contains(serviceName) || clear.contains(serviceName) || unchanged.contains(serviceName))) {
+                remaining.add(serviceName);
+            }
+        }
+        // check, if there is no unexpected provider name
+        Set<String> verifiedContextPropagate = filterVerifiedProviders(propagate, providers);
+        Set<String> verifiedContextClear = filterVerifiedProviders(clear, providers);
+        Set<String> verifiedContextUnchanged = filterVerifiedProviders(unchanged, providers);
+
+        return new ContextPlan(
+                selectProviders(verifiedContextPropagate, providers),
+                selectProviders(verifiedContextClear, providers),
+                verifiedContextPropagate.contains(CONTEXT_TYPE_NAMING),
+                verifiedContextClear.contains(CONTEXT_TYPE_NAMING),
+                verifiedContextUnchanged.contains(CONTEXT_TYPE_WORKAREA));
+    }
+
+    private static List<ThreadContextProvider> selectProviders(Set<String> contextTypes, Map<String, ThreadContextProvider> providers) {
+        List<ThreadContextProvider> selected = new ArrayList<>();
+        for (String contextType : contextTypes) {
+            ThreadContextProvider provider = providers.get(contextType);
+            // ignore standard providers like CONTEXT_TYPE_CLASSLOADING
+            if (provider != null) {
+                selected.add(provider);
+            }
+        }
+        return selected;
+    }
+
+    private List<Set<String>> createPlanKey() {
+        return List.of(Set.copyOf(contextPropagate), Set.copyOf(contextClear), Set.copyOf(contextUnchanged));
+    }
+
+    private Set<String> filterVerifiedProviders(Set<String> providers, Map<String, ThreadContextProvider> allThreadContextProviders) {
         HashSet<String> filtered = new HashSet<>();
         Iterator<String> providerIter = providers.iterator();
         while (providerIter.hasNext()) {
@@ -506,6 +532,43 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
             transactionManager = concurrentRuntime.getTransactionManager();
         }
         initialiseServices();
+        planKey = createPlanKey();
+    }
+
+    /**
+     * What to capture from the submitting thread for one {@link ContextService} configuration, computed once per
+     * set of available {@link ThreadContextProvider}s.
+     */
+    static final class ContextPlan {
+        private final ThreadContextProvider[] propagated;
+        private final ThreadContextProvider[] cleared;
+        final boolean propagateNaming;
+        final boolean clearNaming;
+        final boolean workAreaUnchanged;
+
+        ContextPlan(List<ThreadContextProvider> propagated, List<ThreadContextProvider> cleared,
+                boolean propagateNaming, boolean clearNaming, boolean workAreaUnchanged) {
+            this.propagated = propagated.toArray(new ThreadContextProvider[0]);
+            this.cleared = cleared.toArray(new ThreadContextProvider[0]);
+            this.propagateNaming = propagateNaming;
+            this.clearNaming = clearNaming;
+            this.workAreaUnchanged = workAreaUnchanged;
+        }
+
+        List<ThreadContextSnapshot> snapshot(Map<String, String> contextObjectProperties) {
+            if (propagated.length == 0 && cleared.length == 0) {
+                return Collections.emptyList();
+            }
+            // remember values from propagate and clear lists
+            List<ThreadContextSnapshot> snapshots = new ArrayList<>(propagated.length + cleared.length);
+            for (ThreadContextProvider provider : propagated) {
+                snapshots.add(provider.currentContext(contextObjectProperties));
+            }
+            for (ThreadContextProvider provider : cleared) {
+                snapshots.add(provider.clearedContext(contextObjectProperties));
+            }
+            return snapshots;
+        }
     }
 
     private static class PairKey {
@@ -0,0 +1,202 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.concurrent.runtime;
+
+import jakarta.enterprise.concurrent.spi.ThreadContextProvider;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The {@link ThreadContextProvider}s visible from a class loader, together with the context capture plans that
+ * {@link ContextSetupProviderImpl} computed for them.
+ * <p>
+ * Looking the providers up with the {@link ServiceLoader} on every task submission is expensive, so they are
+ * resolved once per class loader. Entries are removed by {@link ConcurrentRuntime} when the application owning
+ * the class loader is unloaded. The class loaders are only weakly referenced, so that those of applications which
+ * are never unloaded, for example because their deployment failed, can still be collected. This does not hold for
+ * a class loader that defines one of the providers itself, which its entry then keeps reachable.
+ */
+final class ThreadContextProviders {
+
+    private static final ConcurrentMap<ClassLoaderKey, ThreadContextProviders> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ClassLoader> COLLECTED = new ReferenceQueue<>();
+
+    private final Map<String, ThreadContextProvider> providers;
+    private final ConcurrentMap<Object, ContextSetupProviderImpl.ContextPlan> plans = new ConcurrentHashMap<>();
+
+    private ThreadContextProviders(ClassLoader classLoader) {
+        Map<String, ThreadContextProvider> found = new LinkedHashMap<>();
+        for (ThreadContextProvider provider : ServiceLoader.load(ThreadContextProvider.class, classLoader)) {
+            found.put(provider.getThreadContextType(), provider);
+        }
+        this.providers = Collections.unmodifiableMap(found);
+    }
+
+    /**
+     * @param classLoader the class loader to look the providers up from
+     * @return the providers visible from the given class loader, resolved on first use
+     */
+    static ThreadContextProviders forClassLoader(ClassLoader classLoader) {
+        ThreadContextProviders cached = CACHE.get(new LookupKey(classLoader));
+        if (cached == null) {
+            removeCollected();
+            cached = CACHE.computeIfAbsent(new WeakKey(classLoader), key -> new ThreadContextProviders(classLoader));
+        }
+        return cached;
+    }
+
+    /**
+     * Removes the entries of the given class loader and of all class loaders delegating to it.
+     *
+     * @param classLoader class loader of an application that is being unloaded
+     */
+    static void invalidate(ClassLoader classLoader) {
+        if (classLoader != null) {
+            CACHE.keySet().removeIf(key -> {
+                ClassLoader cached = key.get();
+                return cached == null || isSameOrChild(cached, classLoader);
+            });
+        }
+    }
+
+    private static void removeCollected() {
+        for (Reference<? extends ClassLoader> collected = COLLECTED.poll(); collected != null; collected = COLLECTED.poll()) {
+            CACHE.remove(collected);
+        }
+    }
+
+    Map<String, ThreadContextProvider> getProviders() {
+        return providers;
+    }
+
+    /**
+     * @param key the configuration the plan is computed for
+     * @param factory computes the plan from the providers if there is none for the key yet
+     * @return the plan for the given configuration
+     */
+    ContextSetupProviderImpl.ContextPlan getPlan(Object key,
+            Function<Map<String, ThreadContextProvider>, ContextSetupProviderImpl.ContextPlan> factory) {
+        ContextSetupProviderImpl.ContextPlan plan = plans.get(key);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(key, k -> factory.apply(providers));
+        }
+        return plan;
+    }
+
+    /**
+     * Key comparing class loaders by identity, so that a {@link LookupKey} finds the entry of a {@link WeakKey}
+     */
+    private interface ClassLoaderKey {
+
+        ClassLoader get();
+
+        static boolean equals(ClassLoaderKey key, Object other) {
+            if (key == other) {
+                return true;
+            }
+            if (!(other instanceof ClassLoaderKey)) {
+                return false;
+            }
+            ClassLoader classLoader = key.get();
+            return classLoader != null && classLoader == ((ClassLoaderKey) other).get();
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<ClassLoader> implements ClassLoaderKey {
+
+        private final int hash;
+
+        WeakKey(ClassLoader classLoader) {
+            super(classLoader, COLLECTED);
+            this.hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return ClassLoaderKey.equals(this, other);
+        }
+    }
+
+    private static final class LookupKey implements ClassLoaderKey {
+
+        private final ClassLoader classLoader;
+
+        LookupKey(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public ClassLoader get() {
+            return classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return ClassLoaderKey.equals(this, other);
+        }
+    }
+
+    private static boolean isSameOrChild(ClassLoader candidate, ClassLoader parent) {
+        for (ClassLoader current = candidate; current != null; current = current.getParent()) {
+            if (current == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.concurrent.runtime;
+
+import com.sun.enterprise.transaction.api.JavaEETransactionManager;
+import jakarta.enterprise.concurrent.spi.ThreadContextProvider;
+import jakarta.enterprise.concurrent.spi.ThreadContextRestorer;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class ContextSetupProviderImplTest {
+
+    /**
+     * Set to true to run {@link #benchmarkSubmitToRunLatency()}.
+     */
+    private static final String BENCHMARK_PROPERTY = "concurrent.benchmark";
+
+    private static final Logger LOGGER = Logger.getLogger(ContextSetupProviderImplTest.class.getName());
+
+    private ClassLoader classLoader;
+    private InvocationManager invocationManager;
+
+    @Before
+    public void before() {
+        classLoader = Thread.currentThread().getContextClassLoader();
+        invocationManager = createNiceMock(InvocationManager.class);
+        replay(invocationManager);
+        CountingContextProvider.reset();
+    }
+
+    @After
+    public void after() {
+        ThreadContextProviders.invalidate(classLoader);
+    }
+
+    @Test
+    public void testProvidersAreCachedPerClassLoader() {
+        ThreadContextProviders providers = ThreadContextProviders.forClassLoader(classLoader);
+        assertTrue(providers.getProviders().containsKey(CountingContextProvider.TYPE));
+        assertSame(providers, ThreadContextProviders.forClassLoader(classLoader));
+
+        ThreadContextProviders.invalidate(classLoader);
+        assertNotSame(providers, ThreadContextProviders.forClassLoader(classLoader));
+    }
+
+    @Test
+    public void testInvalidateRemovesChildClassLoaders() throws Exception {
+        try (URLClassLoader child = new URLClassLoader(new URL[0], classLoader)) {
+            ThreadContextProviders childProviders = ThreadContextProviders.forClassLoader(child);
+            ThreadContextProviders.invalidate(classLoader);
+            assertNotSame(childProviders, ThreadContextProviders.forClassLoader(child));
+            ThreadContextProviders.invalidate(child);
+        }
+    }
+
+    @Test
+    public void testClassLoaderIsNotRetained() throws Exception {
+        URLClassLoader child = new URLClassLoader(new URL[0], classLoader);
+        ThreadContextProviders.forClassLoader(child);
+        WeakReference<ClassLoader> reference = new WeakReference<>(child);
+        child.close();
+        child = null;
+
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testRemainingProviderIsPropagated() {
+        ContextSetupProviderImpl contextSetupProvider = createContextSetupProvider(
+                Collections.emptySet(), Collections.emptySet());
+
+        for (int i = 0; i < 3; i++) {
+            ContextHandle handle = contextSetupProvider.saveContext(null);
+            contextSetupProvider.reset(contextSetupProvider.setup(handle));
+        }
+        assertEquals(3, CountingContextProvider.CAPTURED.get());
+        assertEquals(0, CountingContextProvider.CLEARED.get());
+        assertEquals(3, CountingContextProvider.ENDED.get());
+    }
+
+    @Test
+    public void testClearedProvider() {
+        ContextSetupProviderImpl contextSetupProvider = createContextSetupProvider(
+                Collections.singleton(CountingContextProvider.TYPE), Collections.emptySet());
+
+        contextSetupProvider.reset(contextSetupProvider.setup(contextSetupProvider.saveContext(null)));
+        assertEquals(0, CountingContextProvider.CAPTURED.get());
+        assertEquals(1, CountingContextProvider.CLEARED.get());
+        assertEquals(1, CountingContextProvider.ENDED.get());
+    }
+
+    @Test
+    public void testPlanIsRecomputedAfterInvalidation() {
+        ContextSetupProviderImpl contextSetupProvider = createContextSetupProvider(
+                Collections.emptySet(), Collections.singleton(CountingContextProvider.TYPE));
+
+        contextSetupProvider.reset(contextSetupProvider.setup(contextSetupProvider.saveContext(null)));
+        ThreadContextProviders.invalidate(classLoader);
+        contextSetupProvider.reset(contextSetupProvider.setup(contextSetupProvider.saveContext(null)));
+        assertEquals(0, CountingContextProvider.CAPTURED.get());
+        assertEquals(2, CountingContextProvider.INSTANCES.get());
+    }
+
+    /**
+     * Measures the time from submitting a task to a managed executor until the task starts running, with the
+     * thread context providers cached and with them resolved again for every task, as it was done before they
+     * were cached. Run with {@code -Dconcurrent.benchmark=true}.
+     */
+    @Test
+    public void benchmarkSubmitToRunLatency() throws Exception {
+        assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+        JavaEETransactionManager transactionManager = createNiceMock(JavaEETransactionManager.class);
+        replay(transactionManager);
+        ContextServiceImpl contextService = new ContextServiceImpl("concurrent/benchmarkContextService",
+                createContextSetupProvider(Collections.emptySet(), Collections.emptySet()),
+                new TransactionSetupProviderImpl(transactionManager, false, false));
+        ManagedExecutorServiceImpl executor = new ManagedExecutorServiceImpl("concurrent/benchmarkExecutor",
+                new ManagedThreadFactoryImpl("concurrent/benchmarkThreadFactory"),
+                0L, false, false, 1, 1, 60L, TimeUnit.SECONDS, 0L, Integer.MAX_VALUE,
+                contextService, AbstractManagedExecutorService.RejectPolicy.ABORT);
+        try {
+            int iterations = Integer.getInteger(BENCHMARK_PROPERTY + ".iterations", 20_000);
+            measure(executor, iterations, false);
+            measure(executor, iterations, true);
+            LOGGER.log(Level.INFO, "Submit to run latency with cached providers: {0}", measure(executor, iterations, false));
+            LOGGER.log(Level.INFO, "Submit to run latency without cached providers: {0}", measure(executor, iterations, true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String measure(ManagedExecutorServiceImpl executor, int iterations, boolean invalidate) throws Exception {
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            if (invalidate) {
+                ThreadContextProviders.invalidate(classLoader);
+            }
+            long submitted = System.nanoTime();
+            latencies[i] = executor.submit(System::nanoTime).get() - submitted;
+        }
+        Arrays.sort(latencies);
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        return String.format("mean %d ns, p50 %d ns, p99 %d ns", total / iterations,
+                latencies[iterations / 2], latencies[(int) (iterations * 0.99)]);
+    }
+
+    private ContextSetupProviderImpl createContextSetupProvider(Set<String> cleared, Set<String> unchanged) {
+        return new ContextSetupProviderImpl(invocationManager, null, null, null, null, null,
+                Set.of(ContextSetupProviderImpl.CONTEXT_TYPE_CLASSLOADING), cleared,
+                union(unchanged, ContextSetupProviderImpl.CONTEXT_TYPE_SECURITY));
+    }
+
+    private static Set<String> union(Set<String> set, String element) {
+        Set<String> result = new HashSet<>(set);
+        result.add(element);
+        return result;
+    }
+
+    public static class CountingContextProvider implements ThreadContextProvider {
+
+        static final String TYPE = "Counting";
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+        static final AtomicInteger CAPTURED = new AtomicInteger();
+        static final AtomicInteger CLEARED = new AtomicInteger();
+        static final AtomicInteger ENDED = new AtomicInteger();
+
+        public CountingContextProvider() {
+            INSTANCES.incrementAndGet();
+        }
+
+        static void reset() {
+            INSTANCES.set(0);
+            CAPTURED.set(0);
+            CLEARED.set(0);
+            ENDED.set(0);
+        }
+
+        @Override
+        public ThreadContextSnapshot currentContext(Map<String, String> props) {
+            CAPTURED.incrementAndGet();
+            return this::begin;
+        }
+
+        @Override
+        public ThreadContextSnapshot clearedContext(Map<String, String> props) {
+            CLEARED.incrementAndGet();
+            return this::begin;
+        }
+
+        @Override
+        public String getThreadContextType() {
+            return TYPE;
+        }
+
+        private ThreadContextRestorer begin() {
+            return ENDED::incrementAndGet;
+        }
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation and/or its affiliates.]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates.]
 
 package com.sun.enterprise.deployment.annotation.impl;
 
@@ -55,6 +55,7 @@ import org.glassfish.api.deployment.archive.ReadableArchive;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.List;
@@ -282,6 +283,11 @@ public abstract class ModuleScanner<T> extends JavaEEScanner implements Scanner<
         return getElements(entries);
     }
 
+    @Override
+    public Set<String> getElementNames() {
+        return Collections.unmodifiableSet(entries);
+    }
+
     @Override
     public Set<Class> getElements(Set<String> classNames) {
         Set<Class> elements = new HashSet<>();
@@ -1,7 +1,7 @@
 /*
  *    DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- *    Copyright (c) [2019-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ *    Copyright (c) [2019-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  *    The contents of this file are subject to the terms of either the GNU
  *    General Public License Version 2 only ("GPL") or the Common Development
@@ -56,6 +56,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Arrays.asList;
 import static javax.naming.Context.SECURITY_CREDENTIALS;
@@ -67,6 +68,7 @@ final class EjbHttpProxyHandlerV1 implements InvocationHandler {
     private final WebTarget invoke;
     private final String jndiName;
     private final Map<String, Object> jndiOptions;
+    private final Map<Method, String[]> argTypeNames = new ConcurrentHashMap<>();
 
     public EjbHttpProxyHandlerV1(String mediaType, WebTarget invoke, String jndiName, Map<String, Object> jndiOptions) {
         this.jndiName = jndiName;
@@ -113,9 +115,7 @@ final class EjbHttpProxyHandlerV1 implements InvocationHandler {
         String credentials = jndiOptions.containsKey(SECURITY_CREDENTIALS)
                 ? Lookup.base64Encode(jndiOptions.get(SECURITY_CREDENTIALS))
                 : "";
-        String[] argTypes = asList(method.getParameterTypes()).stream()
-                .map(type -> type.getName())
-                .toArray(String[]::new);
+        String[] argTypes = argTypeNames.computeIfAbsent(method, EjbHttpProxyHandlerV1::toTypeNames);
         String[] argActualTypes = args == null ? new String[0] : asList(args).stream()
                 .map(arg -> arg == null ? null : arg.getClass().getName())
                 .toArray(String[]::new);
@@ -128,6 +128,12 @@ final class EjbHttpProxyHandlerV1 implements InvocationHandler {
                 packArguments(args), null);
     }
 
+    private static String[] toTypeNames(Method method) {
+        return asList(method.getParameterTypes()).stream()
+                .map(type -> type.getName())
+                .toArray(String[]::new);
+    }
+
     private Object packArguments(Object[] args) {
         Object argValues = args;
         if (MediaTypes.JAVA_OBJECT.equals(mediaType)) {
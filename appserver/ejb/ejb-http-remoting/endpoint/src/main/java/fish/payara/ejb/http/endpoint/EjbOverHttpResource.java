@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2019-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -49,6 +49,8 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 import jakarta.json.bind.JsonbBuilder;
@@ -66,6 +68,10 @@ import org.glassfish.internal.api.Globals;
 import org.glassfish.internal.data.ApplicationInfo;
 import org.glassfish.internal.data.ApplicationRegistry;
 
+import com.sun.enterprise.deployment.Application;
+import com.sun.enterprise.deployment.EjbBundleDescriptor;
+import com.sun.enterprise.deployment.EjbDescriptor;
+import com.sun.enterprise.deployment.EjbSessionDescriptor;
 import com.sun.enterprise.security.ee.auth.login.ProgrammaticLogin;
 
 import fish.payara.ejb.http.protocol.ErrorResponse; 
@@ -81,23 +87,22 @@ public class EjbOverHttpResource {
     private static final String INVOKER_V1_REL = "https://payara.fish/ejb-http-invoker/v1";
     private static final String INVOKER_V0_REL = "https://payara.fish/ejb-http-invoker/v0";
 
+    /**
+     * Resolved invocations per EJB class, keyed by the declared signature. Only signatures of existing business methods
+     * are added, so the number of plans is bounded by the methods of the class. Keeping them with the class means they
+     * are discarded together with the application's classes on undeployment.
+     */
+    private static final ClassValue<Map<String, InvocationPlan>> INVOCATION_PLANS = new ClassValue<Map<String, InvocationPlan>>() {
+        @Override
+        protected Map<String, InvocationPlan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private final EjbOverHttpService service;
 
     public EjbOverHttpResource() {
-        this(new EjbOverHttpService() {
-
-            @Override
-            public Object getBean(String jndiName) throws NamingException {
-                return new InitialContext().lookup(jndiName);
-            }
-
-            @Override
-            public ClassLoader getAppClassLoader(String applicationName) {
-                ApplicationRegistry registry = Globals.get(ApplicationRegistry.class);
-                ApplicationInfo info = registry.get(applicationName);
-                return info == null ? null : info.getAppClassLoader();
-            }
-        });
+        this(new ServerEjbOverHttpService());
     }
 
     public EjbOverHttpResource(EjbOverHttpService backend) {
@@ -219,17 +224,28 @@ public class EjbOverHttpResource {
             if (!request.principal.isEmpty()) {
                 new ProgrammaticLogin().login(base64Decode(request.principal), base64Decode(request.credentials), null, true);
             }
-            Class<?>[] argTypes = toClasses(request.argTypes);
-            Class<?>[] argActualTypes = toClasses(request.argActualTypes);
-            Method method = findBusinessMethodDeclaration(ejb, request.method, argTypes);
-            Object result = method.invoke(ejb,
-                    request.argDeserializer.deserialise(request.argValues, method, argActualTypes,
+            InvocationPlan plan = getInvocationPlan(ejb, request);
+            Object result = plan.method.invoke(ejb,
+                    request.argDeserializer.deserialise(request.argValues, plan.method,
+                            plan.getArgActualTypes(request.argActualTypes),
                             Thread.currentThread().getContextClassLoader()));
 
-            return resultMapper.apply(method.getGenericReturnType(), new InvokeMethodResponse(result));
+            return resultMapper.apply(plan.returnType, new InvokeMethodResponse(result));
         });
     }
 
+    private static InvocationPlan getInvocationPlan(Object ejb, InvokeMethodRequest request) throws NoSuchMethodException {
+        Map<String, InvocationPlan> plans = INVOCATION_PLANS.get(ejb.getClass());
+        String signature = request.method + '(' + String.join(",", request.argTypes) + ')';
+        InvocationPlan plan = plans.get(signature);
+        if (plan == null) {
+            Class<?>[] argTypes = toClasses(request.argTypes);
+            plan = new InvocationPlan(findBusinessMethodDeclaration(ejb, request.method, argTypes));
+            plans.put(signature, plan);
+        }
+        return plan;
+    }
+
     private static Class<?>[] toClasses(String[] classNames) {
         return asList(classNames).stream().map(EjbOverHttpResource::toClass).toArray(Class[]::new);
     }
@@ -243,7 +259,7 @@ public class EjbOverHttpResource {
         }
 
         Thread currentThread = Thread.currentThread();
-        String applicationName = jndiName.substring(12, jndiName.indexOf('/', 12));
+        String applicationName = applicationName(jndiName);
         ClassLoader existingContextClassLoader = currentThread.getContextClassLoader();
         ClassLoader appClassLoader = service.getAppClassLoader(applicationName);
         if (appClassLoader == null) {
@@ -260,6 +276,10 @@ public class EjbOverHttpResource {
         }
     }
 
+    private static String applicationName(String jndiName) {
+        return jndiName.substring(12, jndiName.indexOf('/', 12));
+    }
+
     private static String base64Decode(String input) {
         return new String(Base64.getDecoder().decode(input));
     }
@@ -306,6 +326,109 @@ public class EjbOverHttpResource {
                 + ") found in business interface");
     }
 
+    /**
+     * The business method resolved for a requested signature, together with the actual argument types it was called
+     * with so far. The method is invoked reflectively: once inflated, a reflective call costs about the same as a
+     * {@link java.lang.invoke.MethodHandle} that is not a constant, and the plans are looked up per request anyway.
+     */
+    private static final class InvocationPlan {
+
+        /**
+         * The actual argument types are chosen by the client, so only this many combinations are kept per method.
+         */
+        private static final int MAX_ARG_ACTUAL_TYPES = 16;
+
+        final Method method;
+        final Type returnType;
+        private final Map<String, Class<?>[]> argActualTypes = new ConcurrentHashMap<>();
+
+        InvocationPlan(Method method) {
+            this.method = method;
+            this.returnType = method.getGenericReturnType();
+        }
+
+        Class<?>[] getArgActualTypes(String[] classNames) {
+            String key = String.join(",", classNames);
+            Class<?>[] types = argActualTypes.get(key);
+            if (types == null) {
+                types = toClasses(classNames);
+                if (argActualTypes.size() < MAX_ARG_ACTUAL_TYPES) {
+                    argActualTypes.putIfAbsent(key, types);
+                }
+            }
+            return types;
+        }
+    }
+
+    /**
+     * Resolves EJBs in the server. Stateless and singleton session bean proxies can serve any number of calls, so the
+     * proxy resolved for a name is kept with the application and reused until the application is undeployed. All other
+     * EJBs are looked up for every call.
+     */
+    private static final class ServerEjbOverHttpService implements EjbOverHttpService {
+
+        private static final String SHARED_BEANS = EjbOverHttpResource.class.getName() + ".sharedBeans";
+
+        @Override
+        public ClassLoader getAppClassLoader(String applicationName) {
+            ApplicationInfo info = getApplicationInfo(applicationName);
+            return info == null ? null : info.getAppClassLoader();
+        }
+
+        @Override
+        public Object getBean(String jndiName) throws NamingException {
+            ApplicationInfo info = getApplicationInfo(applicationName(jndiName));
+            Map<String, Object> sharedBeans = info == null ? null : getSharedBeans(info);
+            Object bean = sharedBeans == null ? null : sharedBeans.get(jndiName);
+            if (bean == null) {
+                bean = new InitialContext().lookup(jndiName);
+                if (sharedBeans != null && isShareable(info.getMetaData(Application.class), jndiName)) {
+                    sharedBeans.putIfAbsent(jndiName, bean);
+                }
+            }
+            return bean;
+        }
+
+        private static ApplicationInfo getApplicationInfo(String applicationName) {
+            return Globals.get(ApplicationRegistry.class).get(applicationName);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> getSharedBeans(ApplicationInfo info) {
+            synchronized (info) {
+                Map<String, Object> sharedBeans = info.getTransientAppMetaData(SHARED_BEANS, Map.class);
+                if (sharedBeans == null) {
+                    sharedBeans = new ConcurrentHashMap<>();
+                    info.addTransientAppMetaData(SHARED_BEANS, sharedBeans);
+                }
+                return sharedBeans;
+            }
+        }
+
+        /**
+         * @return true if the name refers to a stateless or singleton session bean of the application
+         */
+        private static boolean isShareable(Application application, String jndiName) {
+            if (application == null) {
+                return false;
+            }
+            int bangIndex = jndiName.indexOf('!');
+            String beanName = bangIndex < 0 ? jndiName : jndiName.substring(0, bangIndex);
+            for (EjbBundleDescriptor bundle : application.getBundleDescriptors(EjbBundleDescriptor.class)) {
+                for (EjbDescriptor ejb : bundle.getEjbs()) {
+                    if (ejb instanceof EjbSessionDescriptor) {
+                        EjbSessionDescriptor session = (EjbSessionDescriptor) ejb;
+                        String portableName = session.getPortableJndiName("");
+                        if (portableName.substring(0, portableName.length() - 1).equals(beanName)) {
+                            return session.isStateless() || session.isSingleton();
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
     /**
      * Needed because of the {@link Exception} thrown.
      */
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2019-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -288,6 +288,18 @@ public class EjbOverHttpResourceTest {
         assertEquals(3, response.result);
     }
 
+    @Test
+    public void invoke_SuccessRepeatedWithResolvedInvocation() {
+        String[] argTypes = { int.class.getName(), int.class.getName() };
+        for (int i = 0; i < 3; i++) {
+            InvokeMethodResponse response = invokeExpectSuccess(mediaType, EJB_NAME, "add", argTypes, pack(i, 2));
+            assertEquals(i + 2, response.result);
+        }
+        ErrorResponse response = invokeExpectError(mediaType, EJB_NAME, "add",
+                new String[] { float.class.getName(), int.class.getName() }, pack(1, 2));
+        assertEquals("java.lang.NoSuchMethodException", response.exceptionType);
+    }
+
     @Test
     public void invoke_SuccessWithComplexResult() {
         InvokeMethodResponse response = invokeExpectSuccess(mediaType, EJB_NAME, "getSettings", 
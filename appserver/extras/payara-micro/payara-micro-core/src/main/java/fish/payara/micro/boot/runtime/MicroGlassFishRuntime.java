@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -60,13 +60,17 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  *
  * @author Steve Millidge
  */
 public class MicroGlassFishRuntime extends GlassFishRuntime {
-    
+
+    private static final Logger LOGGER = Logger.getLogger(MicroGlassFishRuntime.class.getName());
+
     MicroGlassFish gf;
 
     MicroGlassFishRuntime() {
@@ -102,8 +106,16 @@ public class MicroGlassFishRuntime extends GlassFishRuntime {
         DynamicConfiguration config = dcs.createDynamicConfiguration();
         config.addActiveDescriptor(BuilderHelper.createConstantDescriptor(context));
         config.commit();
-        registry.populateServiceLocator("default", habitat, Arrays.asList(new PayaraMicroInhabitantsParser(), new EmbeddedInhabitantsParser(), new DuplicatePostProcessor()));
+        long start = System.nanoTime();
+        String locatorName = StartupSnapshot.selectLocatorName(tccl);
+        registry.populateServiceLocator(locatorName, habitat, Arrays.asList(new PayaraMicroInhabitantsParser(), new EmbeddedInhabitantsParser(), new DuplicatePostProcessor()));
+        long populated = System.nanoTime();
         registry.populateConfig(habitat);
+        boolean fromSnapshot = StartupSnapshot.LOCATOR_NAME.equals(locatorName);
+        LOGGER.log(fromSnapshot ? Level.INFO : Level.FINE,
+                "Service locator populated from {0} in {1} (ms), configuration populated in {2} (ms)",
+                new Object[]{fromSnapshot ? "startup snapshot" : "classpath",
+                    (populated - start) / 1_000_000, (System.nanoTime() - populated) / 1_000_000});
         ModuleStartup kernel = habitat.getService(ModuleStartup.class);
         gf = new MicroGlassFish(kernel, habitat, glassfishProperties.getProperties());
         return gf;
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,6 +39,10 @@
  */
 package fish.payara.micro.boot.runtime;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import org.glassfish.hk2.api.PopulatorPostProcessor;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.utilities.DescriptorImpl;
@@ -49,15 +53,24 @@ import org.glassfish.hk2.utilities.DescriptorImpl;
  */
 public class PayaraMicroInhabitantsParser implements PopulatorPostProcessor {
 
+    private static final Set<String> EXCLUDED_IMPLEMENTATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "org.glassfish.ejb.persistent.timer.DistributedEJBTimerService",
+            "org.glassfish.kernel.jakartaee.MEJBService")));
+
     @Override
     public DescriptorImpl process(ServiceLocator sl, DescriptorImpl di) {
-        if ("org.glassfish.ejb.persistent.timer.DistributedEJBTimerService".equals(di.getImplementation())) {
-            return null;
-        }
-        if ("org.glassfish.kernel.jakartaee.MEJBService".equals(di.getImplementation())) {
+        if (isExcluded(di.getImplementation())) {
             return null;
         }
         return di;
     }
+
+    /**
+     * @param implementation the implementation class name of a service descriptor
+     * @return true if services with this implementation are never used by Payara Micro
+     */
+    static boolean isExcluded(String implementation) {
+        return EXCLUDED_IMPLEMENTATIONS.contains(implementation);
+    }
     
 }
@@ -0,0 +1,233 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.micro.boot.runtime;
+
+import com.sun.appserv.server.util.Version;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup snapshot of the HK2 inhabitants of the Payara Micro runtime.
+ * <p>
+ * When an uber jar is created with {@code --startupsnapshot} all {@code META-INF/hk2-locator/default} files of the
+ * runtime are merged into a single, pre-filtered locator file stored in the uber jar. On boot the snapshot is used
+ * instead of parsing the locator file of every runtime jar, provided the runtime still matches the one the snapshot
+ * was recorded from. Otherwise the normal classpath parsing is used.
+ *
+ * @author Payara Foundation
+ */
+public final class StartupSnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(StartupSnapshot.class.getName());
+
+    /**
+     * Name of the locator file holding the snapshot, used in place of {@code default} when populating the locator.
+     */
+    public static final String LOCATOR_NAME = "payara-micro-snapshot";
+
+    static final String DEFAULT_LOCATOR_NAME = "default";
+    private static final String LOCATOR_PATH = "META-INF/hk2-locator/";
+    private static final String PROPERTIES_PATH = "MICRO-INF/startup-snapshot.properties";
+
+    private static final String FORMAT_VERSION = "1";
+    private static final String FORMAT_PROPERTY = "snapshot.format";
+    private static final String PAYARA_VERSION_PROPERTY = "payara.version";
+    private static final String SOURCES_PROPERTY = "snapshot.sources";
+    private static final String DESCRIPTORS_PROPERTY = "snapshot.descriptors";
+    private static final String PARSE_TIME_PROPERTY = "snapshot.classpathParseTime";
+
+    private StartupSnapshot() {
+    }
+
+    /**
+     * Records the snapshot of the given runtime classloader into the uber jar.
+     *
+     * @param jos the uber jar being written
+     * @param runtimeClassLoader the classloader of the Payara Micro runtime
+     * @throws IOException if the locator files cannot be read or the snapshot cannot be written
+     */
+    public static void write(JarOutputStream jos, ClassLoader runtimeClassLoader) throws IOException {
+        long start = System.nanoTime();
+        Set<String> sources = new TreeSet<>();
+        Set<String> descriptors = new LinkedHashSet<>();
+        Enumeration<URL> locators = runtimeClassLoader.getResources(LOCATOR_PATH + DEFAULT_LOCATOR_NAME);
+        while (locators.hasMoreElements()) {
+            URL locator = locators.nextElement();
+            sources.add(sourceName(locator));
+            try (InputStream is = locator.openStream()) {
+                readDescriptors(is, descriptors);
+            }
+        }
+        long parseTime = (System.nanoTime() - start) / 1_000_000;
+
+        jos.putNextEntry(new JarEntry(LOCATOR_PATH + LOCATOR_NAME));
+        Writer writer = new OutputStreamWriter(jos, StandardCharsets.UTF_8);
+        for (String descriptor : descriptors) {
+            writer.write(descriptor);
+            writer.write('\n');
+        }
+        writer.flush();
+        jos.closeEntry();
+
+        Properties properties = new Properties();
+        properties.setProperty(FORMAT_PROPERTY, FORMAT_VERSION);
+        properties.setProperty(PAYARA_VERSION_PROPERTY, Version.getFullVersion());
+        properties.setProperty(SOURCES_PROPERTY, String.join(",", sources));
+        properties.setProperty(DESCRIPTORS_PROPERTY, Integer.toString(descriptors.size()));
+        properties.setProperty(PARSE_TIME_PROPERTY, Long.toString(parseTime));
+        jos.putNextEntry(new JarEntry(PROPERTIES_PATH));
+        properties.store(jos, "Payara Micro startup snapshot");
+        jos.flush();
+        jos.closeEntry();
+
+        LOGGER.log(Level.INFO, "Recorded startup snapshot of {0} service descriptors from {1} runtime jars",
+                new Object[]{descriptors.size(), sources.size()});
+    }
+
+    /**
+     * Selects the name of the locator files to populate the service locator from.
+     *
+     * @param classLoader the classloader the runtime is booted with
+     * @return {@link #LOCATOR_NAME} if a valid snapshot is present, {@code default} otherwise
+     */
+    public static String selectLocatorName(ClassLoader classLoader) {
+        Properties properties = new Properties();
+        try (InputStream is = classLoader.getResourceAsStream(PROPERTIES_PATH)) {
+            if (is == null) {
+                return DEFAULT_LOCATOR_NAME;
+            }
+            properties.load(is);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to read startup snapshot, falling back to classpath scanning", ex);
+            return DEFAULT_LOCATOR_NAME;
+        }
+
+        if (!FORMAT_VERSION.equals(properties.getProperty(FORMAT_PROPERTY))
+                || !Version.getFullVersion().equals(properties.getProperty(PAYARA_VERSION_PROPERTY))) {
+            LOGGER.log(Level.WARNING, "Startup snapshot was recorded with a different runtime version, falling back to classpath scanning");
+            return DEFAULT_LOCATOR_NAME;
+        }
+
+        try {
+            Set<String> sources = new TreeSet<>();
+            Enumeration<URL> locators = classLoader.getResources(LOCATOR_PATH + DEFAULT_LOCATOR_NAME);
+            while (locators.hasMoreElements()) {
+                sources.add(sourceName(locators.nextElement()));
+            }
+            if (!String.join(",", sources).equals(properties.getProperty(SOURCES_PROPERTY))) {
+                LOGGER.log(Level.WARNING, "Runtime jars differ from the startup snapshot, falling back to classpath scanning");
+                return DEFAULT_LOCATOR_NAME;
+            }
+            if (classLoader.getResource(LOCATOR_PATH + LOCATOR_NAME) == null) {
+                return DEFAULT_LOCATOR_NAME;
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to validate startup snapshot, falling back to classpath scanning", ex);
+            return DEFAULT_LOCATOR_NAME;
+        }
+
+        LOGGER.log(Level.FINE, "Using startup snapshot of {0} service descriptors, classpath parsing took {1} (ms) when recorded",
+                new Object[]{properties.getProperty(DESCRIPTORS_PROPERTY), properties.getProperty(PARSE_TIME_PROPERTY)});
+        return LOCATOR_NAME;
+    }
+
+    /**
+     * Splits a locator file into its descriptors, dropping the ones Payara Micro never uses.
+     */
+    private static void readDescriptors(InputStream is, Set<String> descriptors) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        List<String> current = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("[") && !current.isEmpty()) {
+                addDescriptor(current, descriptors);
+                current.clear();
+            }
+            if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                current.add(line);
+            }
+        }
+        addDescriptor(current, descriptors);
+    }
+
+    private static void addDescriptor(List<String> lines, Set<String> descriptors) {
+        if (lines.isEmpty() || !lines.get(0).startsWith("[")) {
+            return;
+        }
+        int end = lines.get(0).indexOf(']');
+        if (end > 0 && PayaraMicroInhabitantsParser.isExcluded(lines.get(0).substring(1, end))) {
+            return;
+        }
+        StringBuilder descriptor = new StringBuilder();
+        for (String line : lines) {
+            descriptor.append(line).append('\n');
+        }
+        descriptors.add(descriptor.toString());
+    }
+
+    private static String sourceName(URL locator) {
+        String path = locator.getPath();
+        int separator = path.lastIndexOf("!/");
+        if (separator > 0) {
+            path = path.substring(0, separator);
+        } else if (path.endsWith(LOCATOR_PATH + DEFAULT_LOCATOR_NAME)) {
+            path = path.substring(0, path.length() - (LOCATOR_PATH + DEFAULT_LOCATOR_NAME).length() - 1);
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
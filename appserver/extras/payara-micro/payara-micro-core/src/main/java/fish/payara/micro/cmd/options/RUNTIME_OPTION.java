@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -78,6 +78,7 @@ public enum RUNTIME_OPTION {
     additionalrepository(true),
     outputuberjar(true, new FileValidator(false, false, false)),
     outputlauncher(false),
+    startupsnapshot(false),
     copytouberjar(true, new DirectoryValidator(true,true, false)),
     systemproperties(true, new FileValidator(true, true, false)),
     disablephonehome(false),
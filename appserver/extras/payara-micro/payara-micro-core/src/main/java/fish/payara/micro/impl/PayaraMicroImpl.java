@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2023] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -171,6 +171,7 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
     private boolean disablePhoneHome = false;
     private File uberJar;
     private boolean outputLauncher;
+    private boolean startupSnapshot;
     private File copyDirectory;
     private Properties userSystemProperties;
     private final List<String> repositoryURIs;
@@ -233,6 +234,9 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
         } else if (main.outputLauncher) {
             main.createLauncher();
         } else {
+            if (main.startupSnapshot) {
+                LOGGER.warning("--startupsnapshot is only used together with --outputuberjar, ignoring");
+            }
             main.bootStrap();
             if (main.warmup) {
                 main.shutdown();
@@ -1301,6 +1305,9 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
                 case outputlauncher:
                     outputLauncher = true;
                     break;
+                case startupsnapshot:
+                    startupSnapshot = true;
+                    break;
                 case warmup:
                     warmup = true;
                     break;
@@ -2380,6 +2387,8 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
             creator.setContextRoots(contextRoots);
         }
 
+        creator.setStartupSnapshot(startupSnapshot);
+
         // write the system properties file
         Properties props = new Properties();
         if (hzMulticastGroup != null) {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -42,6 +42,7 @@ package fish.payara.micro.impl;
 import com.sun.enterprise.util.io.FileUtils;
 import fish.payara.deployment.util.JavaArchiveUtils;
 import fish.payara.deployment.util.URIUtils;
+import fish.payara.micro.boot.runtime.StartupSnapshot;
 
 import java.io.BufferedInputStream;
 import java.io.File;
@@ -98,6 +99,7 @@ public class UberJarCreator {
     private Properties contextRoots;
 
     private File postDeployCommands;
+    private boolean startupSnapshot;
 
     UberJarCreator(String fileName) {
         this(new File(fileName));
@@ -143,6 +145,14 @@ public class UberJarCreator {
         this.postDeployCommands = postDeployCommands;
     }
 
+    /**
+     * Whether to record a startup snapshot of the runtime service descriptors into the uber jar
+     * @param startupSnapshot true to record the snapshot
+     */
+    public void setStartupSnapshot(boolean startupSnapshot) {
+        this.startupSnapshot = startupSnapshot;
+    }
+
     /**
      * Directory to be copied into the root of the uber Jar file
      * @param copyDirectory the copied directory
@@ -262,6 +272,10 @@ public class UberJarCreator {
                 }
             }
 
+            if (startupSnapshot) {
+                StartupSnapshot.write(jos, this.getClass().getClassLoader());
+            }
+
             // write the system properties file
             JarEntry je = new JarEntry("MICRO-INF/deploy/payaramicro.properties");
             jos.putNextEntry(je);
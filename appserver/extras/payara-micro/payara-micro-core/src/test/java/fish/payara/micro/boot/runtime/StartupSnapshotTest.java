@@ -0,0 +1,186 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.micro.boot.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+public class StartupSnapshotTest {
+
+    private static final String LOCATOR = "META-INF/hk2-locator/default";
+    private static final String SNAPSHOT = "META-INF/hk2-locator/" + StartupSnapshot.LOCATOR_NAME;
+    private static final String PROPERTIES = "MICRO-INF/startup-snapshot.properties";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void snapshotMergesLocatorsWithoutUnusedServices() throws IOException {
+        File first = jar("first.jar", LOCATOR,
+                "# generated\n[com.example.First]S\ncontract={com.example.Service}\n\n"
+                + "[org.glassfish.kernel.jakartaee.MEJBService]S\ncontract={com.example.Service}\n");
+        File second = jar("second.jar", LOCATOR,
+                "[com.example.Second]S\ncontract={com.example.Service}\nqualifier={com.example.Named}\n");
+        File snapshot = snapshot(first, second);
+
+        String locator = read(snapshot, SNAPSHOT);
+        assertEquals("[com.example.First]S\ncontract={com.example.Service}\n\n"
+                + "[com.example.Second]S\ncontract={com.example.Service}\nqualifier={com.example.Named}\n\n", locator);
+
+        Properties properties = new Properties();
+        properties.load(new StringReader(read(snapshot, PROPERTIES)));
+        assertEquals("first.jar,second.jar", properties.getProperty("snapshot.sources"));
+        assertEquals("2", properties.getProperty("snapshot.descriptors"));
+    }
+
+    @Test
+    public void snapshotIsUsedWhenRuntimeIsUnchanged() throws IOException {
+        File first = jar("first.jar", LOCATOR, "[com.example.First]S\n");
+        File second = jar("second.jar", LOCATOR, "[com.example.Second]S\n");
+        File snapshot = snapshot(first, second);
+
+        try (URLClassLoader boot = loader(snapshot, first, second)) {
+            assertEquals(StartupSnapshot.LOCATOR_NAME, StartupSnapshot.selectLocatorName(boot));
+        }
+    }
+
+    @Test
+    public void classpathIsParsedWhenRuntimeJarsChanged() throws IOException {
+        File first = jar("first.jar", LOCATOR, "[com.example.First]S\n");
+        File second = jar("second.jar", LOCATOR, "[com.example.Second]S\n");
+        File added = jar("added.jar", LOCATOR, "[com.example.Added]S\n");
+        File snapshot = snapshot(first, second);
+
+        try (URLClassLoader boot = loader(snapshot, first, second, added)) {
+            assertEquals("default", StartupSnapshot.selectLocatorName(boot));
+        }
+        try (URLClassLoader boot = loader(snapshot, first)) {
+            assertEquals("default", StartupSnapshot.selectLocatorName(boot));
+        }
+    }
+
+    @Test
+    public void classpathIsParsedWhenSnapshotIsMissingOrFromAnotherFormat() throws IOException {
+        File first = jar("first.jar", LOCATOR, "[com.example.First]S\n");
+        try (URLClassLoader boot = loader(first)) {
+            assertEquals("default", StartupSnapshot.selectLocatorName(boot));
+        }
+
+        File snapshot = snapshot(first);
+        Properties properties = new Properties();
+        properties.load(new StringReader(read(snapshot, PROPERTIES)));
+        properties.setProperty("snapshot.format", "0");
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        properties.store(stored, null);
+        File otherFormat = jar("other.jar", PROPERTIES, stored.toString("ISO-8859-1"),
+                SNAPSHOT, read(snapshot, SNAPSHOT));
+        try (URLClassLoader boot = loader(otherFormat, first)) {
+            assertEquals("default", StartupSnapshot.selectLocatorName(boot));
+        }
+    }
+
+    @Test
+    public void classpathIsParsedWhenSnapshotLocatorIsMissing() throws IOException {
+        File first = jar("first.jar", LOCATOR, "[com.example.First]S\n");
+        File snapshot = snapshot(first);
+        File withoutLocator = jar("nolocator.jar", PROPERTIES, read(snapshot, PROPERTIES));
+
+        try (URLClassLoader boot = loader(withoutLocator, first)) {
+            assertEquals("default", StartupSnapshot.selectLocatorName(boot));
+        }
+    }
+
+    private File snapshot(File... runtime) throws IOException {
+        File snapshot = folder.newFile();
+        try (URLClassLoader recording = loader(runtime);
+                JarOutputStream jos = new JarOutputStream(new FileOutputStream(snapshot))) {
+            StartupSnapshot.write(jos, recording);
+        }
+        return snapshot;
+    }
+
+    private File jar(String name, String... entries) throws IOException {
+        File jar = new File(folder.newFolder(), name);
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                jos.putNextEntry(new JarEntry(entries[i]));
+                jos.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static String read(File jar, String entry) throws IOException {
+        try (URLClassLoader loader = loader(jar);
+                InputStream is = loader.findResource(entry).openStream()) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static URLClassLoader loader(File... jars) throws IOException {
+        URL[] urls = new URL[jars.length];
+        for (int i = 0; i < jars.length; i++) {
+            urls[i] = jars[i].toURI().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2018 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,12 +39,25 @@
  */
 package fish.payara.persistence.eclipselink.cache.coordination;
 
+import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.sessions.coordination.MergeChangeSetCommand;
 import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
 import org.eclipse.persistence.sessions.serializers.JavaSerializer;
 import org.eclipse.persistence.sessions.serializers.Serializer;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -65,6 +78,44 @@ public abstract class HazelcastPayload implements Serializable {
 
     public UUID getId() { return id; }
 
+    /**
+     * Creates the payload for a command. A command that only invalidates cached entities is sent as the ids of the
+     * entities, all other commands are sent as they are.
+     * @param command The command to send.
+     * @param session The session of the {@link RemoteCommandManager} that sends the command.
+     * @return The payload to publish.
+     */
+    static HazelcastPayload of(org.eclipse.persistence.sessions.coordination.Command command, AbstractSession session) {
+        if (command instanceof MergeChangeSetCommand && command.getServiceId() != null) {
+            Map<String, Set<Object>> ids = getInvalidatedIds(((MergeChangeSetCommand) command).getChangeSet(session));
+            if (ids != null) {
+                return new Invalidations(command.getServiceId(), ids);
+            }
+        }
+        return new Command(command);
+    }
+
+    /**
+     * @return The ids of the changed entities by class name, or null if the change set does more than invalidating
+     * existing entities.
+     */
+    private static Map<String, Set<Object>> getInvalidatedIds(UnitOfWorkChangeSet changeSet) {
+        if (changeSet == null || changeSet.getAllChangeSets().isEmpty()
+                || (changeSet.getDeletedObjects() != null && !changeSet.getDeletedObjects().isEmpty())) {
+            return null;
+        }
+        Map<String, Set<Object>> ids = new LinkedHashMap<>();
+        for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().keySet()) {
+            if (objectChangeSet.getSynchronizationType() != ClassDescriptor.INVALIDATE_CHANGED_OBJECTS
+                    || objectChangeSet.isNew() || objectChangeSet.getId() == null) {
+                return null;
+            }
+            ids.computeIfAbsent(objectChangeSet.getClassName(), className -> new LinkedHashSet<>())
+                    .add(objectChangeSet.getId());
+        }
+        return ids;
+    }
+
     /**
      * Implements a payload for raw bytes to transfer.
      */
@@ -113,4 +164,136 @@ public abstract class HazelcastPayload implements Serializable {
         }
     }
 
+    /**
+     * Implements a payload carrying the ids of entities to invalidate, by entity class name. Written as the class
+     * names each followed by the ids of the class, rather than as the change sets they were taken from.
+     */
+    public static class Invalidations extends HazelcastPayload {
+
+        private static final long serialVersionUID = 1;
+
+        private final ServiceId serviceId;
+        private transient Map<String, Set<Object>> ids;
+
+        Invalidations(ServiceId serviceId, Map<String, Set<Object>> ids) {
+            this.serviceId = serviceId;
+            this.ids = ids;
+        }
+
+        ServiceId getServiceId() {
+            return serviceId;
+        }
+
+        /**
+         * @return The ids of the entities to invalidate by entity class name.
+         */
+        Map<String, Set<Object>> getIds() {
+            return ids;
+        }
+
+        /**
+         * @return The number of entities to invalidate.
+         */
+        int size() {
+            int size = 0;
+            for (Set<Object> classIds : ids.values()) {
+                size += classIds.size();
+            }
+            return size;
+        }
+
+        /**
+         * Creates the invalidations of this and the given payloads, invalidating each entity once.
+         * @param others Payloads to merge, sent by the same service as this one.
+         * @return The merged payload.
+         */
+        Invalidations merge(Collection<Invalidations> others) {
+            Map<String, Set<Object>> merged = new LinkedHashMap<>();
+            mergeInto(merged, ids);
+            for (Invalidations other : others) {
+                mergeInto(merged, other.ids);
+            }
+            return new Invalidations(serviceId, merged);
+        }
+
+        private static void mergeInto(Map<String, Set<Object>> merged, Map<String, Set<Object>> ids) {
+            for (Map.Entry<String, Set<Object>> entry : ids.entrySet()) {
+                merged.computeIfAbsent(entry.getKey(), className -> new LinkedHashSet<>()).addAll(entry.getValue());
+            }
+        }
+
+        @Override
+        public org.eclipse.persistence.sessions.coordination.Command getCommand(RemoteCommandManager rcm) {
+            InvalidateCommand command = new InvalidateCommand(ids);
+            command.setServiceId(serviceId);
+            return command;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            out.writeInt(ids.size());
+            for (Map.Entry<String, Set<Object>> entry : ids.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (Object id : entry.getValue()) {
+                    out.writeObject(id);
+                }
+            }
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            int classes = in.readInt();
+            ids = new LinkedHashMap<>();
+            for (int i = 0; i < classes; i++) {
+                String className = in.readUTF();
+                int count = in.readInt();
+                Set<Object> classIds = new LinkedHashSet<>();
+                for (int j = 0; j < count; j++) {
+                    classIds.add(in.readObject());
+                }
+                ids.put(className, classIds);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the entities of {@link Invalidations} in the cache of the receiving session, without propagating
+     * the invalidation any further.
+     */
+    private static final class InvalidateCommand extends org.eclipse.persistence.sessions.coordination.Command {
+
+        private static final long serialVersionUID = 1;
+
+        private final transient Map<String, Set<Object>> ids;
+
+        InvalidateCommand(Map<String, Set<Object>> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public void executeWithSession(AbstractSession session) {
+            for (Map.Entry<String, Set<Object>> entry : ids.entrySet()) {
+                Class<?> entityClass = getEntityClass(session, entry.getKey());
+                if (entityClass != null) {
+                    for (Object id : entry.getValue()) {
+                        session.getIdentityMapAccessor().invalidateObject(id, entityClass);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return The class of the entity, or null if the entity is not mapped in the session.
+         */
+        private static Class<?> getEntityClass(AbstractSession session, String className) {
+            for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+                if (className.equals(descriptor.getJavaClassName())) {
+                    return descriptor.getJavaClass();
+                }
+            }
+            return null;
+        }
+    }
+
 }
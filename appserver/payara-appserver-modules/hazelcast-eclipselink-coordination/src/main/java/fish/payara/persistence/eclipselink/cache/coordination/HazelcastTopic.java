@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2018 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,17 +41,44 @@ package fish.payara.persistence.eclipselink.cache.coordination;
 
 import fish.payara.nucleus.eventbus.MessageReceiver;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Representation of the Hazelcast topic to allow for proxying.
+ * <p>
+ * Payloads published while a previous message is being sent, or within the batch window configured with the
+ * {@value #BATCH_WINDOW_PROPERTY} system property, are sent together as one {@link HazelcastMessage}. Consecutive
+ * {@link HazelcastPayload.Invalidations} of a message are merged into one, invalidating each entity once.
+ * <p>
+ * A thread publishing a payload sends at most one message itself, any payloads left are sent by the executor. Payloads
+ * are sent asynchronously to the thread that published them, so a failure to send a message is logged together with
+ * the ids of the payloads that were lost and counted in the {@link HazelcastTopicStats} of the topic.
  *
  * @author Sven Diedrichsen
  */
 final class HazelcastTopic {
 
+    private static final Logger LOG = Logger.getLogger(HazelcastTopic.class.getName());
+
+    /**
+     * System property holding the time in milliseconds published payloads are collected before they are sent.
+     * Defaults to 0, in which case payloads are only batched while a previous message is being sent.
+     */
+    static final String BATCH_WINDOW_PROPERTY = "fish.payara.persistence.eclipselink.cache.coordination.batchWindow";
+    /**
+     * The maximum number of payloads sent in one message.
+     */
+    static final int MAX_BATCH_SIZE = 256;
+
     /**
      * The topic name to use.
      */
@@ -61,16 +88,38 @@ final class HazelcastTopic {
      */
     private final String messageListenerId;
     /**
-     * Stores the Ids of the messages published by this topic.
+     * Identifies the messages published by this topic.
+     */
+    private final UUID publisherId = UUID.randomUUID();
+    /**
+     * The time in milliseconds payloads are collected before they are sent.
+     */
+    private final long batchWindow;
+    /**
+     * The payloads waiting to be sent.
      */
-    private final Set<UUID> publishedMessageIds = new ConcurrentSkipListSet<>();
+    private final Queue<HazelcastPayload> pending = new ConcurrentLinkedQueue<>();
+    /**
+     * Set while a thread is responsible for sending the pending payloads.
+     */
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final Supplier<HazelcastTopicStorage> storage;
+    private final HazelcastTopicStats stats;
 
     /**
      * Ctor.
      * @param name The name of the topic.
      */
-    HazelcastTopic(String name, MessageReceiver<HazelcastPayload> receiver) {
+    HazelcastTopic(String name, MessageReceiver<HazelcastMessage> receiver) {
+        this(name, receiver, HazelcastTopicStorage::getInstance, Long.getLong(BATCH_WINDOW_PROPERTY, 0L));
+    }
+
+    HazelcastTopic(String name, MessageReceiver<HazelcastMessage> receiver, Supplier<HazelcastTopicStorage> storage,
+            long batchWindow) {
         this.name = name;
+        this.storage = storage;
+        this.batchWindow = batchWindow;
+        this.stats = getStorage().getStats(name);
         this.messageListenerId = getStorage().registerMessageReceiver(name, receiver);
     }
 
@@ -79,24 +128,152 @@ final class HazelcastTopic {
      * @param payload The {@link HazelcastPayload} to publish.
      */
     void publish(HazelcastPayload payload) {
-        publishedMessageIds.add(payload.getId());
-        getStorage().publish(name, payload);
+        stats.publishedCommands.increment();
+        pending.add(payload);
+        if (flushing.compareAndSet(false, true)) {
+            if (batchWindow > 0) {
+                scheduleFlush(batchWindow);
+            } else {
+                try {
+                    sendBatch();
+                } finally {
+                    flushing.set(false);
+                }
+                // payloads published by other threads meanwhile are left to the executor
+                if (!pending.isEmpty() && flushing.compareAndSet(false, true)) {
+                    scheduleFlush(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the pending payloads on the executor. Must only be called by the thread that set {@link #flushing}.
+     */
+    private void scheduleFlush(long delay) {
+        try {
+            if (delay > 0) {
+                getStorage().schedule(this::flush, delay);
+            } else {
+                getStorage().process(this::flush);
+            }
+        } catch (RejectedExecutionException e) {
+            // the executor is shutting down, send right away instead of leaving the payloads pending
+            flush();
+        }
+    }
+
+    /**
+     * Sends all pending payloads. Must only be called by the thread that set {@link #flushing}.
+     */
+    private void flush() {
+        do {
+            try {
+                while (sendBatch()) {
+                    // until all pending payloads are sent
+                }
+            } finally {
+                flushing.set(false);
+            }
+            // payloads added after the queue was found empty but before the flag was cleared
+        } while (!pending.isEmpty() && flushing.compareAndSet(false, true));
+    }
+
+    /**
+     * Sends up to {@link #MAX_BATCH_SIZE} pending payloads as one message.
+     * @return false if there was nothing to send
+     */
+    private boolean sendBatch() {
+        List<HazelcastPayload> batch = new ArrayList<>();
+        HazelcastPayload payload;
+        while (batch.size() < MAX_BATCH_SIZE && (payload = pending.poll()) != null) {
+            batch.add(payload);
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        send(batch);
+        return true;
+    }
+
+    private void send(List<HazelcastPayload> batch) {
+        List<HazelcastPayload> payloads = coalesce(batch);
+        stats.coalescedCommands.add(batch.size() - payloads.size());
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Publishing {0} coordination commands as {1} payloads to {2}",
+                    new Object[]{batch.size(), payloads.size(), name});
+        }
+        try {
+            if (getStorage().publish(name, new HazelcastMessage(publisherId, payloads), e -> lost(batch, e))) {
+                stats.sentMessages.increment();
+            } else {
+                stats.lostCommands.add(batch.size());
+                LOG.log(Level.FINE, "Hazelcast is disabled, {0} coordination commands to {1} were not sent",
+                        new Object[]{batch.size(), name});
+            }
+        } catch (RuntimeException e) {
+            lost(batch, e);
+        }
+    }
+
+    private void lost(List<HazelcastPayload> batch, RuntimeException e) {
+        stats.lostCommands.add(batch.size());
+        List<UUID> ids = new ArrayList<>(batch.size());
+        for (HazelcastPayload payload : batch) {
+            ids.add(payload.getId());
+        }
+        LOG.log(Level.WARNING, "Failed to publish " + batch.size() + " coordination commands to " + name
+                + ", the caches of other members may be stale. Lost commands: " + ids, e);
+    }
+
+    /**
+     * Merges each run of consecutive {@link HazelcastPayload.Invalidations} of the same service into one. Other
+     * payloads are kept as they are, so an invalidation is never moved past another command.
+     */
+    static List<HazelcastPayload> coalesce(List<HazelcastPayload> batch) {
+        List<HazelcastPayload> coalesced = new ArrayList<>(batch.size());
+        int i = 0;
+        while (i < batch.size()) {
+            HazelcastPayload payload = batch.get(i++);
+            if (payload instanceof HazelcastPayload.Invalidations) {
+                HazelcastPayload.Invalidations first = (HazelcastPayload.Invalidations) payload;
+                List<HazelcastPayload.Invalidations> run = new ArrayList<>();
+                while (i < batch.size() && batch.get(i) instanceof HazelcastPayload.Invalidations
+                        && first.getServiceId().equals(((HazelcastPayload.Invalidations) batch.get(i)).getServiceId())) {
+                    run.add((HazelcastPayload.Invalidations) batch.get(i++));
+                }
+                coalesced.add(run.isEmpty() ? first : first.merge(run));
+            } else {
+                coalesced.add(payload);
+            }
+        }
+        return coalesced;
+    }
+
+    /**
+     * Records a message received from another member.
+     * @param message The message received.
+     */
+    void received(HazelcastMessage message) {
+        stats.recordReceived(Math.max(0L, System.currentTimeMillis() - message.getTimestamp()));
     }
 
     /**
-     * Checks if the provided payload has been published by this topic.
-     * @param payload The payload to check if it has been published with this topic.
+     * Checks if the provided message has been published by this topic.
+     * @param message The message to check if it has been published with this topic.
      * @return True if it has been published.
      */
-    boolean hasPublished(HazelcastPayload payload) {
-        return publishedMessageIds.remove(payload.getId());
+    boolean hasPublished(HazelcastMessage message) {
+        return publisherId.equals(message.getPublisherId());
     }
 
     /**
      * Destroys the referenced topic.
      */
     void destroy() {
-        publishedMessageIds.clear();
+        if (flushing.compareAndSet(false, true)) {
+            flush();
+        }
         getStorage().removeMessageReceiver(messageListenerId);
     }
 
@@ -104,7 +281,7 @@ final class HazelcastTopic {
      * @return The hz topic storage.
      */
     private HazelcastTopicStorage getStorage() {
-        return HazelcastTopicStorage.getInstance();
+        return storage.get();
     }
 
 }
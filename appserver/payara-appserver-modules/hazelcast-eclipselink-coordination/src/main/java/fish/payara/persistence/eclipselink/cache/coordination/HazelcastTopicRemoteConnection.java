@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,16 +41,23 @@ package fish.payara.persistence.eclipselink.cache.coordination;
 
 import fish.payara.nucleus.eventbus.ClusterMessage;
 import fish.payara.nucleus.eventbus.MessageReceiver;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.coordination.broadcast.BroadcastRemoteConnection;
 import org.eclipse.persistence.sessions.coordination.Command;
 import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
 
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * Hazelcast {@link BroadcastRemoteConnection} implementing the HZ {@link MessageListener} interface.
  *
  * @author Sven Diedrichsen
  */
-public class HazelcastTopicRemoteConnection extends BroadcastRemoteConnection implements MessageReceiver<HazelcastPayload> {
+public class HazelcastTopicRemoteConnection extends BroadcastRemoteConnection implements MessageReceiver<HazelcastMessage> {
+
+    private static final Logger LOG = Logger.getLogger(HazelcastTopicRemoteConnection.class.getName());
 
     /**
      * The topic to publish commands to and receive messages from.
@@ -76,7 +83,7 @@ public class HazelcastTopicRemoteConnection extends BroadcastRemoteConnection im
                 debugInfo = this.logDebugBeforePublish(null);
             }
             if(Command.class.isAssignableFrom(o.getClass())) {
-                this.topic.publish(new HazelcastPayload.Command((Command) o));
+                this.topic.publish(HazelcastPayload.of((Command) o, (AbstractSession) this.rcm.getCommandProcessor()));
             } else if (o.getClass().isArray()) {
                 this.topic.publish(new HazelcastPayload.Bytes((byte[]) o));
             }
@@ -97,15 +104,24 @@ public class HazelcastTopicRemoteConnection extends BroadcastRemoteConnection im
      * @param message the message to process.
      */
     @Override
-    public void receiveMessage(ClusterMessage<HazelcastPayload> message) {
-        HazelcastPayload payload = message.getPayload();
-        if (!topic.hasPublished(payload)) {
+    public void receiveMessage(ClusterMessage<HazelcastMessage> message) {
+        HazelcastMessage received = message.getPayload();
+        if (!topic.hasPublished(received)) {
+            topic.received(received);
+            List<HazelcastPayload> payloads = received.getPayloads();
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Received {0} coordination commands published {1} ms ago",
+                        new Object[]{payloads.size(), System.currentTimeMillis() - received.getTimestamp()});
+            }
             HazelcastTopicStorage.getInstance().process(
                 () -> {
-                    try {
-                        this.processReceivedObject(payload.getCommand(this.rcm), payload.getId().toString());
-                    } catch (Exception e) {
-                        this.failDeserializeMessage(payload.getId().toString(), e);
+                    // commands of a message are processed in the order they were published
+                    for (HazelcastPayload payload : payloads) {
+                        try {
+                            this.processReceivedObject(payload.getCommand(this.rcm), payload.getId().toString());
+                        } catch (Exception e) {
+                            this.failDeserializeMessage(payload.getId().toString(), e);
+                        }
                     }
                 }
             );
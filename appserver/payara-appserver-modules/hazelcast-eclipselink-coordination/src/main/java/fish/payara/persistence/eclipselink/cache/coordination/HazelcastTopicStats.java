@@ -0,0 +1,95 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.persistence.eclipselink.cache.coordination;
+
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the coordination commands sent and received on a topic, by all {@link HazelcastTopic}s of the same name.
+ */
+final class HazelcastTopicStats {
+
+    /**
+     * Commands published to the topic.
+     */
+    final LongAdder publishedCommands = new LongAdder();
+    /**
+     * Invalidation commands merged into the invalidation of another command sent with the same message.
+     */
+    final LongAdder coalescedCommands = new LongAdder();
+    /**
+     * Messages handed to the event bus.
+     */
+    final LongAdder sentMessages = new LongAdder();
+    /**
+     * Commands that could not be sent, so other members did not update their caches.
+     */
+    final LongAdder lostCommands = new LongAdder();
+    /**
+     * Messages received from other members.
+     */
+    final LongAdder receivedMessages = new LongAdder();
+    /**
+     * Milliseconds from creating a received message on the sending member until it was received, summed up.
+     */
+    final LongAdder receiveLagMillis = new LongAdder();
+    final LongAccumulator maxReceiveLagMillis = new LongAccumulator(Math::max, 0L);
+
+    void recordReceived(long lagMillis) {
+        receivedMessages.increment();
+        receiveLagMillis.add(lagMillis);
+        maxReceiveLagMillis.accumulate(lagMillis);
+    }
+
+    void collect(MonitoringDataCollector collector) {
+        long received = receivedMessages.sum();
+        collector
+            .collect("PublishedCommands", publishedCommands.sum())
+            .collect("CoalescedCommands", coalescedCommands.sum())
+            .collect("SentMessages", sentMessages.sum())
+            .collect("LostCommands", lostCommands.sum())
+            .collect("ReceivedMessages", received)
+            .collect("ReceiveLagAvgMillis", received == 0 ? 0L : receiveLagMillis.sum() / received)
+            .collect("ReceiveLagMaxMillis", maxReceiveLagMillis.get());
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,6 +39,8 @@
  */
 package fish.payara.persistence.eclipselink.cache.coordination;
 
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+import fish.payara.monitoring.collect.MonitoringDataSource;
 import fish.payara.nucleus.eventbus.ClusterMessage;
 import fish.payara.nucleus.eventbus.EventBus;
 import fish.payara.nucleus.eventbus.MessageReceiver;
@@ -57,6 +59,9 @@ import jakarta.inject.Inject;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Represents a possibility to delay {@link MessageReceiver} registration.
@@ -65,7 +70,7 @@ import java.util.concurrent.Future;
  */
 @Service(name = "hazelcast-topic-storage")
 @RunLevel(StartupRunLevel.VAL)
-public class HazelcastTopicStorage implements EventListener {
+public class HazelcastTopicStorage implements EventListener, MonitoringDataSource {
 
     /**
      * The singleton instance of the storage.
@@ -75,6 +80,10 @@ public class HazelcastTopicStorage implements EventListener {
      * The message listener cache.
      */
     private final Map<String, ReceiverMapping> messageReceiver = new ConcurrentHashMap<>();
+    /**
+     * The statistics by topic name.
+     */
+    private final Map<String, HazelcastTopicStats> stats = new ConcurrentHashMap<>();
     /**
      * Event bus to propagate cache coordination messages over.
      */
@@ -111,6 +120,21 @@ public class HazelcastTopicStorage implements EventListener {
         return storage;
     }
 
+    @Override
+    public void collect(MonitoringDataCollector collector) {
+        MonitoringDataCollector coordinationCollector = collector.in("eclipselink-cache-coordination");
+        stats.forEach((topic, topicStats) -> topicStats.collect(coordinationCollector.group(topic)));
+    }
+
+    /**
+     * Returns the statistics shared by all {@link HazelcastTopic}s of the given name.
+     * @param topic The name of the topic.
+     * @return The statistics of the topic.
+     */
+    HazelcastTopicStats getStats(String topic) {
+        return stats.computeIfAbsent(topic, name -> new HazelcastTopicStats());
+    }
+
     @Override
     public void event(Event event) {
         if (event.is(EventTypes.SERVER_SHUTDOWN)) {
@@ -162,13 +186,24 @@ public class HazelcastTopicStorage implements EventListener {
         return executorService.submit(work);
     }
 
+    /**
+     * Processes the submitted work asynchronously after the given delay.
+     *
+     * @param work The work to process.
+     * @param delay The delay in milliseconds.
+     * @return The {@link ScheduledFuture} representing a handle for the processing.
+     */
+    ScheduledFuture<?> schedule(final Runnable work, long delay) {
+        return executorService.schedule(work, delay, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Tries to register the message listener with the provided topic by its name.
      * @param topic The name of the topic to register the listener with.
      * @param receiver The receiver to register
      * @return The internal id for the registered listener usable for removing the listener.
      */
-    String registerMessageReceiver(String topic, MessageReceiver<HazelcastPayload> receiver) {
+    String registerMessageReceiver(String topic, MessageReceiver<HazelcastMessage> receiver) {
         ReceiverMapping receiverMapping = new ReceiverMapping(topic, receiver);
         receiverMapping.setRegistered(eventBus.addMessageReceiver(topic, receiver));
         messageReceiver.put(receiverMapping.getInternalId(), receiverMapping);
@@ -187,12 +222,14 @@ public class HazelcastTopicStorage implements EventListener {
     }
 
     /**
-     * Publishes the {@link HazelcastPayload} at the topic.
-     * @param topic The name of the topic to publish the payload.
-     * @param payload The payload to publish.
+     * Publishes the {@link HazelcastMessage} at the topic.
+     * @param topic The name of the topic to publish the message.
+     * @param message The message to publish.
+     * @param failureHandler Called with the exception if the message could not be sent.
+     * @return false if the message was not sent since Hazelcast is disabled.
      */
-    void publish(String topic, HazelcastPayload payload) {
-        eventBus.publish(topic, new ClusterMessage<>(payload));
+    boolean publish(String topic, HazelcastMessage message, Consumer<? super RuntimeException> failureHandler) {
+        return eventBus.publish(topic, new ClusterMessage<>(message), failureHandler);
     }
 
 }
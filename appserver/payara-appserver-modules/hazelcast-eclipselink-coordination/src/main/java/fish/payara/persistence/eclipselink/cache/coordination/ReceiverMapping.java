@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2018 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -66,9 +66,9 @@ class ReceiverMapping {
     /**
      * The message receiver.
      */
-    private final MessageReceiver<HazelcastPayload> messageReceiver;
+    private final MessageReceiver<HazelcastMessage> messageReceiver;
 
-    ReceiverMapping(String topic, MessageReceiver<HazelcastPayload> messageReceiver) {
+    ReceiverMapping(String topic, MessageReceiver<HazelcastMessage> messageReceiver) {
         this.topic = topic;
         this.messageReceiver = messageReceiver;
         this.internalId = UUID.randomUUID().toString();
@@ -90,7 +90,7 @@ class ReceiverMapping {
         return topic;
     }
 
-    MessageReceiver<HazelcastPayload> getMessageReceiver() {
+    MessageReceiver<HazelcastMessage> getMessageReceiver() {
         return this.messageReceiver;
     }
 
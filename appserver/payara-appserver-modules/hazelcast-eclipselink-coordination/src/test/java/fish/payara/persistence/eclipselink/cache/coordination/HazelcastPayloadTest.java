@@ -0,0 +1,119 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.persistence.eclipselink.cache.coordination;
+
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class HazelcastPayloadTest {
+
+    private static Set<Object> ids(Object... ids) {
+        return new LinkedHashSet<>(Arrays.asList(ids));
+    }
+
+    private static HazelcastPayload.Invalidations invalidations(ServiceId serviceId) {
+        Map<String, Set<Object>> ids = new LinkedHashMap<>();
+        ids.put("org.example.Order", ids(1L, 2L, 3L));
+        ids.put("org.example.Customer", ids("alice"));
+        return new HazelcastPayload.Invalidations(serviceId, ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void invalidationsSurviveSerialization() throws Exception {
+        ServiceId serviceId = new ServiceId("localhost", "1", "test");
+        HazelcastPayload.Invalidations invalidations = invalidations(serviceId);
+
+        HazelcastPayload.Invalidations read = roundTrip(invalidations);
+
+        assertEquals(invalidations.getIds(), read.getIds());
+        assertEquals(Arrays.asList("org.example.Order", "org.example.Customer"),
+                Arrays.asList(read.getIds().keySet().toArray()));
+        assertEquals(serviceId.getId(), read.getServiceId().getId());
+        assertEquals(invalidations.getId(), read.getId());
+        assertEquals(4, read.size());
+    }
+
+    @Test
+    public void mergeInvalidatesEachEntityOnce() {
+        ServiceId serviceId = new ServiceId();
+        HazelcastPayload.Invalidations first = invalidations(serviceId);
+        HazelcastPayload.Invalidations merged = first.merge(Collections.singletonList(invalidations(serviceId)));
+
+        assertEquals(first.getIds(), merged.getIds());
+        assertNotEquals(first.getId(), merged.getId());
+        assertSame(serviceId, merged.getServiceId());
+    }
+
+    @Test
+    public void invalidationsCommandCarriesServiceId() {
+        ServiceId serviceId = new ServiceId();
+        Command command = invalidations(serviceId).getCommand(null);
+
+        assertSame(serviceId, command.getServiceId());
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.persistence.eclipselink.cache.coordination;
+
+import fish.payara.nucleus.eventbus.MessageReceiver;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HazelcastTopicTest {
+
+    private final ServiceId serviceId = new ServiceId();
+
+    /**
+     * Records the messages published and the tasks handed to the executor.
+     */
+    private static class TestStorage extends HazelcastTopicStorage {
+
+        final List<HazelcastMessage> published = new ArrayList<>();
+        final List<Runnable> tasks = new ArrayList<>();
+        Consumer<HazelcastMessage> onPublish = message -> {};
+        RuntimeException failure;
+        boolean disabled;
+
+        @Override
+        String registerMessageReceiver(String topic, MessageReceiver<HazelcastMessage> receiver) {
+            return "receiver";
+        }
+
+        @Override
+        void removeMessageReceiver(String internalId) {
+            // nothing registered
+        }
+
+        @Override
+        boolean publish(String topic, HazelcastMessage message, Consumer<? super RuntimeException> failureHandler) {
+            if (disabled) {
+                return false;
+            }
+            if (failure != null) {
+                failureHandler.accept(failure);
+                return true;
+            }
+            published.add(message);
+            onPublish.accept(message);
+            return true;
+        }
+
+        @Override
+        Future<?> process(Runnable work) {
+            tasks.add(work);
+            return null;
+        }
+
+        @Override
+        ScheduledFuture<?> schedule(Runnable work, long delay) {
+            tasks.add(work);
+            return null;
+        }
+
+        void runTasks() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private final TestStorage storage = new TestStorage();
+
+    private HazelcastTopic topic(long batchWindow) {
+        return new HazelcastTopic("test", message -> {}, () -> storage, batchWindow);
+    }
+
+    private HazelcastPayload.Invalidations invalidations(ServiceId serviceId, Object... classAndIds) {
+        Map<String, Set<Object>> ids = new LinkedHashMap<>();
+        for (int i = 0; i < classAndIds.length; i += 2) {
+            ids.computeIfAbsent((String) classAndIds[i], className -> new LinkedHashSet<>()).add(classAndIds[i + 1]);
+        }
+        return new HazelcastPayload.Invalidations(serviceId, ids);
+    }
+
+    private static HazelcastPayload.Command command() {
+        return new HazelcastPayload.Command(new Command() {
+            @Override
+            public void executeWithSession(AbstractSession session) {
+                // not executed
+            }
+        });
+    }
+
+    private static Set<Object> ids(Object... ids) {
+        return new LinkedHashSet<>(Arrays.asList(ids));
+    }
+
+    @Test
+    public void consecutiveInvalidationsAreMergedPerClassAndId() {
+        HazelcastTopic topic = topic(10);
+        topic.publish(invalidations(serviceId, "A", 1L, "A", 2L));
+        topic.publish(invalidations(serviceId, "A", 2L, "B", 1L));
+        topic.publish(invalidations(serviceId, "A", 3L));
+        storage.runTasks();
+
+        assertEquals(1, storage.published.size());
+        List<HazelcastPayload> payloads = storage.published.get(0).getPayloads();
+        assertEquals(1, payloads.size());
+        HazelcastPayload.Invalidations merged = (HazelcastPayload.Invalidations) payloads.get(0);
+        assertEquals(ids(1L, 2L, 3L), merged.getIds().get("A"));
+        assertEquals(ids(1L), merged.getIds().get("B"));
+        assertSame(serviceId, merged.getServiceId());
+
+        HazelcastTopicStats stats = storage.getStats("test");
+        assertEquals(3, stats.publishedCommands.sum());
+        assertEquals(2, stats.coalescedCommands.sum());
+        assertEquals(1, stats.sentMessages.sum());
+    }
+
+    @Test
+    public void invalidationsAreNotMovedPastOtherCommands() {
+        HazelcastTopic topic = topic(10);
+        HazelcastPayload.Invalidations first = invalidations(serviceId, "A", 1L);
+        HazelcastPayload.Command command = command();
+        HazelcastPayload.Invalidations second = invalidations(serviceId, "A", 1L);
+        topic.publish(first);
+        topic.publish(command);
+        topic.publish(second);
+        storage.runTasks();
+
+        assertEquals(Arrays.asList(first, command, second), storage.published.get(0).getPayloads());
+    }
+
+    @Test
+    public void invalidationsOfDifferentServicesAreNotMerged() {
+        HazelcastTopic topic = topic(10);
+        topic.publish(invalidations(serviceId, "A", 1L));
+        topic.publish(invalidations(new ServiceId(), "A", 2L));
+        storage.runTasks();
+
+        assertEquals(2, storage.published.get(0).getPayloads().size());
+    }
+
+    @Test
+    public void publishingThreadSendsAtMostOneMessage() {
+        HazelcastTopic topic = topic(0);
+        int others = HazelcastTopic.MAX_BATCH_SIZE + 10;
+        storage.onPublish = message -> {
+            if (storage.published.size() == 1) {
+                // published by other threads while the first message is sent
+                for (int i = 0; i < others; i++) {
+                    topic.publish(command());
+                }
+            }
+        };
+        topic.publish(command());
+
+        assertEquals(1, storage.published.size());
+        assertEquals(1, storage.tasks.size());
+        storage.runTasks();
+        assertEquals(3, storage.published.size());
+        assertEquals(HazelcastTopic.MAX_BATCH_SIZE, storage.published.get(1).getPayloads().size());
+        assertEquals(10, storage.published.get(2).getPayloads().size());
+    }
+
+    @Test
+    public void failedMessageCountsLostCommands() {
+        storage.failure = new IllegalStateException("hazelcast down");
+        HazelcastTopic topic = topic(10);
+        topic.publish(command());
+        topic.publish(command());
+        storage.runTasks();
+
+        assertEquals(2, storage.getStats("test").lostCommands.sum());
+    }
+
+    @Test
+    public void commandsNotSentWhileHazelcastIsDisabledAreCountedAsLost() {
+        storage.disabled = true;
+        topic(0).publish(command());
+
+        assertEquals(1, storage.getStats("test").lostCommands.sum());
+    }
+
+    @Test
+    public void receivedMessagesAreCounted() {
+        HazelcastTopic topic = topic(0);
+        HazelcastMessage message = new HazelcastMessage(UUID.randomUUID(), Arrays.asList(command()));
+        topic.received(message);
+        topic.received(message);
+
+        HazelcastTopicStats stats = storage.getStats("test");
+        assertEquals(2, stats.receivedMessages.sum());
+        assertTrue(stats.receiveLagMillis.sum() >= 0);
+        assertTrue(stats.maxReceiveLagMillis.get() >= 0);
+        assertFalse(topic.hasPublished(message));
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -98,18 +98,24 @@ public class JMXMonitoringFormatter implements Runnable {
     /**
      * Class runnable method. Calls getJMXMonitoringInfo on all
      * JMXMonitoringJobs passing the MBeanServer. Uses the results to build a
-     * String for the log message.
+     * String for the log message. No message is sent if no job reported a
+     * value, which happens when the jobs only report changed values.
      */
     @Override
     public void run() {
         StringBuilder monitoringString = new StringBuilder();
 
         monitoringString.append(NOTIFICATION_SUBJECT);
+        int subjectLength = monitoringString.length();
 
         for (JMXMonitoringJob job : JmxMonitoringJobs) {
             monitoringString.append(job.getMonitoringInfo(mBeanServer));
         }
 
+        if (monitoringString.length() == subjectLength) {
+            return;
+        }
+
         sendNotification(Level.INFO, monitoringString.toString(), JmxMonitoringJobs.toArray());
     }
 
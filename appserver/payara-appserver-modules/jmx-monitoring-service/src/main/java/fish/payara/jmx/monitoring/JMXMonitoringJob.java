@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2018 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,9 +39,15 @@
  */
 package fish.payara.jmx.monitoring;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.Attribute;
 import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanException;
@@ -54,6 +60,10 @@ import javax.management.openmbean.CompositeDataSupport;
 /**
  * Class which gathers and returns monitoring information for a single MBean and
  * a specified list of its attributes.
+ * <p>
+ * All attributes of the MBean are read with a single {@link MBeanServer#getAttributes(ObjectName, String[])} call.
+ * If a delta threshold is set only the values that changed by more than the threshold since they were last
+ * reported are returned.
  *
  * @author savage
  */
@@ -62,6 +72,17 @@ public class JMXMonitoringJob {
     private final ObjectName mBean;
     private final List<String> attributes;
 
+    /**
+     * The monitored attributes split at the dots, as they might refer to a property of a composite attribute
+     */
+    private String[][] attributePaths;
+    /**
+     * The distinct names of the MBean attributes to read
+     */
+    private String[] attributeNames;
+    private double deltaThreshold = -1;
+    private final Map<String, Object> reportedValues = new HashMap<>();
+
     /**
      * Constructor for the JMXMonitoringJob class.
      *
@@ -73,36 +94,64 @@ public class JMXMonitoringJob {
             MalformedObjectNameException {
         this.mBean = mBean;
         this.attributes = attributes;
+        parseAttributes();
     }
 
     /**
-     * Builds a String from the JMXMonitoringJob's MBean. Loops through the
-     * attributes being monitored. For each attribute gets the object from the
-     * MBeanServer representing it. Gets the key-value pair of the attribute as
-     * a string and appends it.
+     * Builds a String from the JMXMonitoringJob's MBean. Reads the values of
+     * all attributes being monitored from the MBeanServer at once. For each
+     * attribute gets the key-value pair of the attribute as a string and
+     * appends it.
      *
      * @param server MBeanServer to get attributes values from.
      * @return Returns a monitoringString which contains key-value metrics.
      */
-    public String getMonitoringInfo(MBeanServer server) {
+    public synchronized String getMonitoringInfo(MBeanServer server) {
         StringBuilder monitoringString = new StringBuilder();
+        Map<String, Object> values = getAttributeValues(server);
 
-        for (String attribute : attributes) {
-            String[] attributeToks = attribute.split("\\.");
-            try {
-                Object responseObj = server.getAttribute(mBean, attributeToks[0]);
-                String valueString = getValueString(attribute, responseObj);
-                monitoringString.append(valueString);
-            } catch (MBeanException | AttributeNotFoundException
-                    | InstanceNotFoundException | ReflectionException ex) {
-                Logger.getLogger(JMXMonitoringJob.class.getName())
-                        .log(Level.SEVERE, null, ex);
+        for (int i = 0; i < attributePaths.length; i++) {
+            String[] attributeToks = attributePaths[i];
+            if (values.containsKey(attributeToks[0])) {
+                appendValueString(monitoringString, attributes.get(i), attributeToks, values.get(attributeToks[0]));
             }
         }
 
         return monitoringString.toString();
     }
 
+    /**
+     * Reads the values of all monitored attributes. Attributes which cannot be
+     * read in the batch are read on their own to report the cause.
+     */
+    private Map<String, Object> getAttributeValues(MBeanServer server) {
+        String[] names = attributeNames;
+        Map<String, Object> values = new HashMap<>();
+        try {
+            for (Attribute attribute : server.getAttributes(mBean, names).asList()) {
+                values.put(attribute.getName(), attribute.getValue());
+            }
+        } catch (InstanceNotFoundException | ReflectionException ex) {
+            Logger.getLogger(JMXMonitoringJob.class.getName())
+                    .log(Level.SEVERE, null, ex);
+            return values;
+        }
+        if (values.size() < names.length) {
+            for (String name : names) {
+                if (!values.containsKey(name)) {
+                    try {
+                        values.put(name, server.getAttribute(mBean, name));
+                    } catch (MBeanException | AttributeNotFoundException
+                            | InstanceNotFoundException | ReflectionException ex) {
+                        Logger.getLogger(JMXMonitoringJob.class.getName())
+                                .log(Level.SEVERE, null, ex);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * Returns the MBean monitored by the job.
      *
@@ -127,39 +176,58 @@ public class JMXMonitoringJob {
      *
      * @param attribute Name of attribute to be monitored.
      */
-    public void addAttribute(String attribute) {
+    public synchronized void addAttribute(String attribute) {
         if (!attributes.contains(attribute)) {
             attributes.add(attribute);
+            parseAttributes();
+        }
+    }
+
+    /**
+     * Sets the threshold for reporting values. When set only values that
+     * changed since they were last reported are returned by
+     * {@link #getMonitoringInfo(MBeanServer)}. Numeric values must have changed
+     * by more than the given percentage.
+     *
+     * @param deltaThreshold Percentage a numeric value has to change by, a
+     * negative value reports all values.
+     */
+    public synchronized void setDeltaThreshold(double deltaThreshold) {
+        this.deltaThreshold = deltaThreshold;
+        reportedValues.clear();
+    }
+
+    private void parseAttributes() {
+        String[][] paths = new String[attributes.size()][];
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = attributes.get(i).split("\\.");
+            names.add(paths[i][0]);
         }
+        attributePaths = paths;
+        attributeNames = names.toArray(new String[0]);
     }
 
     /**
-     * Gets the attribute value as a string.
+     * Appends the attribute value as a string.
      *
+     * @param attributeString The string to append to.
      * @param attributeName Name of the attribute.
+     * @param attributeToks Name of the attribute split at the dots.
      * @param attributeObj The object representing the attribute.
-     * @return Returns a string containing the key-value pair(s) for the
-     * attribute.
      */
-    private String getValueString(String attributeName, Object attributeObj) {
-        StringBuilder attributeString = new StringBuilder();
-
-        if (attributeObj.getClass() == CompositeDataSupport.class) {
+    private void appendValueString(StringBuilder attributeString, String attributeName, String[] attributeToks,
+            Object attributeObj) {
+        if (attributeObj != null && attributeObj.getClass() == CompositeDataSupport.class) {
             CompositeDataSupport compositeObj = (CompositeDataSupport) attributeObj;
-            String[] attributeToks = attributeName.split("\\.");
 
             switch (attributeToks.length) {
                 case 1:
-                    String compositeString = getCompositeString(attributeToks[0], compositeObj);
-                    attributeString.append(compositeString);
+                    appendCompositeString(attributeString, attributeToks[0], compositeObj);
                     break;
                 case 2:
-                    String attributeValue = compositeObj.get(attributeToks[1]).toString();
-                    attributeString.append(attributeToks[1]);
-                    attributeString.append(attributeToks[0]);
-                    attributeString.append("=");
-                    attributeString.append(attributeValue);
-                    attributeString.append(" ");
+                    appendKeyValue(attributeString, attributeToks[1] + attributeToks[0],
+                            compositeObj.get(attributeToks[1]));
                     break;
                 default:
                     Logger.getLogger(JMXMonitoringJob.class.getCanonicalName())
@@ -168,35 +236,43 @@ public class JMXMonitoringJob {
                                     + "`AttributeName.property`", attributeName);
             }
         } else {
-            attributeString.append(attributeName);
-            attributeString.append("=");
-            attributeString.append(attributeObj.toString());
-            attributeString.append(" ");
+            appendKeyValue(attributeString, attributeName, attributeObj);
         }
-
-        return attributeString.toString();
     }
 
     /**
-     * Gets a composite string for an attribute with multiple keys.
+     * Appends a composite string for an attribute with multiple keys.
      *
+     * @param compositeString The string to append to.
      * @param attributeName Name of the attribute.
      * @param compositeObj The composite object representing the attribute.
-     * @return Returns a string containing the key-value pairs for the
-     * attribute.
      */
-    private String getCompositeString(String attributeName, CompositeDataSupport compositeObj) {
-        StringBuilder compositeString = new StringBuilder();
-
+    private void appendCompositeString(StringBuilder compositeString, String attributeName, CompositeDataSupport compositeObj) {
         for (String entry : compositeObj.getCompositeType().keySet()) {
-            compositeString.append(entry);
-            compositeString.append(attributeName);
-            compositeString.append("=");
-            compositeString.append(compositeObj.get(entry).toString());
-            compositeString.append(" ");
+            appendKeyValue(compositeString, entry + attributeName, compositeObj.get(entry));
         }
+    }
 
-        return compositeString.toString();
+    private void appendKeyValue(StringBuilder builder, String key, Object value) {
+        if (deltaThreshold >= 0) {
+            if (reportedValues.containsKey(key) && !hasChanged(reportedValues.get(key), value)) {
+                return;
+            }
+            reportedValues.put(key, value);
+        }
+        builder.append(key);
+        builder.append("=");
+        builder.append(value);
+        builder.append(" ");
+    }
+
+    private boolean hasChanged(Object reported, Object value) {
+        if (reported instanceof Number && value instanceof Number) {
+            double previous = ((Number) reported).doubleValue();
+            double current = ((Number) value).doubleValue();
+            return Math.abs(current - previous) * 100 > deltaThreshold * Math.abs(previous);
+        }
+        return !Objects.equals(reported, value);
     }
 
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -47,9 +47,11 @@ import fish.payara.jmx.monitoring.configuration.MonitoredAttribute;
 import fish.payara.jmx.monitoring.configuration.MonitoringServiceConfiguration;
 import fish.payara.nucleus.executorservice.PayaraExecutorService;
 import java.beans.PropertyVetoException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -227,34 +229,27 @@ public class JMXMonitoringService implements EventListener {
      * @return List of built jobs.
      */
     private List<JMXMonitoringJob> buildJobs() {
-        List<JMXMonitoringJob> jobs = new LinkedList<>();
+        // one job per MBean, so that all its attributes are read at once
+        Map<ObjectName, JMXMonitoringJob> jobs = new LinkedHashMap<>();
+        double deltaThreshold = Boolean.parseBoolean(configuration.getDeltaMode())
+                ? Math.max(0d, Double.parseDouble(configuration.getDeltaThreshold()))
+                : -1d;
 
         for (MonitoredAttribute mbean : configuration.getMonitoredAttributes()) {
-            boolean exists = false;
-
-            for (JMXMonitoringJob job : jobs) {
-                if (job.getMBean().getCanonicalKeyPropertyListString()
-                        .equals(mbean.getObjectName())) {
-                    job.addAttribute(mbean.getAttributeName());
-                    exists = true;
-                    break;
-                }
-            }
-
-            if (!exists) {
-                ObjectName name;
-                List<String> list;
-                try {
-                    name = new ObjectName(mbean.getObjectName());
-                    list = new LinkedList<>();
-                    list.add(mbean.getAttributeName());
-                    jobs.add(new JMXMonitoringJob(name, list));
-                } catch (MalformedObjectNameException ex) {
-                    Logger.getLogger(JMXMonitoringService.class.getName()).log(Level.SEVERE, null, ex);
+            try {
+                ObjectName name = new ObjectName(mbean.getObjectName());
+                JMXMonitoringJob job = jobs.get(name);
+                if (job == null) {
+                    job = new JMXMonitoringJob(name, new ArrayList<>());
+                    job.setDeltaThreshold(deltaThreshold);
+                    jobs.put(name, job);
                 }
+                job.addAttribute(mbean.getAttributeName());
+            } catch (MalformedObjectNameException ex) {
+                Logger.getLogger(JMXMonitoringService.class.getName()).log(Level.SEVERE, null, ex);
             }
         }
-        return jobs;
+        return new ArrayList<>(jobs.values());
     }
 
     public LocalStringManagerImpl getLocalStringManager() {
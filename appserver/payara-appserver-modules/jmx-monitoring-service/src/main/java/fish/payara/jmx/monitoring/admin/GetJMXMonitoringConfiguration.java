@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2018-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -93,7 +93,8 @@ import org.jvnet.hk2.annotations.Service;
 })
 public class GetJMXMonitoringConfiguration implements AdminCommand {
 
-    private final static String JMX_MONITORING_HEADERS[] = {"JMX Monitoring Enabled", "JMX Log Frequency", "JMX Log Frequency Unit"};
+    private final static String JMX_MONITORING_HEADERS[] = {"JMX Monitoring Enabled", "JMX Log Frequency", "JMX Log Frequency Unit",
+        "JMX Delta Mode", "JMX Delta Threshold"};
     private final static String ATTRIBUTE_HEADERS[] = {"Object Name", "Attribute", "Description"};
     private final static String NOTIFIER_HEADERS[] = {"Name", "Notifier Enabled"};
 
@@ -137,12 +138,14 @@ public class GetJMXMonitoringConfiguration implements AdminCommand {
         List<ServiceHandle<PayaraNotifier>> allNotifierServiceHandles = habitat.getAllServiceHandles(PayaraNotifier.class);
 
         jmxMonitoringColumnFormatter.addRow(new Object[]{monitoringConfig.getEnabled(), monitoringConfig.getLogFrequency(),
-            monitoringConfig.getLogFrequencyUnit()});
+            monitoringConfig.getLogFrequencyUnit(), monitoringConfig.getDeltaMode(), monitoringConfig.getDeltaThreshold()});
 
         Map<String, Object> map = new HashMap<>();       
         map.put("enabled", monitoringConfig.getEnabled());
         map.put("logfrequency", monitoringConfig.getLogFrequency());
         map.put("logfrequencyunit", monitoringConfig.getLogFrequencyUnit());
+        map.put("deltamode", monitoringConfig.getDeltaMode());
+        map.put("deltathreshold", monitoringConfig.getDeltaThreshold());
 
         Properties extraProps = new Properties();
         extraProps.put("jmxmonitoringConfiguration", map);
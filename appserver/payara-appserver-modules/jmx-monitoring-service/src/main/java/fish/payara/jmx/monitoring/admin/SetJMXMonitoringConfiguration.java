@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2018-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -123,6 +123,12 @@ public class SetJMXMonitoringConfiguration implements AdminCommand {
     @Param(name = "logfrequencyunit", optional = true, acceptableValues = "NANOSECONDS,MILLISECONDS,SECONDS,MINUTES,HOURS,DAYS")
     private String logfrequencyunit;
 
+    @Param(name = "deltamode", optional = true)
+    private Boolean deltamode;
+
+    @Param(name = "deltathreshold", optional = true)
+    private Double deltathreshold;
+
     @Param(name = "addattribute", optional = true, multiple = true, alias = "addproperty")
     private List<String> attributesToAdd;
 
@@ -231,6 +237,12 @@ public class SetJMXMonitoringConfiguration implements AdminCommand {
         if (null != logfrequencyunit) {
             monitoringConfig.setLogFrequencyUnit(logfrequencyunit);
         }
+        if (null != deltamode) {
+            monitoringConfig.setDeltaMode(String.valueOf(deltamode));
+        }
+        if (null != deltathreshold) {
+            monitoringConfig.setDeltaThreshold(String.valueOf(deltathreshold));
+        }
 
         final Set<String> notifierNames = NotifierUtils.getNotifierNames(serviceLocator);
         List<String> notifiers = monitoringConfig.getNotifierList();
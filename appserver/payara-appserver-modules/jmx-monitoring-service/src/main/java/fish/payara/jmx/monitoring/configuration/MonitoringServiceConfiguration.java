@@ -1,6 +1,6 @@
 /*
  *
- * Copyright (c) [2016-2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -88,6 +88,25 @@ public interface MonitoringServiceConfiguration extends ConfigExtension {
     @Attribute(defaultValue="SECONDS")
     String getLogFrequencyUnit();
     void setLogFrequencyUnit(String value) throws PropertyVetoException;
+
+    /**
+     * Boolean value determining if only the values that changed since they
+     * were last logged are logged.
+     *  Default value is false.
+     * @return
+     */
+    @Attribute(defaultValue="false", dataType = Boolean.class)
+    String getDeltaMode();
+    void setDeltaMode(String value) throws PropertyVetoException;
+
+    /**
+     * Percentage a numeric value has to change by to be logged in delta mode.
+     *  Default value is 0, logging any change.
+     * @return
+     */
+    @Attribute(defaultValue="0", dataType = Double.class)
+    String getDeltaThreshold();
+    void setDeltaThreshold(String value) throws PropertyVetoException;
     
     @Element
     List<MonitoredAttribute> getMonitoredAttributes();
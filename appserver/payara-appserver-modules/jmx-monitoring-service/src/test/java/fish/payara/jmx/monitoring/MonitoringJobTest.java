@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2018 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -64,6 +64,8 @@ public class MonitoringJobTest {
     private static final String USEDHEAP_SUBATTRIBUTE_KEY = "used" + HEAP_ATTRIBUTE_NAME;
     private static final String INITHEAP_SUBATTRIBUTE_KEY = "init" + HEAP_ATTRIBUTE_NAME;
     private static final String COMMITTEDHEAP_SUBATTRIBUTE_KEY = "committed" + HEAP_ATTRIBUTE_NAME;
+    private static final String RUNTIME_MBEAN_NAME = "java.lang:type=Runtime";
+    private static final String VMNAME_ATTRIBUTE_NAME = "VmName";
 
     /**
      * Tests the JMXMonitoringJob is able to get a basic attribute correctly.
@@ -290,4 +292,38 @@ public class MonitoringJobTest {
         Assert.assertEquals(true, job.getAttributes().contains(THREAD_ATTRIBUTE_NAME));
         Assert.assertEquals(size, job.getAttributes().size());
     }
+
+    /**
+     * Tests the JMXMonitoringJob reads several attributes of the same MBean.
+     */
+    @Test
+    public void multipleAttributesShouldReturnKeyValueStrings() throws MalformedObjectNameException {
+        List<String> testAttributes = new ArrayList<>();
+        testAttributes.add(HEAP_SUBATTRIBUTE_NAME);
+        testAttributes.add("NonHeapMemoryUsage.used");
+        JMXMonitoringJob job = new JMXMonitoringJob(new ObjectName(HEAP_MBEAN_NAME), testAttributes);
+
+        String[] testMonitoringInfoStrings = job.getMonitoringInfo(TEST_SERVER).trim().split(" ");
+        Assert.assertEquals(2, testMonitoringInfoStrings.length);
+        Assert.assertTrue(testMonitoringInfoStrings[0].startsWith(MAXHEAP_SUBATTRIBUTE_KEY + "="));
+        Assert.assertTrue(testMonitoringInfoStrings[1].startsWith("usedNonHeapMemoryUsage="));
+    }
+
+    /**
+     * Tests the JMXMonitoringJob only reports changed values in delta mode.
+     */
+    @Test
+    public void deltaModeShouldOnlyReportChangedValues() throws MalformedObjectNameException {
+        List<String> testAttributes = new ArrayList<>();
+        testAttributes.add(VMNAME_ATTRIBUTE_NAME);
+        JMXMonitoringJob job = new JMXMonitoringJob(new ObjectName(RUNTIME_MBEAN_NAME), testAttributes);
+        job.setDeltaThreshold(0);
+
+        Assert.assertTrue(job.getMonitoringInfo(TEST_SERVER).startsWith(VMNAME_ATTRIBUTE_NAME + "="));
+        Assert.assertEquals("", job.getMonitoringInfo(TEST_SERVER));
+
+        job.setDeltaThreshold(-1);
+        Assert.assertTrue(job.getMonitoringInfo(TEST_SERVER).startsWith(VMNAME_ATTRIBUTE_NAME + "="));
+        Assert.assertTrue(job.getMonitoringInfo(TEST_SERVER).startsWith(VMNAME_ATTRIBUTE_NAME + "="));
+    }
 }
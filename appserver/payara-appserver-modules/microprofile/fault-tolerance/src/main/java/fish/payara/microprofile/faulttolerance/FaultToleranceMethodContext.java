@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2020-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,7 +40,6 @@
 package fish.payara.microprofile.faulttolerance;
 
 import java.lang.reflect.Method;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -53,6 +52,7 @@ import jakarta.interceptor.InvocationContext;
 import org.eclipse.microprofile.faulttolerance.FallbackHandler;
 
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 
 public interface FaultToleranceMethodContext {
@@ -91,11 +91,11 @@ public interface FaultToleranceMethodContext {
     CircuitBreakerState getState();
 
     /**
-     * Get or create the {@link BlockingQueue} for bulkhead.
+     * Get or create the {@link BulkheadSemaphore} for bulkhead.
      *
-     * @return the created or existing queue, or null if non existed and requestVolumeThreshold was null
+     * @return the created or existing semaphore, or null if non existed and requestVolumeThreshold was null
      */
-    BlockingQueue<Thread> getConcurrentExecutions();
+    BulkheadSemaphore getConcurrentExecutions();
 
     /**
      * Get the bulkhead thread count.
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2019-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -43,13 +43,13 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.LongSupplier;
 
 import org.eclipse.microprofile.faulttolerance.Asynchronous;
 
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 import org.eclipse.microprofile.metrics.Counter;
 import org.eclipse.microprofile.metrics.Histogram;
@@ -122,8 +122,8 @@ public interface FaultToleranceMetrics {
                     {"bulkheadResult", "accepted", "rejected"}});
                 register(Histogram.class.getTypeName(), "ft.bulkhead.runningDuration");
                 if (policy.isAsynchronous()) {
-                    BlockingQueue<Thread> running = context.getConcurrentExecutions();
-                    register("ft.bulkhead.executionsRunning", null, running::size);
+                    BulkheadSemaphore running = context.getConcurrentExecutions();
+                    register("ft.bulkhead.executionsRunning", null, running::acquiredPermits);
                     AtomicInteger queuingOrRunning = context.getQueuingOrRunningPopulation();
                     register("ft.bulkhead.executionsWaiting", null, () -> Math.max(0, queuingOrRunning.get() - policy.bulkhead.value));
                     register(Histogram.class.getTypeName(), "ft.bulkhead.waitingDuration");
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2022 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,6 +41,7 @@ package fish.payara.microprofile.faulttolerance.service;
 
 import fish.payara.microprofile.faulttolerance.*;
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 import fish.payara.microprofile.metrics.MetricsService;
 import fish.payara.monitoring.collect.MonitoringData;
@@ -49,7 +50,6 @@ import fish.payara.monitoring.collect.MonitoringDataSource;
 import fish.payara.notification.requesttracing.RequestTraceSpan;
 import fish.payara.nucleus.requesttracing.RequestTracingService;
 
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -147,7 +147,7 @@ public class FaultToleranceServiceImpl
             MonitoringDataCollector methodCollector = collector.group(methodEntry.getKey().getMethodId())
                     .tag("app", methodEntry.getValue().getAppName());
             FaultToleranceMethodContext context = methodEntry.getValue();
-            BlockingQueue<Thread> concurrentExecutions = context.getConcurrentExecutions();
+            BulkheadSemaphore concurrentExecutions = context.getConcurrentExecutions();
             if (concurrentExecutions != null) {
                 collectBulkheadSemaphores(methodCollector, concurrentExecutions);
                 collectBulkheadSemaphores(methodCollector, concurrentExecutions, context.getQueuingOrRunningPopulation());
@@ -157,16 +157,16 @@ public class FaultToleranceServiceImpl
     }
 
     private static void collectBulkheadSemaphores(MonitoringDataCollector collector,
-            BlockingQueue<Thread> concurrentExecutions) {
+            BulkheadSemaphore concurrentExecutions) {
         collector
-                .collect("RemainingConcurrentExecutionsCapacity", concurrentExecutions.remainingCapacity())
-                .collect("ConcurrentExecutions", concurrentExecutions.size());
+                .collect("RemainingConcurrentExecutionsCapacity", concurrentExecutions.availablePermits())
+                .collect("ConcurrentExecutions", concurrentExecutions.acquiredPermits());
     }
 
     private static void collectBulkheadSemaphores(MonitoringDataCollector collector,
-            BlockingQueue<Thread> concurrentExecutions, AtomicInteger queuingOrRunningPopulation) {
+            BulkheadSemaphore concurrentExecutions, AtomicInteger queuingOrRunningPopulation) {
         collector
-                .collect("WaitingQueuePopulation", queuingOrRunningPopulation.get() - concurrentExecutions.size());
+                .collect("WaitingQueuePopulation", queuingOrRunningPopulation.get() - concurrentExecutions.acquiredPermits());
     }
 
     private static void collectCircuitBreakerState(MonitoringDataCollector collector, CircuitBreakerState state) {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- *    Copyright (c) [2017-2018] Payara Foundation and/or its affiliates. All rights reserved.
+ *    Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  *     The contents of this file are subject to the terms of either the GNU
  *     General Public License Version 2 only ("GPL") or the Common Development
@@ -42,11 +42,18 @@ package fish.payara.microprofile.faulttolerance.state;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Class that represents the state of a CircuitBreaker.
+ * <p>
+ * The outcomes of the last {@code requestVolumeThreshold} invocations in closed state are kept in a ring buffer that
+ * is updated without locking. The number of failures in the buffer is maintained on each update, so that recording
+ * and evaluating outcomes does not depend on the size of the buffer.
+ *
  * @author Andrew Pielage
  * @author Jan Bernitt (2.0)
  */
@@ -62,12 +69,15 @@ public class CircuitBreakerState {
     private final AtomicInteger halfOpenSuccessfulResultsCounter = new AtomicInteger(0);
     private final Map<CircuitState, StateTime> allStateTimes = new ConcurrentHashMap<>(CircuitState.values().length);
     private volatile StateTime currentStateTime;
-    private final boolean[] failureBuffer;
-    private int failureIndex = 0;
-    private long outcomeUpdates = 0L;
+    /**
+     * 1 for a failure, 0 for a success
+     */
+    private final AtomicIntegerArray failureBuffer;
+    private final AtomicLong outcomeUpdates = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
 
     public CircuitBreakerState(int requestVolumeThreshold, double failureRatio) {
-        this.failureBuffer = new boolean[Math.max(0, requestVolumeThreshold)];
+        this.failureBuffer = new AtomicIntegerArray(Math.max(0, requestVolumeThreshold));
         this.failureThreshold = (int) Math.round(requestVolumeThreshold * failureRatio);
         for(CircuitState state : CircuitState.values()) {
             this.allStateTimes.put(state, new StateTime(state));
@@ -100,29 +110,36 @@ public class CircuitBreakerState {
      * Records a success or failure result to the CircuitBreaker.
      * @param success True for a success, false for a failure
      */
-    public synchronized void recordClosedOutcome(boolean success) {
-        failureBuffer[failureIndex] = !success;
-        failureIndex = (failureIndex + 1) % failureBuffer.length;
-        outcomeUpdates++;
-    }
-
-    public synchronized boolean isClosedOutcomeSuccessOnly() {
-        if (failureBuffer.length == 0 || outcomeUpdates < failureBuffer.length) {
-            return false;
+    public void recordClosedOutcome(boolean success) {
+        int length = failureBuffer.length();
+        if (length == 0) {
+            return;
         }
-        for (boolean failure : failureBuffer) {
-            if (failure)
-                return false;
+        int failure = success ? 0 : 1;
+        int index = (int) (outcomeUpdates.getAndIncrement() % length);
+        int replaced = failureBuffer.getAndSet(index, failure);
+        if (failure != replaced) {
+            failures.addAndGet(failure - replaced);
         }
-        return true;
+    }
+
+    public boolean isClosedOutcomeSuccessOnly() {
+        return isResultsQueueFull() && failures.get() == 0;
     }
 
     /**
      * Clears the results queue.
+     * <p>
+     * Outcomes recorded before stay in the buffer, but each of them is overwritten before the buffer counts as full
+     * again, so they are never evaluated.
      */
-    public synchronized void resetResults() {
-        failureIndex = 0;
-        outcomeUpdates = 0L;
+    public void resetResults() {
+        outcomeUpdates.set(0L);
+    }
+
+    private boolean isResultsQueueFull() {
+        int length = failureBuffer.length();
+        return length > 0 && outcomeUpdates.get() >= length;
     }
 
     /**
@@ -150,22 +167,14 @@ public class CircuitBreakerState {
     /**
      * Checks to see if the CircuitBreaker is over the given failure threshold.
      */
-    public synchronized boolean isOverFailureThreshold() {
+    public boolean isOverFailureThreshold() {
         // Only check if the queue is full
-        if (outcomeUpdates < failureBuffer.length) {
+        if (!isResultsQueueFull()) {
             logger.log(Level.FINE, "CircuitBreaker results queue isn't full yet.");
             return false;
         }
-        int failures = 0;
-        for (boolean failure : failureBuffer) {
-            if (failure) {
-                failures++;
-                if (failures >= failureThreshold) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        int failureCount = failures.get();
+        return failureCount > 0 && failureCount >= failureThreshold;
     }
 
     /**
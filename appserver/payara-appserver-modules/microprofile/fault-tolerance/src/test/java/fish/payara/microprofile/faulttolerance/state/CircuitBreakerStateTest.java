@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- *    Copyright (c) [2018] Payara Foundation and/or its affiliates. All rights reserved.
+ *    Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  *     The contents of this file are subject to the terms of either the GNU
  *     General Public License Version 2 only ("GPL") or the Common Development
@@ -39,6 +39,10 @@
  */
 package fish.payara.microprofile.faulttolerance.state;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -74,4 +78,77 @@ public class CircuitBreakerStateTest {
         assertEquals("Unexpected nanos for unused state.", 0, state.updateAndGet(CircuitBreakerState.CircuitState.HALF_OPEN));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFailureThresholdOnlyEvaluatedForFullWindow() {
+        CircuitBreakerState state = new CircuitBreakerState(4, 0.5d);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(true);
+        assertFalse(state.isOverFailureThreshold());
+        state.recordClosedOutcome(true);
+        assertTrue(state.isOverFailureThreshold());
+        assertFalse(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testOldestOutcomeIsReplaced() {
+        CircuitBreakerState state = new CircuitBreakerState(3, 0.5d);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(true);
+        assertTrue(state.isOverFailureThreshold());
+        state.recordClosedOutcome(true);
+        assertFalse(state.isOverFailureThreshold());
+        state.recordClosedOutcome(true);
+        assertTrue(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testResetResultsStartsNewWindow() {
+        CircuitBreakerState state = new CircuitBreakerState(2, 0.5d);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(false);
+        assertTrue(state.isOverFailureThreshold());
+        state.resetResults();
+        assertFalse(state.isOverFailureThreshold());
+        state.recordClosedOutcome(true);
+        state.recordClosedOutcome(true);
+        assertFalse(state.isOverFailureThreshold());
+        assertTrue(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testConcurrentOutcomesAreCounted() throws Exception {
+        int threads = 8;
+        int outcomesPerThread = 10_000;
+        CircuitBreakerState state = new CircuitBreakerState(100, 0.5d);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> recorders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread recorder = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < outcomesPerThread; j++) {
+                    state.recordClosedOutcome(j % 2 == 0);
+                }
+            });
+            recorder.start();
+            recorders.add(recorder);
+        }
+        start.countDown();
+        for (Thread recorder : recorders) {
+            recorder.join();
+        }
+        // the window must stay consistent, filling it with successes clears all failures
+        for (int i = 0; i < 100; i++) {
+            state.recordClosedOutcome(true);
+        }
+        assertTrue(state.isClosedOutcomeSuccessOnly());
+        assertFalse(state.isOverFailureThreshold());
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.healthcheck;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Level.WARNING;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+/**
+ * Runs {@link HealthCheck}s on a dedicated bounded pool, so that hung checks can neither starve other tasks of the
+ * server nor run on the thread of the request when the pool is saturated.
+ * <p>
+ * At most one call of a check is in flight at any time: while a call is running it is shared by every request for
+ * the same check, and a successful result is reused for the cache duration after it completed.
+ */
+final class HealthCheckExecutor {
+
+    private static final Logger LOG = Logger.getLogger(HealthCheckExecutor.class.getName());
+
+    private final ThreadPoolExecutor pool;
+    private final Map<HealthCheck, Execution> executions = new ConcurrentHashMap<>();
+
+    HealthCheckExecutor(int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 60, SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "payara-microprofile-health-check-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts a call of the given check, unless a call of it is still in flight or its last result is younger than
+     * the cache duration.
+     *
+     * @param appName the application of the check
+     * @param healthCheck the check
+     * @param call calls the check in the context of its application
+     * @param cacheDuration milliseconds a successful result is reused for, 0 to only share calls in flight
+     * @return the execution to wait for
+     */
+    Execution execute(String appName, HealthCheck healthCheck, Callable<HealthCheckResponse> call, long cacheDuration) {
+        Execution created = new Execution(appName, healthCheck, call);
+        Execution execution = executions.compute(healthCheck,
+                (check, previous) -> previous != null && previous.isReusable(cacheDuration) ? previous : created);
+        if (execution == created) {
+            // submit outside of compute, the map must not stay locked should the pool ever run the check right away
+            created.submit();
+        }
+        return execution;
+    }
+
+    /**
+     * Cancels and forgets the executions of the checks of the given application.
+     *
+     * @param appName the name of the application
+     */
+    void remove(String appName) {
+        executions.values().removeIf(execution -> {
+            if (execution.appName.equals(appName)) {
+                execution.cancel();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    void shutdown() {
+        pool.shutdownNow();
+        executions.clear();
+    }
+
+    /**
+     * A single call of a {@link HealthCheck} on the pool.
+     */
+    final class Execution {
+
+        final String appName;
+        final HealthCheck healthCheck;
+        private final FutureTask<HealthCheckResponse> future;
+        private volatile boolean running;
+        private volatile boolean rejected;
+        private volatile long completedAt;
+
+        Execution(String appName, HealthCheck healthCheck, Callable<HealthCheckResponse> call) {
+            this.appName = appName;
+            this.healthCheck = healthCheck;
+            this.future = new FutureTask<>(() -> {
+                running = true;
+                try {
+                    HealthCheckResponse response = call.call();
+                    if (response != null) {
+                        completedAt = System.currentTimeMillis();
+                    }
+                    return response;
+                } finally {
+                    running = false;
+                }
+            });
+        }
+
+        private void submit() {
+            try {
+                pool.execute(future);
+            } catch (RejectedExecutionException ex) {
+                LOG.log(WARNING, "Too many health checks in flight, HealthCheck {0} is not called",
+                        healthCheck.getClass().getName());
+                rejected = true;
+                executions.remove(healthCheck, this);
+                future.cancel(false);
+            }
+        }
+
+        private boolean isReusable(long cacheDuration) {
+            if (!future.isDone()) {
+                return true;
+            }
+            if (future.isCancelled()) {
+                // a check that ignored being interrupted is not called again before it returned
+                return running;
+            }
+            long completed = completedAt;
+            return completed > 0 && System.currentTimeMillis() - completed < cacheDuration;
+        }
+
+        /**
+         * Waits for the outcome of the call.
+         *
+         * @param timeout milliseconds to wait at most, 0 or less to wait indefinitely
+         * @return the response of the check, null if it was not called
+         * @throws java.util.concurrent.CancellationException if the call was cancelled or rejected
+         */
+        HealthCheckResponse get(long timeout) throws InterruptedException, ExecutionException, TimeoutException {
+            return timeout > 0 ? future.get(timeout, MILLISECONDS) : future.get();
+        }
+
+        /**
+         * Cancels the call and interrupts the check if it is running. Requests sharing the call get a
+         * {@link java.util.concurrent.CancellationException}.
+         */
+        void cancel() {
+            future.cancel(true);
+        }
+
+        boolean isRejected() {
+            return rejected;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- *    Copyright (c) [2017-2022] Payara Foundation and/or its affiliates. All rights reserved.
+ *    Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  *     The contents of this file are subject to the terms of either the GNU
  *     General Public License Version 2 only ("GPL") or the Common Development
@@ -61,14 +61,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.json.Json;
 import jakarta.json.JsonArrayBuilder;
@@ -81,6 +85,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.eclipse.microprofile.health.HealthCheckResponse.Status;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
 import org.glassfish.api.StartupRunLevel;
 import org.glassfish.api.event.EventListener;
 import org.glassfish.api.event.Events;
@@ -137,6 +142,14 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
     private final Map<String, ClassLoader> applicationClassLoaders = new ConcurrentHashMap<>();
     private final List<String> applicationsLoaded = new CopyOnWriteArrayList<>();
 
+    /**
+     * Bound of the health checks waiting for a thread of the pool, more checks in flight are reported as DOWN
+     */
+    private static final int QUEUED_CHECKS_LIMIT = 100;
+
+    private final HealthCheckExecutor executor = new HealthCheckExecutor(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), QUEUED_CHECKS_LIMIT);
+
     private final AtomicReference<Map<String, Set<String>>> checksCollected = new AtomicReference<>();
 
     @PostConstruct
@@ -147,6 +160,11 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
         events.register(this);
     }
 
+    @PreDestroy
+    public void preDestroy() {
+        executor.shutdown();
+    }
+
     @Override
     @MonitoringData(ns = "health", intervalSeconds = 12)
     public void collect(MonitoringDataCollector collector) {
@@ -312,6 +330,14 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
         return Boolean.parseBoolean(configuration.getSecurityEnabled());
     }
 
+    public long getCheckTimeout() {
+        return Long.parseLong(configuration.getCheckTimeout());
+    }
+
+    public long getCacheDuration() {
+        return Long.parseLong(configuration.getCacheDuration());
+    }
+
     /**
      * Register a HealthCheck to the Set of HealthChecks to execute when
      * performHealthChecks is called.
@@ -344,6 +370,7 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
         startup.remove(appName);
         applicationClassLoaders.remove(appName);
         applicationsLoaded.remove(appName);
+        executor.remove(appName);
     }
 
     /**
@@ -410,6 +437,11 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
 
     /**
      * Execute the call method of every registered HealthCheck and generate the response.
+     * <p>
+     * The checks run in parallel on the pool of the {@link HealthCheckExecutor}, a check that does not complete within
+     * the configured check timeout is cancelled and reported as DOWN. A call of a check that is still running is shared
+     * with other requests, and if a cache duration is configured the result of a check is reused for that long before
+     * the check is called again.
      *
      * @param response The response to return
      * @param type the type of health check
@@ -417,25 +449,55 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
      */
     public void performHealthChecks(HttpServletResponse response, HealthCheckType type, String enablePrettyPrint) throws IOException {
         Set<HealthCheckResponse> healthCheckResponses = new HashSet<>();
+        long timeout = getCheckTimeout();
+        long deadline = System.currentTimeMillis() + timeout;
 
-        // Iterate over every HealthCheck stored in the Map
+        // Start every HealthCheck stored in the Map, so that a slow check does not delay the others
+        long cacheDuration = getCacheDuration();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<HealthCheckExecutor.Execution> started = new ArrayList<>();
         for (Entry<String, Set<HealthCheck>> healthChecksEntry : getCollectiveHealthChecks(type).entrySet()) {
+            String appName = healthChecksEntry.getKey();
             for (HealthCheck healthCheck : healthChecksEntry.getValue()) {
-                // Execute the call method of the HealthCheck and add its outcome to the set of responses
-                try {
-                    healthCheckResponses.add(healthCheck.call());
-                } catch (IllegalStateException ise) {
-                    // If WebComponentInvocation is not present, the app is not ready eg. mid-deployment and the
-                    // HealthCheck call should not be made.
-                    ApplicationInfo appInfo = applicationRegistry.get(healthChecksEntry.getKey());
-                    if (createWebComponentInvocation(appInfo).isPresent()) {
-                        healthCheckResponses.add(performHealthCheckInApplicationContext(healthChecksEntry.getKey(), healthCheck));
-                    }
-                } catch (Exception ex) {
-                    LOG.log(WARNING, "Exception executing HealthCheck : " + healthCheck.getClass().getCanonicalName(), ex);
-                    // If there's any issue, set the response to an error
-                    response.setStatus(500);
+                started.add(executor.execute(appName, healthCheck,
+                        () -> callHealthCheck(appName, healthCheck, classLoader), cacheDuration));
+            }
+        }
+
+        for (HealthCheckExecutor.Execution execution : started) {
+            // Wait for the outcome of the HealthCheck and add it to the set of responses
+            try {
+                HealthCheckResponse healthCheckResponse = execution.get(timeout > 0
+                        ? Math.max(1, deadline - System.currentTimeMillis())
+                        : 0);
+                if (healthCheckResponse != null) {
+                    healthCheckResponses.add(healthCheckResponse);
                 }
+            } catch (TimeoutException ex) {
+                LOG.log(WARNING, "HealthCheck {0} did not complete within {1}ms",
+                        new Object[] { getName(execution.healthCheck), timeout });
+                execution.cancel();
+                healthCheckResponses.add(HealthCheckResponse.named(getName(execution.healthCheck))
+                        .down()
+                        .withData("timeout", timeout)
+                        .build());
+            } catch (CancellationException ex) {
+                // timed out for another request sharing the call, or not called at all as too many checks are in flight
+                HealthCheckResponseBuilder down = HealthCheckResponse.named(getName(execution.healthCheck)).down();
+                if (execution.isRejected()) {
+                    down.withData("rejected", true);
+                } else {
+                    down.withData("timeout", timeout);
+                }
+                healthCheckResponses.add(down.build());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                response.setStatus(500);
+                break;
+            } catch (ExecutionException ex) {
+                LOG.log(WARNING, "Exception executing HealthCheck : " + execution.healthCheck.getClass().getCanonicalName(), ex.getCause());
+                // If there's any issue, set the response to an error
+                response.setStatus(500);
             }
         }
 
@@ -456,6 +518,31 @@ public class HealthCheckService implements EventListener, ConfigListener, Monito
         }
     }
 
+    private static String getName(HealthCheck healthCheck) {
+        return healthCheck instanceof PayaraHealthCheck
+                ? ((PayaraHealthCheck) healthCheck).getName()
+                : healthCheck.getClass().getName();
+    }
+
+    private HealthCheckResponse callHealthCheck(String appName, HealthCheck healthCheck, ClassLoader classLoader) {
+        Thread currentThread = Thread.currentThread();
+        ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+        currentThread.setContextClassLoader(classLoader);
+        try {
+            return healthCheck.call();
+        } catch (IllegalStateException ise) {
+            // If WebComponentInvocation is not present, the app is not ready eg. mid-deployment and the
+            // HealthCheck call should not be made.
+            ApplicationInfo appInfo = applicationRegistry.get(appName);
+            if (appInfo != null && createWebComponentInvocation(appInfo).isPresent()) {
+                return performHealthCheckInApplicationContext(appName, healthCheck);
+            }
+            return null;
+        } finally {
+            currentThread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
     private HealthCheckResponse performHealthCheckInApplicationContext(
             String appName, HealthCheck healthCheck) {
         Thread currentThread = Thread.currentThread();
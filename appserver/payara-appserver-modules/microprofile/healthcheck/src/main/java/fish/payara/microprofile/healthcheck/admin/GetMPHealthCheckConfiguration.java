@@ -1,7 +1,7 @@
 /*
  *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  * 
- *  Copyright (c) [2018-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ *  Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  * 
  *  The contents of this file are subject to the terms of either the GNU
  *  General Public License Version 2 only ("GPL") or the Common Development
@@ -79,7 +79,8 @@ import org.jvnet.hk2.annotations.Service;
 })
 public class GetMPHealthCheckConfiguration implements AdminCommand {
 
-    private final String[] OUTPUT_HEADERS = {"Enabled", "EndPoint", "VirtualServers", "Security Enabled", "Roles"};
+    private final String[] OUTPUT_HEADERS = {"Enabled", "EndPoint", "VirtualServers", "Security Enabled", "Roles",
+        "Check Timeout", "Cache Duration"};
 
     @Inject
     private Target targetUtil;
@@ -106,7 +107,9 @@ public class GetMPHealthCheckConfiguration implements AdminCommand {
             healthCheckConfiguration.getEndpoint(),
             healthCheckConfiguration.getVirtualServers(),
             healthCheckConfiguration.getSecurityEnabled(),
-            healthCheckConfiguration.getRoles()
+            healthCheckConfiguration.getRoles(),
+            healthCheckConfiguration.getCheckTimeout(),
+            healthCheckConfiguration.getCacheDuration()
         };
         columnFormatter.addRow(outputValues);
 
@@ -118,6 +121,8 @@ public class GetMPHealthCheckConfiguration implements AdminCommand {
         extraPropertiesMap.put("virtualServers", healthCheckConfiguration.getVirtualServers());
         extraPropertiesMap.put("securityenabled", healthCheckConfiguration.getSecurityEnabled());
         extraPropertiesMap.put("roles", healthCheckConfiguration.getRoles());
+        extraPropertiesMap.put("checkTimeout", healthCheckConfiguration.getCheckTimeout());
+        extraPropertiesMap.put("cacheDuration", healthCheckConfiguration.getCacheDuration());
 
         Properties extraProperties = new Properties();
         extraProperties.put("microprofileHealthCheckConfiguration", extraPropertiesMap);
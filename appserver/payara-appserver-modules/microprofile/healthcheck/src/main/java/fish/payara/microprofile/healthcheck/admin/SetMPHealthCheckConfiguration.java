@@ -1,7 +1,7 @@
 /*
  *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  * 
- *  Copyright (c) [2018-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ *  Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  * 
  *  The contents of this file are subject to the terms of either the GNU
  *  General Public License Version 2 only ("GPL") or the Common Development
@@ -96,6 +96,12 @@ public class SetMPHealthCheckConfiguration extends SetSecureMicroprofileConfigur
     @Param(name = "virtualServers", optional = true)
     private String virtualServers;
 
+    @Param(name = "checkTimeout", optional = true)
+    private Integer checkTimeout;
+
+    @Param(name = "cacheDuration", optional = true)
+    private Integer cacheDuration;
+
     @Inject
     ServiceLocator habitat;
 
@@ -136,6 +142,12 @@ public class SetMPHealthCheckConfiguration extends SetSecureMicroprofileConfigur
                 if (virtualServers != null) {
                     configProxy.setVirtualServers(virtualServers);
                 }
+                if (checkTimeout != null) {
+                    configProxy.setCheckTimeout(checkTimeout.toString());
+                }
+                if (cacheDuration != null) {
+                    configProxy.setCacheDuration(cacheDuration.toString());
+                }
                 if (securityEnabled != null) {
                     configProxy.setSecurityEnabled(securityEnabled.toString());
                 }
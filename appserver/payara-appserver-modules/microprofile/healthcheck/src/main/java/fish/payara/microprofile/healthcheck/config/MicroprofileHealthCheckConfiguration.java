@@ -1,7 +1,7 @@
 /*
  *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  * 
- *  Copyright (c) [2018-2020] Payara Foundation and/or its affiliates. All rights reserved.
+ *  Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  * 
  *  The contents of this file are subject to the terms of either the GNU
  *  General Public License Version 2 only ("GPL") or the Common Development
@@ -97,4 +97,22 @@ public interface MicroprofileHealthCheckConfiguration extends ConfigExtension {
 
     void setRoles(String value) throws PropertyVetoException;
 
+    /**
+     * @return the maximum time in milliseconds a single health check may take
+     * before it is reported as DOWN, 0 or less to wait indefinitely.
+     */
+    @Attribute(defaultValue = "10000", dataType = Integer.class)
+    String getCheckTimeout();
+
+    void setCheckTimeout(String value) throws PropertyVetoException;
+
+    /**
+     * @return the time in milliseconds the result of a health check is reused
+     * before the check is called again, 0 or less to call it on every request.
+     */
+    @Attribute(defaultValue = "0", dataType = Integer.class)
+    String getCacheDuration();
+
+    void setCacheDuration(String value) throws PropertyVetoException;
+
 }
@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.healthcheck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests sharing, caching, cancelling and rejecting calls of health checks by the {@link HealthCheckExecutor}.
+ */
+public class HealthCheckExecutorTest {
+
+    private HealthCheckExecutor executor = new HealthCheckExecutor(2, 1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void runningCallIsSharedWithoutCacheDuration() throws Exception {
+        HealthCheck check = blockingCheck();
+
+        HealthCheckExecutor.Execution first = executor.execute("app", check, check::call, 0);
+        HealthCheckExecutor.Execution second = executor.execute("app", check, check::call, 0);
+        assertSame(first, second);
+
+        release.countDown();
+        assertEquals("blocking", first.get(5000).getName());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void completedCallIsNotReusedWithoutCacheDuration() throws Exception {
+        HealthCheck check = upCheck();
+
+        HealthCheckExecutor.Execution first = executor.execute("app", check, check::call, 0);
+        first.get(5000);
+        HealthCheckExecutor.Execution second = executor.execute("app", check, check::call, 0);
+        second.get(5000);
+
+        assertNotSame(first, second);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void completedCallIsReusedForCacheDuration() throws Exception {
+        HealthCheck check = upCheck();
+
+        HealthCheckExecutor.Execution first = executor.execute("app", check, check::call, 60_000);
+        first.get(5000);
+        HealthCheckExecutor.Execution second = executor.execute("app", check, check::call, 60_000);
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void timedOutCallIsInterrupted() throws Exception {
+        HealthCheck check = blockingCheck();
+
+        HealthCheckExecutor.Execution execution = executor.execute("app", check, check::call, 0);
+        try {
+            execution.get(50);
+            fail("TimeoutException expected");
+        } catch (TimeoutException expected) {
+            execution.cancel();
+        }
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        try {
+            execution.get(5000);
+            fail("CancellationException expected");
+        } catch (CancellationException expected) {
+            assertFalse(execution.isRejected());
+        }
+    }
+
+    @Test
+    public void cancelledCallIsNotCalledAgainBeforeItReturned() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        HealthCheck check = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            // ignores being interrupted
+            while (true) {
+                try {
+                    release.await();
+                    return HealthCheckResponse.up("stubborn");
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                }
+            }
+        };
+
+        HealthCheckExecutor.Execution first = executor.execute("app", check, check::call, 0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        first.cancel();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+        assertSame(first, executor.execute("app", check, check::call, 0));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void callsBeyondTheQueueAreRejected() throws Exception {
+        executor.shutdown();
+        executor = new HealthCheckExecutor(1, 1);
+        HealthCheck running = blockingCheck();
+        HealthCheck queued = blockingCheck();
+        String caller = Thread.currentThread().getName();
+        HealthCheck rejected = () -> {
+            calls.incrementAndGet();
+            return HealthCheckResponse.up(Thread.currentThread().getName());
+        };
+
+        HealthCheckExecutor.Execution first = executor.execute("app", running, running::call, 0);
+        HealthCheckExecutor.Execution second = executor.execute("app", queued, queued::call, 0);
+        HealthCheckExecutor.Execution execution = executor.execute("app", rejected, rejected::call, 0);
+
+        assertTrue(execution.isRejected());
+        try {
+            execution.get(5000);
+            fail("CancellationException expected");
+        } catch (CancellationException expected) {
+            // the check is neither queued nor run on the calling thread
+        }
+        release.countDown();
+        first.get(5000);
+        second.get(5000);
+        HealthCheckExecutor.Execution retried = executor.execute("app", rejected, rejected::call, 0);
+        assertNotSame(execution, retried);
+        assertFalse(caller.equals(retried.get(5000).getName()));
+    }
+
+    @Test
+    public void removedApplicationCallsAreCancelled() throws Exception {
+        HealthCheck check = blockingCheck();
+
+        HealthCheckExecutor.Execution execution = executor.execute("app", check, check::call, 0);
+        executor.remove("app");
+
+        try {
+            execution.get(5000);
+            fail("CancellationException expected");
+        } catch (CancellationException expected) {
+            // the call of the undeployed application is no longer waited for
+        }
+    }
+
+    private HealthCheck upCheck() {
+        return () -> {
+            calls.incrementAndGet();
+            return HealthCheckResponse.up("up");
+        };
+    }
+
+    private HealthCheck blockingCheck() {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return HealthCheckResponse.up("blocking");
+        };
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -71,6 +71,7 @@ public class JwtPublicKeyStore {
     private static final String EC_ALGORITHM = "EC";
         
     private final Config config;
+    private final KeyLoadingCache keyCache;
     private final Supplier<Optional<String>> cacheSupplier;
     private final Duration defaultCacheTTL;
     private String keyLocation = "/publicKey.pem";
@@ -81,7 +82,8 @@ public class JwtPublicKeyStore {
     public JwtPublicKeyStore(Duration defaultCacheTTL) {
         this.config = ConfigProvider.getConfig();
         this.defaultCacheTTL = defaultCacheTTL;
-        this.cacheSupplier = new KeyLoadingCache(this::readRawPublicKey)::get;
+        this.keyCache = new KeyLoadingCache(this::readRawPublicKey);
+        this.cacheSupplier = keyCache::get;
     }
 
     /**
@@ -105,6 +107,15 @@ public class JwtPublicKeyStore {
             .orElseThrow(() -> new IllegalStateException("No PublicKey found"));
     }
     
+    /**
+     * Tokens verified with a key of an earlier generation must be verified again, as the key has been rotated.
+     *
+     * @return the generation of the currently loaded public key
+     */
+    public long getKeyGeneration() {
+        return keyCache.getGeneration();
+    }
+
     private CacheableString readRawPublicKey() {
         CacheableString publicKey = JwtKeyStoreUtils.readKeyFromLocation(keyLocation, defaultCacheTTL);
         
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2023] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -63,6 +63,7 @@ import java.util.logging.Logger;
 
 import static jakarta.security.enterprise.identitystore.CredentialValidationResult.INVALID_RESULT;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.logging.Level.INFO;
 import static org.eclipse.microprofile.jwt.config.Names.ISSUER;
 
@@ -85,6 +86,7 @@ public class SignedJWTIdentityStore implements IdentityStore {
     private final Config config;
     private final JwtPublicKeyStore publicKeyStore;
     private final JwtPrivateKeyStore privateKeyStore;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private final boolean isEncryptionRequired;
 
@@ -111,6 +113,7 @@ public class SignedJWTIdentityStore implements IdentityStore {
         Optional<String> decryptKeyLocation = readConfigOptional(Names.DECRYPTOR_KEY_LOCATION, properties, config); //mp.jwt.decrypt.key.location
         publicKeyStore = new JwtPublicKeyStore(readPublicKeyCacheTTL(properties), publicKeyLocation);
         privateKeyStore = new JwtPrivateKeyStore(readPublicKeyCacheTTL(properties), decryptKeyLocation);
+        verifiedTokenCache = new VerifiedTokenCache(readVerifiedTokenCacheTTL(properties), readVerifiedTokenCacheSize(properties));
 
         // Signing is required by default, it doesn't parse if not signed
         isEncryptionRequired = decryptKeyLocation.isPresent();
@@ -118,10 +121,10 @@ public class SignedJWTIdentityStore implements IdentityStore {
     }
 
     public CredentialValidationResult validate(SignedJWTCredential signedJWTCredential) {
-        final JwtTokenParser jwtTokenParser = new JwtTokenParser(enabledNamespace, customNamespace, disableTypeVerification);
         try {
-            JsonWebTokenImpl jsonWebToken = jwtTokenParser.parse(signedJWTCredential.getSignedJWT(),
-                    isEncryptionRequired, publicKeyStore, acceptedIssuer, privateKeyStore, optionalConfigProperty);
+            JsonWebTokenImpl jsonWebToken = verifiedTokenCache.isEnabled()
+                    ? getVerifiedToken(signedJWTCredential.getSignedJWT())
+                    : parse(signedJWTCredential.getSignedJWT());
 
             // verifyAndParseEncryptedJWT audience
             final Set<String> recipientsOfThisJWT = jsonWebToken.getAudience();
@@ -148,6 +151,33 @@ public class SignedJWTIdentityStore implements IdentityStore {
         return INVALID_RESULT;
     }
 
+    private JsonWebTokenImpl parse(String bearerToken) throws JWTProcessingException {
+        final JwtTokenParser jwtTokenParser = new JwtTokenParser(enabledNamespace, customNamespace, disableTypeVerification);
+        return jwtTokenParser.parse(bearerToken, isEncryptionRequired, publicKeyStore, acceptedIssuer, privateKeyStore,
+                optionalConfigProperty);
+    }
+
+    /**
+     * Parses and verifies the token unless the same token has already been verified with the current public key.
+     */
+    private JsonWebTokenImpl getVerifiedToken(String bearerToken) throws JWTProcessingException {
+        return verifiedTokenCache.getVerified(bearerToken, publicKeyStore.getKeyGeneration(), this::parse,
+                this::getValidUntil);
+    }
+
+    /**
+     * @return epoch milliseconds until which the token passes the expiry and token age checks of the parser
+     */
+    private long getValidUntil(JsonWebTokenImpl jsonWebToken) {
+        long clockSkew = optionalConfigProperty.get(Names.CLOCK_SKEW).map(Long::valueOf).orElse(0L);
+        long validUntil = jsonWebToken.getExpirationTime() + clockSkew;
+        Optional<Long> tokenAge = optionalConfigProperty.get(Names.TOKEN_AGE).map(Long::valueOf);
+        if (tokenAge.isPresent()) {
+            validUntil = Math.min(validUntil, jsonWebToken.getIssuedAtTime() + tokenAge.get() + clockSkew);
+        }
+        return SECONDS.toMillis(validUntil);
+    }
+
     public static Optional<Properties> readVendorProperties() {
         URL mpJwtResource = currentThread().getContextClassLoader().getResource("/payara-mp-jwt.properties");
         Properties properties = null;
@@ -186,6 +216,21 @@ public class SignedJWTIdentityStore implements IdentityStore {
         		.orElseGet( () -> Duration.ofMinutes(5));
     }
     
+    private Duration readVerifiedTokenCacheTTL(Optional<Properties> properties) {
+        return properties
+                .map(props -> props.getProperty("verified.token.cache.ttl"))
+                .map(Long::valueOf)
+                .map(Duration::ofMillis)
+                .orElseGet(() -> Duration.ofMinutes(5));
+    }
+
+    private int readVerifiedTokenCacheSize(Optional<Properties> properties) {
+        return properties
+                .map(props -> props.getProperty("verified.token.cache.size"))
+                .map(Integer::valueOf)
+                .orElse(10_000);
+    }
+
     private Optional<String> readAudience(Optional<Properties> properties) {
         return properties.isPresent() ? Optional.ofNullable(properties.get().getProperty(Names.AUDIENCES)) : Optional.empty();
     }
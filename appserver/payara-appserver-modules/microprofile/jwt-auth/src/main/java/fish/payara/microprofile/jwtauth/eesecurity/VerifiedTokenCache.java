@@ -0,0 +1,206 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.microprofile.jwtauth.eesecurity;
+
+import fish.payara.microprofile.jwtauth.jwt.JsonWebTokenImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded cache of tokens that passed signature and claims verification, keyed by the SHA-256 hash of the raw
+ * token. An entry is used until the token expires or the cache TTL elapsed, whichever is first, and is dropped as
+ * soon as the public key has been rotated. When the cache is full the entries expiring first are evicted.
+ */
+public class VerifiedTokenCache {
+
+    /**
+     * Parses and verifies a raw token.
+     */
+    @FunctionalInterface
+    public interface Verifier {
+        JsonWebTokenImpl verify(String token) throws JWTProcessingException;
+    }
+
+    private static final class Entry {
+        final String key;
+        final JsonWebTokenImpl token;
+        final long expires;
+        final long keyGeneration;
+
+        Entry(String key, JsonWebTokenImpl token, long expires, long keyGeneration) {
+            this.key = key;
+            this.token = token;
+            this.expires = expires;
+            this.keyGeneration = keyGeneration;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // all cached entries by expiry, may also hold entries that were since replaced or dropped from the map
+    private final PriorityQueue<Entry> expiries = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.expires));
+
+    private final long ttl;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    /**
+     * @param ttl maximum time a verified token is trusted without verifying it again, zero disables the cache
+     * @param maxSize maximum number of tokens cached, zero disables the cache
+     */
+    public VerifiedTokenCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(Duration ttl, int maxSize, LongSupplier clock) {
+        this.ttl = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return ttl > 0 && maxSize > 0;
+    }
+
+    /**
+     * Returns the cached token if the same raw token has already been verified with the current public key,
+     * otherwise verifies it and caches it if verification succeeded.
+     *
+     * @param token the raw token
+     * @param keyGeneration generation of the current public key
+     * @param verifier parses and verifies the token if it is not cached
+     * @param validUntil epoch milliseconds until which a verified token passes verification
+     * @return the verified token
+     * @throws JWTProcessingException if the token is not cached and fails verification
+     */
+    public JsonWebTokenImpl getVerified(String token, long keyGeneration, Verifier verifier,
+            ToLongFunction<JsonWebTokenImpl> validUntil) throws JWTProcessingException {
+        String key = hash(token);
+        JsonWebTokenImpl verified = get(key, keyGeneration);
+        if (verified == null) {
+            verified = verifier.verify(token);
+            put(key, verified, validUntil.applyAsLong(verified), keyGeneration);
+        }
+        return verified;
+    }
+
+    /**
+     * @param key hash of the raw token
+     * @param keyGeneration generation of the current public key
+     * @return the verified token, or null if not cached, expired or verified with an earlier key
+     */
+    JsonWebTokenImpl get(String key, long keyGeneration) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.keyGeneration != keyGeneration || clock.getAsLong() >= entry.expires) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.token;
+    }
+
+    /**
+     * @param key hash of the raw token
+     * @param token the verified token
+     * @param validUntil epoch milliseconds until which the token passes verification
+     * @param keyGeneration generation of the public key the token was verified with
+     */
+    void put(String key, JsonWebTokenImpl token, long validUntil, long keyGeneration) {
+        long now = clock.getAsLong();
+        long expires = Math.min(validUntil, now + ttl);
+        if (expires <= now) {
+            return;
+        }
+        Entry entry = new Entry(key, token, expires, keyGeneration);
+        synchronized (expiries) {
+            evict(now);
+            entries.put(key, entry);
+            expiries.add(entry);
+            if (expiries.size() > 2 * maxSize) {
+                // too many entries that are no longer cached
+                expiries.clear();
+                expiries.addAll(entries.values());
+            }
+        }
+    }
+
+    /**
+     * Drops the expired entries, then the entries expiring first until there is room for another one.
+     */
+    private void evict(long now) {
+        Entry earliest;
+        while ((earliest = expiries.peek()) != null && (now >= earliest.expires || entries.size() >= maxSize)) {
+            expiries.poll();
+            entries.remove(earliest.key, earliest);
+        }
+    }
+
+    /**
+     * @return the number of cached tokens
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param token the raw token
+     * @return the key of the token in the cache
+     */
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
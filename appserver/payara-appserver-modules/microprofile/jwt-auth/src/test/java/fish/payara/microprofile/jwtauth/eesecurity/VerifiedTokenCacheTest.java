@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.microprofile.jwtauth.eesecurity;
+
+import fish.payara.microprofile.jwtauth.jwt.JsonWebTokenImpl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class VerifiedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private VerifiedTokenCache cache(Duration ttl, int maxSize) {
+        return new VerifiedTokenCache(ttl, maxSize, now::get);
+    }
+
+    private JsonWebTokenImpl verify(String token) {
+        verifications.incrementAndGet();
+        return new JsonWebTokenImpl(token, Collections.emptyMap());
+    }
+
+    private JsonWebTokenImpl get(VerifiedTokenCache cache, String token, long validUntil) throws JWTProcessingException {
+        return cache.getVerified(token, 1, this::verify, jwt -> validUntil);
+    }
+
+    @Test
+    public void tokenIsCachedUntilItExpires() throws JWTProcessingException {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1), 10);
+        long exp = now.get() + 5_000;
+        JsonWebTokenImpl first = get(cache, "a", exp);
+        now.set(exp - 1);
+        assertSame(first, get(cache, "a", exp));
+        assertEquals(1, verifications.get());
+
+        now.set(exp);
+        assertNotSame(first, get(cache, "a", exp + 5_000));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void tokenIsCachedAtMostForTheTTL() throws JWTProcessingException {
+        VerifiedTokenCache cache = cache(Duration.ofSeconds(1), 10);
+        long exp = now.get() + 60_000;
+        get(cache, "a", exp);
+        now.addAndGet(1_000);
+        get(cache, "a", exp);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void fullCacheEvictsTheEarliestExpiry() throws JWTProcessingException {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1), 2);
+        long start = now.get();
+        get(cache, "late", start + 30_000);
+        get(cache, "early", start + 10_000);
+        get(cache, "new", start + 20_000);
+        assertEquals(2, cache.size());
+        assertEquals(3, verifications.get());
+
+        get(cache, "late", start + 30_000);
+        get(cache, "new", start + 20_000);
+        assertEquals(3, verifications.get());
+        get(cache, "early", start + 10_000);
+        assertEquals(4, verifications.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void expiredEntriesAreEvictedFirst() throws JWTProcessingException {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1), 2);
+        long start = now.get();
+        get(cache, "short", start + 1_000);
+        get(cache, "long", start + 60_000);
+        now.addAndGet(2_000);
+        get(cache, "other", start + 30_000);
+        assertEquals(2, cache.size());
+        get(cache, "long", start + 60_000);
+        assertEquals(3, verifications.get());
+    }
+
+    @Test
+    public void failedVerificationIsNotCached() {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1), 10);
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getVerified("bad", 1, token -> {
+                    verifications.incrementAndGet();
+                    throw new JWTProcessingException("invalid signature");
+                }, jwt -> Long.MAX_VALUE);
+                fail("Expected JWTProcessingException");
+            } catch (JWTProcessingException expected) {
+                // not cached
+            }
+        }
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void keyRotationForcesVerification() throws JWTProcessingException {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1), 10);
+        long exp = now.get() + 60_000;
+        cache.getVerified("a", 1, this::verify, jwt -> exp);
+        cache.getVerified("a", 2, this::verify, jwt -> exp);
+        assertEquals(2, verifications.get());
+        cache.getVerified("a", 2, this::verify, jwt -> exp);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void expiredTokenIsNotCached() throws JWTProcessingException {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1), 10);
+        get(cache, "a", now.get());
+        assertEquals(0, cache.size());
+    }
+}
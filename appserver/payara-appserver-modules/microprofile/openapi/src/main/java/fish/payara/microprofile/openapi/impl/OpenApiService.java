@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2018-2022] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -47,6 +47,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Singleton;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.microprofile.openapi.models.OpenAPI;
 import org.glassfish.api.deployment.DeploymentContext;
 import org.glassfish.api.deployment.archive.ReadableArchive;
@@ -66,7 +67,9 @@ public class OpenApiService {
     private boolean securityEnabled;
     private boolean withCorsHeaders;
 
-    private volatile OpenAPI cachedResult;
+    private volatile CachedDocument cachedResult;
+    // incremented whenever the registered documents change, a document built meanwhile is not cached
+    private volatile int documentsVersion;
 
     private Map<String, OpenAPISupplier> documents;
 
@@ -112,21 +115,26 @@ public class OpenApiService {
         final ReadableArchive archive = ctx.getSource();
         final ClassLoader classLoader = ctx.getClassLoader();
         documents.put(applicationId, new OpenAPISupplier(applicationId, contextRoot, archive, classLoader));
-        cachedResult = null;
+        invalidate();
     }
 
     public void deregisterApp(String applicationId) {
         documents.remove(applicationId);
-        cachedResult = null;
+        invalidate();
     }
 
     public void resumeApp(String applicationId) {
         documents.get(applicationId).setEnabled(true);
-        cachedResult = null;
+        invalidate();
     }
 
     public void suspendApp(String applicationId) {
         documents.get(applicationId).setEnabled(false);
+        invalidate();
+    }
+
+    private void invalidate() {
+        documentsVersion++;
         cachedResult = null;
     }
 
@@ -136,13 +144,55 @@ public class OpenApiService {
      * @throws OpenAPIBuildException if creating the document failed.
      * @throws java.io.IOException if source archive not accessible
      */
-    public synchronized OpenAPI getDocument() throws OpenAPIBuildException, IOException, CloneNotSupportedException {
+    public OpenAPI getDocument() throws OpenAPIBuildException, IOException, CloneNotSupportedException {
+        CachedDocument cached = getCachedDocument();
+        return cached == null ? null : cached.document;
+    }
+
+    /**
+     * @param mediaType the media type the mapper produces, used as cache key
+     * @param mapper the mapper to serialize the document with
+     * @return the document serialized by the given mapper, serialized only once per built document,
+     * or null if there is no document
+     * @throws OpenAPIBuildException if creating the document failed.
+     * @throws java.io.IOException if source archive not accessible or serializing failed
+     */
+    public SerializedDocument getSerializedDocument(String mediaType, ObjectMapper mapper)
+            throws OpenAPIBuildException, IOException, CloneNotSupportedException {
+        CachedDocument cached = getCachedDocument();
+        if (cached == null) {
+            return null;
+        }
+        SerializedDocument result = cached.serialized.get(mediaType);
+        if (result == null) {
+            result = new SerializedDocument(mapper.writeValueAsBytes(cached.document));
+            SerializedDocument existing = cached.serialized.putIfAbsent(mediaType, result);
+            if (existing != null) {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    private CachedDocument getCachedDocument() throws OpenAPIBuildException, IOException, CloneNotSupportedException {
+        if (documents.isEmpty()) {
+            return null;
+        }
+        CachedDocument cached = cachedResult;
+        if (cached != null) {
+            return cached;
+        }
+        return buildDocument();
+    }
+
+    private synchronized CachedDocument buildDocument() throws OpenAPIBuildException, IOException, CloneNotSupportedException {
         if (documents.isEmpty()) {
             return null;
         }
         if (cachedResult != null) {
             return cachedResult;
         }
+        int version = documentsVersion;
         OpenAPI result = null;
         Iterator<OpenAPISupplier> iterator = documents.values().iterator();
         do {
@@ -154,8 +204,20 @@ public class OpenApiService {
             }
         } while (iterator.hasNext());
 
-        this.cachedResult = result;
-        return result;
+        CachedDocument cached = new CachedDocument(result);
+        if (version == documentsVersion) {
+            this.cachedResult = cached;
+        }
+        return cached;
+    }
+
+    private static final class CachedDocument {
+        final OpenAPI document;
+        final Map<String, SerializedDocument> serialized = new ConcurrentHashMap<>();
+
+        CachedDocument(OpenAPI document) {
+            this.document = document;
+        }
     }
 
     public static final OpenApiService getInstance() {
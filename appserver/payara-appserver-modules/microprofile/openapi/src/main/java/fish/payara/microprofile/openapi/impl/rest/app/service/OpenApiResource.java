@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2018-2022] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,10 +39,13 @@
  */
 package fish.payara.microprofile.openapi.impl.rest.app.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import fish.payara.microprofile.openapi.api.OpenAPIBuildException;
 import fish.payara.microprofile.openapi.impl.OpenApiService;
+import fish.payara.microprofile.openapi.impl.SerializedDocument;
 import fish.payara.microprofile.openapi.impl.model.OpenAPIImpl;
 import fish.payara.microprofile.openapi.impl.processor.BaseProcessor;
+import fish.payara.microprofile.openapi.impl.rest.app.provider.ObjectMapperFactory;
 
 import static fish.payara.microprofile.openapi.rest.app.OpenApiApplication.APPLICATION_YAML;
 import java.io.IOException;
@@ -56,7 +59,16 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT;
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.VARY;
+import jakarta.ws.rs.core.MediaType;
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import static jakarta.ws.rs.core.Response.Status.FORBIDDEN;
@@ -67,9 +79,14 @@ public class OpenApiResource {
 
     private static final Logger LOGGER = Logger.getLogger(OpenApiResource.class.getName());
 
+    private static final MediaType YAML_TYPE = MediaType.valueOf(APPLICATION_YAML);
+    private static final ObjectMapper JSON_MAPPER = ObjectMapperFactory.createJson();
+    private static final ObjectMapper YAML_MAPPER = ObjectMapperFactory.createYaml();
+
     @GET
     @Produces({ APPLICATION_YAML, APPLICATION_JSON })
-    public Response getResponse(@Context HttpServletRequest request, @Context HttpServletResponse response) throws IOException {
+    public Response getResponse(@Context HttpServletRequest request, @Context HttpServletResponse response,
+            @Context HttpHeaders headers, @Context Request jaxrsRequest) throws IOException {
         OpenApiService openApiService = OpenApiService.getInstance();
 
         // If the server is disabled, throw an error
@@ -78,10 +95,12 @@ public class OpenApiResource {
             return Response.status(FORBIDDEN).build();
         }
 
-        // Get the OpenAPI document
-        OpenAPI document = null;
+        // Get the OpenAPI document, serialized once per document and format
+        MediaType mediaType = selectMediaType(headers);
+        SerializedDocument document = null;
         try {
-            document = openApiService.getDocument();
+            document = openApiService.getSerializedDocument(mediaType.toString(),
+                    mediaType == YAML_TYPE ? YAML_MAPPER : JSON_MAPPER);
         } catch (OpenAPIBuildException | IOException | CloneNotSupportedException ex) {
             LOGGER.log(WARNING, "OpenAPI document creation failed: " + ex.getMessage(), ex);
         }
@@ -93,7 +112,45 @@ public class OpenApiResource {
             return Response.status(Status.NOT_FOUND).entity(result).build();
         }
 
-        // Return the document
-        return Response.ok(document).build();
+        // Return the document, or not modified if the client already has it
+        boolean gzip = acceptsGzip(request);
+        EntityTag entityTag = new EntityTag(gzip ? document.getGzipEntityTag() : document.getEntityTag());
+        Response.ResponseBuilder builder = jaxrsRequest.evaluatePreconditions(entityTag);
+        if (builder == null) {
+            builder = Response.ok(gzip ? document.getGzipContent() : document.getContent(), mediaType);
+            if (gzip) {
+                builder.header(CONTENT_ENCODING, "gzip");
+            }
+        }
+        return builder.tag(entityTag).header(VARY, ACCEPT + ", " + ACCEPT_ENCODING).build();
+    }
+
+    /**
+     * Selects the produced media type the same way as the content negotiation of the writers would.
+     */
+    private static MediaType selectMediaType(HttpHeaders headers) {
+        for (MediaType acceptable : headers.getAcceptableMediaTypes()) {
+            if (acceptable.isCompatible(YAML_TYPE)) {
+                return YAML_TYPE;
+            }
+            if (acceptable.isCompatible(APPLICATION_JSON_TYPE)) {
+                return APPLICATION_JSON_TYPE;
+            }
+        }
+        return YAML_TYPE;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
@@ -2,7 +2,7 @@
 
  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
 
- Copyright (c) 2016-2021 Payara Foundation. All rights reserved.
+ Copyright (c) 2016-2026 Payara Foundation. All rights reserved.
 
  The contents of this file are subject to the terms of the Common Development
  and Distribution License("CDDL") (collectively, the "License").  You
@@ -18,6 +18,7 @@
 package fish.payara.cdi.jsr107;
 
 import fish.payara.cdi.jsr107.implementation.PayaraCacheKeyInvocationContext;
+import fish.payara.cdi.jsr107.implementation.PayaraNearCache;
 import jakarta.annotation.Priority;
 import javax.cache.Cache;
 import javax.cache.annotation.CacheKeyGenerator;
@@ -79,5 +80,9 @@ public class CacheRemoveInterceptor extends AbstractJSR107Interceptor {
         Cache cache = cacheResolver.resolveCache(pctx);
         GeneratedCacheKey key = generator.generateCacheKey(pctx);
         cache.remove(key);
+        PayaraNearCache nearCache = PayaraNearCache.forCache(cache);
+        if (nearCache.isEnabled()) {
+            nearCache.invalidate(key);
+        }
     }
 }
@@ -18,6 +18,7 @@
 package fish.payara.cdi.jsr107;
 
 import fish.payara.cdi.jsr107.implementation.PayaraCacheKeyInvocationContext;
+import fish.payara.cdi.jsr107.implementation.PayaraNearCache;
 import jakarta.annotation.Priority;
 import javax.cache.Cache;
 import javax.cache.annotation.CacheKeyGenerator;
@@ -56,9 +57,20 @@ public class CacheResultInterceptor extends AbstractJSR107Interceptor {
         
         CacheKeyGenerator generator = pctx.getGenerator();
         GeneratedCacheKey key = generator.generateCacheKey(pctx);
+        PayaraNearCache nearCache = PayaraNearCache.forCache(cache);
+        long nearCacheVersion = nearCache.getVersion();
         if (!annotation.skipGet()) {
+            if (nearCache.isEnabled()) {
+                Object nearResult = nearCache.get(key);
+                if (nearResult != null) {
+                    return nearResult;
+                }
+            }
             Object cacheResult = cache.get(key);
             if (cacheResult != null) {
+                if (nearCache.isEnabled()) {
+                    nearCache.put(key, cacheResult, nearCacheVersion);
+                }
                 return cacheResult;
             } else {
                 // check exception cache
@@ -77,6 +89,9 @@ public class CacheResultInterceptor extends AbstractJSR107Interceptor {
         try {
             result = ctx.proceed();
             cache.put(key, result);
+            if (nearCache.isEnabled()) {
+                nearCache.put(key, result, nearCacheVersion);
+            }
         } catch (Throwable e) {
             if (cacheExceptions) {
                 Cache exceptionCache = resolverF.getExceptionCacheResolver(pctx).resolveCache(pctx);
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,6 +40,7 @@
 package fish.payara.cdi.jsr107;
 
 import fish.payara.cdi.jsr107.impl.NamedCache;
+import fish.payara.cdi.jsr107.implementation.PayaraNearCache;
 import com.hazelcast.core.HazelcastInstance;
 import fish.payara.nucleus.hazelcast.HazelcastCore;
 import java.util.logging.Logger;
@@ -129,6 +130,9 @@ public class JSR107Producer {
             if (!"".equals(cacheName)) {
                 cacheName = qualifierName;
             }
+            if (ncqualifier.nearCacheSize() > 0) {
+                PayaraNearCache.configure(cacheName, ncqualifier.nearCacheSize());
+            }
             Class keyClass = ncqualifier.keyClass();
             Class valueClass = ncqualifier.valueClass();           
             result = manager.getCache(cacheName, keyClass, valueClass);
@@ -0,0 +1,94 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.cdi.jsr107;
+
+import fish.payara.cdi.jsr107.implementation.PayaraNearCache;
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+import fish.payara.monitoring.collect.MonitoringDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.glassfish.api.StartupRunLevel;
+import org.glassfish.api.event.EventListener;
+import org.glassfish.api.event.Events;
+import org.glassfish.hk2.runlevel.RunLevel;
+import org.glassfish.internal.deployment.Deployment;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Reports the hits and misses of the {@link PayaraNearCache}s and removes the near caches of the cache managers of
+ * an application when it is undeployed.
+ *
+ * @author Payara Foundation
+ */
+@Service
+@RunLevel(StartupRunLevel.VAL)
+public class NearCacheMonitoring implements EventListener, MonitoringDataSource {
+
+    @Inject
+    private Events events;
+
+    @PostConstruct
+    public void postConstruct() {
+        events.register(this);
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        events.unregister(this);
+    }
+
+    @Override
+    public void event(Event<?> event) {
+        Deployment.APPLICATION_UNLOADED.onMatch(event, info -> PayaraNearCache.removeAll(info.getAppClassLoader()));
+    }
+
+    @Override
+    public void collect(MonitoringDataCollector collector) {
+        for (PayaraNearCache nearCache : PayaraNearCache.getNearCaches()) {
+            collector.in("jcache").group(nearCache.getName())
+                    .collect("NearCacheHits", nearCache.getHits())
+                    .collect("NearCacheMisses", nearCache.getMisses())
+                    .collect("NearCacheEvictions", nearCache.getEvictions())
+                    .collect("NearCacheInvalidations", nearCache.getInvalidations())
+                    .collect("NearCacheEntryCount", nearCache.getSize());
+        }
+    }
+}
@@ -2,7 +2,7 @@
 
  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
 
- Copyright (c) 2016-2017 Payara Foundation. All rights reserved.
+ Copyright (c) 2016-2026 Payara Foundation. All rights reserved.
 
  The contents of this file are subject to the terms of the Common Development
  and Distribution License("CDDL") (collectively, the "License").  You
@@ -18,8 +18,15 @@
 package fish.payara.cdi.jsr107.implementation;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.cache.annotation.CacheKey;
 import javax.cache.annotation.CacheKeyGenerator;
 import javax.cache.annotation.CacheKeyInvocationContext;
+import javax.cache.annotation.CacheValue;
 import javax.cache.annotation.GeneratedCacheKey;
 
 /**
@@ -28,9 +35,65 @@ import javax.cache.annotation.GeneratedCacheKey;
  */
 public class PayaraCacheKeyGenerator implements CacheKeyGenerator {
 
+    /**
+     * Positions of the key parameters per method, so that keys can be built from the invocation parameters without
+     * creating a {@link javax.cache.annotation.CacheInvocationParameter} and copying the annotations of each parameter
+     */
+    private static final ClassValue<Map<Method, int[]>> KEY_PARAMETERS = new ClassValue<Map<Method, int[]>>() {
+        @Override
+        protected Map<Method, int[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     @Override
     public GeneratedCacheKey generateCacheKey(CacheKeyInvocationContext<? extends Annotation> ckic) {
+        if (ckic instanceof PayaraCacheKeyInvocationContext) {
+            Method method = ckic.getMethod();
+            Object[] parameters = ((PayaraCacheKeyInvocationContext<?>) ckic).getParameters();
+            int[] keyParameters = KEY_PARAMETERS.get(method.getDeclaringClass())
+                    .computeIfAbsent(method, PayaraCacheKeyGenerator::keyParameters);
+            Object[] values = new Object[keyParameters.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = parameters[keyParameters[i]];
+            }
+            return new PayaraGeneratedCacheKey(values);
+        }
         return new PayaraGeneratedCacheKey(ckic.getKeyParameters());
     }
-    
+
+    /**
+     * Selects the same parameters as {@link PayaraCacheKeyInvocationContext#getKeyParameters()}
+     */
+    private static int[] keyParameters(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < annotations.length; i++) {
+            if (isAnnotated(annotations[i], CacheKey.class)) {
+                keys.add(i);
+            }
+        }
+        if (keys.isEmpty()) {
+            for (int i = 0; i < annotations.length; i++) {
+                if (!isAnnotated(annotations[i], CacheValue.class)) {
+                    keys.add(i);
+                }
+            }
+        }
+        int[] result = new int[keys.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = keys.get(i);
+        }
+        return result;
+    }
+
+    private static boolean isAnnotated(Annotation[] annotations, Class<? extends Annotation> type) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -2,7 +2,7 @@
 
  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
 
- Copyright (c) 2014-2021 Payara Foundation. All rights reserved.
+ Copyright (c) 2014-2026 Payara Foundation. All rights reserved.
 
  The contents of this file are subject to the terms of the Common Development
  and Distribution License("CDDL") (collectively, the "License").  You
@@ -164,6 +164,13 @@ public class PayaraCacheKeyInvocationContext<A extends Annotation> implements Ca
         return ctx.getMethod();
     }
 
+    /**
+     * @return the parameters the method is invoked with
+     */
+    public Object[] getParameters() {
+        return ctx.getParameters();
+    }
+
     @Override
     public Set getAnnotations() {
         HashSet<Annotation> result = new HashSet<>();
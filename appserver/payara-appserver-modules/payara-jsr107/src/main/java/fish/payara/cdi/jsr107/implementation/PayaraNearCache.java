@@ -0,0 +1,435 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.cdi.jsr107.implementation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+/**
+ * A local, size bounded copy of the entries of a JCache read by {@code @CacheResult} methods, so that repeated reads
+ * do not leave the member.
+ * <p>
+ * Entries are dropped whenever the cache reports them updated, removed or expired on any member, so a stale value can
+ * only be returned until that event has been delivered. Near caches are enabled per cache, either with
+ * {@code NamedCache.nearCacheSize()} or with the {@value #SIZE_PROPERTY_PREFIX}{@code <cache name>} system property.
+ * <p>
+ * Like the cache itself, the near cache stores by value. Values are held serialized and every read returns a new copy,
+ * only instances of immutable JDK types are shared. Near caches are kept per cache manager and class loader, and are
+ * dropped when the cache they listen to is closed or the application owning the class loader is undeployed.
+ *
+ * @author Payara Foundation
+ */
+public final class PayaraNearCache {
+
+    public static final String SIZE_PROPERTY_PREFIX = "fish.payara.cdi.jsr107.nearCache.";
+
+    private static final Logger LOGGER = Logger.getLogger(PayaraNearCache.class.getName());
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+            Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class));
+
+    private static final ConcurrentMap<String, Integer> SIZES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<CacheKey, PayaraNearCache> NEAR_CACHES = new ConcurrentHashMap<>();
+    private static final PayaraNearCache DISABLED = new PayaraNearCache(null, null, 0);
+
+    private final CacheKey cacheKey;
+    private final Cache<Object, Object> cache;
+    private final MutableCacheEntryListenerConfiguration<Object, Object> listener;
+    private final int maxSize;
+    private final ConcurrentMap<Object, Object> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private PayaraNearCache(CacheKey cacheKey, Cache<Object, Object> cache, int maxSize) {
+        this.cacheKey = cacheKey;
+        this.cache = cache;
+        this.maxSize = maxSize;
+        this.listener = cache == null ? null : new MutableCacheEntryListenerConfiguration<>(
+                FactoryBuilder.factoryOf(new Invalidator(this)), null, false, false);
+    }
+
+    /**
+     * Sets the near cache size of a cache, taking precedence over the system property. Only has an effect if no near
+     * cache has been created for the cache yet.
+     *
+     * @param cacheName name of the cache
+     * @param maxSize maximum number of entries held locally, 0 disables the near cache
+     */
+    public static void configure(String cacheName, int maxSize) {
+        SIZES.put(cacheName, maxSize);
+        NEAR_CACHES.entrySet().removeIf(entry -> entry.getValue() == DISABLED && entry.getKey().name.equals(cacheName));
+    }
+
+    /**
+     * @param cache the cache to get the near cache for
+     * @return the near cache of the given cache, never null, check {@link #isEnabled()} before use
+     */
+    public static PayaraNearCache forCache(Cache<?, ?> cache) {
+        CacheKey key = new CacheKey(cache);
+        PayaraNearCache nearCache = NEAR_CACHES.get(key);
+        if (nearCache != null) {
+            if (!nearCache.isClosed()) {
+                return nearCache;
+            }
+            // the cache was destroyed or closed and its listeners with it, the cache given may be its replacement
+            if (NEAR_CACHES.remove(key, nearCache)) {
+                nearCache.close();
+            }
+        }
+        if (cache.isClosed()) {
+            return DISABLED;
+        }
+        Integer size = SIZES.get(key.name);
+        if (size == null) {
+            size = Integer.getInteger(SIZE_PROPERTY_PREFIX + key.name, 0);
+        }
+        if (size <= 0) {
+            nearCache = NEAR_CACHES.putIfAbsent(key, DISABLED);
+            return nearCache == null ? DISABLED : nearCache;
+        }
+        @SuppressWarnings("unchecked")
+        PayaraNearCache created = new PayaraNearCache(key, (Cache<Object, Object>) cache, size);
+        try {
+            created.cache.registerCacheEntryListener(created.listener);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Unable to listen for changes of cache " + key.name + ", near cache disabled", ex);
+            created = DISABLED;
+        }
+        nearCache = NEAR_CACHES.putIfAbsent(key, created);
+        if (nearCache != null) {
+            created.close();
+            return nearCache;
+        }
+        return created;
+    }
+
+    /**
+     * @return all enabled near caches
+     */
+    public static Collection<PayaraNearCache> getNearCaches() {
+        List<PayaraNearCache> result = new ArrayList<>();
+        for (PayaraNearCache nearCache : NEAR_CACHES.values()) {
+            if (nearCache.isEnabled()) {
+                result.add(nearCache);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the near caches of the cache managers using the given class loader or one of its descendants, for
+     * example as the application owning the class loader is undeployed.
+     *
+     * @param classLoader the class loader of the undeployed application
+     */
+    public static void removeAll(ClassLoader classLoader) {
+        Iterator<Map.Entry<CacheKey, PayaraNearCache>> iterator = NEAR_CACHES.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CacheKey, PayaraNearCache> entry = iterator.next();
+            if (entry.getKey().isLoadedBy(classLoader)) {
+                iterator.remove();
+                entry.getValue().close();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public String getName() {
+        return cacheKey == null ? null : cacheKey.name;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return a copy of the locally held value or null
+     */
+    public Object get(Object key) {
+        Object value = entries.get(key);
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        if (value instanceof Serialized) {
+            try {
+                value = ((Serialized) value).deserialize();
+            } catch (IOException | ClassNotFoundException ex) {
+                LOGGER.log(Level.FINE, "Unable to read near cache entry of cache " + getName(), ex);
+                entries.remove(key, value);
+                misses.increment();
+                return null;
+            }
+        }
+        hits.increment();
+        return value;
+    }
+
+    /**
+     * @return the version to pass to {@link #put(Object, Object, long)}, to be read before the value is read from the
+     * cache
+     */
+    public long getVersion() {
+        return invalidations.get();
+    }
+
+    /**
+     * Holds a copy of a value locally unless an invalidation happened since the given version was read, as the value
+     * might have been read from the cache before that invalidation. Values that cannot be serialized are not held.
+     *
+     * @param key the key of the value
+     * @param value the value read from or written to the cache
+     * @param version the result of {@link #getVersion()} before the value was read
+     */
+    public void put(Object key, Object value, long version) {
+        if (value == null || isClosed()) {
+            return;
+        }
+        Object stored = value;
+        if (!IMMUTABLE_TYPES.contains(value.getClass())) {
+            try {
+                stored = new Serialized(value);
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Unable to hold value of cache " + getName() + " in near cache", ex);
+                return;
+            }
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            Iterator<Object> keys = entries.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        }
+        entries.put(key, stored);
+        if (invalidations.get() != version) {
+            entries.remove(key, stored);
+        }
+    }
+
+    public void invalidate(Object key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return true if the cache this near cache listens to has been closed or destroyed, so that no invalidations
+     * arrive anymore
+     */
+    private boolean isClosed() {
+        return cache != null && cache.isClosed();
+    }
+
+    /**
+     * Drops the entries and stops listening to the cache if it is still open.
+     */
+    private void close() {
+        if (cache == null) {
+            return;
+        }
+        clear();
+        if (!cache.isClosed()) {
+            try {
+                cache.deregisterCacheEntryListener(listener);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.FINE, "Unable to stop listening for changes of cache " + getName(), ex);
+            }
+        }
+    }
+
+    /**
+     * Identifies a cache by its manager, as caches of the same name in managers of different URIs or class loaders
+     * are different caches.
+     */
+    private static final class CacheKey {
+
+        private final URI uri;
+        private final ClassLoader classLoader;
+        private final String name;
+
+        CacheKey(Cache<?, ?> cache) {
+            CacheManager manager = cache.getCacheManager();
+            this.uri = manager == null ? null : manager.getURI();
+            this.classLoader = manager == null ? null : manager.getClassLoader();
+            this.name = cache.getName();
+        }
+
+        boolean isLoadedBy(ClassLoader ancestor) {
+            for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+                if (loader == ancestor) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return name.equals(other.name) && classLoader == other.classLoader && Objects.equals(uri, other.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + System.identityHashCode(classLoader);
+        }
+    }
+
+    /**
+     * A value held in serialized form, deserialized with the context class loader on every read.
+     */
+    private static final class Serialized {
+
+        private final byte[] bytes;
+
+        Serialized(Object value) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(value);
+            }
+            this.bytes = out.toByteArray();
+        }
+
+        Object deserialize() throws IOException, ClassNotFoundException {
+            try (ObjectInputStream ois = new PayaraTCCLObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return ois.readObject();
+            }
+        }
+    }
+
+    /**
+     * Registered with the cache, invalidates the near cache it was created for. Hazelcast may create copies of it on
+     * other members, these do nothing as the near caches of those members register listeners of their own.
+     */
+    private static final class Invalidator implements CacheEntryUpdatedListener<Object, Object>,
+            CacheEntryRemovedListener<Object, Object>, CacheEntryExpiredListener<Object, Object>, Serializable {
+
+        private static final long serialVersionUID = 2L;
+
+        private final transient PayaraNearCache nearCache;
+
+        Invalidator(PayaraNearCache nearCache) {
+            this.nearCache = nearCache;
+        }
+
+        @Override
+        public void onUpdated(Iterable<CacheEntryEvent<? extends Object, ? extends Object>> events) {
+            invalidate(events);
+        }
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<? extends Object, ? extends Object>> events) {
+            invalidate(events);
+        }
+
+        @Override
+        public void onExpired(Iterable<CacheEntryEvent<? extends Object, ? extends Object>> events) {
+            invalidate(events);
+        }
+
+        private void invalidate(Iterable<CacheEntryEvent<? extends Object, ? extends Object>> events) {
+            if (nearCache == null) {
+                return;
+            }
+            for (CacheEntryEvent<?, ?> event : events) {
+                nearCache.invalidate(event.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.cdi.jsr107.implementation;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.event.EventType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PayaraNearCache} against stub caches.
+ */
+public class PayaraNearCacheTest {
+
+    @Test
+    public void disabledUnlessConfigured() {
+        PayaraNearCache nearCache = PayaraNearCache.forCache(new StubCache("disabled", URI.create("test:default")).proxy);
+        assertFalse(nearCache.isEnabled());
+    }
+
+    @Test
+    public void mutableValuesAreCopiedOnRead() {
+        StubCache cache = configuredCache("copies", URI.create("test:default"));
+        PayaraNearCache nearCache = PayaraNearCache.forCache(cache.proxy);
+        List<String> value = new ArrayList<>(Collections.singletonList("a"));
+        nearCache.put("key", value, nearCache.getVersion());
+        value.add("b");
+
+        @SuppressWarnings("unchecked")
+        List<String> read = (List<String>) nearCache.get("key");
+        assertEquals(Collections.singletonList("a"), read);
+        read.add("c");
+        assertEquals(Collections.singletonList("a"), nearCache.get("key"));
+        assertNotSame(nearCache.get("key"), nearCache.get("key"));
+    }
+
+    @Test
+    public void immutableValuesAreShared() {
+        StubCache cache = configuredCache("immutables", URI.create("test:default"));
+        PayaraNearCache nearCache = PayaraNearCache.forCache(cache.proxy);
+        String value = new String("value");
+        nearCache.put("key", value, nearCache.getVersion());
+        assertSame(value, nearCache.get("key"));
+    }
+
+    @Test
+    public void valueReadBeforeInvalidationIsNotHeld() {
+        StubCache cache = configuredCache("versions", URI.create("test:default"));
+        PayaraNearCache nearCache = PayaraNearCache.forCache(cache.proxy);
+        long version = nearCache.getVersion();
+        cache.fireUpdated("key");
+        nearCache.put("key", "stale", version);
+        assertNull(nearCache.get("key"));
+    }
+
+    @Test
+    public void updateEventInvalidatesEntry() {
+        StubCache cache = configuredCache("updates", URI.create("test:default"));
+        PayaraNearCache nearCache = PayaraNearCache.forCache(cache.proxy);
+        nearCache.put("key", "value", nearCache.getVersion());
+        nearCache.put("other", "value", nearCache.getVersion());
+        cache.fireUpdated("key");
+        assertNull(nearCache.get("key"));
+        assertEquals("value", nearCache.get("other"));
+    }
+
+    @Test
+    public void cachesOfDifferentManagersHaveSeparateNearCaches() {
+        StubCache first = configuredCache("managers", URI.create("test:first"));
+        StubCache second = configuredCache("managers", URI.create("test:second"));
+        PayaraNearCache firstNearCache = PayaraNearCache.forCache(first.proxy);
+        firstNearCache.put("key", "first", firstNearCache.getVersion());
+
+        PayaraNearCache secondNearCache = PayaraNearCache.forCache(second.proxy);
+        assertNotSame(firstNearCache, secondNearCache);
+        assertNull(secondNearCache.get("key"));
+        assertEquals(1, second.listeners.size());
+        assertSame(firstNearCache, PayaraNearCache.forCache(first.proxy));
+    }
+
+    @Test
+    public void closedCacheIsReplaced() {
+        StubCache destroyed = configuredCache("recreated", URI.create("test:default"));
+        PayaraNearCache nearCache = PayaraNearCache.forCache(destroyed.proxy);
+        nearCache.put("key", "value", nearCache.getVersion());
+        destroyed.closed = true;
+
+        StubCache recreated = new StubCache("recreated", destroyed.uri, destroyed.classLoader);
+        PayaraNearCache replacement = PayaraNearCache.forCache(recreated.proxy);
+        assertNotSame(nearCache, replacement);
+        assertTrue(replacement.isEnabled());
+        assertNull(replacement.get("key"));
+        assertEquals(0, nearCache.getSize());
+        assertEquals(1, recreated.listeners.size());
+    }
+
+    @Test
+    public void undeployRemovesNearCachesOfApplication() throws Exception {
+        try (URLClassLoader appClassLoader = new URLClassLoader(new URL[0])) {
+            StubCache cache = configuredCache("undeployed", URI.create("test:default"));
+            StubCache appCache = new StubCache("undeployed", cache.uri, new URLClassLoader(new URL[0], appClassLoader));
+            PayaraNearCache nearCache = PayaraNearCache.forCache(cache.proxy);
+            PayaraNearCache appNearCache = PayaraNearCache.forCache(appCache.proxy);
+            appNearCache.put("key", "value", appNearCache.getVersion());
+
+            PayaraNearCache.removeAll(appClassLoader);
+
+            assertTrue(appCache.listeners.isEmpty());
+            assertEquals(0, appNearCache.getSize());
+            assertNotSame(appNearCache, PayaraNearCache.forCache(appCache.proxy));
+            assertSame(nearCache, PayaraNearCache.forCache(cache.proxy));
+        }
+    }
+
+    private static StubCache configuredCache(String name, URI uri) {
+        PayaraNearCache.configure(name, 10);
+        return new StubCache(name, uri, PayaraNearCacheTest.class.getClassLoader());
+    }
+
+    /**
+     * Records the listeners registered with a cache and whether it is closed.
+     */
+    private static final class StubCache {
+
+        final String name;
+        final URI uri;
+        final ClassLoader classLoader;
+        final List<CacheEntryListenerConfiguration<Object, Object>> listeners = new ArrayList<>();
+        final Cache<Object, Object> proxy;
+        boolean closed;
+
+        StubCache(String name, URI uri) {
+            this(name, uri, PayaraNearCacheTest.class.getClassLoader());
+        }
+
+        @SuppressWarnings("unchecked")
+        StubCache(String name, URI uri, ClassLoader classLoader) {
+            this.name = name;
+            this.uri = uri;
+            this.classLoader = classLoader;
+            CacheManager manager = (CacheManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {CacheManager.class}, (instance, method, args) -> {
+                        switch (method.getName()) {
+                            case "getURI":
+                                return uri;
+                            case "getClassLoader":
+                                return classLoader;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+            this.proxy = (Cache<Object, Object>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {Cache.class}, (instance, method, args) -> {
+                        switch (method.getName()) {
+                            case "getName":
+                                return name;
+                            case "getCacheManager":
+                                return manager;
+                            case "isClosed":
+                                return closed;
+                            case "registerCacheEntryListener":
+                                listeners.add((CacheEntryListenerConfiguration<Object, Object>) args[0]);
+                                return null;
+                            case "deregisterCacheEntryListener":
+                                listeners.remove(args[0]);
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        @SuppressWarnings("unchecked")
+        void fireUpdated(Object key) {
+            CacheEntryEvent<Object, Object> event = new CacheEntryEvent<Object, Object>(proxy, EventType.UPDATED) {
+                @Override
+                public Object getKey() {
+                    return key;
+                }
+
+                @Override
+                public Object getValue() {
+                    return null;
+                }
+
+                @Override
+                public Object getOldValue() {
+                    return null;
+                }
+
+                @Override
+                public boolean isOldValueAvailable() {
+                    return false;
+                }
+
+                @Override
+                public <T> T unwrap(Class<T> clazz) {
+                    throw new IllegalArgumentException();
+                }
+            };
+            for (CacheEntryListenerConfiguration<Object, Object> listener : listeners) {
+                ((CacheEntryUpdatedListener<Object, Object>) listener.getCacheEntryListenerFactory().create())
+                        .onUpdated(Collections.singletonList(event));
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /**
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,16 +41,25 @@ package fish.payara.monitoring.rest.app;
 
 import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jakarta.annotation.PreDestroy;
 import jakarta.ejb.Startup;
 import jakarta.inject.Singleton;
 import javax.management.AttributeList;
 import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
+import javax.management.ListenerNotFoundException;
 import javax.management.MBeanException;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServer;
+import javax.management.MBeanServerNotification;
 import javax.management.MalformedObjectNameException;
+import javax.management.Notification;
+import javax.management.NotificationListener;
 import javax.management.ObjectName;
 import javax.management.ReflectionException;
 
@@ -67,8 +76,46 @@ public class MBeanServerDelegate {
      */
     private final MBeanServer platformServer;
 
+    /**
+     * Upper bound for the number of entries in each cache, as the names are provided by the clients.
+     */
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private final Map<String, ObjectName> objectNames = new ConcurrentHashMap<>();
+    private final Map<ObjectName, MBeanInfo> mbeanInfos = new ConcurrentHashMap<>();
+    private final NotificationListener unregistrationListener = (Notification notification, Object handback) -> {
+        if (MBeanServerNotification.UNREGISTRATION_NOTIFICATION.equals(notification.getType())) {
+            mbeanInfos.remove(((MBeanServerNotification) notification).getMBeanName());
+        }
+    };
+    private volatile boolean listening;
+
     public MBeanServerDelegate() {
         platformServer = getPlatformMBeanServer();
+        try {
+            // MBeanInfo is cached until the MBean is unregistered
+            platformServer.addNotificationListener(javax.management.MBeanServerDelegate.DELEGATE_NAME,
+                    unregistrationListener, null, null);
+            listening = true;
+        } catch (InstanceNotFoundException ex) {
+            Logger.getLogger(MBeanServerDelegate.class.getName()).log(Level.WARNING,
+                    "Unable to listen for unregistered MBeans, MBeanInfo will not be cached", ex);
+        }
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        if (listening) {
+            listening = false;
+            try {
+                platformServer.removeNotificationListener(javax.management.MBeanServerDelegate.DELEGATE_NAME,
+                        unregistrationListener);
+            } catch (InstanceNotFoundException | ListenerNotFoundException ex) {
+                Logger.getLogger(MBeanServerDelegate.class.getName()).log(Level.FINE,
+                        "Unable to remove MBean unregistration listener", ex);
+            }
+        }
+        mbeanInfos.clear();
     }
 
     /**
@@ -83,7 +130,15 @@ public class MBeanServerDelegate {
      * @throws MalformedObjectNameException {@inheritDoc}
      */
     public MBeanInfo getMBean(String mbeanname) throws InstanceNotFoundException, IntrospectionException, ReflectionException, MalformedObjectNameException {
-        return platformServer.getMBeanInfo(getMBeanName(mbeanname));
+        ObjectName name = getMBeanName(mbeanname);
+        MBeanInfo info = mbeanInfos.get(name);
+        if (info == null) {
+            info = platformServer.getMBeanInfo(name);
+            if (listening && isCacheable(info) && mbeanInfos.size() < MAX_CACHE_SIZE) {
+                mbeanInfos.put(name, info);
+            }
+        }
+        return info;
     }
   
     /**
@@ -135,6 +190,20 @@ public class MBeanServerDelegate {
      * @throws MalformedObjectNameException {@inheritDoc}
      */
     private ObjectName getMBeanName(String mbeanname) throws MalformedObjectNameException {
-        return new ObjectName(mbeanname); 
+        ObjectName name = objectNames.get(mbeanname);
+        if (name == null) {
+            name = new ObjectName(mbeanname);
+            if (objectNames.size() < MAX_CACHE_SIZE) {
+                objectNames.put(mbeanname, name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Returns true if the descriptor of the MBean states that its {@link MBeanInfo} never changes.
+     */
+    private static boolean isCacheable(MBeanInfo info) {
+        return "true".equals(String.valueOf(info.getDescriptor().getFieldValue("immutableInfo")));
     }
 }
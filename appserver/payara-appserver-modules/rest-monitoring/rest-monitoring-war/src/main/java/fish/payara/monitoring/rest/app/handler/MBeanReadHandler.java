@@ -1,7 +1,7 @@
 /**
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,13 +41,20 @@ package fish.payara.monitoring.rest.app.handler;
 
 import fish.payara.monitoring.rest.app.RestMonitoringAppResponseToken;
 import fish.payara.monitoring.rest.app.MBeanServerDelegate;
+import fish.payara.monitoring.rest.app.processor.ProcessorFactory;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import jakarta.inject.Singleton;
 import jakarta.json.Json;
 import jakarta.json.JsonException;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonValue;
+import javax.management.Attribute;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
 import javax.management.MBeanAttributeInfo;
@@ -105,16 +112,47 @@ public class MBeanReadHandler extends ReadHandler {
     private JsonObject buildAttributes(MBeanInfo mbean) throws JsonException {
         JsonObjectBuilder objectBuilder = Json.createObjectBuilder();
         MBeanAttributeInfo[] attributes = mbean.getAttributes();
+        Map<String, Object> values = readAttributes(attributes);
 
         for (MBeanAttributeInfo attribute : attributes) {
             String attributeName = attribute.getName();
-            MBeanAttributeReadHandler attributeHandler = 
-                    new MBeanAttributeReadHandler(delegate, mbeanname, 
-                            attributeName);
-            objectBuilder.add(attributeName, 
-                    attributeHandler.getValueObject());
+            if (values.containsKey(attributeName)) {
+                Object value = values.get(attributeName);
+                objectBuilder.add(attributeName, value == null
+                        ? JsonValue.NULL
+                        : ProcessorFactory.getTypeProcessor(value).processObject(value));
+            } else {
+                // read again on its own to report why the attribute could not be read
+                MBeanAttributeReadHandler attributeHandler = 
+                        new MBeanAttributeReadHandler(delegate, mbeanname, 
+                                attributeName);
+                objectBuilder.add(attributeName, 
+                        attributeHandler.getValueObject());
+            }
         }
 
         return objectBuilder.build();
     }
+
+    /**
+     * Reads all readable attributes in a single call. Attributes that cannot be read are omitted.
+     */
+    private Map<String, Object> readAttributes(MBeanAttributeInfo[] attributes) {
+        String[] names = Arrays.stream(attributes)
+                .filter(MBeanAttributeInfo::isReadable)
+                .map(MBeanAttributeInfo::getName)
+                .toArray(String[]::new);
+        Map<String, Object> values = new HashMap<>();
+        if (names.length == 0) {
+            return values;
+        }
+        try {
+            for (Attribute attribute : delegate.getMBeanAttributes(mbeanname, names).asList()) {
+                values.put(attribute.getName(), attribute.getValue());
+            }
+        } catch (InstanceNotFoundException | ReflectionException | MalformedObjectNameException | RuntimeException ex) {
+            Logger.getLogger(MBeanReadHandler.class.getName()).log(Level.FINE, "Unable to read attributes of " + mbeanname, ex);
+        }
+        return values;
+    }
 }
@@ -1,7 +1,7 @@
 /**
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2017] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,6 +39,9 @@
  */
 package fish.payara.monitoring.rest.app.processor;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeType;
 import javax.management.openmbean.SimpleType;
@@ -52,6 +55,27 @@ import javax.management.openmbean.TabularType;
 // @PROPOSED - FANG-2: Flesh out flexible converter system.
 public final class ProcessorFactory {
 
+    private static final TypeProcessor<?> SIMPLE_TYPE_PROCESSOR = new SimpleTypeProcessor();
+    private static final TypeProcessor<?> ARRAY_TYPE_PROCESSOR = new ArrayTypeProcessor();
+    private static final TypeProcessor<?> COMPOSITE_TYPE_PROCESSOR = new CompositeTypeProcessor();
+    private static final TypeProcessor<?> TABULAR_TYPE_PROCESSOR = new TabularTypeProcessor();
+    private static final TypeProcessor<?> OTHER_TYPE_PROCESSOR = new OtherTypeProcessor();
+
+    private static final Set<String> SIMPLE_TYPE_CLASS_NAMES = Stream.of(SimpleType.BIGDECIMAL,
+            SimpleType.BIGINTEGER, SimpleType.BOOLEAN, SimpleType.BYTE, SimpleType.CHARACTER, SimpleType.DATE,
+            SimpleType.DOUBLE, SimpleType.FLOAT, SimpleType.INTEGER, SimpleType.LONG, SimpleType.OBJECTNAME,
+            SimpleType.SHORT, SimpleType.STRING, SimpleType.VOID)
+            .map(SimpleType::getClassName)
+            .collect(Collectors.toSet());
+
+    // The processors are stateless and only depend on the class of the processed object
+    private static final ClassValue<TypeProcessor<?>> PROCESSORS_BY_TYPE = new ClassValue<TypeProcessor<?>>() {
+        @Override
+        protected TypeProcessor<?> computeValue(Class<?> type) {
+            return selectTypeProcessor(type);
+        }
+    };
+
     /**
      * Returns a {@link TypeProcessor} that is best able to process an MBean attribute.
      * The processibleObject argument should be an MBean attribute.
@@ -60,67 +84,46 @@ public final class ProcessorFactory {
      * @return The appropriate {@link TypeProcessor} for the processibleObject given.
      */
     public static TypeProcessor getTypeProcessor(Object processibleObject) {
-        if (isSimpleType(processibleObject)) {
-            return new SimpleTypeProcessor();
-        } else if (isArrayType(processibleObject)) {
-            return new ArrayTypeProcessor();
-        } else if (isCompositeType(processibleObject)) {
-            return new CompositeTypeProcessor();
-        } else if (isTabularType(processibleObject)) {
-            return new TabularTypeProcessor();
-        } else {
-            return new OtherTypeProcessor();
+        if (processibleObject == null) {
+            return SIMPLE_TYPE_PROCESSOR;
         }
+        return PROCESSORS_BY_TYPE.get(processibleObject.getClass());
     }
 
-    // Checks if the object passed is a OpenMBean SimpleType 
-    private static boolean isSimpleType(Object object) {
-        if (SimpleType.BIGDECIMAL.isValue(object)) {
-            return true;
-        } else if (SimpleType.BIGINTEGER.isValue(object)) {
-            return true;
-        } else if (SimpleType.BOOLEAN.isValue(object)) {
-            return true;
-        } else if (SimpleType.BYTE.isValue(object)) {
-            return true;
-        } else if (SimpleType.CHARACTER.isValue(object)) {
-            return true;
-        } else if (SimpleType.DATE.isValue(object)) {
-            return true;
-        } else if (SimpleType.DOUBLE.isValue(object)) {
-            return true;
-        } else if (SimpleType.FLOAT.isValue(object)) {
-            return true;
-        } else if (SimpleType.INTEGER.isValue(object)) {
-            return true;
-        } else if (SimpleType.LONG.isValue(object)) {
-            return true;
-        } else if (SimpleType.OBJECTNAME.isValue(object)) {
-            return true;
-        } else if (SimpleType.SHORT.isValue(object)) {
-            return true;
-        } else if (SimpleType.STRING.isValue(object)) {
-            return true;
+    private static TypeProcessor<?> selectTypeProcessor(Class<?> type) {
+        if (isSimpleType(type)) {
+            return SIMPLE_TYPE_PROCESSOR;
+        } else if (isArrayType(type)) {
+            return ARRAY_TYPE_PROCESSOR;
+        } else if (isCompositeType(type)) {
+            return COMPOSITE_TYPE_PROCESSOR;
+        } else if (isTabularType(type)) {
+            return TABULAR_TYPE_PROCESSOR;
         } else {
-            return SimpleType.VOID.isValue(object);
+            return OTHER_TYPE_PROCESSOR;
         }
     }
+
+    // Checks if the type is a OpenMBean SimpleType
+    private static boolean isSimpleType(Class<?> type) {
+        return SIMPLE_TYPE_CLASS_NAMES.contains(type.getName());
+    }
     
-    // Checks if the object is an array type
-    private static boolean isArrayType(Object object) {
-        return object.getClass().isArray();
+    // Checks if the type is an array type
+    private static boolean isArrayType(Class<?> type) {
+        return type.isArray();
     }
 
-    // Checks if the object is a composite type 
-    private static boolean isCompositeType(Object object) {
-        return (CompositeData.class.isAssignableFrom(object.getClass())
-                || CompositeType.class.isAssignableFrom(object.getClass()));    
+    // Checks if the type is a composite type
+    private static boolean isCompositeType(Class<?> type) {
+        return (CompositeData.class.isAssignableFrom(type)
+                || CompositeType.class.isAssignableFrom(type));
     }
 
-    // Checks if the object is a tabular type
-    private static boolean isTabularType(Object object) {
-        return (TabularData.class.isAssignableFrom(object.getClass()) 
-                || TabularType.class.isAssignableFrom(object.getClass()));
+    // Checks if the type is a tabular type
+    private static boolean isTabularType(Class<?> type) {
+        return (TabularData.class.isAssignableFrom(type)
+                || TabularType.class.isAssignableFrom(type));
     }
 
 }
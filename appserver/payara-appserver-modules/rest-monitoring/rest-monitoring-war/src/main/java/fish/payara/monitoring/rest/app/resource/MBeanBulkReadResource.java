@@ -1,7 +1,7 @@
 /**
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2018-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,23 +40,31 @@
 package fish.payara.monitoring.rest.app.resource;
 
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.json.Json;
-import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonString;
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import fish.payara.monitoring.rest.app.MBeanServerDelegate;
 import fish.payara.monitoring.rest.app.handler.MBeanAttributeReadHandler;
@@ -74,38 +82,80 @@ public class MBeanBulkReadResource {
     @Inject
     private MBeanServerDelegate mDelegate;
 
+    @Resource
+    private ManagedExecutorService executor;
+
     /**
-     * Returns the {@link String} form of the {@link JSONObject} resource from the ResourceHandler.
+     * Streams the MBeanRead/MBeanAttributeRead resources from the ResourceHandler as JSON.
+     * The reads of a bulk request are evaluated concurrently and written in the order they were requested.
      *
      * @param content
      *            The JSON request payload, describing the beans and attributes to read.
-     * @return The {@link String} representation of the MBeanRead/MBeanAttributeRead {@link JSONObject}.
+     * @return The response streaming the MBeanRead/MBeanAttributeRead {@link JsonObject}s.
      */
     @POST
     @Produces(MediaType.APPLICATION_JSON)
-    public String getReadResource(final String content) {
+    public Response getReadResource(final String content) {
         try (JsonReader reader = Json.createReader(new StringReader(content))) {
             // the payload can be either a single request or a bulk one (array)
             JsonStructure struct = reader.read();
             switch (struct.getValueType()) {
                 case ARRAY:
-                    List<JsonObject> objects = struct.asJsonArray().stream()
-                            .map(value -> handleRequest(value.asJsonObject()))
-                            .filter(Optional::isPresent)
-                            .map(Optional::get)
-                            .collect(Collectors.toList());
-
-                    JsonArrayBuilder builder = Json.createArrayBuilder();
-                    for (JsonObject jsonObject : objects) {
-                        builder.add(jsonObject);
-                    }
-
-                    return builder.build().toString();
+                    List<CompletableFuture<Optional<JsonObject>>> reads = readAll(struct.asJsonArray());
+                    return Response.ok((StreamingOutput) output -> {
+                        try (JsonGenerator generator = Json.createGenerator(output)) {
+                            generator.writeStartArray();
+                            for (CompletableFuture<Optional<JsonObject>> read : reads) {
+                                join(read).ifPresent(generator::write);
+                            }
+                            generator.writeEnd();
+                        }
+                    }).build();
                 case OBJECT:
-                    return handleRequest(struct.asJsonObject()).orElse(JsonValue.EMPTY_JSON_OBJECT).toString();
+                    JsonObject object = handleRequest(struct.asJsonObject()).orElse(JsonValue.EMPTY_JSON_OBJECT);
+                    return Response.ok((StreamingOutput) output -> {
+                        try (JsonGenerator generator = Json.createGenerator(output)) {
+                            generator.write(object);
+                        }
+                    }).build();
                 default:
-                    return "invalid JSON structure";
+                    return Response.ok("invalid JSON structure").build();
+            }
+        }
+    }
+
+    /**
+     * Starts the reads of a bulk request, independent MBean reads are evaluated concurrently when there is more
+     * than one.
+     */
+    private List<CompletableFuture<Optional<JsonObject>>> readAll(JsonArray requests) {
+        List<CompletableFuture<Optional<JsonObject>>> reads = new ArrayList<>(requests.size());
+        for (JsonValue request : requests) {
+            JsonObject requestObject = request.asJsonObject();
+            CompletableFuture<Optional<JsonObject>> read = null;
+            if (executor != null && requests.size() > 1) {
+                try {
+                    read = CompletableFuture.supplyAsync(() -> handleRequest(requestObject), executor);
+                } catch (RejectedExecutionException ex) {
+                    // fall back to reading on the request thread
+                }
+            }
+            if (read == null) {
+                read = CompletableFuture.completedFuture(handleRequest(requestObject));
+            }
+            reads.add(read);
+        }
+        return reads;
+    }
+
+    private static Optional<JsonObject> join(CompletableFuture<Optional<JsonObject>> read) {
+        try {
+            return read.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
             }
+            throw ex;
         }
     }
 
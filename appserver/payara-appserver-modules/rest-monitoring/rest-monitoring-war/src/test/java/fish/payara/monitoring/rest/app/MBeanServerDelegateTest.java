@@ -0,0 +1,101 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.monitoring.rest.app;
+
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MBeanServerDelegateTest {
+
+    private static final String BEAN_NAME = "fish.payara.test:type=MBeanServerDelegateTest";
+
+    public interface SampleMBean {
+
+        int getValue();
+    }
+
+    public static class Sample implements SampleMBean {
+
+        @Override
+        public int getValue() {
+            return 42;
+        }
+    }
+
+    private MBeanServerDelegate delegate;
+
+    @Before
+    public void setup() throws Exception {
+        delegate = new MBeanServerDelegate();
+        getPlatformMBeanServer().registerMBean(new Sample(), new ObjectName(BEAN_NAME));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ObjectName name = new ObjectName(BEAN_NAME);
+        if (getPlatformMBeanServer().isRegistered(name)) {
+            getPlatformMBeanServer().unregisterMBean(name);
+        }
+        delegate.preDestroy();
+    }
+
+    @Test
+    public void getMBean_CachesImmutableInfo() throws Exception {
+        MBeanInfo info = delegate.getMBean(BEAN_NAME);
+
+        assertThat(info.getAttributes()).extracting("name").containsExactly("Value");
+        assertThat(delegate.getMBean(BEAN_NAME)).isSameAs(info);
+    }
+
+    @Test
+    public void getMBean_EvictsUnregisteredMBean() throws Exception {
+        MBeanInfo info = delegate.getMBean(BEAN_NAME);
+        getPlatformMBeanServer().unregisterMBean(new ObjectName(BEAN_NAME));
+        getPlatformMBeanServer().registerMBean(new Sample(), new ObjectName(BEAN_NAME));
+
+        assertThat(delegate.getMBean(BEAN_NAME)).isNotSameAs(info);
+    }
+}
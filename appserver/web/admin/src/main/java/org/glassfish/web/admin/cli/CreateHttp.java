@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  * 
- * Portions Copyright [2017-2021] [Payara Foundation and/or its affiliates] 
+ * Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates] 
  */
 package org.glassfish.web.admin.cli;
 
@@ -139,6 +139,12 @@ public class CreateHttp implements AdminCommand {
     Boolean http2DisableCipherCheck;
     @Param(name = "http2PushEnabled", alias = "http2pushenabled", optional = true)
     Boolean http2PushEnabled;
+    @Param(name = "http2AdaptiveFlowControlEnabled", alias = "http2adaptiveflowcontrolenabled", optional = true)
+    Boolean http2AdaptiveFlowControlEnabled;
+    @Param(name = "http2MaxConnectionWindowSizeInBytes", alias = "http2maxconnectionwindowsizeinbytes", optional = true)
+    Integer http2MaxConnectionWindowSizeInBytes;
+    @Param(name = "http2MaxStreamWindowSizeInBytes", alias = "http2maxstreamwindowsizeinbytes", optional = true)
+    Integer http2MaxStreamWindowSizeInBytes;
     
     
     @Param(name = "target", optional = true, defaultValue = SystemPropertyConstants.DAS_SERVER_NAME)
@@ -231,6 +237,15 @@ public class CreateHttp implements AdminCommand {
                     if (http2PushEnabled != null) {
                         http.setHttp2PushEnabled(http2PushEnabled.toString());
                     }
+                    if (http2AdaptiveFlowControlEnabled != null) {
+                        http.setHttp2AdaptiveFlowControlEnabled(http2AdaptiveFlowControlEnabled.toString());
+                    }
+                    if (http2MaxConnectionWindowSizeInBytes != null) {
+                        http.setHttp2MaxConnectionWindowSizeInBytes(http2MaxConnectionWindowSizeInBytes.toString());
+                    }
+                    if (http2MaxStreamWindowSizeInBytes != null) {
+                        http.setHttp2MaxStreamWindowSizeInBytes(http2MaxStreamWindowSizeInBytes.toString());
+                    }
                     param.setHttp(http);
                     return http;
                 }
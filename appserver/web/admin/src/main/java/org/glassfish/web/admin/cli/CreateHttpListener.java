@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  * 
- * Portions Copyright [2017-2021] [Payara Foundation and/or its affiliates] 
+ * Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates] 
  */
 package org.glassfish.web.admin.cli;
 
@@ -142,6 +142,12 @@ public class CreateHttpListener implements AdminCommand {
     Boolean http2DisableCipherCheck;
     @Param(name = "http2PushEnabled", alias = "http2pushenabled", optional = true)
     Boolean http2PushEnabled;
+    @Param(name = "http2AdaptiveFlowControlEnabled", alias = "http2adaptiveflowcontrolenabled", optional = true)
+    Boolean http2AdaptiveFlowControlEnabled;
+    @Param(name = "http2MaxConnectionWindowSizeInBytes", alias = "http2maxconnectionwindowsizeinbytes", optional = true)
+    Integer http2MaxConnectionWindowSizeInBytes;
+    @Param(name = "http2MaxStreamWindowSizeInBytes", alias = "http2maxstreamwindowsizeinbytes", optional = true)
+    Integer http2MaxStreamWindowSizeInBytes;
     
     @Param(name = "target", optional = true, defaultValue = SystemPropertyConstants.DEFAULT_SERVER_INSTANCE_NAME)
     String target;
@@ -394,6 +400,9 @@ public class CreateHttpListener implements AdminCommand {
         command.http2CleanFrequencyCheck = http2CleanFrequencyCheck;
         command.http2DisableCipherCheck = http2DisableCipherCheck;
         command.http2PushEnabled = http2PushEnabled;
+        command.http2AdaptiveFlowControlEnabled = http2AdaptiveFlowControlEnabled;
+        command.http2MaxConnectionWindowSizeInBytes = http2MaxConnectionWindowSizeInBytes;
+        command.http2MaxStreamWindowSizeInBytes = http2MaxStreamWindowSizeInBytes;
         command.execute(context);
         checkProgress(context);
         return true;
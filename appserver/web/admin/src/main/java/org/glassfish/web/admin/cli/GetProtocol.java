@@ -1,7 +1,7 @@
 /* 
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  * 
- * Copyright (c) [2017-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  * 
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -157,6 +157,9 @@ public class GetProtocol implements AdminCommand {
                 report.appendMessage(String.format("Streams High Water Mark: %s\n", protocol.getHttp().getHttp2StreamsHighWaterMark()));
                 report.appendMessage(String.format("Clean Percentage: %s\n", protocol.getHttp().getHttp2CleanPercentage()));
                 report.appendMessage(String.format("Clean Frequency Check: %s\n", protocol.getHttp().getHttp2CleanFrequencyCheck()));
+                report.appendMessage(String.format("Adaptive Flow Control: %s\n", protocol.getHttp().getHttp2AdaptiveFlowControlEnabled()));
+                report.appendMessage(String.format("Max Connection Window Size: %s bytes\n", protocol.getHttp().getHttp2MaxConnectionWindowSizeInBytes()));
+                report.appendMessage(String.format("Max Stream Window Size: %s bytes\n", protocol.getHttp().getHttp2MaxStreamWindowSizeInBytes()));
             }
         }
 
@@ -182,6 +185,9 @@ public class GetProtocol implements AdminCommand {
         properties.put("http2CleanFrequencyCheck", protocol.getHttp().getHttp2CleanFrequencyCheck());
         properties.put("http2DisableCipherCheck", protocol.getHttp().getHttp2DisableCipherCheck());
         properties.put("http2PushEnabled", protocol.getHttp().getHttp2PushEnabled());
+        properties.put("http2AdaptiveFlowControlEnabled", protocol.getHttp().getHttp2AdaptiveFlowControlEnabled());
+        properties.put("http2MaxConnectionWindowSizeInBytes", protocol.getHttp().getHttp2MaxConnectionWindowSizeInBytes());
+        properties.put("http2MaxStreamWindowSizeInBytes", protocol.getHttp().getHttp2MaxStreamWindowSizeInBytes());
         report.setExtraProperties(properties);
     }
 
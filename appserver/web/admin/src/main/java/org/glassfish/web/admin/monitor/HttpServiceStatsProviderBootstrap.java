@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 /*
  * To change this template, choose Tools | Templates
@@ -62,6 +63,7 @@ import org.glassfish.api.admin.ServerEnvironment;
 import org.glassfish.external.probe.provider.PluginPoint;
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.grizzly.config.Http2FlowControlFilter;
 import org.glassfish.web.admin.LogFacade;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -136,5 +138,36 @@ public class HttpServiceStatsProviderBootstrap implements PostConstruct, Monitor
         for (HttpServiceStatsProvider provider : httpServiceStatsProviders.values()) {
             http.collectObject(provider, MonitoringDataCollection::collectObject);
         }
+        collectHttp2FlowControl(collector.in("http2"));
+    }
+
+    private static void collectHttp2FlowControl(MonitoringDataCollector collector) {
+        for (Http2FlowControlFilter filter : Http2FlowControlFilter.getFilters().values()) {
+            MonitoringDataCollector listenerCollector = collector.group(filter.getListenerName());
+            long connections = 0;
+            long maxConnectionWindowSize = 0;
+            long maxStreamWindowSize = 0;
+            long maxRoundTripTime = 0;
+            for (Http2FlowControlFilter.ConnectionWindow window : filter.getConnections()) {
+                connections++;
+                maxConnectionWindowSize = Math.max(maxConnectionWindowSize, window.getConnectionWindowSize());
+                maxStreamWindowSize = Math.max(maxStreamWindowSize, window.getStreamWindowSize());
+                maxRoundTripTime = Math.max(maxRoundTripTime, window.getRoundTripTime());
+                listenerCollector.tag("connection", String.valueOf(window.getId()))
+                        .collect("ConnectionWindowSize", window.getConnectionWindowSize())
+                        .collect("StreamWindowSize", window.getStreamWindowSize())
+                        .collect("RoundTripTime", window.getRoundTripTime())
+                        .collect("ReceivedBytes", window.getReceivedBytes())
+                        .collect("WindowLimitedRounds", window.getWindowLimitedRoundCount());
+            }
+            listenerCollector
+                    .collect("Connections", connections)
+                    .collect("MaxConnectionWindowSize", maxConnectionWindowSize)
+                    .collect("MaxStreamWindowSize", maxStreamWindowSize)
+                    .collect("MaxRoundTripTime", maxRoundTripTime)
+                    .collect("WindowUpdates", filter.getWindowUpdateCount())
+                    .collect("GrantedBytes", filter.getGrantedBytes())
+                    .collect("WindowLimitedRounds", filter.getWindowLimitedRoundCount());
+        }
     }
 }
@@ -55,6 +55,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package org.apache.catalina;
 
@@ -299,6 +300,34 @@ public final class Globals {
      public static final String SSI_FLAG_ATTR =
          "org.apache.catalina.ssi.SSIServlet";
 
+    /**
+     * The request attribute that is set to {@code Boolean.TRUE} if the
+     * connector is able to send files with the sendfile request attributes.
+     */
+    public static final String SENDFILE_SUPPORTED_ATTR =
+        "org.apache.tomcat.sendfile.support";
+
+    /**
+     * The request attribute that can be used by a servlet to pass the
+     * canonical path of the file to be sent to the connector.
+     */
+    public static final String SENDFILE_FILENAME_ATTR =
+        "org.apache.tomcat.sendfile.filename";
+
+    /**
+     * The request attribute holding the start offset (a {@code Long}) of
+     * the file region to be sent.
+     */
+    public static final String SENDFILE_FILE_START_ATTR =
+        "org.apache.tomcat.sendfile.start";
+
+    /**
+     * The request attribute holding the end offset (a {@code Long},
+     * exclusive) of the file region to be sent.
+     */
+    public static final String SENDFILE_FILE_END_ATTR =
+        "org.apache.tomcat.sendfile.end";
+
     /**
      * Request path.
      */
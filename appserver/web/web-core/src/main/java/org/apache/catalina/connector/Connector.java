@@ -56,7 +56,7 @@
  * limitations under the License.
  */
 
-// Portions Copyright [2017-2022] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
 
 package org.apache.catalina.connector;
 
@@ -174,6 +174,13 @@ public class Connector
     private boolean xpoweredBy;
 
     private boolean serverHeader;
+
+    /*
+     * Can static resources be sent with the sendfile request attributes?
+     * Only used on connections Grizzly can send files to.
+     */
+    private boolean sendfileEnabled = Boolean.valueOf(System.getProperty(
+        "org.apache.catalina.connector.Connector.SENDFILE_ENABLED", "true"));
     
     /*
      * Is generation of X-Frame-Options response header enabled/disabled?
@@ -1136,6 +1143,27 @@ public class Connector
         setProperty("xpoweredBy", String.valueOf(xpoweredBy));
     }
     
+    /**
+     * Indicates whether servlets may hand files over to this Connector using
+     * the sendfile request attributes.
+     *
+     * @return true if sendfile is enabled, false otherwise
+     */
+    public boolean isSendfileEnabled() {
+        return sendfileEnabled;
+    }
+
+    /**
+     * Enables or disables sending files with the sendfile request attributes.
+     *
+     * @param sendfileEnabled true if sendfile is to be enabled, false
+     * otherwise
+     */
+    public void setSendfileEnabled(boolean sendfileEnabled) {
+        this.sendfileEnabled = sendfileEnabled;
+        setProperty("sendfileEnabled", String.valueOf(sendfileEnabled));
+    }
+
     /**
      * Indicates whether the generation of a Server response header for
      * servlet-generated responses is enabled or disabled for this Connector.
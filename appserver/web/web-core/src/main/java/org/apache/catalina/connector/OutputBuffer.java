@@ -55,12 +55,16 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-// Portions Copyright [2019-2021] Payara Foundation and/or affiliates
+// Portions Copyright [2019-2026] Payara Foundation and/or affiliates
 
 package org.apache.catalina.connector;
 
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -428,6 +432,66 @@ public class OutputBuffer extends Writer
     // --------------------  BufferedOutputStream compatibility
 
 
+    /**
+     * Writes the remaining content of the given buffer without copying it
+     * into the byte chunk of this buffer.
+     *
+     * @param buffer the content to write
+     * @throws IOException An underlying IOException occurred
+     */
+    public void writeByteBuffer(ByteBuffer buffer) throws IOException {
+
+        if (suspended || grizzlyOutputBuffer.isClosed())
+            return;
+
+        int len = buffer.remaining();
+        grizzlyOutputBuffer.writeByteBuffer(buffer);
+        bytesWritten += len;
+
+    }
+
+
+    /**
+     * Sends a region of the given file. The file is handed over to Grizzly
+     * as a file transfer, which writes it to the connection with
+     * {@code FileChannel.transferTo} instead of copying it through the heap.
+     * The transfer completes asynchronously, Grizzly keeps the response open
+     * until it is done.
+     * <p>
+     * Only to be used if the request has the
+     * {@link org.apache.catalina.Globals#SENDFILE_SUPPORTED_ATTR} attribute,
+     * as file transfers cannot be written to secure or HTTP/2 connections.
+     *
+     * @param file the file to send
+     * @param start offset of the first byte to send
+     * @param end offset after the last byte to send
+     * @throws IOException An underlying IOException occurred, or the file is
+     *  shorter than the requested region
+     */
+    public void sendFile(File file, long start, long end) throws IOException {
+
+        if (suspended || grizzlyOutputBuffer.isClosed())
+            return;
+
+        if (log.isLoggable(Level.FINE))
+            log.log(Level.FINE, "sendFile({0}, {1}, {2})", new Object[]{file, start, end});
+
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        if (start < 0 || start > end || end > file.length()) {
+            throw new EOFException(file.getPath());
+        }
+        if (start == end) {
+            return;
+        }
+
+        grizzlyOutputBuffer.sendfile(file, start, end - start, null);
+        bytesWritten += (int) (end - start);
+
+    }
+
+
     /**
      * Real write - this buffer will be sent to the client
      */
@@ -55,7 +55,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-// Portions Copyright 2016-2024 Payara Foundation and/or its affiliates
+// Portions Copyright 2016-2026 Payara Foundation and/or its affiliates
 
 package org.apache.catalina.connector;
 
@@ -182,6 +182,10 @@ public class Request implements HttpRequest, HttpServletRequest {
      * The set of cookies associated with this Request.
      */
     protected ArrayList<Cookie> cookies = new ArrayList<Cookie>();
+    /**
+     * The cookies as returned by getCookies(), until they change.
+     */
+    private Cookie[] cookiesArray;
     /**
      * The default Locale if none are specified.
      */
@@ -552,6 +556,7 @@ public class Request implements HttpRequest, HttpServletRequest {
         attributes.clear();
         notes.clear();
         cookies.clear();
+        cookiesArray = null;
 
         unsuccessfulSessionFind = false;
 
@@ -1157,6 +1162,11 @@ public class Request implements HttpRequest, HttpServletRequest {
             case Globals.CONSTRAINT_URI:
                 return getRequestPathMB() != null
                         ? getRequestPathMB().toString() : null;
+            case Globals.SENDFILE_SUPPORTED_ATTR:
+                if (isSendfileSupported()) {
+                    return Boolean.TRUE;
+                }
+                break;
         }
 
         Object attr = attributes.get(name);
@@ -1186,6 +1196,18 @@ public class Request implements HttpRequest, HttpServletRequest {
         return attr;
     }
 
+    /**
+     * Sendfile hands the file over to Grizzly as a file transfer, which can
+     * only be written as is to plain HTTP/1.x connections.
+     */
+    private boolean isSendfileSupported() {
+        return connector instanceof Connector
+                && ((Connector) connector).isSendfileEnabled()
+                && !isSecure()
+                && coyoteRequest.getProtocol() != Protocol.HTTP_2_0
+                && coyoteRequest.getResponse().isSendFileEnabled();
+    }
+
     /**
      * Test if a given name is one of the special Servlet-spec SSL attributes.
      */
@@ -1205,6 +1227,9 @@ public class Request implements HttpRequest, HttpServletRequest {
         if (isSecure()) {
             populateSSLAttributes();
         }
+        if (attributes.isEmpty()) {
+            return Collections.emptyEnumeration();
+        }
         return new Enumerator<>(attributes.keySet(), true);
     }
 
@@ -1331,11 +1356,9 @@ public class Request implements HttpRequest, HttpServletRequest {
             return parameterMap;
         }
 
-        Enumeration<String> e = getParameterNames();
-        while (e.hasMoreElements()) {
-            String name = e.nextElement();
-            String[] values = getParameterValues(name);
-            parameterMap.put(name, values);
+        processParameters();
+        for (String name : coyoteRequest.getParameterNames()) {
+            parameterMap.put(name, coyoteRequest.getParameterValues(name));
         }
 
         parameterMap.setLocked(true);
@@ -1995,6 +2018,7 @@ public class Request implements HttpRequest, HttpServletRequest {
         }
 
         cookies.add(cookie);
+        cookiesArray = null;
     }
 
     /**
@@ -2039,6 +2063,7 @@ public class Request implements HttpRequest, HttpServletRequest {
     public void clearCookies() {
         cookiesParsed = true;
         cookies.clear();
+        cookiesArray = null;
     }
 
     /**
@@ -2308,6 +2333,9 @@ public class Request implements HttpRequest, HttpServletRequest {
 
     /**
      * Return the set of Cookies received with this Request.
+     * <p>
+     * The array is shared by all callers until the cookies of this request
+     * change, so changes to its elements are seen by later callers.
      */
     @Override
     public Cookie[] getCookies() {
@@ -2320,7 +2348,11 @@ public class Request implements HttpRequest, HttpServletRequest {
             return null;
         }
 
-        return cookies.toArray(new Cookie[0]);
+        // shared between callers like the parsed cookies themselves
+        if (cookiesArray == null) {
+            cookiesArray = cookies.toArray(new Cookie[0]);
+        }
+        return cookiesArray;
     }
 
     /**
@@ -2329,6 +2361,7 @@ public class Request implements HttpRequest, HttpServletRequest {
     public void setCookies(Cookie[] cookies) {
 
         this.cookies.clear();
+        cookiesArray = null;
         if (cookies != null) {
             Collections.addAll(this.cookies, cookies);
         }
@@ -2379,6 +2412,10 @@ public class Request implements HttpRequest, HttpServletRequest {
      */
     @Override
     public Enumeration<String> getHeaders(String name) {
+        // most lookups are for headers the request does not have
+        if (coyoteRequest.getRequest().getHeaders().getValue(name) == null) {
+            return Collections.emptyEnumeration();
+        }
         return new Enumerator<>(coyoteRequest.getHeaders(name).iterator());
     }
 
@@ -3118,6 +3155,7 @@ public class Request implements HttpRequest, HttpServletRequest {
         }
 
         cookies.clear();
+        cookiesArray = null;
 
         for (org.glassfish.grizzly.http.Cookie scookie : serverCookies) {
             try {
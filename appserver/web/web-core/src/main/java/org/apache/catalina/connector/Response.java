@@ -55,13 +55,14 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-// Portions Copyright [2019-2023] Payara Foundation and/or affiliates
+// Portions Copyright [2019-2026] Payara Foundation and/or affiliates
 
 package org.apache.catalina.connector;
 
 
 import static org.apache.catalina.util.RequestUtil.createSessionVersionString;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
@@ -621,7 +622,11 @@ public class Response
 
         // Writing leftover bytes
         try {
-            outputBuffer.close();
+            try {
+                sendFile();
+            } finally {
+                outputBuffer.close();
+            }
         } catch(IOException e) {
 	    ;
         } catch(Throwable t) {
@@ -630,6 +635,28 @@ public class Response
     }
 
 
+    /**
+     * Sends the file region a servlet passed over using the sendfile
+     * request attributes, if any.
+     */
+    private void sendFile() throws IOException {
+        if (!usingOutputStream || error || request == null
+                || !Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            return;
+        }
+        Object filename = request.getAttribute(Globals.SENDFILE_FILENAME_ATTR);
+        if (filename == null) {
+            return;
+        }
+        Long start = (Long) request.getAttribute(Globals.SENDFILE_FILE_START_ATTR);
+        Long end = (Long) request.getAttribute(Globals.SENDFILE_FILE_END_ATTR);
+        if (start == null || end == null) {
+            return;
+        }
+        outputBuffer.sendFile(new File(filename.toString()), start, end);
+    }
+
+
     /**
      * Return the content length that was set or calculated for this Response.
      * @return the content length
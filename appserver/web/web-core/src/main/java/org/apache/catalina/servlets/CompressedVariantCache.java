@@ -0,0 +1,306 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.apache.catalina.servlets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import org.apache.naming.resources.CacheEntry;
+import org.apache.naming.resources.ProxyDirContext;
+import org.apache.naming.resources.ResourceAttributes;
+
+/**
+ * Size bounded cache of compressed representations of small static resources
+ * served by the {@link DefaultServlet}.
+ * <p>
+ * The compressed content is kept in direct buffers, outside of the heap. Gzip
+ * variants are read from a pre-compressed {@code .gz} file next to the
+ * resource if there is one, and compressed on first use otherwise. Brotli
+ * variants can only be served from a pre-compressed {@code .br} file, as the
+ * JDK has no brotli encoder. A variant is replaced as soon as the ETag of its
+ * resource changes, and has an ETag of its own derived from it.
+ *
+ * @author Payara Foundation
+ */
+final class CompressedVariantCache {
+
+    static final String GZIP = "gzip";
+    static final String BROTLI = "br";
+
+    /**
+     * Stands in for the content of resources that do not get any smaller
+     * when compressed.
+     */
+    private static final ByteBuffer INCOMPRESSIBLE = ByteBuffer.allocateDirect(0);
+
+    private final long maxSize;
+    private final long maxObjectSize;
+    private final Map<String, Variant> variants = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * @param maxSize maximum total size of the cached variants in bytes
+     * @param maxObjectSize size in bytes of the largest resource which is
+     * compressed
+     */
+    CompressedVariantCache(long maxSize, long maxObjectSize) {
+        this.maxSize = maxSize;
+        this.maxObjectSize = maxObjectSize;
+    }
+
+    /**
+     * Compressed representation of a resource.
+     */
+    static final class Variant {
+
+        private final String encoding;
+        private final String etag;
+        private final ByteBuffer content;
+        private final ResourceAttributes attributes;
+
+        Variant(String encoding, ResourceAttributes resourceAttributes, ByteBuffer content) {
+            this.encoding = encoding;
+            this.etag = resourceAttributes.getETag();
+            this.content = content;
+            attributes = new ResourceAttributes();
+            attributes.setContentLength(content.capacity());
+            attributes.setLastModified(resourceAttributes.getLastModified());
+            attributes.setETag(etag(etag, encoding));
+        }
+
+        String getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * @return the attributes of the compressed representation, which has
+         * an ETag of its own
+         */
+        ResourceAttributes getAttributes() {
+            return attributes;
+        }
+
+        long getLength() {
+            return content.capacity();
+        }
+
+        /**
+         * @return a new buffer over the compressed content, positioned at its
+         * start
+         */
+        ByteBuffer getContent() {
+            return content.duplicate();
+        }
+    }
+
+    /**
+     * Derives the ETag of a compressed representation from the ETag of the
+     * resource, so that caches and conditional requests tell the encodings
+     * apart.
+     *
+     * @param etag ETag of the resource, may be null
+     * @param encoding content coding of the representation
+     * @return the ETag of the representation, null if the resource has none
+     */
+    static String etag(String etag, String encoding) {
+        if (etag == null) {
+            return null;
+        }
+        if (etag.endsWith("\"") && etag.indexOf('"') < etag.length() - 1) {
+            return etag.substring(0, etag.length() - 1) + '-' + encoding + '"';
+        }
+        return etag + '-' + encoding;
+    }
+
+    /**
+     * @param contentType content type of a resource, may be null
+     * @return true if resources of the given type are worth compressing
+     */
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ENGLISH);
+        return type.startsWith("text/")
+                || type.contains("javascript")
+                || type.contains("json")
+                || type.contains("xml");
+    }
+
+    /**
+     * @param acceptEncoding value of the Accept-Encoding request header
+     * @param encoding a content coding
+     * @return true if the client accepts the content coding
+     */
+    static boolean accepts(String acceptEncoding, String encoding) {
+        boolean wildcard = false;
+        for (String token : acceptEncoding.split(",")) {
+            int semicolon = token.indexOf(';');
+            String coding = (semicolon < 0 ? token : token.substring(0, semicolon)).trim();
+            boolean acceptable = semicolon < 0 || quality(token.substring(semicolon + 1)) > 0;
+            if (coding.equalsIgnoreCase(encoding)) {
+                return acceptable;
+            }
+            if (coding.equals("*")) {
+                wildcard = acceptable;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            parameter = parameter.trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Returns the variant of a resource to send to a client, brotli being
+     * preferred to gzip.
+     *
+     * @param path path of the resource
+     * @param entry the resource
+     * @param acceptEncoding value of the Accept-Encoding request header, may
+     * be null
+     * @param resources the resources the entry was looked up in, used to find
+     * pre-compressed files
+     * @return the variant, or null if the resource is to be sent as is
+     * @throws IOException if the resource cannot be read
+     */
+    Variant getVariant(String path, CacheEntry entry, String acceptEncoding,
+                       ProxyDirContext resources) throws IOException {
+        long length = entry.attributes.getContentLength();
+        if (acceptEncoding == null || length <= 0 || length > maxObjectSize) {
+            return null;
+        }
+        Variant variant = null;
+        if (accepts(acceptEncoding, BROTLI)) {
+            variant = getVariant(path, BROTLI, entry, resources);
+        }
+        if (variant == null && accepts(acceptEncoding, GZIP)) {
+            variant = getVariant(path, GZIP, entry, resources);
+        }
+        return variant;
+    }
+
+    private Variant getVariant(String path, String encoding, CacheEntry entry,
+                               ProxyDirContext resources) throws IOException {
+        String key = encoding + ':' + path;
+        String etag = entry.attributes.getETag();
+        Variant variant;
+        synchronized (this) {
+            variant = variants.get(key);
+        }
+        if (variant == null || !Objects.equals(variant.etag, etag)) {
+            variant = new Variant(encoding, entry.attributes, compress(path, encoding, entry, resources));
+            put(key, variant);
+        }
+        return variant.content == INCOMPRESSIBLE ? null : variant;
+    }
+
+    private ByteBuffer compress(String path, String encoding, CacheEntry entry,
+                                ProxyDirContext resources) throws IOException {
+        byte[] compressed = readPrecompressed(
+                path + (BROTLI.equals(encoding) ? ".br" : ".gz"), entry, resources);
+        if (compressed == null && GZIP.equals(encoding)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(readContent(entry));
+            }
+            compressed = out.toByteArray();
+        }
+        if (compressed == null || compressed.length >= entry.attributes.getContentLength()) {
+            return INCOMPRESSIBLE;
+        }
+        ByteBuffer content = ByteBuffer.allocateDirect(compressed.length);
+        content.put(compressed).flip();
+        return content;
+    }
+
+    private byte[] readPrecompressed(String path, CacheEntry entry,
+                                     ProxyDirContext resources) throws IOException {
+        CacheEntry precompressed = resources.lookupCache(path);
+        if (precompressed == null || !precompressed.exists
+                || precompressed.context != null || precompressed.resource == null
+                || precompressed.attributes.getContentLength() > maxObjectSize
+                || precompressed.attributes.getLastModified() < entry.attributes.getLastModified()) {
+            return null;
+        }
+        return readContent(precompressed);
+    }
+
+    private static byte[] readContent(CacheEntry entry) throws IOException {
+        byte[] content = entry.resource.getContent();
+        if (content != null) {
+            return content;
+        }
+        try (InputStream in = entry.resource.streamContent()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private synchronized void put(String key, Variant variant) {
+        Variant previous = variants.put(key, variant);
+        if (previous != null) {
+            size -= previous.getLength();
+        }
+        size += variant.getLength();
+        Iterator<Variant> eldest = variants.values().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            size -= eldest.next().getLength();
+            eldest.remove();
+        }
+    }
+}
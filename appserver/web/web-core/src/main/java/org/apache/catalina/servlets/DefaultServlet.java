@@ -56,7 +56,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-// Portions Copyright [2019-2023] Payara Foundation and/or affiliates
+// Portions Copyright [2019-2026] Payara Foundation and/or affiliates
 
 package org.apache.catalina.servlets;
 
@@ -104,6 +104,7 @@ import javax.xml.transform.stream.StreamSource;
 import com.sun.enterprise.util.io.FileUtils;
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -265,6 +266,26 @@ public class DefaultServlet extends HttpServlet {
     protected int sendfileSize = 48 * 1024;
 
 
+    /**
+     * Maximum size in bytes of the cache of compressed resource variants.
+     * The cache is disabled if zero or less.
+     */
+    protected int compressedCacheSize = 0;
+
+
+    /**
+     * Size in bytes of the largest resource for which a compressed variant
+     * is cached.
+     */
+    protected int compressedMaxSize = 64 * 1024;
+
+
+    /**
+     * Cache of compressed resource variants, null if disabled.
+     */
+    protected transient CompressedVariantCache compressedVariants = null;
+
+
     /**
      * Should the Accept-Ranges: bytes header be send with static resources?
      */
@@ -368,6 +389,18 @@ public class DefaultServlet extends HttpServlet {
             sendfileSize =
                 Integer.parseInt(sc.getInitParameter("sendfileSize")) * 1024;
 
+        if (sc.getInitParameter("compressedCacheSize") != null)
+            compressedCacheSize =
+                Integer.parseInt(sc.getInitParameter("compressedCacheSize")) * 1024;
+
+        if (sc.getInitParameter("compressedMaxSize") != null)
+            compressedMaxSize =
+                Integer.parseInt(sc.getInitParameter("compressedMaxSize")) * 1024;
+
+        if (compressedCacheSize > 0)
+            compressedVariants =
+                new CompressedVariantCache(compressedCacheSize, compressedMaxSize);
+
         if (sc.getInitParameter("maxHeaderRangeItems") != null) {
             maxHeaderRangeItems =
                 Integer.parseInt(sc.getInitParameter("maxHeaderRangeItems"));
@@ -808,13 +841,15 @@ public class DefaultServlet extends HttpServlet {
 
         CacheEntry cacheEntry = null;
         ProxyDirContext proxyDirContext = resources;
+        ProxyDirContext entryContext = proxyDirContext;
         if (alternateDocBases == null || alternateDocBases.isEmpty()) {
             cacheEntry = proxyDirContext.lookupCache(path);
         } else {
             AlternateDocBase match = AlternateDocBase.findMatch(
                                             path, alternateDocBases);
             if (match != null) {
-                cacheEntry = ((ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources())).lookupCache(path);
+                entryContext = (ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources());
+                cacheEntry = entryContext.lookupCache(path);
             } else {
                 // None of the url patterns for alternate docbases matched
                 cacheEntry = proxyDirContext.lookupCache(path);
@@ -853,6 +888,34 @@ public class DefaultServlet extends HttpServlet {
             return;
         }
 
+        // Find content type.
+        String contentType = cacheEntry.attributes.getMimeType();
+        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
+            contentType = getServletContext().getMimeType(cacheEntry.name);
+            cacheEntry.attributes.setMimeType(contentType);
+        }
+
+        // Pick a compressed variant of small text resources, if the client
+        // accepts one. A variant has an ETag of its own, so it is picked
+        // before the If headers are checked.
+        CompressedVariantCache.Variant variant = null;
+        ResourceAttributes representation = cacheEntry.attributes;
+        if ((compressedVariants != null)
+                && (cacheEntry.context == null)
+                && (cacheEntry.resource != null)
+                && (request.getAttribute(RequestDispatcher.INCLUDE_REQUEST_URI) == null)
+                && (request.getHeader("Range") == null)
+                && CompressedVariantCache.isCompressible(contentType)) {
+            response.addHeader("Vary", "Accept-Encoding");
+            if (!content || isCoyoteOutputStream(response)) {
+                variant = compressedVariants.getVariant(path, cacheEntry,
+                        request.getHeader("Accept-Encoding"), entryContext);
+            }
+            if (variant != null) {
+                representation = variant.getAttributes();
+            }
+        }
+
         // Check if the conditions specified in the optional If headers are
         // satisfied.
         if (cacheEntry.context == null) {
@@ -861,19 +924,12 @@ public class DefaultServlet extends HttpServlet {
             boolean included =
                 (request.getAttribute(RequestDispatcher.INCLUDE_CONTEXT_PATH) != null);
             if (!included
-                && !checkIfHeaders(request, response, cacheEntry.attributes)) {
+                && !checkIfHeaders(request, response, representation)) {
                 return;
             }
 
         }
 
-        // Find content type.
-        String contentType = cacheEntry.attributes.getMimeType();
-        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
-            contentType = getServletContext().getMimeType(cacheEntry.name);
-            cacheEntry.attributes.setMimeType(contentType);
-        }
-
         ArrayList<Range> ranges = null;
         long contentLength = -1L;
 
@@ -903,7 +959,7 @@ public class DefaultServlet extends HttpServlet {
             ranges = parseRange(request, response, cacheEntry.attributes);
 
             // ETag header
-            response.setHeader("ETag", cacheEntry.attributes.getETag());
+            response.setHeader("ETag", representation.getETag());
 
             // Last-Modified header
             response.setHeader("Last-Modified",
@@ -947,6 +1003,11 @@ public class DefaultServlet extends HttpServlet {
                         && (request.getHeader("Range") == null) )
                 || (ranges == FULL) ) {
 
+            if (variant != null) {
+                response.setHeader("Content-Encoding", variant.getEncoding());
+                contentLength = variant.getLength();
+            }
+
             // Set the appropriate output headers
             if (contentType != null) {
                 if (debug > 0)
@@ -985,7 +1046,9 @@ public class DefaultServlet extends HttpServlet {
                     // Silent catch
                 }
                 if (ostream != null) {
-                    if (!checkSendfile(request, response, cacheEntry, contentLength, null))
+                    if (variant != null)
+                        ((CoyoteOutputStream) ostream).write(variant.getContent());
+                    else if (!checkSendfile(request, response, cacheEntry, contentLength, null))
                         copy(cacheEntry, renderResult, ostream);
                 } else {
                     copy(cacheEntry, renderResult, writer);
@@ -1872,6 +1935,21 @@ public class DefaultServlet extends HttpServlet {
     // -------------------------------------------------------- protected Methods
 
 
+    /**
+     * Check if compressed variants can be written to the output stream of
+     * the response, which is not the case if the response is wrapped or a
+     * writer is in use.
+     */
+    private static boolean isCoyoteOutputStream(HttpServletResponse response)
+        throws IOException {
+        try {
+            return response.getOutputStream() instanceof CoyoteOutputStream;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+
     /**
      * Check if sendfile can be used.
      */
@@ -1883,16 +1961,16 @@ public class DefaultServlet extends HttpServlet {
             && (entry.resource != null)
             && ((length > sendfileSize) || (entry.resource.getContent() == null))
             && (entry.attributes.getCanonicalPath() != null)
-            && (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support")))
+            && (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR)))
             && (request.getClass().getName().equals("org.apache.catalina.connector.RequestFacade"))
             && (response.getClass().getName().equals("org.apache.catalina.connector.ResponseFacade"))) {
-            request.setAttribute("org.apache.tomcat.sendfile.filename", entry.attributes.getCanonicalPath());
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, entry.attributes.getCanonicalPath());
             if (range == null) {
-                request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
-                request.setAttribute("org.apache.tomcat.sendfile.end", length);
+                request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, 0L);
+                request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, length);
             } else {
-                request.setAttribute("org.apache.tomcat.sendfile.start", range.start);
-                request.setAttribute("org.apache.tomcat.sendfile.end", range.end + 1);
+                request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, range.start);
+                request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, range.end + 1);
             }
             request.setAttribute("org.apache.tomcat.sendfile.token", this);
             return true;
@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.apache.catalina.connector;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the file regions {@link OutputBuffer#sendFile(File, long, long)} hands over to Grizzly.
+ */
+public class OutputBufferSendFileTest {
+
+    private static final int FILE_SIZE = 200 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private org.glassfish.grizzly.http.io.OutputBuffer grizzlyOutputBuffer;
+    private OutputBuffer outputBuffer;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.newFile("static.bin");
+        Files.write(file.toPath(), new byte[FILE_SIZE]);
+
+        grizzlyOutputBuffer = mock(org.glassfish.grizzly.http.io.OutputBuffer.class);
+        org.glassfish.grizzly.http.server.Response grizzlyResponse = mock(org.glassfish.grizzly.http.server.Response.class);
+        when(grizzlyResponse.getOutputBuffer()).thenReturn(grizzlyOutputBuffer);
+        Response response = mock(Response.class);
+        when(response.getCoyoteResponse()).thenReturn(grizzlyResponse);
+
+        outputBuffer = new OutputBuffer();
+        outputBuffer.setCoyoteResponse(response);
+    }
+
+    @Test
+    public void wholeFileIsTransferred() throws IOException {
+        outputBuffer.sendFile(file, 0, FILE_SIZE);
+
+        verify(grizzlyOutputBuffer).sendfile(file, 0L, (long) FILE_SIZE, null);
+        verify(grizzlyOutputBuffer, never()).write(any(byte[].class), anyInt(), anyInt());
+        assertEquals(FILE_SIZE, outputBuffer.getBytesWritten());
+    }
+
+    @Test
+    public void rangeIsTransferred() throws IOException {
+        outputBuffer.sendFile(file, 1000, 150_000);
+
+        verify(grizzlyOutputBuffer).sendfile(file, 1000L, 149_000L, null);
+        assertEquals(149_000, outputBuffer.getBytesWritten());
+    }
+
+    @Test
+    public void emptyRangeTransfersNothing() throws IOException {
+        outputBuffer.sendFile(file, 10, 10);
+
+        verifyNoTransfer();
+    }
+
+    @Test
+    public void rangeBeyondEndOfFileFails() throws IOException {
+        try {
+            outputBuffer.sendFile(file, 0, FILE_SIZE + 1);
+            fail("EOFException expected");
+        } catch (EOFException expected) {
+            // nothing may be sent for a region the file does not have
+        }
+        verifyNoTransfer();
+    }
+
+    @Test
+    public void invalidRangeFails() throws IOException {
+        try {
+            outputBuffer.sendFile(file, 100, 10);
+            fail("EOFException expected");
+        } catch (EOFException expected) {
+            // the region is rejected before anything is sent
+        }
+        verifyNoTransfer();
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void missingFileFails() throws IOException {
+        outputBuffer.sendFile(new File(folder.getRoot(), "missing.bin"), 0, 10);
+    }
+
+    @Test
+    public void closedBufferTransfersNothing() throws IOException {
+        when(grizzlyOutputBuffer.isClosed()).thenReturn(true);
+
+        outputBuffer.sendFile(file, 0, FILE_SIZE);
+
+        verifyNoTransfer();
+    }
+
+    private void verifyNoTransfer() {
+        verify(grizzlyOutputBuffer, never()).sendfile(any(File.class), anyLong(), anyLong(), any());
+        assertEquals(0, outputBuffer.getBytesWritten());
+    }
+}
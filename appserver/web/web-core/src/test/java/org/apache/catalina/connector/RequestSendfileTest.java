@@ -0,0 +1,108 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.apache.catalina.connector;
+
+import org.apache.catalina.Globals;
+import org.glassfish.grizzly.http.Protocol;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks when a request tells servlets that files can be sent with the sendfile request attributes.
+ */
+public class RequestSendfileTest {
+
+    private Connector connector;
+    private org.glassfish.grizzly.http.server.Request grizzlyRequest;
+    private org.glassfish.grizzly.http.server.Response grizzlyResponse;
+    private Request request;
+
+    @Before
+    public void createRequest() {
+        connector = mock(Connector.class);
+        when(connector.isSendfileEnabled()).thenReturn(true);
+        grizzlyResponse = mock(org.glassfish.grizzly.http.server.Response.class);
+        when(grizzlyResponse.isSendFileEnabled()).thenReturn(true);
+        grizzlyRequest = mock(org.glassfish.grizzly.http.server.Request.class);
+        when(grizzlyRequest.getProtocol()).thenReturn(Protocol.HTTP_1_1);
+        when(grizzlyRequest.getResponse()).thenReturn(grizzlyResponse);
+
+        request = new Request();
+        request.setConnector(connector);
+        request.setCoyoteRequest(grizzlyRequest);
+    }
+
+    @Test
+    public void supportedOnPlainConnections() {
+        assertEquals(Boolean.TRUE, request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR));
+    }
+
+    @Test
+    public void notSupportedWhenDisabled() {
+        when(connector.isSendfileEnabled()).thenReturn(false);
+
+        assertNull(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR));
+    }
+
+    @Test
+    public void notSupportedOnSecureConnections() {
+        request.setSecure(true);
+
+        assertNull(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR));
+    }
+
+    @Test
+    public void notSupportedOverHttp2() {
+        when(grizzlyRequest.getProtocol()).thenReturn(Protocol.HTTP_2_0);
+
+        assertNull(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR));
+    }
+
+    @Test
+    public void notSupportedWhenGrizzlyCannotSendFiles() {
+        when(grizzlyResponse.isSendFileEnabled()).thenReturn(false);
+
+        assertNull(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR));
+    }
+}
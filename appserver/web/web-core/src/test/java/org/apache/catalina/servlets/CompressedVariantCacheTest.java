@@ -0,0 +1,169 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.apache.catalina.servlets;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.apache.naming.resources.CacheEntry;
+import org.apache.naming.resources.ProxyDirContext;
+import org.apache.naming.resources.Resource;
+import org.apache.naming.resources.ResourceAttributes;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompressedVariantCacheTest {
+
+    private static final byte[] CONTENT = new String(new char[2048]).replace('\0', 'a')
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final ProxyDirContext resources = mock(ProxyDirContext.class);
+
+    public CompressedVariantCacheTest() {
+        CacheEntry missing = new CacheEntry();
+        missing.exists = false;
+        when(resources.lookupCache(any(String.class))).thenReturn(missing);
+    }
+
+    @Test
+    public void acceptEncodingIsParsed() {
+        assertTrue(CompressedVariantCache.accepts("gzip, deflate, br", "br"));
+        assertTrue(CompressedVariantCache.accepts("deflate, GZIP;q=0.5", "gzip"));
+        assertFalse(CompressedVariantCache.accepts("gzip;q=0, *", "gzip"));
+        assertTrue(CompressedVariantCache.accepts("*", "gzip"));
+        assertFalse(CompressedVariantCache.accepts("*;q=0", "gzip"));
+        assertFalse(CompressedVariantCache.accepts("identity", "gzip"));
+    }
+
+    @Test
+    public void gzipVariantIsCached() throws IOException {
+        CompressedVariantCache cache = new CompressedVariantCache(64 * 1024, 64 * 1024);
+        CacheEntry entry = entry(CONTENT, 1000L);
+
+        CompressedVariantCache.Variant variant = cache.getVariant("/a.txt", entry, "gzip, br", resources);
+
+        assertEquals(CompressedVariantCache.GZIP, variant.getEncoding());
+        assertArrayEquals(CONTENT, gunzip(variant.getContent()));
+        assertSame(variant, cache.getVariant("/a.txt", entry, "gzip", resources));
+    }
+
+    @Test
+    public void variantIsReplacedWhenResourceChanges() throws IOException {
+        CompressedVariantCache cache = new CompressedVariantCache(64 * 1024, 64 * 1024);
+
+        CompressedVariantCache.Variant variant = cache.getVariant("/a.txt", entry(CONTENT, 1000L), "gzip", resources);
+
+        assertNotSame(variant, cache.getVariant("/a.txt", entry(CONTENT, 2000L), "gzip", resources));
+    }
+
+    @Test
+    public void noVariantForSmallOrLargeOrUnacceptedResources() throws IOException {
+        CompressedVariantCache cache = new CompressedVariantCache(64 * 1024, 1024);
+
+        assertNull(cache.getVariant("/a.txt", entry(CONTENT, 1000L), "gzip", resources));
+        assertNull(cache.getVariant("/b.txt", entry(new byte[] {'a'}, 1000L), "gzip", resources));
+        assertNull(cache.getVariant("/b.txt", entry(new byte[] {'a'}, 1000L), null, resources));
+        assertNull(cache.getVariant("/b.txt", entry(new byte[] {'a'}, 1000L), "br", resources));
+    }
+
+    @Test
+    public void variantsHaveETagsOfTheirOwn() throws IOException {
+        when(resources.lookupCache("/a.txt.br")).thenReturn(entry(new byte[] {1, 2, 3}, 2000L));
+        CompressedVariantCache cache = new CompressedVariantCache(64 * 1024, 64 * 1024);
+        CacheEntry entry = entry(CONTENT, 1000L);
+
+        ResourceAttributes gzip = cache.getVariant("/a.txt", entry, "gzip", resources).getAttributes();
+        ResourceAttributes brotli = cache.getVariant("/a.txt", entry, "br", resources).getAttributes();
+
+        assertEquals("W/\"2048-1000\"", entry.attributes.getETag());
+        assertEquals("W/\"2048-1000-gzip\"", gzip.getETag());
+        assertEquals("W/\"2048-1000-br\"", brotli.getETag());
+        assertEquals(1000L, gzip.getLastModified());
+        assertEquals(3, brotli.getContentLength());
+        assertEquals("\"abc-gzip\"", CompressedVariantCache.etag("\"abc\"", "gzip"));
+        assertEquals("abc-br", CompressedVariantCache.etag("abc", "br"));
+        assertNull(CompressedVariantCache.etag(null, "br"));
+    }
+
+    @Test
+    public void precompressedBrotliVariantIsPreferred() throws IOException {
+        byte[] brotli = {1, 2, 3};
+        when(resources.lookupCache("/a.txt.br")).thenReturn(entry(brotli, 2000L));
+        CompressedVariantCache cache = new CompressedVariantCache(64 * 1024, 64 * 1024);
+
+        CompressedVariantCache.Variant variant = cache.getVariant("/a.txt", entry(CONTENT, 1000L), "gzip, br", resources);
+
+        assertEquals(CompressedVariantCache.BROTLI, variant.getEncoding());
+        ByteBuffer content = variant.getContent();
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        assertArrayEquals(brotli, bytes);
+    }
+
+    private static CacheEntry entry(byte[] content, long lastModified) {
+        ResourceAttributes attributes = new ResourceAttributes();
+        attributes.setContentLength(content.length);
+        attributes.setLastModified(lastModified);
+        CacheEntry entry = new CacheEntry();
+        entry.attributes = attributes;
+        entry.resource = new Resource(content);
+        return entry;
+    }
+
+    private static byte[] gunzip(ByteBuffer content) throws IOException {
+        byte[] compressed = new byte[content.remaining()];
+        content.get(compressed);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
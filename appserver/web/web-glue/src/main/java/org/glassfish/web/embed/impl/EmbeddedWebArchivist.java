@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package org.glassfish.web.embed.impl;
 
@@ -111,6 +112,12 @@ public class EmbeddedWebArchivist extends WebArchivist {
                 return elements;
             }
 
+            @Override
+            public Set<String> getElementNames() {
+                // the classes are loaded while processing the archive
+                return null;
+            }
+
     };
 
 
@@ -37,13 +37,14 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or its affiliates
 
 package org.glassfish.admin.rest.adapter;
 
 import com.sun.enterprise.config.serverbeans.Domain;
 import org.glassfish.admin.rest.RestResource;
+import org.glassfish.admin.rest.generator.ASMResourcesCache;
 import org.glassfish.admin.rest.generator.ASMResourcesGenerator;
-import org.glassfish.admin.rest.generator.ResourcesGenerator;
 import org.glassfish.admin.rest.resources.StatusGenerator;
 import org.glassfish.admin.rest.resources.custom.ManagementProxyResource;
 import org.glassfish.api.container.EndpointRegistrationException;
@@ -61,6 +62,7 @@ import jakarta.ws.rs.core.Feature;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import org.glassfish.admin.rest.JavadocWadlGeneratorConfig;
 import org.glassfish.admin.rest.RestLogging;
@@ -73,6 +75,8 @@ import org.glassfish.jersey.server.ServerProperties;
  */
 public class RestManagementResourceProvider extends AbstractRestResourceProvider {
 
+    private static final AtomicBoolean cacheConsulted = new AtomicBoolean();
+
     public RestManagementResourceProvider() {
         super();
     }
@@ -196,9 +200,30 @@ public class RestManagementResourceProvider extends AbstractRestResourceProvider
                 Domain entity = habitat.getService(Domain.class);
                 Dom dom = Dom.unwrap(entity);
 
-                ResourcesGenerator resourcesGenerator = new ASMResourcesGenerator(habitat);
+                ASMResourcesCache cache = null;
+                String cacheKey = null;
+                if (ASMResourcesCache.isEnabled() && cacheConsulted.compareAndSet(false, true)) {
+                    // only the first generation in this JVM can be served from the cache, later ones
+                    // just add whatever classes are missing
+                    cache = new ASMResourcesCache(habitat);
+                    cacheKey = cache.computeKey(dom.document.getRoot().model, dom.document);
+                    if (cache.load(cacheKey)) {
+                        return;
+                    }
+                }
+
+                ASMResourcesGenerator resourcesGenerator = new ASMResourcesGenerator(habitat);
                 resourcesGenerator.generateSingle(dom.document.getRoot().model, dom.document);
                 resourcesGenerator.endGeneration();
+
+                if (cache != null) {
+                    if (resourcesGenerator.isComplete()) {
+                        cache.store(cacheKey, resourcesGenerator.getGeneratedClasses());
+                    } else {
+                        RestLogging.restLogger.log(Level.FINE,
+                                "Not caching REST resource classes, not all of them were defined by this generation");
+                    }
+                }
             }
         } catch (Exception ex) {
             RestLogging.restLogger.log(Level.SEVERE, null, ex);
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-//Portions Copyright [2016-2020] [Payara Foundation and/or affiliates]
+//Portions Copyright [2016-2026] [Payara Foundation and/or affiliates]
 package org.glassfish.admin.rest.generator;
 
 import com.sun.enterprise.util.SystemPropertyConstants;
@@ -74,6 +74,7 @@ public class ASMClassWriter implements ClassWriter, Opcodes {
     private ServiceLocator habitat;
     private final String generatedPath;
     private Map<String, String> generatedMethods = new HashMap<String, String>();
+    private boolean defined;
   //  private String baseClassName;
   //  private String resourcePath;
 
@@ -310,6 +311,7 @@ public class ASMClassWriter implements ClassWriter, Opcodes {
         cw.visitEnd();
         try {
             defineClass(this.getClass(), cw.toByteArray());
+            defined = true;
             if ("true".equals(System.getenv("REST_DEBUG"))) {
                 debug(className, cw.toByteArray());
             }
@@ -458,12 +460,34 @@ public class ASMClassWriter implements ClassWriter, Opcodes {
         return cw.toByteArray();
     }
 
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return true if the generated bytecode was successfully defined in the classloader
+     */
+    public boolean isDefined() {
+        return defined;
+    }
+
     public String defineClass(Class similarClass, byte[] classBytes) throws Exception {
+        return defineGeneratedClass(similarClass, className, getByteClass());
+    }
+
+    /**
+     * Defines a generated resource class in the classloader of the given class.
+     *
+     * @param similarClass class whose classloader and protection domain are used
+     * @param className simple name of the generated class
+     * @param byteContent bytecode of the generated class
+     * @return the fully qualified name of the defined class
+     */
+    static String defineGeneratedClass(Class similarClass, String className, byte[] byteContent) {
 
         String generatedClassName = "org.glassfish.admin.rest.resources.generatedASM.";
         generatedClassName =  generatedClassName + className;
 
-        byte[] byteContent = getByteClass();
         ProtectionDomain pd = similarClass.getProtectionDomain();
 
         java.lang.reflect.Method jm = null;
@@ -0,0 +1,257 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.admin.rest.generator;
+
+import com.sun.appserv.server.util.Version;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import org.glassfish.admin.rest.RestLogging;
+import org.glassfish.admin.rest.utils.ResourceUtil;
+import org.glassfish.api.admin.AdminCommand;
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.jvnet.hk2.config.ConfigModel;
+import org.jvnet.hk2.config.DomDocument;
+
+/**
+ * Caches the bytecode produced by {@link ASMResourcesGenerator} under the instance's {@code generated/rest}
+ * directory, so that the REST resources do not have to be regenerated on every restart.
+ * <p>
+ * Entries are keyed by a digest of the config model reachable from the domain root, the names of the available
+ * admin commands and the server version. Any change to installed modules therefore produces a different key and
+ * the classes are regenerated. Caching can be disabled with the {@value #CACHE_ENABLED_PROPERTY} system property.
+ *
+ * @author Payara Foundation
+ */
+public class ASMResourcesCache {
+
+    public static final String CACHE_ENABLED_PROPERTY = "fish.payara.admin.rest.generator.cache";
+
+    private static final String CACHE_DIR = "rest";
+    private static final String INDEX_FILE = "index";
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final ServiceLocator habitat;
+    private final File cacheRoot;
+
+    public ASMResourcesCache(ServiceLocator habitat) {
+        this.habitat = habitat;
+        ServerEnvironment env = habitat.getService(ServerEnvironment.class);
+        this.cacheRoot = env == null ? null : new File(new File(env.getInstanceRoot(), "generated"), CACHE_DIR);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(CACHE_ENABLED_PROPERTY, "true"));
+    }
+
+    /**
+     * Computes the cache key for the given config model.
+     *
+     * @param rootModel the root of the config model the resources are generated from
+     * @param document the document the model belongs to
+     * @return hex encoded digest, or null if no digest could be computed
+     */
+    public String computeKey(ConfigModel rootModel, DomDocument document) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, Version.getFullVersion());
+
+            Set<String> models = new TreeSet<>();
+            collectModels(rootModel, document, models, new HashSet<>());
+            for (String model : models) {
+                update(digest, model);
+            }
+
+            Set<String> commands = new TreeSet<>();
+            for (ActiveDescriptor<?> descriptor : habitat.getDescriptors(
+                    BuilderHelper.createContractFilter(AdminCommand.class.getName()))) {
+                if (descriptor.getName() != null) {
+                    commands.add(descriptor.getName());
+                }
+            }
+            for (String command : commands) {
+                update(digest, command);
+            }
+
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            RestLogging.restLogger.log(Level.FINE, "Unable to compute REST resource cache key", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Defines all cached classes for the given key.
+     *
+     * @param key cache key as returned by {@link #computeKey(ConfigModel, DomDocument)}
+     * @return true if the cached classes were found and defined, false if the resources need to be generated
+     */
+    public boolean load(String key) {
+        File dir = getCacheDir(key);
+        if (dir == null) {
+            return false;
+        }
+        File index = new File(dir, INDEX_FILE);
+        if (!index.isFile()) {
+            return false;
+        }
+        try {
+            List<String> classNames = Files.readAllLines(index.toPath(), StandardCharsets.UTF_8);
+            List<byte[]> classes = new ArrayList<>(classNames.size());
+            for (String className : classNames) {
+                classes.add(Files.readAllBytes(new File(dir, className + CLASS_SUFFIX).toPath()));
+            }
+            for (int i = 0; i < classNames.size(); i++) {
+                ASMClassWriter.defineGeneratedClass(ASMClassWriter.class, classNames.get(i), classes.get(i));
+                ResourcesGeneratorBase.markGenerated(classNames.get(i));
+            }
+            RestLogging.restLogger.log(Level.FINE, "Loaded {0} cached REST resource classes from {1}",
+                    new Object[]{classNames.size(), dir});
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            RestLogging.restLogger.log(Level.WARNING, "Unable to read cached REST resource classes from " + dir, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the generated classes into the cache. Entries for other keys are removed.
+     *
+     * @param key cache key as returned by {@link #computeKey(ConfigModel, DomDocument)}
+     * @param classes bytecode by simple class name, in definition order
+     */
+    public void store(String key, Map<String, byte[]> classes) {
+        File dir = getCacheDir(key);
+        if (dir == null || classes.isEmpty()) {
+            return;
+        }
+        File tmpDir = new File(cacheRoot, key + ".tmp");
+        try {
+            deleteRecursively(tmpDir);
+            Files.createDirectories(tmpDir.toPath());
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                Files.write(new File(tmpDir, entry.getKey() + CLASS_SUFFIX).toPath(), entry.getValue());
+            }
+            // the index is written last, an entry without index is never used
+            Files.write(new File(tmpDir, INDEX_FILE).toPath(), classes.keySet(), StandardCharsets.UTF_8);
+
+            File[] stale = cacheRoot.listFiles();
+            if (stale != null) {
+                for (File file : stale) {
+                    if (!file.equals(tmpDir)) {
+                        deleteRecursively(file);
+                    }
+                }
+            }
+            Files.move(tmpDir.toPath(), dir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            RestLogging.restLogger.log(Level.WARNING, "Unable to cache REST resource classes in " + dir, ex);
+            deleteRecursively(tmpDir);
+        }
+    }
+
+    private File getCacheDir(String key) {
+        if (cacheRoot == null || key == null) {
+            return null;
+        }
+        return new File(cacheRoot, key);
+    }
+
+    private static void collectModels(ConfigModel model, DomDocument document, Set<String> models, Set<ConfigModel> visited) {
+        if (!visited.add(model)) {
+            return;
+        }
+        StringBuilder description = new StringBuilder(model.targetTypeName);
+        description.append(':').append(model.key).append(':').append(new TreeSet<>(model.getAttributeNames()));
+        for (String elementName : new TreeSet<>(model.getElementNames())) {
+            ConfigModel.Property element = model.getElement(elementName);
+            description.append(';').append(elementName)
+                    .append(element.isLeaf() ? 'L' : 'N')
+                    .append(element.isCollection() ? 'C' : 'S');
+            if (!element.isLeaf()) {
+                ConfigModel childModel = ((ConfigModel.Node) element).getModel();
+                if (elementName.equals("*")) {
+                    for (ConfigModel subChildModel : ResourceUtil.getRealChildConfigModels(childModel, document)) {
+                        description.append(',').append(subChildModel.targetTypeName);
+                        collectModels(subChildModel, document, models, visited);
+                    }
+                } else {
+                    collectModels(childModel, document, models, visited);
+                }
+            }
+        }
+        models.add(description.toString());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            RestLogging.restLogger.log(Level.FINE, "Unable to delete {0}", file);
+        }
+    }
+}
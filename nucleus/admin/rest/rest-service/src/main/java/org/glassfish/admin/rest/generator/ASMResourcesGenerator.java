@@ -37,10 +37,14 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2019] Payara Foundation and/or affiliates
+// Portions Copyright [2019-2026] Payara Foundation and/or affiliates
 
 package org.glassfish.admin.rest.generator;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.glassfish.hk2.api.ServiceLocator;
 
 /**
@@ -51,6 +55,9 @@ public class ASMResourcesGenerator extends ResourcesGeneratorBase {
     protected static final String GENERATED_PATH = "org/glassfish/admin/rest/resources/generatedASM/";
     protected static final String GENERATED_PACKAGE = GENERATED_PATH.replace("/", ".");
 
+    private final List<ASMClassWriter> writers = new ArrayList<>();
+    private boolean alreadyDefined;
+
     public ASMResourcesGenerator(ServiceLocator habitat) {
         super(habitat);
     }
@@ -59,9 +66,12 @@ public class ASMResourcesGenerator extends ResourcesGeneratorBase {
     public ClassWriter getClassWriter(String className, String baseClassName, String resourcePath) {
         try {
             Class.forName(GENERATED_PACKAGE + "." + className);
+            alreadyDefined = true;
             return null;
         } catch (ClassNotFoundException ex) {
-            return new ASMClassWriter(habitat, GENERATED_PATH, className, baseClassName, resourcePath);
+            ASMClassWriter writer = new ASMClassWriter(habitat, GENERATED_PATH, className, baseClassName, resourcePath);
+            writers.add(writer);
+            return writer;
         }
     }
 
@@ -69,4 +79,34 @@ public class ASMResourcesGenerator extends ResourcesGeneratorBase {
     public String endGeneration() {
         return "Code Generation done at  ";
     }
+
+    /**
+     * @return the bytecode of every class defined by this generator, by simple class name, in generation order
+     */
+    public Map<String, byte[]> getGeneratedClasses() {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (ASMClassWriter writer : writers) {
+            if (writer.isDefined()) {
+                classes.put(writer.getClassName(), writer.getByteClass());
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * @return {@code true} if this generator defined every resource class of the model itself, so that
+     * {@link #getGeneratedClasses()} is the complete set. This is not the case if a class failed to define
+     * or was already defined before this generator ran.
+     */
+    public boolean isComplete() {
+        if (alreadyDefined) {
+            return false;
+        }
+        for (ASMClassWriter writer : writers) {
+            if (!writer.isDefined()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  *
- * Portions Copyright [2017-2020] [Payara Foundation]
+ * Portions Copyright [2017-2026] [Payara Foundation]
  */
 package org.glassfish.admin.rest.generator;
 
@@ -381,6 +381,15 @@ public abstract class ResourcesGeneratorBase implements ResourcesGenerator {
         return !alreadyGenerated.add(className);
     }
 
+    /**
+     * Records a class defined outside of the generator, so that it is not generated again.
+     *
+     * @param className simple name of the resource class
+     */
+    static void markGenerated(String className) {
+        alreadyGenerated.add(className);
+    }
+
     /**
      * @param beanName
      * @return generated class name for given beanName
@@ -38,7 +38,7 @@
  * holder.
  */
 
-// Portions Copyright 2016-2023 Payara Foundation and/or its affiliates.
+// Portions Copyright 2016-2026 Payara Foundation and/or its affiliates.
 
 package com.sun.enterprise.v3.server;
 
@@ -693,10 +693,16 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
                                       boolean modelUnAnnotatedMembers, StructuredDeploymentTracing tracing,
                                       Logger logger, DeploymentContext deploymentContext) throws IOException {
         Parser parser = new Parser(createBuilder(modelUnAnnotatedMembers, logger).build());
+        ArchiveScanIndex scanIndex = ArchiveScanIndex.isEnabled() ? ArchiveScanIndex.load(deploymentContext, source) : null;
         try(ReadableArchiveScannerAdapter scannerAdapter = new ReadableArchiveScannerAdapter(parser, source)) {
+            scannerAdapter.setScanIndex(scanIndex);
             DeploymentSpan mainScanSpan = tracing.startSpan(DeploymentTracing.AppStage.CLASS_SCANNING, source.getName());
-            return processParsing(skipScanExternalLibProp, tracing, parser, scannerAdapter, mainScanSpan, deploymentContext);
+            processParsing(skipScanExternalLibProp, tracing, parser, scannerAdapter, mainScanSpan, deploymentContext);
         }
+        if (scanIndex != null) {
+            scanIndex.store(parser.getContext().getTypes());
+        }
+        return parser;
     }
 
     public Parser getDeployableParser(ReadableArchive source, boolean skipScanExternalLibProp,
@@ -2714,4 +2720,30 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
     public ExtendedDeploymentContext getCurrentDeploymentContext() {
         return currentDeploymentContext.get().peek();
     }
+
+    /**
+     * Removes the deployment contexts that {@link #prepare(Collection, ExtendedDeploymentContext)} left on the current
+     * thread for {@link #initialize(ApplicationInfo, Collection, ExtendedDeploymentContext)}, so that they can be handed
+     * over to the thread initializing the applications with {@link #addCurrentDeploymentContexts(List)}.
+     *
+     * @return the removed contexts, in the order they were prepared
+     */
+    List<ExtendedDeploymentContext> removeCurrentDeploymentContexts() {
+        List<ExtendedDeploymentContext> contexts = new ArrayList<>(currentDeploymentContext.get());
+        currentDeploymentContext.remove();
+        Collections.reverse(contexts);
+        return contexts;
+    }
+
+    /**
+     * Makes deployment contexts prepared on another thread current on this thread, as if they were prepared here.
+     *
+     * @param contexts the contexts as returned by {@link #removeCurrentDeploymentContexts()}
+     */
+    void addCurrentDeploymentContexts(List<ExtendedDeploymentContext> contexts) {
+        Deque<ExtendedDeploymentContext> current = currentDeploymentContext.get();
+        for (ExtendedDeploymentContext context : contexts) {
+            current.push(context);
+        }
+    }
 }
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2017-2024] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.v3.server;
 
@@ -51,6 +51,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jakarta.inject.Inject;
@@ -100,6 +105,16 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     final Logger logger = KernelLoggerInfo.getLogger();
 
+    /**
+     * System property enabling concurrent loading of applications that share the same deployment order
+     */
+    public static final String PARALLEL_DEPLOYMENT_PROPERTY = "fish.payara.deployment.parallel";
+
+    /**
+     * System property limiting the number of applications loaded concurrently, defaults to the number of processors
+     */
+    public static final String PARALLEL_DEPLOYMENT_THREADS_PROPERTY = "fish.payara.deployment.parallel.threads";
+
     // During the authentication service's PostConstruct the javax.security.auth.login.Configuration class is constructed.
     // During the Configuration initialization a static variable is set to the current thread's context class loader.
     // When applications are loaded via this (ApplicationLoaderService) the current thread's context class loader
@@ -249,20 +264,27 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
         }
 
         List<Deployment.ApplicationDeployment> appDeployments = new ArrayList<>();
-        // process the deployed applications
-        Iterator iter = DeploymentOrder.getApplicationDeployments();
-        while (iter.hasNext()) {
-            Application app = (Application)iter.next();
-            ApplicationRef appRef = server.getApplicationRef(app.getName());
-            if (appRef == null) {
-                List<Server> serverList = domain.getServers().getServer();
-                for (Server server : serverList) {
-                    appRef = domain.getApplicationRefInTarget(app.getName(), server.getName());
-                    if (appRef != null) break;
+        // process the deployed applications, applications with the same deployment
+        // order do not depend on each other and may be prepared concurrently
+        ExecutorService parallelExecutor = createParallelDeploymentExecutor();
+        try {
+            List<Application> sameOrderApps = new ArrayList<>();
+            Iterator iter = DeploymentOrder.getApplicationDeployments();
+            while (iter.hasNext()) {
+                Application app = (Application)iter.next();
+                if (!sameOrderApps.isEmpty() && !hasSameDeploymentOrder(sameOrderApps.get(0), app)) {
+                    appDeployments.addAll(processApplications(sameOrderApps, parallelExecutor));
+                    sameOrderApps.clear();
+                    if (parallelExecutor != null && Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
                 }
+                sameOrderApps.add(app);
             }
-            if (appRef != null) {
-                appDeployments.addAll(processApplication(app, appRef));
+            appDeployments.addAll(processApplications(sameOrderApps, parallelExecutor));
+        } finally {
+            if (parallelExecutor != null) {
+                parallelExecutor.shutdown();
             }
         }
 
@@ -355,6 +377,111 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
         events.send(new Event<>(Deployment.ALL_APPLICATIONS_PROCESSED, null));
     }
 
+    private ApplicationRef getApplicationRef(Application app) {
+        ApplicationRef appRef = server.getApplicationRef(app.getName());
+        if (appRef == null) {
+            List<Server> serverList = domain.getServers().getServer();
+            for (Server server : serverList) {
+                appRef = domain.getApplicationRefInTarget(app.getName(), server.getName());
+                if (appRef != null) break;
+            }
+        }
+        return appRef;
+    }
+
+    /**
+     * Only user applications sharing the same deployment-order attribute are independent of each other,
+     * system applications and standalone resource adapters are always loaded one after another.
+     */
+    private static boolean hasSameDeploymentOrder(Application app1, Application app2) {
+        return DeploymentType.USER.equals(app1.getObjectType())
+                && DeploymentType.USER.equals(app2.getObjectType())
+                && Objects.equals(app1.getDeploymentOrder(), app2.getDeploymentOrder());
+    }
+
+    private ExecutorService createParallelDeploymentExecutor() {
+        if (!Boolean.getBoolean(PARALLEL_DEPLOYMENT_PROPERTY) || !(deployment instanceof ApplicationLifecycle)) {
+            return null;
+        }
+        int threads = Integer.getInteger(PARALLEL_DEPLOYMENT_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        if (threads < 2) {
+            return null;
+        }
+        // a dedicated pool, as the class model parser of every deployment waits for its tasks on the
+        // shared executor service and could starve it otherwise
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "payara-application-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+    }
+
+    /**
+     * Prepares the given applications, concurrently if an executor is given. The results keep the
+     * order of the applications so that they are initialized in deployment order.
+     */
+    List<Deployment.ApplicationDeployment> processApplications(List<Application> apps, ExecutorService executor) {
+        List<Deployment.ApplicationDeployment> appDeployments = new ArrayList<>();
+        if (executor == null || apps.size() < 2) {
+            for (Application app : apps) {
+                ApplicationRef appRef = getApplicationRef(app);
+                if (appRef != null) {
+                    appDeployments.addAll(processApplication(app, appRef));
+                }
+            }
+            return appDeployments;
+        }
+
+        logger.log(Level.FINE, "Loading {0} applications with deployment order {1} concurrently",
+                new Object[] {apps.size(), apps.get(0).getDeploymentOrder()});
+        // the deployment contexts prepared on a worker thread are handed over to this thread,
+        // which initializes the applications later on
+        ApplicationLifecycle lifecycle = (ApplicationLifecycle) deployment;
+        List<Future<PreparedApplication>> futures = new ArrayList<>();
+        for (Application app : apps) {
+            ApplicationRef appRef = getApplicationRef(app);
+            if (appRef != null) {
+                futures.add(executor.submit(() -> {
+                    PreparedApplication prepared = new PreparedApplication();
+                    try {
+                        prepared.deployments = processApplication(app, appRef);
+                    } finally {
+                        prepared.contexts = lifecycle.removeCurrentDeploymentContexts();
+                    }
+                    return prepared;
+                }));
+            }
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                PreparedApplication prepared = futures.get(i).get();
+                lifecycle.addCurrentDeploymentContexts(prepared.contexts);
+                appDeployments.addAll(prepared.deployments);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.log(Level.SEVERE, KernelLoggerInfo.deployException, e);
+                for (Future<PreparedApplication> future : futures.subList(i, futures.size())) {
+                    future.cancel(true);
+                }
+                break;
+            } catch (ExecutionException e) {
+                logger.log(Level.SEVERE, KernelLoggerInfo.deployException, e.getCause());
+            }
+        }
+        return appDeployments;
+    }
+
+    /**
+     * Result of preparing an application on a worker thread
+     */
+    private static final class PreparedApplication {
+        List<Deployment.ApplicationDeployment> deployments;
+        List<ExtendedDeploymentContext> contexts;
+    }
+
     private void initializeRuntimeDependencies() {
         // ApplicationLoaderService needs to be initialized after
         // ManagedBeanManagerImpl. By injecting ManagedBeanManagerImpl,
@@ -0,0 +1,333 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.glassfish.api.deployment.DeploymentContext;
+import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.hk2.classmodel.reflect.AnnotationType;
+import org.glassfish.hk2.classmodel.reflect.ClassModel;
+import org.glassfish.hk2.classmodel.reflect.ExtensibleType;
+import org.glassfish.hk2.classmodel.reflect.FieldModel;
+import org.glassfish.hk2.classmodel.reflect.InterfaceModel;
+import org.glassfish.hk2.classmodel.reflect.MethodModel;
+import org.glassfish.hk2.classmodel.reflect.Parameter;
+import org.glassfish.hk2.classmodel.reflect.Type;
+import org.glassfish.hk2.classmodel.reflect.Types;
+import org.glassfish.kernel.KernelLoggerInfo;
+
+/**
+ * Index of the library jars of an application which do not need to be parsed by the class model.
+ * <p>
+ * A library jar is recorded in the index once a full parse showed that it contributes nothing that deployment looks
+ * up through the {@link Types} model: none of its types or members are annotated, it declares no annotation types,
+ * none of its types extend or implement types of other archives or of the container, none of its types are extended
+ * or implemented by types of other archives and it is not a CDI bean archive. On the next deployment of the same
+ * application, for example on restart, such jars are skipped by the {@link ReadableArchiveScannerAdapter} as long as
+ * their SHA-256 checksum is unchanged. Since the classes of the
+ * application itself decide which library types are referenced, the index is discarded whenever any other entry of
+ * the application changes.
+ * <p>
+ * The index is stored in the generated xml directory of the application and is enabled with the
+ * {@value #ENABLED_PROPERTY} system property.
+ *
+ * @author Payara Foundation
+ */
+class ArchiveScanIndex {
+
+    static final String ENABLED_PROPERTY = "fish.payara.deployment.scan.index";
+
+    private static final String INDEX_FILE = "scan-index.properties";
+    private static final String APPLICATION_KEY = "/application";
+    private static final String BEANS_XML = "META-INF/beans.xml";
+    private static final String PLATFORM_PACKAGE = "java.";
+
+    private static final Logger LOGGER = KernelLoggerInfo.getLogger();
+
+    private final File indexFile;
+    private final Properties index = new Properties();
+    private String applicationChecksum;
+    private final Map<String, String> checksums = new ConcurrentHashMap<>();
+    private final Map<URI, String> parsedJars = new ConcurrentHashMap<>();
+    private final Set<String> skippedJars = ConcurrentHashMap.newKeySet();
+
+    private ArchiveScanIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Loads the index of the application being deployed.
+     *
+     * @param context the deployment context of the application
+     * @param source the archive of the application
+     * @return the index, empty if none was recorded yet or the application changed since
+     * @throws IOException if the application archive cannot be read
+     */
+    static ArchiveScanIndex load(DeploymentContext context, ReadableArchive source) throws IOException {
+        ArchiveScanIndex scanIndex = new ArchiveScanIndex(new File(context.getScratchDir("xml"), INDEX_FILE));
+        scanIndex.applicationChecksum = applicationChecksum(source);
+        if (scanIndex.indexFile.isFile()) {
+            try (InputStream is = new FileInputStream(scanIndex.indexFile)) {
+                scanIndex.index.load(is);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Ignoring unreadable scan index " + scanIndex.indexFile, e);
+                scanIndex.index.clear();
+            }
+            if (!scanIndex.applicationChecksum.equals(scanIndex.index.getProperty(APPLICATION_KEY))) {
+                scanIndex.index.clear();
+            }
+            scanIndex.index.remove(APPLICATION_KEY);
+        }
+        return scanIndex;
+    }
+
+    /**
+     * Checks whether the given library jar can be skipped by the parser.
+     *
+     * @param archive the archive containing the jar
+     * @param name entry name of the jar
+     * @return true if the jar is indexed and unchanged
+     * @throws IOException if the jar cannot be read
+     */
+    boolean canSkip(ReadableArchive archive, String name) throws IOException {
+        String checksum = checksum(archive, name);
+        if (checksum == null) {
+            return false;
+        }
+        checksums.put(name, checksum);
+        if (checksum.equals(index.getProperty(name))) {
+            skippedJars.add(name);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a library jar which was handed over to the parser.
+     *
+     * @param name entry name of the jar
+     * @param subArchive the archive of the jar
+     */
+    void parsed(String name, ReadableArchive subArchive) {
+        try {
+            if (!subArchive.exists(BEANS_XML)) {
+                parsedJars.put(subArchive.getURI(), name);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Unable to check " + name + " for " + BEANS_XML, e);
+        }
+    }
+
+    /**
+     * Updates and stores the index from the parsed class model.
+     *
+     * @param types the class model of the application
+     */
+    void store(Types types) {
+        Set<URI> candidates = new HashSet<>(parsedJars.keySet());
+        if (candidates.isEmpty() && skippedJars.size() == index.size()) {
+            return;
+        }
+
+        for (Type type : types.getAllTypes()) {
+            Collection<URI> definingURIs = type.getDefiningURIs();
+            if (type instanceof AnnotationType || isAnnotated(type)) {
+                candidates.removeAll(definingURIs);
+            }
+            if (type instanceof ExtensibleType) {
+                ExtensibleType<?> extensibleType = (ExtensibleType<?>) type;
+                if (extensibleType.getParent() != null) {
+                    removeIfSupertypeOfOtherArchive(extensibleType.getParent(), definingURIs, candidates);
+                }
+                for (InterfaceModel interfaceModel : extensibleType.getInterfaces()) {
+                    removeIfSupertypeOfOtherArchive(interfaceModel, definingURIs, candidates);
+                }
+            }
+        }
+
+        Properties updated = new Properties();
+        updated.setProperty(APPLICATION_KEY, applicationChecksum);
+        for (String skipped : skippedJars) {
+            updated.setProperty(skipped, index.getProperty(skipped));
+        }
+        for (URI candidate : candidates) {
+            String name = parsedJars.get(candidate);
+            String checksum = checksums.get(name);
+            if (checksum != null) {
+                updated.setProperty(name, checksum);
+            }
+        }
+
+        File parent = indexFile.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            LOGGER.log(Level.FINE, "Unable to create directory for scan index {0}", parent);
+            return;
+        }
+        try (OutputStream os = new FileOutputStream(indexFile)) {
+            updated.store(os, "Library jars without annotations");
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Unable to store scan index " + indexFile, e);
+        }
+        LOGGER.log(Level.FINE, "Scan index of {0} lists {1} library jars, {2} skipped in this deployment",
+                new Object[]{indexFile, updated.size() - 1, skippedJars.size()});
+    }
+
+    /**
+     * Removes the archives of a type and of its supertype from the candidates unless both are defined in the same
+     * archives. A type extended from another archive may be looked up as a supertype, a type extending one of another
+     * archive may be looked up as a subtype, for example by {@code @HandlesTypes} or as a JAX-RS {@code Application}.
+     * The latter includes container types, which have no defining archive at all. Only types of the Java platform are
+     * not considered, or nearly every jar would extend one of them.
+     */
+    private static void removeIfSupertypeOfOtherArchive(Type supertype, Collection<URI> subtypeURIs,
+            Set<URI> candidates) {
+        Collection<URI> supertypeURIs = supertype.getDefiningURIs();
+        if (!subtypeURIs.containsAll(supertypeURIs)) {
+            candidates.removeAll(supertypeURIs);
+        }
+        if (!supertypeURIs.containsAll(subtypeURIs) && !supertype.getName().startsWith(PLATFORM_PACKAGE)) {
+            candidates.removeAll(subtypeURIs);
+        }
+    }
+
+    private static boolean isAnnotated(Type type) {
+        if (!type.getAnnotations().isEmpty()) {
+            return true;
+        }
+        for (MethodModel method : type.getMethods()) {
+            if (!method.getAnnotations().isEmpty()) {
+                return true;
+            }
+            for (Parameter parameter : method.getParameters()) {
+                if (!parameter.getAnnotations().isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        if (type instanceof ClassModel) {
+            for (FieldModel field : ((ClassModel) type).getFields()) {
+                if (!field.getAnnotations().isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String checksum(ReadableArchive archive, String name) throws IOException {
+        try (InputStream is = archive.getEntry(name)) {
+            if (is == null) {
+                return null;
+            }
+            MessageDigest digest = newDigest();
+            update(digest, is);
+            return toHex(digest);
+        }
+    }
+
+    /**
+     * Checksum of the names and contents of all entries of the application that are not library jars.
+     */
+    private static String applicationChecksum(ReadableArchive source) throws IOException {
+        MessageDigest digest = newDigest();
+        List<String> names = Collections.list(source.entries());
+        Collections.sort(names);
+        for (String name : names) {
+            if (name.endsWith(".jar")) {
+                continue;
+            }
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            try (InputStream is = source.getEntry(name)) {
+                if (is != null) {
+                    update(digest, is);
+                }
+            }
+        }
+        return toHex(digest);
+    }
+
+    private static MessageDigest newDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, InputStream is) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+    }
+
+    private static String toHex(MessageDigest digest) {
+        StringBuilder checksum = new StringBuilder();
+        for (byte b : digest.digest()) {
+            checksum.append(String.format("%02x", b));
+        }
+        return checksum.toString();
+    }
+}
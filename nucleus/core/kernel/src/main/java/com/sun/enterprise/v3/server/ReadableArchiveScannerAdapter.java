@@ -38,7 +38,7 @@
  * holder.
  */
 
-// Portions Copyright [2022] [Payara Foundation and/or its affiliates.]
+// Portions Copyright [2022-2026] [Payara Foundation and/or its affiliates.]
 
 package com.sun.enterprise.v3.server;
 
@@ -86,6 +86,11 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
      */
     final AtomicInteger releaseCount = new AtomicInteger(1);
 
+    /**
+     * Optional index of library jars that do not need to be parsed
+     */
+    private ArchiveScanIndex scanIndex;
+
     /**
      * Default timeout value for parsing a single jar (plus all internal jars it may contains)
      */
@@ -109,6 +114,10 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
         this.uri = uri == null ? archive.getURI() : uri;
     }
 
+    void setScanIndex(ArchiveScanIndex scanIndex) {
+        this.scanIndex = scanIndex;
+    }
+
     @Override
     public URI getURI() {
        return uri;
@@ -173,6 +182,13 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
         String explodedName = name.replaceAll("[/ ]", "__").replace(".jar", "_jar");
         if (!archive.exists(explodedName)) {
 
+            if (scanIndex != null && scanIndex.canSkip(archive, name)) {
+                if (logger.isLoggable(level)) {
+                    logger.log(level, "Skipping indexed library " + name);
+                }
+                return null;
+            }
+
             final ReadableArchive subArchive = archive.getSubArchive(name);
             if (subArchive == null) {
                 logger.log(Level.SEVERE, KernelLoggerInfo.cantOpenSubArchive,
@@ -183,6 +199,9 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
             if (logger.isLoggable(level)) {
                 logger.log(level, "Spawning sub parsing " + subArchive.getURI());
             }
+            if (scanIndex != null) {
+                scanIndex.parsed(name, subArchive);
+            }
             final ReadableArchiveScannerAdapter adapter = new InternalJarAdapter(this, subArchive, subArchive.getURI());
             // we increment our release count, this tells us when we can safely close the parent
             // archive.
@@ -0,0 +1,209 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.v3.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.enterprise.config.serverbeans.Application;
+import com.sun.enterprise.config.serverbeans.ApplicationRef;
+import com.sun.enterprise.config.serverbeans.Server;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.glassfish.internal.deployment.Deployment;
+import org.glassfish.internal.deployment.ExtendedDeploymentContext;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Verifies that applications prepared concurrently are handed over to the loader thread as if they were prepared
+ * one after another.
+ */
+public class ApplicationLoaderServiceTest {
+
+    private static final int APPLICATIONS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentPrepareMatchesSerialPrepare() {
+        List<Application> apps = applications(APPLICATIONS);
+
+        PreparingLoader serial = new PreparingLoader();
+        List<String> serialDeployments = names(serial.processApplications(apps, null));
+        List<String> serialContexts = contextNames(serial.lifecycle.removeCurrentDeploymentContexts());
+
+        PreparingLoader concurrent = new PreparingLoader();
+        List<String> concurrentDeployments = names(concurrent.processApplications(apps, executor));
+        List<String> concurrentContexts = contextNames(concurrent.lifecycle.removeCurrentDeploymentContexts());
+
+        assertEquals(appNames(APPLICATIONS), serialDeployments);
+        assertEquals(serialDeployments, concurrentDeployments);
+        assertEquals(serialContexts, concurrentContexts);
+        assertEquals(Collections.singleton(Thread.currentThread()), serial.threads);
+        assertTrue("applications were not prepared concurrently", concurrent.threads.size() > 1);
+        assertFalse(concurrent.threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void preparingThreadsDoNotKeepContexts() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            PreparingLoader loader = new PreparingLoader();
+            loader.processApplications(applications(3), single);
+
+            assertEquals(Collections.emptyList(), single.submit(loader.lifecycle::removeCurrentDeploymentContexts).get());
+            assertEquals(appNames(3), contextNames(loader.lifecycle.removeCurrentDeploymentContexts()));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedPreparationIsLeftOut() {
+        PreparingLoader loader = new PreparingLoader();
+        loader.failing = "app-2";
+
+        List<String> deployments = names(loader.processApplications(applications(5), executor));
+
+        assertEquals(Arrays.asList("app-0", "app-1", "app-3", "app-4"), deployments);
+        assertEquals(deployments, contextNames(loader.lifecycle.removeCurrentDeploymentContexts()));
+    }
+
+    /**
+     * Stands in for the preparation of an application, which leaves its deployment context on the preparing thread.
+     * Applications earlier in deployment order take longer, so concurrent preparations complete out of order.
+     */
+    private static final class PreparingLoader extends ApplicationLoaderService {
+
+        final ApplicationLifecycle lifecycle = new ApplicationLifecycle();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        volatile String failing;
+
+        PreparingLoader() {
+            deployment = lifecycle;
+            server = proxy(Server.class, null);
+        }
+
+        @Override
+        public List<Deployment.ApplicationDeployment> processApplication(Application app, ApplicationRef appRef) {
+            threads.add(Thread.currentThread());
+            int index = Integer.parseInt(app.getName().substring("app-".length()));
+            try {
+                Thread.sleep((APPLICATIONS - index) * 10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ExtendedDeploymentContext context = proxy(ExtendedDeploymentContext.class, app.getName());
+            lifecycle.addCurrentDeploymentContexts(Collections.singletonList(context));
+            if (app.getName().equals(failing)) {
+                throw new IllegalStateException("Preparation of " + app.getName() + " failed");
+            }
+            return Collections.singletonList(new Deployment.ApplicationDeployment(null, context));
+        }
+    }
+
+    private static List<Application> applications(int count) {
+        List<Application> apps = new ArrayList<>();
+        for (String name : appNames(count)) {
+            apps.add(proxy(Application.class, name));
+        }
+        return apps;
+    }
+
+    private static List<String> appNames(int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add("app-" + i);
+        }
+        return names;
+    }
+
+    private static List<String> names(List<Deployment.ApplicationDeployment> deployments) {
+        List<String> names = new ArrayList<>();
+        for (Deployment.ApplicationDeployment deployment : deployments) {
+            names.add(deployment.context.toString());
+        }
+        return names;
+    }
+
+    private static List<String> contextNames(List<ExtendedDeploymentContext> contexts) {
+        List<String> names = new ArrayList<>();
+        for (ExtendedDeploymentContext context : contexts) {
+            names.add(context.toString());
+        }
+        return names;
+    }
+
+    /**
+     * Proxy answering its name, and an application reference for any application if it stands in for a server.
+     */
+    private static <T> T proxy(Class<T> type, String name) {
+        return type.cast(Proxy.newProxyInstance(ApplicationLoaderServiceTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getName":
+                        case "toString":
+                            return name;
+                        case "getApplicationRef":
+                            return proxy(ApplicationRef.class, (String) args[0]);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                }));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.v3.server;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.glassfish.api.deployment.DeploymentContext;
+import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.hk2.classmodel.reflect.ClassModel;
+import org.glassfish.hk2.classmodel.reflect.InterfaceModel;
+import org.glassfish.hk2.classmodel.reflect.Type;
+import org.glassfish.hk2.classmodel.reflect.Types;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Verifies which library jars the {@link ArchiveScanIndex} allows to skip on redeployment.
+ */
+public class ArchiveScanIndexTest {
+
+    private static final String CONTAINER_JAR = "WEB-INF/lib/container.jar";
+    private static final String PLAIN_JAR = "WEB-INF/lib/plain.jar";
+    private static final String SHARED_JAR = "WEB-INF/lib/shared.jar";
+    private static final String EXTENDING_JAR = "WEB-INF/lib/extending.jar";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DeploymentContext context;
+    private ReadableArchive application;
+    private final Map<String, URI> jarURIs = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        System.setProperty(ArchiveScanIndex.ENABLED_PROPERTY, "true");
+        File scratchDir = folder.newFolder("xml");
+        context = stub(DeploymentContext.class, Collections.singletonMap("getScratchDir", scratchDir));
+
+        Map<String, byte[]> entries = new HashMap<>();
+        entries.put("WEB-INF/classes/Resource.class", new byte[]{1});
+        for (String jar : new String[]{CONTAINER_JAR, PLAIN_JAR, SHARED_JAR, EXTENDING_JAR}) {
+            entries.put(jar, jar.getBytes(StandardCharsets.UTF_8));
+            jarURIs.put(jar, URI.create("file:/application/" + jar));
+        }
+        application = (ReadableArchive) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ReadableArchive.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "entries":
+                            return Collections.enumeration(entries.keySet());
+                        case "getEntry":
+                            byte[] content = entries.get((String) args[0]);
+                            return content == null ? null : new ByteArrayInputStream(content);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ArchiveScanIndex.ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void onlySelfContainedJarsAreSkippedOnRedeploy() throws Exception {
+        List<Type> types = new ArrayList<>();
+        // extends a container type, which is not defined by any archive of the application
+        ClassModel containerType = classModel("jakarta.ws.rs.core.Application", Collections.emptySet(), null);
+        types.add(classModel("library.MyApplication", uris(CONTAINER_JAR), containerType));
+        // only extends types of the Java platform and of its own jar
+        ClassModel object = classModel("java.lang.Object", Collections.emptySet(), null);
+        ClassModel base = classModel("plain.Base", uris(PLAIN_JAR), object);
+        types.add(base);
+        types.add(classModel("plain.Sub", uris(PLAIN_JAR), base));
+        // defines a type extended from another jar, which itself extends a type of another jar
+        ClassModel shared = classModel("shared.Base", uris(SHARED_JAR), object);
+        types.add(shared);
+        types.add(classModel("extending.Sub", uris(EXTENDING_JAR), shared));
+
+        deploy(types);
+        ArchiveScanIndex redeployed = ArchiveScanIndex.load(context, application);
+
+        assertFalse(redeployed.canSkip(application, CONTAINER_JAR));
+        assertTrue(redeployed.canSkip(application, PLAIN_JAR));
+        assertFalse(redeployed.canSkip(application, SHARED_JAR));
+        assertFalse(redeployed.canSkip(application, EXTENDING_JAR));
+    }
+
+    @Test
+    public void implementedContainerInterfaceIsAReference() throws Exception {
+        InterfaceModel containerInterface = stub(InterfaceModel.class,
+                Collections.singletonMap("getName", "jakarta.servlet.ServletContainerInitializer"));
+        ClassModel object = classModel("java.lang.Object", Collections.emptySet(), null);
+        ClassModel initializer = classModel("library.Initializer", uris(CONTAINER_JAR), object,
+                Collections.singletonList(containerInterface));
+
+        deploy(Collections.singletonList(initializer));
+        ArchiveScanIndex redeployed = ArchiveScanIndex.load(context, application);
+
+        assertFalse(redeployed.canSkip(application, CONTAINER_JAR));
+        assertTrue(redeployed.canSkip(application, PLAIN_JAR));
+    }
+
+    private void deploy(List<Type> types) throws Exception {
+        ArchiveScanIndex index = ArchiveScanIndex.load(context, application);
+        for (Map.Entry<String, URI> jar : jarURIs.entrySet()) {
+            assertFalse(index.canSkip(application, jar.getKey()));
+            index.parsed(jar.getKey(), stub(ReadableArchive.class, Collections.singletonMap("getURI", jar.getValue())));
+        }
+        index.store(stub(Types.class, Collections.singletonMap("getAllTypes", types)));
+    }
+
+    private Set<URI> uris(String jar) {
+        return Collections.singleton(jarURIs.get(jar));
+    }
+
+    private static ClassModel classModel(String name, Collection<URI> definingURIs, ClassModel parent) {
+        return classModel(name, definingURIs, parent, Collections.emptyList());
+    }
+
+    private static ClassModel classModel(String name, Collection<URI> definingURIs, ClassModel parent,
+            Collection<InterfaceModel> interfaces) {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getName", name);
+        answers.put("getDefiningURIs", definingURIs);
+        answers.put("getParent", parent);
+        answers.put("getInterfaces", interfaces);
+        return stub(ClassModel.class, answers);
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(ArchiveScanIndexTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answers.containsKey(method.getName())
+                        ? answers.get(method.getName())
+                        : defaultValue(method.getReturnType())));
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (Set.class.isAssignableFrom(returnType)) {
+            return Collections.emptySet();
+        }
+        if (Collection.class.isAssignableFrom(returnType)) {
+            return Collections.emptyList();
+        }
+        return null;
+    }
+}
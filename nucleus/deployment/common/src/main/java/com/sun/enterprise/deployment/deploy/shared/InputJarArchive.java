@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2022] Payara Foundation and/or affiliates
+// Portions Copyright [2022-2026] Payara Foundation and/or affiliates
 
 package com.sun.enterprise.deployment.deploy.shared;
 
@@ -95,6 +95,12 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
     // parent jar file for embedded jar
     private InputJarArchive parentArchive;
 
+    // index of the embedded archive, read from the parent jar file once
+    private ZipIndex zipIndex;
+
+    // set once the embedded archive could not be indexed, it is then read through jarIS only
+    private boolean zipIndexUnavailable;
+
     private static StringManager localStrings = StringManager.getManager(InputJarArchive.class);
 
     // track entry enumerations to close them if needed when the archive is closed
@@ -137,6 +143,7 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
             jarIS.close();
             jarIS = null;
         }
+        releaseZipIndex();
     }
 
     private synchronized EntryEnumeration recordEntryEnumeration(final EntryEnumeration e) {
@@ -259,6 +266,11 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
             return null;
         }
 
+        ZipIndex index = getZipIndex();
+        if (index != null) {
+            return index.containsJarEntry(entryName) ? new BufferedInputStream(index.getInputStream(entryName)) : null;
+        }
+
         // close the current input stream
         if (jarIS != null) {
             jarIS.close();
@@ -343,6 +355,14 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
         if (parentArchive == null) {
             return null;
         }
+
+        ZipIndex index = getZipIndex();
+        if (index != null) {
+            try (InputStream is = index.getJarManifest()) {
+                return is == null ? null : new Manifest(is);
+            }
+        }
+
         // close the current input stream
         if (jarIS != null) {
             jarIS.close();
@@ -441,6 +461,48 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
         return null;
     }
 
+    /**
+     * Returns the index of this embedded archive. The embedded archive is read from the parent jar file once, so it
+     * does not need to be re-inflated from the start to look up or enumerate entries. Top-level archives are read
+     * through their JarFile, which handles signed and multi-release jars. Signed embedded archives, those larger
+     * than {@link ZipIndex#MAX_READ_SIZE} and those that would exceed the memory shared by all indexes are not
+     * indexed, they are read through a JarInputStream, which verifies signatures and holds no more than one entry
+     * at a time.
+     *
+     * @return the index, or null if the archive cannot be indexed
+     */
+    private synchronized ZipIndex getZipIndex() {
+        if (zipIndex != null || zipIndexUnavailable || uri == null || parentArchive == null
+                || parentArchive.jarFile == null) {
+            return zipIndex;
+        }
+        try {
+            JarEntry archiveJarEntry = parentArchive.jarFile.getJarEntry(uri.getSchemeSpecificPart());
+            if (archiveJarEntry != null && archiveJarEntry.getSize() <= ZipIndex.MAX_READ_SIZE) {
+                try (InputStream is = parentArchive.jarFile.getInputStream(archiveJarEntry)) {
+                    ZipIndex index = ZipIndex.read(is, archiveJarEntry.getSize());
+                    if (index.isSigned()) {
+                        index.close();
+                    } else {
+                        zipIndex = index;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deplLogger.log(Level.FINE, "Unable to index archive " + uri, e);
+        }
+        zipIndexUnavailable = zipIndex == null;
+        return zipIndex;
+    }
+
+    private synchronized void releaseZipIndex() {
+        if (zipIndex != null) {
+            zipIndex.close();
+        }
+        zipIndex = null;
+        zipIndexUnavailable = false;
+    }
+
     /**
      * Creates the correct type of entry enumeration, depending on whether the
      * current archive is nested or not and depending on whether the caller
@@ -454,7 +516,10 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
      * @throws IOException
      */
     private EntryEnumeration createEntryEnumeration(final boolean topLevelDirectoriesOnly) throws FileNotFoundException, IOException {
-        final JarEntrySource source = (parentArchive == null ?
+        final ZipIndex index = getZipIndex();
+        final JarEntrySource source = (index != null ?
+            new IndexJarEntrySource(index) :
+            parentArchive == null ?
             new ArchiveJarEntrySource(uri) :
             new SubarchiveJarEntrySource(parentArchive.jarFile, uri));
         if (topLevelDirectoriesOnly) {
@@ -626,6 +691,32 @@ public class InputJarArchive extends JarArchive implements ReadableArchive {
 
     }
 
+    /**
+     * Source of JarEntry objects built from the names in the index of the
+     * subarchive; nothing is opened, so there is nothing to close.
+     * <p>
+     * Like JarInputStream, it skips a leading META-INF/ directory entry and
+     * the manifest if it comes first, so the subarchive enumerates the same
+     * entries whether it is indexed or not.
+     */
+    private static class IndexJarEntrySource implements JarEntrySource {
+
+        private final Iterator<String> names;
+
+        private IndexJarEntrySource(final ZipIndex index) {
+            names = index.getJarEntryNames().iterator();
+        }
+
+        @Override
+        public JarEntry getNextJarEntry() {
+            return (names.hasNext()) ? new JarEntry(names.next()) : null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     /**
      * Enumerates the top-level directory entries.
      * <p>
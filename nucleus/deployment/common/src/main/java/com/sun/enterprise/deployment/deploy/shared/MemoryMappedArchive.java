@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 /*
  * MemoryMappedArchive.java
@@ -54,6 +55,7 @@ import org.glassfish.hk2.api.PerLookup;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 import java.util.Vector;
 import java.util.Collection;
@@ -76,6 +78,10 @@ public class MemoryMappedArchive extends JarArchive implements ReadableArchive {
     private URI uri;
 
     byte[] file;
+
+    // index of the entries in file, built on first lookup
+    private ZipIndex index;
+    private byte[] indexedFile;
     
     /** Creates a new instance of MemoryMappedArchive */
     protected MemoryMappedArchive() {
@@ -243,8 +249,39 @@ public class MemoryMappedArchive extends JarArchive implements ReadableArchive {
      * @return the existence the given entry name.
      */
     public boolean exists(String name) throws IOException {
+        ZipIndex zip = getIndex();
+        if (zip != null) {
+            return zip.containsJarEntry(name);
+        }
         return (getEntry(name) != null);
     }
+
+    /**
+     * Returns the index of the archive content, so that entries can be looked
+     * up without scanning the whole archive for each of them. Signed archives
+     * are not indexed, their entries are read through a JarInputStream, which
+     * verifies them against their signatures.
+     *
+     * @return the index, or null if the content cannot be indexed or is signed
+     */
+    private synchronized ZipIndex getIndex() {
+        if (file == null) {
+            return null;
+        }
+        if (indexedFile != file) {
+            indexedFile = file;
+            try {
+                index = ZipIndex.wrap(ByteBuffer.wrap(file));
+                if (index.isSigned()) {
+                    index = null;
+                }
+            } catch (IOException | RuntimeException e) {
+                Logger.getAnonymousLogger().log(Level.FINE, "Unable to index archive", e);
+                index = null;
+            }
+        }
+        return index;
+    }
     
     /**
      * @return a @see java.io.InputStream for an existing entry in
@@ -252,6 +289,10 @@ public class MemoryMappedArchive extends JarArchive implements ReadableArchive {
      * @param name the entry name
      */
     public InputStream getEntry(String name) throws IOException {
+        ZipIndex zip = getIndex();
+        if (zip != null) {
+            return zip.containsJarEntry(name) ? new BufferedInputStream(zip.getInputStream(name)) : null;
+        }
         JarInputStream jis = new JarInputStream(new ByteArrayInputStream(file));
         ZipEntry ze;
         while ((ze=jis.getNextEntry())!=null) {
@@ -283,6 +324,10 @@ public class MemoryMappedArchive extends JarArchive implements ReadableArchive {
      * @return the entry size
      */
     public long getEntrySize(String name) {
+        ZipIndex zip = getIndex();
+        if (zip != null) {
+            return zip.containsJarEntry(name) ? zip.getSize(name) : 0;
+        }
         try {
             JarInputStream jis = new JarInputStream(new ByteArrayInputStream(file));
             ZipEntry ze;
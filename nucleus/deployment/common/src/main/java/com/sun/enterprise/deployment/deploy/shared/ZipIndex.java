@@ -0,0 +1,476 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.deployment.deploy.shared;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarFile;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import org.glassfish.hk2.utilities.CleanerFactory;
+
+/**
+ * Read only view of a ZIP file held on the heap, with an index of its central directory.
+ * <p>
+ * The central directory is parsed once, so looking up an entry, its size or opening a stream on it never scans the
+ * archive. The content lives on the heap rather than in a file mapping, so a file replaced or truncated while it is
+ * read cannot fault the reading thread.
+ * <p>
+ * Archives copied onto the heap by {@link #read(InputStream, long)} count towards a limit shared by all open indexes,
+ * set with the {@value #MAX_TOTAL_READ_SIZE_PROPERTY} system property. The bytes are counted until the index is
+ * closed or becomes unreachable.
+ * <p>
+ * ZIP64 archives are not supported, callers should fall back to {@link java.util.jar.JarInputStream} when indexing
+ * fails.
+ *
+ * @author Payara Foundation
+ */
+public final class ZipIndex implements Closeable {
+
+    /**
+     * The largest archive {@link #read(InputStream, long)} holds in memory.
+     */
+    public static final int MAX_READ_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * System property holding the number of bytes all indexes created by {@link #read(InputStream, long)} may hold in
+     * memory together, 64 MiB by default.
+     */
+    public static final String MAX_TOTAL_READ_SIZE_PROPERTY = "fish.payara.deployment.archive.maxIndexedBytes";
+
+    static final long MAX_TOTAL_READ_SIZE = Long.getLong(MAX_TOTAL_READ_SIZE_PROPERTY, 64L * 1024 * 1024);
+
+    private static final AtomicLong READ_SIZE = new AtomicLong();
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ByteBuffer data;
+    private final Map<String, Entry> entries;
+    private final List<String> jarEntryNames;
+    private final List<String> skippedNames;
+    private final String manifestName;
+    private final Cleaner.Cleanable release;
+
+    private ZipIndex(ByteBuffer data, long reserved) throws IOException {
+        this.data = data.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        this.entries = Collections.unmodifiableMap(parse(this.data));
+        // like JarInputStream, skip a leading META-INF/ directory and the manifest following it
+        List<String> names = new ArrayList<>(entries.keySet());
+        int skipped = 0;
+        if (!names.isEmpty() && names.get(0).equalsIgnoreCase("META-INF/")) {
+            skipped++;
+        }
+        this.manifestName = names.size() > skipped && names.get(skipped).equalsIgnoreCase(JarFile.MANIFEST_NAME)
+                ? names.get(skipped++) : null;
+        this.jarEntryNames = Collections.unmodifiableList(names.subList(skipped, names.size()));
+        this.skippedNames = names.subList(0, skipped);
+        this.release = reserved == 0 ? null : CleanerFactory.create().register(this, new Release(reserved));
+    }
+
+    /**
+     * Indexes a ZIP file held in memory.
+     *
+     * @param data the content of the ZIP file
+     * @return the view of the content
+     * @throws IOException if the content is not a supported ZIP file
+     */
+    public static ZipIndex wrap(ByteBuffer data) throws IOException {
+        return new ZipIndex(data, 0);
+    }
+
+    /**
+     * Reads a ZIP file, for example an archive nested in another one, into memory and indexes it.
+     *
+     * @param in the stream to read the ZIP file from, not closed by this method
+     * @param size the size of the ZIP file
+     * @return the view of the content
+     * @throws IOException if the content cannot be read, is larger than {@value #MAX_READ_SIZE} bytes or than the
+     * memory left to all indexes, or is not a supported ZIP file
+     */
+    public static ZipIndex read(InputStream in, long size) throws IOException {
+        if (size < 0 || size > MAX_READ_SIZE || !reserve(size)) {
+            throw new ZipException("Archive of " + size + " bytes not read into memory");
+        }
+        boolean indexed = false;
+        try {
+            byte[] bytes = new byte[(int) size];
+            int read = 0;
+            while (read < bytes.length) {
+                int count = in.read(bytes, read, bytes.length - read);
+                if (count < 0) {
+                    throw new EOFException("Unexpected end of archive after " + read + " bytes");
+                }
+                read += count;
+            }
+            ZipIndex index = new ZipIndex(ByteBuffer.wrap(bytes), size);
+            indexed = true;
+            return index;
+        } finally {
+            if (!indexed) {
+                release(size);
+            }
+        }
+    }
+
+    static boolean reserve(long size) {
+        long held;
+        do {
+            held = READ_SIZE.get();
+            if (held + size > MAX_TOTAL_READ_SIZE) {
+                return false;
+            }
+        } while (!READ_SIZE.compareAndSet(held, held + size));
+        return true;
+    }
+
+    static void release(long size) {
+        READ_SIZE.addAndGet(-size);
+    }
+
+    /**
+     * @return the number of bytes held by all open indexes created by {@link #read(InputStream, long)}
+     */
+    static long getTotalReadSize() {
+        return READ_SIZE.get();
+    }
+
+    /**
+     * Stops counting the content of this index towards the limit of all indexes. The index must not be used
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        if (release != null) {
+            release.clean();
+        }
+    }
+
+    /**
+     * @return the names of all entries, in central directory order
+     */
+    public Collection<String> getEntryNames() {
+        return entries.keySet();
+    }
+
+    /**
+     * @return the names of the entries a {@link java.util.jar.JarInputStream} returns, which skips a leading
+     * META-INF/ directory and manifest
+     */
+    public Collection<String> getJarEntryNames() {
+        return jarEntryNames;
+    }
+
+    /**
+     * @param name the entry name
+     * @return true if the archive has an entry of that name
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * @param name the entry name
+     * @return true if a {@link java.util.jar.JarInputStream} returns an entry of that name
+     */
+    public boolean containsJarEntry(String name) {
+        return entries.containsKey(name) && !skippedNames.contains(name);
+    }
+
+    /**
+     * Opens a stream on the manifest, if the archive starts with one. {@link java.util.jar.JarInputStream} reads no
+     * other manifest.
+     *
+     * @return the stream, or null if the archive does not start with a manifest
+     * @throws IOException if the manifest cannot be read
+     */
+    public InputStream getJarManifest() throws IOException {
+        return manifestName == null ? null : getInputStream(manifestName);
+    }
+
+    /**
+     * @param name the entry name
+     * @return the uncompressed size of the entry, or -1 if there is no such entry
+     */
+    public long getSize(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? -1 : entry.size;
+    }
+
+    /**
+     * Opens a stream on the uncompressed content of an entry.
+     *
+     * @param name the entry name
+     * @return the stream, or null if there is no such entry
+     * @throws IOException if the entry cannot be read
+     */
+    public InputStream getInputStream(String name) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer content = getContent(entry);
+        switch (entry.method) {
+            case STORED:
+                return new ByteBufferInputStream(content);
+            case DEFLATED:
+                return new EntryInflaterInputStream(new ByteBufferInputStream(content));
+            default:
+                throw new ZipException("Unsupported compression method " + entry.method + " for entry " + name);
+        }
+    }
+
+    /**
+     * @return true if the archive holds signature files, which only {@link java.util.jar.JarFile} and
+     * {@link java.util.jar.JarInputStream} verify
+     */
+    public boolean isSigned() {
+        for (String name : entries.keySet()) {
+            String upperCase = name.toUpperCase(Locale.ENGLISH);
+            if (upperCase.startsWith("META-INF/") && upperCase.indexOf('/', "META-INF/".length()) < 0
+                    && (upperCase.endsWith(".SF") || upperCase.endsWith(".RSA") || upperCase.endsWith(".DSA")
+                    || upperCase.endsWith(".EC"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ByteBuffer getContent(Entry entry) throws IOException {
+        int local = checkedOffset(entry.localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (data.getInt(local) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header for entry " + entry.name);
+        }
+        long start = (long) local + LOCAL_HEADER_SIZE
+                + Short.toUnsignedInt(data.getShort(local + 26)) + Short.toUnsignedInt(data.getShort(local + 28));
+        int position = checkedOffset(start, entry.compressedSize);
+        ByteBuffer content = data.duplicate();
+        content.position(position).limit(position + (int) entry.compressedSize);
+        return content.slice();
+    }
+
+    private int checkedOffset(long offset, long length) throws ZipException {
+        if (offset < 0 || length < 0 || offset + length > data.limit()) {
+            throw new ZipException("Invalid ZIP offset " + offset);
+        }
+        return (int) offset;
+    }
+
+    private static Map<String, Entry> parse(ByteBuffer data) throws IOException {
+        int end = findEnd(data);
+        int count = Short.toUnsignedInt(data.getShort(end + 10));
+        long size = Integer.toUnsignedLong(data.getInt(end + 12));
+        long offset = Integer.toUnsignedLong(data.getInt(end + 16));
+        if (count == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) {
+            throw new ZipException("ZIP64 archives are not supported");
+        }
+        if (offset + size > end) {
+            throw new ZipException("Invalid central directory");
+        }
+
+        Map<String, Entry> entries = new LinkedHashMap<>(count * 4 / 3 + 1);
+        int position = (int) offset;
+        for (int i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_SIZE > end || data.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+            int method = Short.toUnsignedInt(data.getShort(position + 10));
+            long compressedSize = Integer.toUnsignedLong(data.getInt(position + 20));
+            long uncompressedSize = Integer.toUnsignedLong(data.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(data.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(data.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(data.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(data.getInt(position + 42));
+
+            byte[] name = new byte[nameLength];
+            ByteBuffer nameBuffer = data.duplicate();
+            nameBuffer.position(position + CENTRAL_HEADER_SIZE);
+            nameBuffer.get(name);
+            Entry entry = new Entry(new String(name, StandardCharsets.UTF_8), method, compressedSize,
+                    uncompressedSize, localHeaderOffset);
+            // like ZipFile, the first of duplicate entries wins
+            entries.putIfAbsent(entry.name, entry);
+
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private static int findEnd(ByteBuffer data) throws ZipException {
+        int last = data.limit() - END_SIZE;
+        int first = Math.max(0, last - MAX_COMMENT_SIZE);
+        for (int position = last; position >= first; position--) {
+            if (data.getInt(position) == END_SIGNATURE
+                    && position + END_SIZE + Short.toUnsignedInt(data.getShort(position + 20)) <= data.limit()) {
+                return position;
+            }
+        }
+        throw new ZipException("End of central directory not found");
+    }
+
+    private static final class Release implements Runnable {
+
+        private final long size;
+
+        Release(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public void run() {
+            release(size);
+        }
+    }
+
+    private static final class Entry {
+
+        final String name;
+        final int method;
+        final long compressedSize;
+        final long size;
+        final long localHeaderOffset;
+
+        Entry(String name, int method, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static final class EntryInflaterInputStream extends InflaterInputStream {
+
+        private boolean eof;
+        private boolean closed;
+
+        EntryInflaterInputStream(InputStream in) {
+            super(in, new Inflater(true), BUFFER_SIZE);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("Unexpected end of ZIP input stream");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                // a raw inflater may need one byte past the end of the data
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+}
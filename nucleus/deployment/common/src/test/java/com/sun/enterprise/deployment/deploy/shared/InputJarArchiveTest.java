@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.enterprise.deployment.deploy.shared;
 
@@ -267,6 +268,64 @@ public class InputJarArchiveTest {
         }
     }
     
+    @Test
+    public void testNestedArchiveWithManifest() throws IOException {
+        final File tempJAR = createTestJARWithNestedManifest(false);
+        final InputJarArchive arch = new InputJarArchive();
+        arch.open(tempJAR.toURI());
+        try {
+            ReadableArchive subArchive = arch.getSubArchive(NESTED_JAR_ENTRY_NAME);
+            assertEquals("Manifest directory must not be listed like JarInputStream skips it",
+                    testJarTopLevelDirEntryNames(), new HashSet<String>(subArchive.getDirectories()));
+            assertEquals(testSubArchiveNonDirEntryNames(), setFromEnumeration(subArchive.entries()));
+            assertEquals("1.0", subArchive.getManifest().getMainAttributes().get(Name.MANIFEST_VERSION));
+        } finally {
+            retireArchive(arch);
+        }
+    }
+
+    @Test
+    public void testSignedNestedArchiveIsReadThroughJarInputStream() throws IOException {
+        final File tempJAR = createTestJARWithNestedManifest(true);
+        final InputJarArchive arch = new InputJarArchive();
+        arch.open(tempJAR.toURI());
+        try {
+            ReadableArchive subArchive = arch.getSubArchive(NESTED_JAR_ENTRY_NAME);
+            final Set<String> expected = testSubArchiveNonDirEntryNames();
+            expected.add("META-INF/TEST.SF");
+            assertEquals(expected, setFromEnumeration(subArchive.entries()));
+            assertEquals("1.0", subArchive.getManifest().getMainAttributes().get(Name.MANIFEST_VERSION));
+        } finally {
+            retireArchive(arch);
+        }
+    }
+
+    private File createTestJARWithNestedManifest(final boolean withSignatureFile) throws IOException {
+        final File tempJAR = File.createTempFile("InputJarArchive", ".jar");
+        tempJAR.deleteOnExit();
+        final Manifest mf = new Manifest();
+        mf.getMainAttributes().put(Name.MANIFEST_VERSION, "1.0");
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JarOutputStream nestedJOS = new JarOutputStream(baos, mf)) {
+            if (withSignatureFile) {
+                // not a valid signature, only its presence matters
+                nestedJOS.putNextEntry(new JarEntry("META-INF/TEST.SF"));
+                nestedJOS.closeEntry();
+            }
+            for (String entryName : testJarEntryNames()) {
+                nestedJOS.putNextEntry(new JarEntry(entryName));
+                nestedJOS.closeEntry();
+            }
+        }
+        try (JarOutputStream jos = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(tempJAR)), mf)) {
+            jos.putNextEntry(new JarEntry(NESTED_JAR_ENTRY_NAME));
+            jos.write(baos.toByteArray());
+            jos.closeEntry();
+        }
+        return tempJAR;
+    }
+
     private File createTestJAR() throws IOException {
         final File tempJAR = File.createTempFile("InputJarArchive", ".jar");
         tempJAR.deleteOnExit();
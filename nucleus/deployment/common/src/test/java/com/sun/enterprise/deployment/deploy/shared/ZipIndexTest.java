@@ -0,0 +1,243 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.deployment.deploy.shared;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ZipIndexTest {
+
+    private static final byte[] CONTENT = "nested content".getBytes(StandardCharsets.UTF_8);
+
+    private byte[] nestedJar;
+    private byte[] bigEntry;
+    private File jar;
+
+    @Before
+    public void createJar() throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        ByteArrayOutputStream nested = new ByteArrayOutputStream();
+        try (JarOutputStream jos = new JarOutputStream(nested, manifest)) {
+            jos.putNextEntry(new JarEntry("dir/"));
+            jos.closeEntry();
+            jos.putNextEntry(new JarEntry("dir/entry.txt"));
+            jos.write(CONTENT);
+            jos.closeEntry();
+        }
+        nestedJar = nested.toByteArray();
+        bigEntry = new byte[100_000];
+        new Random(42).nextBytes(bigEntry);
+
+        jar = File.createTempFile("ZipIndex", ".jar");
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+            jos.putNextEntry(new JarEntry("big.bin"));
+            jos.write(bigEntry);
+            jos.closeEntry();
+            jos.putNextEntry(new JarEntry("lib/deflated.jar"));
+            jos.write(nestedJar);
+            jos.closeEntry();
+            JarEntry stored = new JarEntry("lib/stored.jar");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(nestedJar.length);
+            CRC32 crc = new CRC32();
+            crc.update(nestedJar);
+            stored.setCrc(crc.getValue());
+            jos.putNextEntry(stored);
+            jos.write(nestedJar);
+            jos.closeEntry();
+            jos.setComment("archive comment");
+        }
+    }
+
+    @After
+    public void deleteJar() {
+        jar.delete();
+    }
+
+    @Test
+    public void readsEntries() throws IOException {
+        ZipIndex zip;
+        try (InputStream in = new FileInputStream(jar)) {
+            zip = ZipIndex.read(in, jar.length());
+        }
+        assertEquals(Arrays.asList(JarFile.MANIFEST_NAME, "big.bin", "lib/deflated.jar", "lib/stored.jar"),
+                Arrays.asList(zip.getEntryNames().toArray()));
+        assertEquals(bigEntry.length, zip.getSize("big.bin"));
+        assertArrayEquals(bigEntry, readAll(zip.getInputStream("big.bin")));
+        assertFalse(zip.contains("missing"));
+        assertEquals(-1, zip.getSize("missing"));
+        assertNull(zip.getInputStream("missing"));
+        assertFalse(zip.isSigned());
+    }
+
+    @Test
+    public void readsNestedArchives() throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (String name : Arrays.asList("lib/deflated.jar", "lib/stored.jar")) {
+                JarEntry entry = jarFile.getJarEntry(name);
+                ZipIndex nested;
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    nested = ZipIndex.read(in, entry.getSize());
+                }
+                assertTrue(nested.contains("dir/"));
+                assertArrayEquals(CONTENT, readAll(nested.getInputStream("dir/entry.txt")));
+                assertEquals("1.0", new Manifest(nested.getInputStream(JarFile.MANIFEST_NAME))
+                        .getMainAttributes().get(Attributes.Name.MANIFEST_VERSION));
+            }
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void doesNotReadLargeArchives() throws IOException {
+        try (InputStream in = new FileInputStream(jar)) {
+            ZipIndex.read(in, ZipIndex.MAX_READ_SIZE + 1L);
+        }
+    }
+
+    @Test
+    public void detectsSignatureFiles() throws IOException {
+        ByteArrayOutputStream signed = new ByteArrayOutputStream();
+        try (JarOutputStream jos = new JarOutputStream(signed)) {
+            jos.putNextEntry(new JarEntry("META-INF/SIGNER.SF"));
+            jos.closeEntry();
+            jos.putNextEntry(new JarEntry("META-INF/SIGNER.RSA"));
+            jos.closeEntry();
+        }
+        assertTrue(ZipIndex.wrap(ByteBuffer.wrap(signed.toByteArray())).isSigned());
+    }
+
+    @Test
+    public void indexesInMemoryArchives() throws IOException {
+        ZipIndex zip = ZipIndex.wrap(ByteBuffer.wrap(nestedJar));
+        assertArrayEquals(CONTENT, readAll(zip.getInputStream("dir/entry.txt")));
+        assertEquals(CONTENT.length, zip.getSize("dir/entry.txt"));
+    }
+
+    @Test
+    public void skipsLeadingManifestLikeJarInputStream() throws IOException {
+        ZipIndex zip = ZipIndex.wrap(ByteBuffer.wrap(nestedJar));
+        List<String> jarEntryNames = new ArrayList<>();
+        try (JarInputStream jis = new JarInputStream(new ByteArrayInputStream(nestedJar))) {
+            for (JarEntry entry; (entry = jis.getNextJarEntry()) != null; ) {
+                jarEntryNames.add(entry.getName());
+            }
+        }
+        assertEquals(jarEntryNames, new ArrayList<>(zip.getJarEntryNames()));
+        assertTrue(zip.contains(JarFile.MANIFEST_NAME));
+        assertFalse(zip.containsJarEntry(JarFile.MANIFEST_NAME));
+        assertFalse(zip.containsJarEntry("META-INF/"));
+        assertTrue(zip.containsJarEntry("dir/entry.txt"));
+        assertEquals("1.0", new Manifest(zip.getJarManifest()).getMainAttributes().get(Attributes.Name.MANIFEST_VERSION));
+    }
+
+    @Test
+    public void countsReadArchivesUntilClosed() throws IOException {
+        long before = ZipIndex.getTotalReadSize();
+        ZipIndex zip = ZipIndex.read(new ByteArrayInputStream(nestedJar), nestedJar.length);
+        assertEquals(before + nestedJar.length, ZipIndex.getTotalReadSize());
+        zip.close();
+        zip.close();
+        assertEquals(before, ZipIndex.getTotalReadSize());
+    }
+
+    @Test
+    public void doesNotReadArchivesBeyondTheSharedLimit() throws IOException {
+        long left = ZipIndex.MAX_TOTAL_READ_SIZE - ZipIndex.getTotalReadSize();
+        assertTrue(ZipIndex.reserve(left));
+        try {
+            ZipIndex.read(new ByteArrayInputStream(nestedJar), nestedJar.length);
+            fail("Read beyond the limit of all indexes");
+        } catch (ZipException e) {
+            // expected
+        } finally {
+            ZipIndex.release(left);
+        }
+        ZipIndex.read(new ByteArrayInputStream(nestedJar), nestedJar.length).close();
+    }
+
+    @Test
+    public void releasesTheLimitWhenReadingFails() {
+        long before = ZipIndex.getTotalReadSize();
+        try {
+            ZipIndex.read(new ByteArrayInputStream(CONTENT), CONTENT.length);
+            fail("Indexed an invalid archive");
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(before, ZipIndex.getTotalReadSize());
+    }
+
+    private static byte[] readAll(InputStream is) throws IOException {
+        try (InputStream in = is) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -38,7 +38,7 @@
  * holder.
  * 
  * 
- * Portions Copyright [2016-2024] [Payara Foundation and/or its affiliates]
+ * Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
  */
 package org.glassfish.grizzly.config;
 
@@ -233,7 +233,14 @@ public class GenericGrizzlyListener implements GrizzlyListener {
             workerExecutorService = null;
             localExecutorService.shutdownNow();
         }
+        final FilterChain localFilterChain = rootFilterChain;
         rootFilterChain = null;
+        if (localFilterChain != null) {
+            for (Http2FlowControlFilter flowControlFilter : getFilters(Http2FlowControlFilter.class,
+                    localFilterChain, new ArrayList<Http2FlowControlFilter>(1))) {
+                flowControlFilter.unregister();
+            }
+        }
     }
 
     @Override
@@ -826,12 +833,33 @@ public class GenericGrizzlyListener implements GrizzlyListener {
                 // AddOn requires.
                 http2Addon.setup(createMockListener(secure), builder);
                 isHttp2Enabled = true;
+                configureHttp2FlowControl(locator, listener, httpElement, builder);
             } catch (NoClassDefFoundError ex) {
                 LOGGER.log(Level.WARNING, "Unable to construct HTTP/2 Addon", ex);
             }
         }
     }
     
+    protected Filter configureHttp2FlowControl(final ServiceLocator locator,
+                                               final NetworkListener listener,
+                                               final Http httpElement,
+                                               final FilterChainBuilder builder) {
+        if (!Boolean.parseBoolean(httpElement.getHttp2AdaptiveFlowControlEnabled())) {
+            return null;
+        }
+        // below the HTTP codec the filter sees the decrypted frames of both prior knowledge and ALPN connections
+        final int codecFilterIdx = builder.indexOfType(org.glassfish.grizzly.http.HttpServerFilter.class);
+        if (codecFilterIdx < 0) {
+            LOGGER.log(Level.WARNING, "Unable to enable HTTP/2 adaptive flow control for network listener {0}",
+                    listener.getName());
+            return null;
+        }
+        final Http2FlowControlFilter flowControlFilter = new Http2FlowControlFilter();
+        flowControlFilter.configure(locator, listener, httpElement);
+        builder.add(codecFilterIdx, flowControlFilter);
+        return flowControlFilter;
+    }
+
     protected org.glassfish.grizzly.http.server.NetworkListener createMockListener(final boolean isSecure) {
         final TCPNIOTransport transportLocal = (TCPNIOTransport) transport;
         return new org.glassfish.grizzly.http.server.NetworkListener("mock") {
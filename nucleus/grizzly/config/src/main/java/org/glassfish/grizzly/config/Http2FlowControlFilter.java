@@ -0,0 +1,510 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.grizzly.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.attributes.Attribute;
+import org.glassfish.grizzly.config.dom.Http;
+import org.glassfish.grizzly.config.dom.NetworkListener;
+import org.glassfish.grizzly.filterchain.BaseFilter;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.filterchain.NextAction;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.hk2.api.ServiceLocator;
+
+/**
+ * Filter that grows the HTTP/2 flow control windows granted to clients with the bandwidth-delay product of each
+ * connection, so that uploads over long fat links are not throttled by the initial window sizes.
+ * <p>
+ * The filter sits below the HTTP codec and only observes the frames of connections starting with the HTTP/2 client
+ * preface; everything is passed on unchanged. While DATA frames arrive it keeps one PING in flight to measure the
+ * round trip time, counting the bytes received meanwhile. Nothing is sent before the client acknowledged the
+ * SETTINGS of the server, which must be the first frame the server sends. When the client sent close to the whole window within a
+ * round trip, the connection was window limited and both the connection window and the windows of the open streams
+ * are raised to twice that amount by WINDOW_UPDATE frames, up to the configured maximums. These grants come on top
+ * of the ones Grizzly sends as data is consumed.
+ *
+ * @author Payara Foundation
+ */
+public class Http2FlowControlFilter extends BaseFilter implements ConfigAwareElement<Http> {
+
+    private static final Map<String, Http2FlowControlFilter> FILTERS = new ConcurrentHashMap<>();
+
+    static final int DEFAULT_WINDOW_SIZE = 65535;
+    // leaves room for the grants of Grizzly itself within the 2^31 - 1 protocol limit
+    static final int MAX_WINDOW_SIZE = 1 << 30;
+
+    private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int FRAME_HEADER_SIZE = 9;
+    private static final int PING_PAYLOAD_SIZE = 8;
+    private static final int WINDOW_UPDATE_PAYLOAD_SIZE = 4;
+
+    private static final int DATA = 0x0;
+    private static final int HEADERS = 0x1;
+    private static final int RST_STREAM = 0x3;
+    private static final int SETTINGS = 0x4;
+    private static final int PING = 0x6;
+    private static final int WINDOW_UPDATE = 0x8;
+    private static final int END_STREAM = 0x1;
+    private static final int ACK = 0x1;
+
+    // streams are expected to be closed by the time this many newer ones were seen
+    private static final int MAX_TRACKED_STREAMS = 1024;
+
+    private final Attribute<ConnectionWindow> windowAttribute = Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute(
+            Http2FlowControlFilter.class.getName() + "-" + hashCode() + ".window");
+    private final Set<ConnectionWindow> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong connectionIds = new AtomicLong();
+
+    private final LongAdder pings = new LongAdder();
+    private final LongAdder windowUpdates = new LongAdder();
+    private final LongAdder grantedBytes = new LongAdder();
+    private final LongAdder windowLimitedRounds = new LongAdder();
+
+    private String listenerName;
+    private int initialStreamWindowSize = Http.HTTP2_INITIAL_WINDOW_SIZE_IN_BYTES;
+    private int maxConnectionWindowSize = Http.HTTP2_MAX_CONNECTION_WINDOW_SIZE_IN_BYTES;
+    private int maxStreamWindowSize = Http.HTTP2_MAX_STREAM_WINDOW_SIZE_IN_BYTES;
+
+    @Override
+    public void configure(ServiceLocator habitat, NetworkListener networkListener, Http configuration) {
+        initialStreamWindowSize = Integer.parseInt(configuration.getHttp2InitialWindowSizeInBytes());
+        maxConnectionWindowSize = Math.min(MAX_WINDOW_SIZE,
+                Integer.parseInt(configuration.getHttp2MaxConnectionWindowSizeInBytes()));
+        maxStreamWindowSize = Math.min(MAX_WINDOW_SIZE,
+                Integer.parseInt(configuration.getHttp2MaxStreamWindowSizeInBytes()));
+        if (networkListener != null) {
+            unregister();
+            listenerName = networkListener.getName();
+            FILTERS.put(listenerName, this);
+        }
+    }
+
+    /**
+     * Removes this filter from {@link #getFilters()}, to be called once its network listener is stopped.
+     */
+    public void unregister() {
+        if (listenerName != null) {
+            FILTERS.remove(listenerName, this);
+        }
+    }
+
+    /**
+     * @return the filters of all network listeners with adaptive HTTP/2 flow control, by listener name
+     */
+    public static Map<String, Http2FlowControlFilter> getFilters() {
+        return Collections.unmodifiableMap(FILTERS);
+    }
+
+    @Override
+    public NextAction handleRead(FilterChainContext ctx) throws IOException {
+        Object message = ctx.getMessage();
+        if (message instanceof Buffer) {
+            Connection<?> connection = ctx.getConnection();
+            ConnectionWindow window = windowAttribute.get(connection);
+            if (window == null) {
+                window = new ConnectionWindow();
+                windowAttribute.set(connection, window);
+            }
+            byte[] frames = window.read((Buffer) message);
+            if (frames != null) {
+                ctx.write(Buffers.wrap(ctx.getMemoryManager(), frames));
+            }
+        }
+        return ctx.getInvokeAction();
+    }
+
+    @Override
+    public NextAction handleClose(FilterChainContext ctx) throws IOException {
+        ConnectionWindow window = windowAttribute.remove(ctx.getConnection());
+        if (window != null) {
+            connections.remove(window);
+        }
+        return ctx.getInvokeAction();
+    }
+
+    public String getListenerName() {
+        return listenerName;
+    }
+
+    /**
+     * @return the open HTTP/2 connections
+     */
+    public Collection<ConnectionWindow> getConnections() {
+        return Collections.unmodifiableSet(connections);
+    }
+
+    public long getPingCount() {
+        return pings.sum();
+    }
+
+    public long getWindowUpdateCount() {
+        return windowUpdates.sum();
+    }
+
+    /**
+     * @return the number of bytes granted in addition to the initial windows, over all connections
+     */
+    public long getGrantedBytes() {
+        return grantedBytes.sum();
+    }
+
+    /**
+     * @return the number of round trips over all connections during which the client was stalled by the window
+     */
+    public long getWindowLimitedRoundCount() {
+        return windowLimitedRounds.sum();
+    }
+
+    /**
+     * Flow control state of a single HTTP/2 connection. Frames of a connection are read by one thread at a time, the
+     * getters may be called from any thread.
+     */
+    public final class ConnectionWindow {
+
+        private final long id = connectionIds.incrementAndGet();
+
+        private boolean http2;
+        private boolean passThrough;
+        private int prefaceMatched;
+        // the server's SETTINGS were sent once the client acknowledged them
+        private boolean settingsAcknowledged;
+
+        private final byte[] header = new byte[FRAME_HEADER_SIZE];
+        private int headerFill;
+        private int payloadRemaining;
+        private int frameType;
+        private int frameFlags;
+        private int streamId;
+        private long pingPayload;
+        private int pingFill;
+
+        // streams which were granted the current stream window, and the newest stream no longer tracked
+        private final Set<Integer> streams = new LinkedHashSet<>();
+        private int evictedStreamId;
+
+        private boolean pingOutstanding;
+        private long pingSentAt;
+        private long sample;
+        private double maxBandwidth;
+
+        private volatile int connectionWindowSize = DEFAULT_WINDOW_SIZE;
+        private volatile int streamWindowSize = initialStreamWindowSize;
+        private volatile long smoothedRtt;
+        private volatile long stalls;
+        private volatile long receivedBytes;
+
+        private FrameWriter writer;
+
+        ConnectionWindow() {
+        }
+
+        /**
+         * @return the number identifying the connection among the connections of the listener
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * @return the connection window size granted to the client
+         */
+        public int getConnectionWindowSize() {
+            return connectionWindowSize;
+        }
+
+        /**
+         * @return the window size granted to each stream of the connection
+         */
+        public int getStreamWindowSize() {
+            return streamWindowSize;
+        }
+
+        /**
+         * @return the smoothed round trip time in milliseconds, 0 if none was measured yet
+         */
+        public long getRoundTripTime() {
+            return TimeUnit.NANOSECONDS.toMillis(smoothedRtt);
+        }
+
+        /**
+         * @return the number of round trips during which the client was stalled by the window
+         */
+        public long getWindowLimitedRoundCount() {
+            return stalls;
+        }
+
+        /**
+         * @return the number of bytes of DATA frames received on the connection
+         */
+        public long getReceivedBytes() {
+            return receivedBytes;
+        }
+
+        /**
+         * Tracks the frames of the given chunk of the connection's input.
+         *
+         * @param buffer the input, which is left untouched
+         * @return the frames to send to the client, or null if there are none
+         */
+        byte[] read(Buffer buffer) {
+            int position = buffer.position();
+            int limit = buffer.limit();
+            if (passThrough) {
+                return null;
+            }
+            while (!http2 && position < limit) {
+                if (buffer.get(position++) != PREFACE[prefaceMatched++]) {
+                    // HTTP/1.1, upgrades to HTTP/2 are not tracked
+                    passThrough = true;
+                    return null;
+                }
+                if (prefaceMatched == PREFACE.length) {
+                    http2 = true;
+                    connections.add(this);
+                }
+            }
+            writer = null;
+            while (position < limit) {
+                if (headerFill < FRAME_HEADER_SIZE) {
+                    header[headerFill++] = buffer.get(position++);
+                    if (headerFill == FRAME_HEADER_SIZE) {
+                        startFrame();
+                        if (payloadRemaining == 0) {
+                            endFrame();
+                        }
+                    }
+                } else {
+                    int count = Math.min(payloadRemaining, limit - position);
+                    if (frameType == PING) {
+                        for (int i = 0; i < count && pingFill < PING_PAYLOAD_SIZE; i++, pingFill++) {
+                            pingPayload = (pingPayload << 8) | (buffer.get(position + i) & 0xFF);
+                        }
+                    }
+                    position += count;
+                    payloadRemaining -= count;
+                    if (payloadRemaining == 0) {
+                        endFrame();
+                    }
+                }
+            }
+            return writer == null ? null : writer.toByteArray();
+        }
+
+        private void startFrame() {
+            payloadRemaining = (header[0] & 0xFF) << 16 | (header[1] & 0xFF) << 8 | (header[2] & 0xFF);
+            frameType = header[3] & 0xFF;
+            frameFlags = header[4] & 0xFF;
+            streamId = ((header[5] & 0x7F) << 24) | (header[6] & 0xFF) << 16 | (header[7] & 0xFF) << 8
+                    | (header[8] & 0xFF);
+            pingPayload = 0;
+            pingFill = 0;
+            switch (frameType) {
+                case DATA:
+                    onData(payloadRemaining, (frameFlags & END_STREAM) != 0);
+                    break;
+                case HEADERS:
+                    if ((frameFlags & END_STREAM) != 0) {
+                        streams.remove(streamId);
+                    }
+                    break;
+                case RST_STREAM:
+                    streams.remove(streamId);
+                    break;
+                case SETTINGS:
+                    if ((frameFlags & ACK) != 0) {
+                        settingsAcknowledged = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void endFrame() {
+            headerFill = 0;
+            if (frameType == PING && (frameFlags & ACK) != 0 && pingFill == PING_PAYLOAD_SIZE) {
+                onPingAck(pingPayload);
+            }
+        }
+
+        private void onData(int length, boolean endStream) {
+            receivedBytes += length;
+            if (!pingOutstanding && settingsAcknowledged && isGrowing()) {
+                pingSentAt = System.nanoTime();
+                pingOutstanding = true;
+                sample = 0;
+                writer().ping(pingSentAt);
+                pings.increment();
+            }
+            sample += length;
+            if (endStream) {
+                streams.remove(streamId);
+            } else if (streamId > evictedStreamId && streams.add(streamId)) {
+                if (streamWindowSize > initialStreamWindowSize) {
+                    grant(streamId, streamWindowSize - initialStreamWindowSize);
+                }
+                if (streams.size() > MAX_TRACKED_STREAMS) {
+                    Iterator<Integer> eldest = streams.iterator();
+                    evictedStreamId = Math.max(evictedStreamId, eldest.next());
+                    eldest.remove();
+                }
+            }
+        }
+
+        private void onPingAck(long payload) {
+            if (!pingOutstanding || payload != pingSentAt) {
+                return;
+            }
+            pingOutstanding = false;
+            long rtt = Math.max(1, System.nanoTime() - pingSentAt);
+            smoothedRtt = smoothedRtt == 0 ? rtt : (smoothedRtt * 7 + rtt) / 8;
+
+            long window = Math.min(connectionWindowSize, (long) streamWindowSize * Math.max(1, streams.size()));
+            if (sample < window * 2 / 3) {
+                return;
+            }
+            stalls++;
+            windowLimitedRounds.increment();
+            double bandwidth = (double) sample / rtt;
+            if (bandwidth < maxBandwidth) {
+                return;
+            }
+            maxBandwidth = bandwidth;
+
+            long target = 2 * sample;
+            int connectionTarget = (int) Math.min(maxConnectionWindowSize, target);
+            if (connectionTarget > connectionWindowSize) {
+                grant(0, connectionTarget - connectionWindowSize);
+                connectionWindowSize = connectionTarget;
+            }
+            int streamTarget = (int) Math.min(maxStreamWindowSize, target);
+            if (streamTarget > streamWindowSize) {
+                for (int stream : streams) {
+                    grant(stream, streamTarget - streamWindowSize);
+                }
+                streamWindowSize = streamTarget;
+            }
+        }
+
+        private boolean isGrowing() {
+            return connectionWindowSize < maxConnectionWindowSize || streamWindowSize < maxStreamWindowSize;
+        }
+
+        private void grant(int stream, int delta) {
+            writer().windowUpdate(stream, delta);
+            windowUpdates.increment();
+            grantedBytes.add(delta);
+        }
+
+        private FrameWriter writer() {
+            if (writer == null) {
+                writer = new FrameWriter();
+            }
+            return writer;
+        }
+    }
+
+    /**
+     * Serializes the PING and WINDOW_UPDATE frames sent in response to one chunk of input.
+     */
+    private static final class FrameWriter {
+
+        private byte[] bytes = new byte[FRAME_HEADER_SIZE + PING_PAYLOAD_SIZE];
+        private int size;
+
+        void ping(long payload) {
+            header(PING_PAYLOAD_SIZE, PING, 0);
+            writeLong(payload);
+        }
+
+        void windowUpdate(int stream, int delta) {
+            header(WINDOW_UPDATE_PAYLOAD_SIZE, WINDOW_UPDATE, stream);
+            writeInt(delta & 0x7FFFFFFF);
+        }
+
+        byte[] toByteArray() {
+            return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+        }
+
+        private void header(int length, int type, int stream) {
+            ensureCapacity(FRAME_HEADER_SIZE + length);
+            bytes[size++] = (byte) (length >>> 16);
+            bytes[size++] = (byte) (length >>> 8);
+            bytes[size++] = (byte) length;
+            bytes[size++] = (byte) type;
+            bytes[size++] = 0;
+            writeInt(stream & 0x7FFFFFFF);
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeInt(int value) {
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+        }
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  *
- * Portions Copyright [2017-2023] [Payara Foundation and/or its affiliates]
+ * Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
  */
 
 
@@ -115,6 +115,9 @@ public interface Http extends ConfigBeanProxy, PropertyBag {
     int HTTP2_CLEAN_FREQUENCY_CHECK = 50;
     boolean HTTP2_DISABLE_CIPHER_CHECK = false;
     boolean HTTP2_PUSH_ENABLED = false;
+    boolean HTTP2_ADAPTIVE_FLOW_CONTROL_ENABLED = false;
+    int HTTP2_MAX_CONNECTION_WINDOW_SIZE_IN_BYTES = 16 * 1024 * 1024;
+    int HTTP2_MAX_STREAM_WINDOW_SIZE_IN_BYTES = 8 * 1024 * 1024;
 
     @Attribute(defaultValue = DEFAULT_ADAPTER)
     String getAdapter();
@@ -577,6 +580,34 @@ public interface Http extends ConfigBeanProxy, PropertyBag {
 
     void setHttp2PushEnabled(String pushEnabled);
 
+    /**
+     * Controls whether the HTTP/2 flow control windows granted to clients grow with the measured
+     * bandwidth-delay product of each connection, up to the configured maximum window sizes.
+     * The default is false.
+     */
+    @Attribute(defaultValue = "" + HTTP2_ADAPTIVE_FLOW_CONTROL_ENABLED, dataType = Boolean.class)
+    String getHttp2AdaptiveFlowControlEnabled();
+
+    void setHttp2AdaptiveFlowControlEnabled(String adaptiveFlowControlEnabled);
+
+    /**
+     * Configures the maximum connection window size in bytes adaptive flow control may grant.
+     * The default is 16M.
+     */
+    @Attribute(defaultValue = "" + HTTP2_MAX_CONNECTION_WINDOW_SIZE_IN_BYTES, dataType = Integer.class)
+    String getHttp2MaxConnectionWindowSizeInBytes();
+
+    void setHttp2MaxConnectionWindowSizeInBytes(String maxConnectionWindowSizeInBytes);
+
+    /**
+     * Configures the maximum stream window size in bytes adaptive flow control may grant.
+     * The default is 8M.
+     */
+    @Attribute(defaultValue = "" + HTTP2_MAX_STREAM_WINDOW_SIZE_IN_BYTES, dataType = Integer.class)
+    String getHttp2MaxStreamWindowSizeInBytes();
+
+    void setHttp2MaxStreamWindowSizeInBytes(String maxStreamWindowSizeInBytes);
+
     @DuckTyped
     @Override
     Protocol getParent();
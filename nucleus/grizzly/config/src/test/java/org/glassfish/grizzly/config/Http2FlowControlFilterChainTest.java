@@ -0,0 +1,216 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.grizzly.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.glassfish.grizzly.config.GrizzlyTestUtils.portsAreAvailable;
+
+/**
+ * Runs {@link Http2FlowControlFilter} in the filter chain of a network listener with HTTP/2 enabled, talking HTTP/2
+ * with prior knowledge over a plain socket.
+ */
+public class Http2FlowControlFilterChainTest extends BaseTestGrizzlyConfig {
+
+    private static final int PORT = 38088;
+    private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int FRAME_SIZE = 16384;
+
+    private static final int DATA = 0x0;
+    private static final int HEADERS = 0x1;
+    private static final int SETTINGS = 0x4;
+    private static final int PING = 0x6;
+    private static final int END_STREAM = 0x1;
+    private static final int ACK = 0x1;
+    private static final int END_HEADERS = 0x4;
+
+    // :method POST, :scheme http, :path / from the static table, :authority localhost as a literal
+    private static final byte[] REQUEST_HEADERS = {
+        (byte) 0x83, (byte) 0x86, (byte) 0x84, 0x41, 0x09, 'l', 'o', 'c', 'a', 'l', 'h', 'o', 's', 't'
+    };
+
+    private GrizzlyConfig grizzlyConfig;
+
+    @Before
+    public void startListener() {
+        await().atMost(1, TimeUnit.MINUTES).until(() -> portsAreAvailable(PORT));
+        grizzlyConfig = new GrizzlyConfig("grizzly-config-http2-flow-control.xml");
+        grizzlyConfig.setupNetwork();
+        for (GrizzlyListener listener : grizzlyConfig.getListeners()) {
+            setHttpHandler((GenericGrizzlyListener) listener, new HttpHandler() {
+                @Override
+                public void service(Request request, Response response) throws Exception {
+                    InputStream body = request.getInputStream();
+                    byte[] buffer = new byte[FRAME_SIZE];
+                    long read = 0;
+                    for (int count; (count = body.read(buffer)) != -1; ) {
+                        read += count;
+                    }
+                    response.getWriter().write(Long.toString(read));
+                }
+            });
+        }
+    }
+
+    @After
+    public void stopListener() {
+        if (grizzlyConfig != null) {
+            grizzlyConfig.shutdownNetwork();
+            grizzlyConfig.shutdown();
+        }
+    }
+
+    @Test
+    public void measuresRoundTripsOnlyAfterServerSettings() throws IOException {
+        Http2FlowControlFilter filter = Http2FlowControlFilter.getFilters().get("http2-listener");
+        Assert.assertNotNull("No flow control filter in the filter chain", filter);
+
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            ByteArrayOutputStream request = new ByteArrayOutputStream();
+            request.write(PREFACE, 0, PREFACE.length);
+            frame(request, SETTINGS, 0, 0, new byte[0]);
+            frame(request, HEADERS, END_HEADERS, 1, REQUEST_HEADERS);
+            frame(request, DATA, 0, 1, new byte[FRAME_SIZE]);
+            out.write(request.toByteArray());
+            out.flush();
+
+            // the server preface comes first, and no PING is sent before it is acknowledged
+            Frame first = Frame.read(in);
+            Assert.assertEquals(SETTINGS, first.type);
+            Assert.assertEquals(0, first.flags & ACK);
+            socket.setSoTimeout(500);
+            try {
+                while (true) {
+                    Assert.assertNotEquals("PING sent before the server SETTINGS were acknowledged",
+                            PING, Frame.read(in).type);
+                }
+            } catch (SocketTimeoutException e) {
+                // no more frames until the client acknowledges the SETTINGS
+            }
+            Assert.assertEquals(0, filter.getPingCount());
+
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+            request.reset();
+            frame(request, SETTINGS, ACK, 0, new byte[0]);
+            frame(request, DATA, 0, 1, new byte[FRAME_SIZE]);
+            out.write(request.toByteArray());
+            out.flush();
+            Frame ping = readUntil(in, PING);
+            Assert.assertEquals(0, ping.flags & ACK);
+            Assert.assertEquals(1, filter.getPingCount());
+
+            // once the PING is acknowledged the next DATA frame starts another measurement
+            request.reset();
+            frame(request, PING, ACK, 0, ping.payload);
+            frame(request, DATA, END_STREAM, 1, new byte[FRAME_SIZE]);
+            out.write(request.toByteArray());
+            out.flush();
+            readUntil(in, PING);
+            Assert.assertEquals(2, filter.getPingCount());
+
+            Assert.assertEquals(1, filter.getConnections().size());
+            Http2FlowControlFilter.ConnectionWindow window = filter.getConnections().iterator().next();
+            Assert.assertEquals(3L * FRAME_SIZE, window.getReceivedBytes());
+
+            Frame response = readUntil(in, HEADERS);
+            Assert.assertEquals(1, response.stream);
+        }
+    }
+
+    private static Frame readUntil(DataInputStream in, int type) throws IOException {
+        Frame frame;
+        do {
+            frame = Frame.read(in);
+        } while (frame.type != type);
+        return frame;
+    }
+
+    private static void frame(ByteArrayOutputStream out, int type, int flags, int stream, byte[] payload) {
+        ByteBuffer header = ByteBuffer.allocate(9);
+        header.putInt(payload.length << 8 | type).put((byte) flags).putInt(stream);
+        out.write(header.array(), 0, 9);
+        out.write(payload, 0, payload.length);
+    }
+
+    private static final class Frame {
+
+        final int type;
+        final int flags;
+        final int stream;
+        final byte[] payload;
+
+        private Frame(int type, int flags, int stream, byte[] payload) {
+            this.type = type;
+            this.flags = flags;
+            this.stream = stream;
+            this.payload = payload;
+        }
+
+        static Frame read(DataInputStream in) throws IOException {
+            int lengthAndType = in.readInt();
+            int flags = in.readUnsignedByte();
+            int stream = in.readInt() & 0x7FFFFFFF;
+            byte[] payload = new byte[lengthAndType >>> 8];
+            in.readFully(payload);
+            return new Frame(lengthAndType & 0xFF, flags, stream, payload);
+        }
+    }
+}
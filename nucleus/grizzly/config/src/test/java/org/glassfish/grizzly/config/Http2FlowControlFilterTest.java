@@ -0,0 +1,231 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.grizzly.config;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.config.dom.Http;
+import org.glassfish.grizzly.config.dom.NetworkListener;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class Http2FlowControlFilterTest {
+
+    private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int FRAME_SIZE = 16384;
+
+    private Http2FlowControlFilter filter;
+    private Http2FlowControlFilter.ConnectionWindow window;
+
+    @Before
+    public void createFilter() {
+        Http http = Mockito.mock(Http.class);
+        Mockito.when(http.getHttp2InitialWindowSizeInBytes()).thenReturn("65535");
+        Mockito.when(http.getHttp2MaxConnectionWindowSizeInBytes()).thenReturn("1048576");
+        Mockito.when(http.getHttp2MaxStreamWindowSizeInBytes()).thenReturn("524288");
+        filter = new Http2FlowControlFilter();
+        filter.configure(null, null, http);
+        window = filter.new ConnectionWindow();
+    }
+
+    @Test
+    public void ignoresHttp11() {
+        Assert.assertNull(read("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII)));
+        Assert.assertNull(read(PREFACE));
+        Assert.assertTrue(filter.getConnections().isEmpty());
+    }
+
+    @Test
+    public void growsWindowsWhenWindowLimited() {
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        input.write(PREFACE, 0, PREFACE.length);
+        frame(input, 0x4, 0, 0, new byte[0]);
+        frame(input, 0x4, 0x1, 0, new byte[0]);
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        ByteBuffer sent = ByteBuffer.wrap(read(input.toByteArray()));
+        Assert.assertEquals(1, filter.getConnections().size());
+
+        // the first DATA frame starts a round trip measurement
+        assertFrameHeader(sent, 8, 0x6, 0);
+        byte[] ping = new byte[8];
+        sent.get(ping);
+        Assert.assertFalse(sent.hasRemaining());
+
+        input.reset();
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        Assert.assertNull(read(input.toByteArray()));
+
+        // acknowledged after three frames, which is most of the initial window
+        input.reset();
+        frame(input, 0x6, 0x1, 0, ping);
+        sent = ByteBuffer.wrap(read(input.toByteArray()));
+        int growth = 2 * 3 * FRAME_SIZE - 65535;
+        assertWindowUpdate(sent, 0, growth);
+        assertWindowUpdate(sent, 1, growth);
+        Assert.assertFalse(sent.hasRemaining());
+
+        Assert.assertEquals(2 * 3 * FRAME_SIZE, window.getConnectionWindowSize());
+        Assert.assertEquals(2 * 3 * FRAME_SIZE, window.getStreamWindowSize());
+        Assert.assertEquals(1, window.getWindowLimitedRoundCount());
+        Assert.assertEquals(2, filter.getWindowUpdateCount());
+        Assert.assertEquals(2L * growth, filter.getGrantedBytes());
+
+        // a new stream is granted the grown window on its first DATA frame, along with the next measurement
+        input.reset();
+        frame(input, 0x0, 0, 3, new byte[10]);
+        sent = ByteBuffer.wrap(read(input.toByteArray()));
+        sent.position(sent.position() + 17);
+        assertWindowUpdate(sent, 3, growth);
+    }
+
+    @Test
+    public void sendsNothingBeforeServerSettingsAreAcknowledged() {
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        input.write(PREFACE, 0, PREFACE.length);
+        frame(input, 0x4, 0, 0, new byte[0]);
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        Assert.assertNull(read(input.toByteArray()));
+        Assert.assertEquals(0, filter.getPingCount());
+
+        input.reset();
+        frame(input, 0x4, 0x1, 0, new byte[0]);
+        Assert.assertNull(read(input.toByteArray()));
+
+        input.reset();
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        ByteBuffer sent = ByteBuffer.wrap(read(input.toByteArray()));
+        assertFrameHeader(sent, 8, 0x6, 0);
+        Assert.assertEquals(1, filter.getPingCount());
+        Assert.assertEquals(2L * FRAME_SIZE, window.getReceivedBytes());
+    }
+
+    @Test
+    public void ignoresUnknownPingAcks() {
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        input.write(PREFACE, 0, PREFACE.length);
+        frame(input, 0x4, 0x1, 0, new byte[0]);
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        frame(input, 0x0, 0, 1, new byte[FRAME_SIZE]);
+        frame(input, 0x6, 0x1, 0, new byte[8]);
+        Assert.assertEquals(17, read(input.toByteArray()).length);
+        Assert.assertEquals(65535, window.getConnectionWindowSize());
+    }
+
+    @Test
+    public void tracksFramesSplitAcrossReads() {
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        input.write(PREFACE, 0, PREFACE.length);
+        frame(input, 0x4, 0x1, 0, new byte[0]);
+        frame(input, 0x0, 0, 1, new byte[100]);
+        byte[] bytes = input.toByteArray();
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        for (byte b : bytes) {
+            byte[] frames = read(new byte[] { b });
+            if (frames != null) {
+                sent.write(frames, 0, frames.length);
+            }
+        }
+        Assert.assertEquals(17, sent.size());
+        Assert.assertEquals(1, filter.getPingCount());
+    }
+
+    @Test
+    public void unregistersFromStoppedListener() {
+        Http http = Mockito.mock(Http.class);
+        Mockito.when(http.getHttp2InitialWindowSizeInBytes()).thenReturn("65535");
+        Mockito.when(http.getHttp2MaxConnectionWindowSizeInBytes()).thenReturn("1048576");
+        Mockito.when(http.getHttp2MaxStreamWindowSizeInBytes()).thenReturn("524288");
+        NetworkListener listener = Mockito.mock(NetworkListener.class);
+        Mockito.when(listener.getName()).thenReturn("unregisters-listener");
+        NetworkListener renamed = Mockito.mock(NetworkListener.class);
+        Mockito.when(renamed.getName()).thenReturn("unregisters-renamed-listener");
+
+        Http2FlowControlFilter registered = new Http2FlowControlFilter();
+        registered.configure(null, listener, http);
+        Assert.assertSame(registered, Http2FlowControlFilter.getFilters().get("unregisters-listener"));
+
+        registered.configure(null, renamed, http);
+        Assert.assertFalse(Http2FlowControlFilter.getFilters().containsKey("unregisters-listener"));
+        Assert.assertSame(registered, Http2FlowControlFilter.getFilters().get("unregisters-renamed-listener"));
+
+        // a filter of a restarted listener must not be removed by the stopped one
+        Http2FlowControlFilter restarted = new Http2FlowControlFilter();
+        restarted.configure(null, renamed, http);
+        registered.unregister();
+        Assert.assertSame(restarted, Http2FlowControlFilter.getFilters().get("unregisters-renamed-listener"));
+        restarted.unregister();
+        Assert.assertFalse(Http2FlowControlFilter.getFilters().containsKey("unregisters-renamed-listener"));
+    }
+
+    private byte[] read(byte[] bytes) {
+        Buffer buffer = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, bytes);
+        byte[] frames = window.read(buffer);
+        Assert.assertEquals(0, buffer.position());
+        return frames;
+    }
+
+    private static void frame(ByteArrayOutputStream out, int type, int flags, int stream, byte[] payload) {
+        ByteBuffer header = ByteBuffer.allocate(9);
+        header.putInt(payload.length << 8 | type).put((byte) flags).putInt(stream);
+        out.write(header.array(), 0, 9);
+        out.write(payload, 0, payload.length);
+    }
+
+    private static void assertWindowUpdate(ByteBuffer sent, int stream, int delta) {
+        assertFrameHeader(sent, 4, 0x8, stream);
+        Assert.assertEquals(delta, sent.getInt());
+    }
+
+    private static void assertFrameHeader(ByteBuffer sent, int length, int type, int stream) {
+        int lengthAndType = sent.getInt();
+        Assert.assertEquals(length, lengthAndType >>> 8);
+        Assert.assertEquals(type, lengthAndType & 0xFF);
+        Assert.assertEquals(0, sent.get());
+        Assert.assertEquals(stream, sent.getInt());
+    }
+}
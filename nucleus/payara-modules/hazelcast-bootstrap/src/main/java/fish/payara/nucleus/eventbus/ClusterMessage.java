@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2017 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,6 +39,10 @@
  */
 package fish.payara.nucleus.eventbus;
 
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -46,10 +50,16 @@ import java.io.Serializable;
  * @author steve
  * @param <T> The type of the message payload
  */
-public class ClusterMessage<T extends Serializable> implements Serializable {
+public class ClusterMessage<T extends Serializable> implements Serializable, IdentifiedDataSerializable {
     private static final long serialVersionUID = 1L;
     
     private T body;
+
+    /**
+     * Used by {@link ClusterMessageFactory} when reading a message
+     */
+    ClusterMessage() {
+    }
     
     /**
      * 
@@ -66,5 +76,25 @@ public class ClusterMessage<T extends Serializable> implements Serializable {
     public T getPayload() {
         return body;
     }
+
+    @Override
+    public int getFactoryId() {
+        return ClusterMessageFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return ClusterMessageFactory.CLUSTER_MESSAGE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(body);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        body = in.readObject();
+    }
     
 }
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * Creates the event bus messages on the receiving member, so that Hazelcast writes a factory and class id in place
+ * of the Java serialization stream header and class descriptor of every message.
+ * <p>
+ * Only the event bus messages are written this way. Values Payara stores in Hazelcast, such as timers, request
+ * traces and session data, are still written by the Payara global serializer.
+ * <p>
+ * Members of earlier versions send event bus messages with Java serialization, which members of this version can
+ * still read. Members of earlier versions do not know this factory and cannot read messages sent by members of this
+ * version, so during a rolling upgrade event bus messages only reach members running the same or a later version.
+ * @author Payara Foundation
+ */
+public class ClusterMessageFactory implements DataSerializableFactory {
+
+    /**
+     * The factory id, {@code "PYEB"} in ASCII, chosen to stay clear of the small ids user factories usually take.
+     */
+    public static final int FACTORY_ID = 0x50594542;
+
+    static final int CLUSTER_MESSAGE = 1;
+    static final int CLUSTER_MESSAGE_BATCH = 2;
+
+    /**
+     * Registers the factory with the serialization configuration.
+     * @param config the serialization configuration of the member
+     * @throws IllegalStateException if the configuration already has another factory with the {@link #FACTORY_ID}
+     */
+    public static void register(SerializationConfig config) {
+        Object existing = config.getDataSerializableFactories().get(FACTORY_ID);
+        if (existing == null) {
+            existing = config.getDataSerializableFactoryClasses().get(FACTORY_ID);
+        }
+        if (existing != null && !(existing instanceof ClusterMessageFactory)
+                && !ClusterMessageFactory.class.getName().equals(existing)) {
+            throw new IllegalStateException("The data serializable factory id " + FACTORY_ID
+                    + " is reserved for the Payara event bus but is configured for " + existing);
+        }
+        config.getDataSerializableFactoryClasses().remove(FACTORY_ID);
+        config.addDataSerializableFactory(FACTORY_ID, new ClusterMessageFactory());
+    }
+
+    @Override
+    public IdentifiedDataSerializable create(int typeId) {
+        switch (typeId) {
+            case CLUSTER_MESSAGE:
+                return new ClusterMessage<>();
+            case CLUSTER_MESSAGE_BATCH:
+                return new ClusterMessageBatch();
+            default:
+                return null;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -42,9 +42,11 @@ package fish.payara.nucleus.eventbus;
 import fish.payara.monitoring.collect.MonitoringDataCollector;
 import fish.payara.monitoring.collect.MonitoringDataSource;
 import fish.payara.nucleus.events.HazelcastEvents;
+import fish.payara.nucleus.executorservice.PayaraExecutorService;
 import fish.payara.nucleus.hazelcast.HazelcastCore;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
@@ -52,16 +54,24 @@ import org.glassfish.api.StartupRunLevel;
 import org.glassfish.api.event.EventListener;
 import org.glassfish.api.event.Events;
 import org.glassfish.hk2.runlevel.RunLevel;
+import org.glassfish.internal.api.JavaEEContextUtil;
 import org.jvnet.hk2.annotations.Service;
 
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
 import com.hazelcast.topic.LocalTopicStats;
 import com.hazelcast.topic.impl.TopicService;
 import java.util.UUID;
 
 /**
- * A Hazelcast based Event Bus for Payara
+ * A Hazelcast based Event Bus for Payara.
+ * <p>
+ * Messages published to a topic while a previous message is being sent are sent together. The
+ * {@value #BATCH_DELAY_PROPERTY} system property sets how long, in milliseconds, messages are collected
+ * before they are sent, and {@value #BATCH_SIZE_PROPERTY} the maximum number of messages sent at once.
+ * Receivers on the publishing member get the published {@link ClusterMessage} instance itself rather than a
+ * deserialized copy, so a message and its payload must not be modified once published.
  * @author steve
  * @since 4.1.153
  */
@@ -70,14 +80,26 @@ import java.util.UUID;
 public class EventBus implements EventListener, MonitoringDataSource {
     
     private static final Logger logger = Logger.getLogger(EventBus.class.getCanonicalName());
+
+    public static final String BATCH_DELAY_PROPERTY = "fish.payara.eventbus.batch.delay";
+    public static final String BATCH_SIZE_PROPERTY = "fish.payara.eventbus.batch.size";
     
     @Inject
     private HazelcastCore hzCore;
     
     @Inject
     private Events events;
+
+    @Inject
+    private PayaraExecutorService executor;
+
+    @Inject
+    private JavaEEContextUtil ctxUtil;
     
     private Map<String, TopicListener> messageReceivers;
+    private final Map<String, TopicPublisher> publishers = new ConcurrentHashMap<>();
+    private final long batchDelay = Long.getLong(BATCH_DELAY_PROPERTY, 0L);
+    private final int batchSize = Math.max(1, Integer.getInteger(BATCH_SIZE_PROPERTY, 64));
     
     @PostConstruct
     public void postConstruct() {
@@ -93,9 +115,13 @@ public class EventBus implements EventListener, MonitoringDataSource {
             for (DistributedObject obj : hz.getDistributedObjects()) {
                 if (TopicService.SERVICE_NAME.equals(obj.getServiceName())) {
                     LocalTopicStats stats = hz.getTopic(obj.getName()).getLocalTopicStats();
-                    eventCollector.group(obj.getName())
+                    MonitoringDataCollector topicCollector = eventCollector.group(obj.getName())
                         .collect("PublishedCount", stats.getPublishOperationCount())
                         .collect("ReceiveedCount", stats.getReceiveOperationCount());
+                    TopicPublisher publisher = publishers.get(obj.getName());
+                    if (publisher != null) {
+                        publisher.collect(topicCollector);
+                    }
                 }
             }
         }
@@ -106,16 +132,40 @@ public class EventBus implements EventListener, MonitoringDataSource {
      * listening to the topic
      * @param topic
      * @param message
-     * @return 
+     * @return true if the message was queued to be sent, false if Hazelcast is not enabled
+     * @see #publish(String, ClusterMessage, Consumer)
      */
     public boolean publish(String topic, ClusterMessage<?> message) {
+        return publish(topic, message, null);
+    }
+
+    /**
+     * Sends out a message to all listeners in the Hazelcast cluster that are listening to the topic.
+     * <p>
+     * The message is sent asynchronously, so a failure to send it is not known when this method returns. It is counted
+     * in the {@code FailedCount} of the topic and passed to the failure handler on the thread that sent the message.
+     * @param topic The name of the topic to send the message to
+     * @param message The message to send
+     * @param failureHandler Called with the exception if the message could not be sent, may be null
+     * @return true if the message was queued to be sent, false if Hazelcast is not enabled
+     */
+    public boolean publish(String topic, ClusterMessage<?> message, Consumer<? super RuntimeException> failureHandler) {
         boolean result = false;
         if (hzCore.isEnabled()) {
-            hzCore.getInstance().getTopic(topic).publish(message);
+            TopicListener localReceivers = messageReceivers.get(topic);
+            if (localReceivers != null) {
+                localReceivers.deliverLocally(message, executor::submit);
+            }
+            publishers.computeIfAbsent(topic, this::createPublisher).publish(message, failureHandler);
             result = true;
         }
         return result;
     }
+
+    private TopicPublisher createPublisher(String topic) {
+        ITopic<ClusterMessage<?>> hzTopic = hzCore.getInstance().getTopic(topic);
+        return new TopicPublisher(hzTopic, executor, ctxUtil, batchSize, batchDelay);
+    }
     
     /**
      * Adds a message receiver to listen to message send on the Hazelcast EventBus
@@ -170,6 +220,10 @@ public class EventBus implements EventListener, MonitoringDataSource {
         if (event.is(HazelcastEvents.HAZELCAST_BOOTSTRAP_COMPLETE) && hzCore.isEnabled()) {
             logger.config("Payara Clustered Event Bus Enabled");
         }
+        if (event.is(HazelcastEvents.HAZELCAST_SHUTDOWN_STARTED)) {
+            // the cached topic proxies belong to the instance being shut down
+            publishers.clear();
+        }
     }
     
 }
@@ -0,0 +1,83 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts recorded values in buckets with power of two upper bounds
+ * @author Payara Foundation
+ */
+final class Histogram {
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param bucketCount number of buckets, the last one counts all values above {@code 2^(bucketCount - 2)}
+     */
+    Histogram(int bucketCount) {
+        buckets = new AtomicLongArray(bucketCount);
+    }
+
+    void record(long value) {
+        int bucket = value <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(value - 1);
+        buckets.incrementAndGet(Math.min(bucket, buckets.length() - 1));
+        count.increment();
+        max.accumulate(value);
+    }
+
+    /**
+     * Collects the buckets as {@code <name>UpTo<bound>}, and {@code <name>Count} and {@code <name>Max}.
+     */
+    void collect(MonitoringDataCollector collector, String name) {
+        int last = buckets.length() - 1;
+        for (int i = 0; i < last; i++) {
+            collector.collect(name + "UpTo" + (1L << i), buckets.get(i));
+        }
+        collector.collect(name + "Over" + (1L << (last - 1)), buckets.get(last));
+        collector.collect(name + "Count", count.sum());
+        collector.collect(name + "Max", max.get());
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,11 +39,18 @@
  */
 package fish.payara.nucleus.eventbus;
 
+import com.hazelcast.cluster.Member;
 import com.hazelcast.topic.Message;
 import com.hazelcast.topic.MessageListener;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  *
@@ -51,9 +58,13 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class TopicListener implements MessageListener {
     
+    private static final Logger logger = Logger.getLogger(TopicListener.class.getCanonicalName());
+
     private final String topicName;
     private UUID registrationID;
     private final Set<MessageReceiver> receivers;
+    private final Queue<ClusterMessage> localMessages = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean deliveringLocally = new AtomicBoolean();
 
     public TopicListener(String topicName) {
         this.topicName = topicName;
@@ -77,10 +88,56 @@ public class TopicListener implements MessageListener {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void onMessage(Message msg) {
+        Member publisher = msg.getPublishingMember();
+        if (publisher != null && publisher.localMember()) {
+            // already handed to the receivers by deliverLocally
+            return;
+        }
+        deliver((ClusterMessage) msg.getMessageObject());
+    }
+
+    /**
+     * Delivers a message published by this member to the receivers without it being serialized. Messages are
+     * delivered asynchronously in the order they were published. The receivers get the published instance itself,
+     * not a copy, so they see any later change the publisher makes to it.
+     * @param message the message published
+     * @param executor executor to deliver the messages on
+     */
+    void deliverLocally(ClusterMessage message, Executor executor) {
+        localMessages.add(message);
+        if (deliveringLocally.compareAndSet(false, true)) {
+            executor.execute(this::deliverLocalMessages);
+        }
+    }
+
+    private void deliverLocalMessages() {
+        do {
+            try {
+                ClusterMessage message;
+                while ((message = localMessages.poll()) != null) {
+                    try {
+                        deliver(message);
+                    } catch (RuntimeException ex) {
+                        logger.log(Level.WARNING, "Error delivering message on topic " + topicName, ex);
+                    }
+                }
+            } finally {
+                deliveringLocally.set(false);
+            }
+        } while (!localMessages.isEmpty() && deliveringLocally.compareAndSet(false, true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(ClusterMessage message) {
+        if (message instanceof ClusterMessageBatch) {
+            for (ClusterMessage<?> batched : ((ClusterMessageBatch) message).getPayload()) {
+                deliver(batched);
+            }
+            return;
+        }
         for (MessageReceiver receiver : receivers) {
-            receiver.receiveMessage((ClusterMessage)msg.getMessageObject());
+            receiver.receiveMessage(message);
         }
     }
 
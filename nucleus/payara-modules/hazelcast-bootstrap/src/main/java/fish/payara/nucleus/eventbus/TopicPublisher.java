@@ -0,0 +1,218 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import com.hazelcast.topic.ITopic;
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+import fish.payara.nucleus.executorservice.PayaraExecutorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.glassfish.internal.api.JavaEEContextUtil;
+import org.glassfish.internal.api.JavaEEContextUtil.Context;
+
+/**
+ * Publishes the messages of one topic, sending the messages queued up while a previous message was published, or
+ * within the configured delay, as one {@link ClusterMessageBatch}.
+ * <p>
+ * The payloads are serialized by the thread that sends them. Each message remembers the component it was published
+ * from, and is sent within the context of that component, so that the receiving members deserialize it with the
+ * class loader of the same application. A batch only holds messages published from the same component.
+ * @author Payara Foundation
+ */
+final class TopicPublisher {
+
+    private static final Logger logger = Logger.getLogger(TopicPublisher.class.getCanonicalName());
+
+    private final ITopic<ClusterMessage<?>> topic;
+    private final PayaraExecutorService executor;
+    private final JavaEEContextUtil ctxUtil;
+    private final int maxBatchSize;
+    private final long maxDelay;
+
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    /**
+     * Microseconds from {@link #publish(ClusterMessage, Consumer)} until the message was handed to Hazelcast
+     */
+    private final Histogram publishLatency = new Histogram(22);
+    private final Histogram batchSize = new Histogram(10);
+    private final LongAdder failed = new LongAdder();
+
+    TopicPublisher(ITopic<ClusterMessage<?>> topic, PayaraExecutorService executor, JavaEEContextUtil ctxUtil,
+            int maxBatchSize, long maxDelay) {
+        this.topic = topic;
+        this.executor = executor;
+        this.ctxUtil = ctxUtil;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Queues the message to be sent.
+     * @param message the message to send
+     * @param failureHandler called with the exception if the message could not be sent, may be null
+     */
+    void publish(ClusterMessage<?> message, Consumer<? super RuntimeException> failureHandler) {
+        pending.add(new Pending(message, ctxUtil.getInvocationComponentId(), failureHandler));
+        if (flushing.compareAndSet(false, true)) {
+            if (maxDelay > 0) {
+                executor.schedule(this::flush, maxDelay, TimeUnit.MILLISECONDS);
+            } else {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Publishes all pending messages, must only be called by the thread that set {@link #flushing}
+     */
+    void flush() {
+        do {
+            try {
+                List<Pending> batch = new ArrayList<>();
+                Pending next;
+                while ((next = pending.poll()) != null) {
+                    if (!batch.isEmpty() && !Objects.equals(batch.get(0).componentId, next.componentId)) {
+                        send(batch);
+                        batch = new ArrayList<>();
+                    }
+                    batch.add(next);
+                    if (batch.size() == maxBatchSize) {
+                        send(batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+            } finally {
+                flushing.set(false);
+            }
+            // messages added after the queue was found empty but before the flag was cleared
+        } while (!pending.isEmpty() && flushing.compareAndSet(false, true));
+    }
+
+    /**
+     * Sends messages published from the same component.
+     */
+    private void send(List<Pending> batch) {
+        String componentId = batch.get(0).componentId;
+        try {
+            if (Objects.equals(componentId, ctxUtil.getInvocationComponentId())) {
+                publish(batch);
+            } else {
+                JavaEEContextUtil.Instance component = componentId == null
+                        ? ctxUtil.empty() : ctxUtil.fromComponentId(componentId);
+                try (Context ctx = component.pushContext()) {
+                    publish(batch);
+                }
+            }
+        } catch (RuntimeException ex) {
+            failed.add(batch.size());
+            logger.log(Level.WARNING, "Unable to publish " + batch.size() + " messages to " + topic.getName(), ex);
+            for (Pending message : batch) {
+                if (message.failureHandler != null) {
+                    try {
+                        message.failureHandler.accept(ex);
+                    } catch (RuntimeException handlerEx) {
+                        logger.log(Level.WARNING, "Error handling failure to publish to " + topic.getName(), handlerEx);
+                    }
+                }
+            }
+            return;
+        }
+        long now = System.nanoTime();
+        batchSize.record(batch.size());
+        for (Pending message : batch) {
+            publishLatency.record(TimeUnit.NANOSECONDS.toMicros(now - message.queuedAt));
+        }
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Published {0} messages to {1}", new Object[]{batch.size(), topic.getName()});
+        }
+    }
+
+    private void publish(List<Pending> batch) {
+        if (batch.size() == 1) {
+            topic.publish(batch.get(0).message);
+        } else {
+            List<ClusterMessage<?>> messages = new ArrayList<>(batch.size());
+            for (Pending message : batch) {
+                messages.add(message.message);
+            }
+            topic.publish(new ClusterMessageBatch(messages));
+        }
+    }
+
+    /**
+     * @return the number of messages that could not be sent
+     */
+    long getFailedCount() {
+        return failed.sum();
+    }
+
+    void collect(MonitoringDataCollector collector) {
+        publishLatency.collect(collector, "PublishLatencyMicros");
+        batchSize.collect(collector, "BatchSize");
+        collector.collect("FailedCount", failed.sum());
+    }
+
+    private static final class Pending {
+        final ClusterMessage<?> message;
+        final String componentId;
+        final Consumer<? super RuntimeException> failureHandler;
+        final long queuedAt = System.nanoTime();
+
+        Pending(ClusterMessage<?> message, String componentId, Consumer<? super RuntimeException> failureHandler) {
+            this.message = message;
+            this.componentId = componentId;
+            this.failureHandler = failureHandler;
+        }
+    }
+}
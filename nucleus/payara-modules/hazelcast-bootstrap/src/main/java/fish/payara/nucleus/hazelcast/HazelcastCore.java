@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2024 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -73,6 +73,7 @@ import com.hazelcast.nio.serialization.Serializer;
 import com.hazelcast.nio.serialization.StreamSerializer;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.sun.enterprise.util.Utility;
+import fish.payara.nucleus.eventbus.ClusterMessageFactory;
 import fish.payara.nucleus.events.HazelcastEvents;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
@@ -448,6 +449,7 @@ public class HazelcastCore implements EventListener, ConfigListener {
 
                 config.setProperty("hazelcast.jmx", "true");
             }
+            ClusterMessageFactory.register(config.getSerializationConfig());
             if (config.getCPSubsystemConfig().getCPMemberCount() == 0) {
                 config.getCPSubsystemConfig().setCPMemberCount(Integer.getInteger("hazelcast.cp-subsystem.cp-member-count", 0));
             }
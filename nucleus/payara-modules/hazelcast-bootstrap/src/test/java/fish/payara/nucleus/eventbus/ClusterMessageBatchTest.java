@@ -0,0 +1,94 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ClusterMessageBatchTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder()
+            .addDataSerializableFactory(ClusterMessageFactory.FACTORY_ID, new ClusterMessageFactory())
+            .build();
+
+    private <T> T roundTrip(Object message) {
+        return serializationService.toObject(serializationService.toData(message));
+    }
+
+    @Test
+    public void batchKeepsMessagesInOrder() {
+        ArrayList<String> list = new ArrayList<>(Arrays.asList("x", "y"));
+        ClusterMessageBatch batch = new ClusterMessageBatch(Arrays.asList(
+                new ClusterMessage<>("a"), new ClusterMessage<>(42), new ClusterMessage<>(list)));
+
+        ClusterMessageBatch read = roundTrip(batch);
+
+        ClusterMessage<?>[] messages = read.getPayload();
+        assertEquals(3, messages.length);
+        assertEquals("a", messages[0].getPayload());
+        assertEquals(42, messages[1].getPayload());
+        assertEquals(list, messages[2].getPayload());
+        assertSame(ClusterMessage.class, messages[0].getClass());
+    }
+
+    @Test
+    public void batchMayContainNullPayloads() {
+        ClusterMessageBatch read = roundTrip(new ClusterMessageBatch(Arrays.asList(
+                new ClusterMessage<>(null), new ClusterMessage<>("b"))));
+
+        assertNull(read.getPayload()[0].getPayload());
+        assertEquals("b", read.getPayload()[1].getPayload());
+    }
+
+    @Test
+    public void emptyBatch() {
+        ClusterMessageBatch read = roundTrip(new ClusterMessageBatch(Collections.emptyList()));
+
+        assertEquals(0, read.getPayload().length);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ClusterMessageFactoryTest {
+
+    private static InternalSerializationService serializationService() {
+        SerializationConfig config = new SerializationConfig();
+        ClusterMessageFactory.register(config);
+        return new DefaultSerializationServiceBuilder().setConfig(config).build();
+    }
+
+    @Test
+    public void messageIsWrittenWithFactoryAndClassId() {
+        InternalSerializationService serializationService = serializationService();
+        ClusterMessage<String> message = new ClusterMessage<>("payload");
+
+        Data data = serializationService.toData(message);
+        ClusterMessage<?> read = serializationService.toObject(data);
+
+        assertEquals(SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE, data.getType());
+        assertSame(ClusterMessage.class, read.getClass());
+        assertEquals("payload", read.getPayload());
+    }
+
+    @Test
+    public void batchIsWrittenWithFactoryAndClassId() {
+        InternalSerializationService serializationService = serializationService();
+        ClusterMessageBatch batch = new ClusterMessageBatch(Arrays.asList(
+                new ClusterMessage<>("a"), new ClusterMessage<>("b")));
+
+        Data data = serializationService.toData(batch);
+        ClusterMessage<?> read = serializationService.toObject(data);
+
+        assertEquals(SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE, data.getType());
+        assertSame(ClusterMessageBatch.class, read.getClass());
+        ClusterMessage<?>[] messages = ((ClusterMessageBatch) read).getPayload();
+        assertEquals("a", messages[0].getPayload());
+        assertEquals("b", messages[1].getPayload());
+    }
+
+    @Test
+    public void javaSerializedMessagesOfEarlierVersionsCanBeRead() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ClusterMessage<>("payload"));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals("payload", ((ClusterMessage<?>) in.readObject()).getPayload());
+        }
+    }
+
+    @Test
+    public void registeringTwiceKeepsTheFactory() {
+        SerializationConfig config = new SerializationConfig();
+        ClusterMessageFactory.register(config);
+        ClusterMessageFactory.register(config);
+
+        assertTrue(config.getDataSerializableFactories().get(ClusterMessageFactory.FACTORY_ID)
+                instanceof ClusterMessageFactory);
+    }
+
+    @Test
+    public void configuredFactoryClassOfTheEventBusIsReplaced() {
+        SerializationConfig config = new SerializationConfig();
+        config.addDataSerializableFactoryClass(ClusterMessageFactory.FACTORY_ID, ClusterMessageFactory.class);
+        ClusterMessageFactory.register(config);
+
+        assertNull(config.getDataSerializableFactoryClasses().get(ClusterMessageFactory.FACTORY_ID));
+        assertTrue(config.getDataSerializableFactories().get(ClusterMessageFactory.FACTORY_ID)
+                instanceof ClusterMessageFactory);
+    }
+
+    @Test
+    public void otherFactoryWithTheSameIdIsRejected() {
+        SerializationConfig config = new SerializationConfig();
+        config.addDataSerializableFactory(ClusterMessageFactory.FACTORY_ID, typeId -> null);
+        try {
+            ClusterMessageFactory.register(config);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains(String.valueOf(ClusterMessageFactory.FACTORY_ID)));
+        }
+    }
+
+    @Test
+    public void otherFactoryClassWithTheSameIdIsRejected() {
+        SerializationConfig config = new SerializationConfig();
+        config.addDataSerializableFactoryClass(ClusterMessageFactory.FACTORY_ID, "com.example.UserFactory");
+        try {
+            ClusterMessageFactory.register(config);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("com.example.UserFactory"));
+        }
+    }
+
+    @Test
+    public void unknownClassIdCreatesNothing() {
+        assertNull(new ClusterMessageFactory().create(3));
+    }
+}
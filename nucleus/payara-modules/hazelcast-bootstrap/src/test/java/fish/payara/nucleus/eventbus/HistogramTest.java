@@ -0,0 +1,94 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HistogramTest {
+
+    /**
+     * @return a collector that puts the collected values into the map
+     */
+    static MonitoringDataCollector collectInto(Map<String, Long> values) {
+        return (MonitoringDataCollector) Proxy.newProxyInstance(HistogramTest.class.getClassLoader(),
+                new Class<?>[] { MonitoringDataCollector.class }, (proxy, method, args) -> {
+                    if ("collect".equals(method.getName()) && args.length == 2 && args[1] instanceof Long) {
+                        values.put(args[0].toString(), (Long) args[1]);
+                    }
+                    return method.getReturnType().isInstance(proxy) ? proxy : null;
+                });
+    }
+
+    @Test
+    public void valuesAreCountedInPowerOfTwoBuckets() {
+        Histogram histogram = new Histogram(4);
+        for (long value : new long[] { 0, 1, 2, 3, 4, 5, 100 }) {
+            histogram.record(value);
+        }
+        Map<String, Long> values = new HashMap<>();
+        histogram.collect(collectInto(values), "Size");
+
+        assertEquals(Long.valueOf(2), values.get("SizeUpTo1"));
+        assertEquals(Long.valueOf(1), values.get("SizeUpTo2"));
+        assertEquals(Long.valueOf(2), values.get("SizeUpTo4"));
+        assertEquals(Long.valueOf(2), values.get("SizeOver4"));
+        assertEquals(Long.valueOf(7), values.get("SizeCount"));
+        assertEquals(Long.valueOf(100), values.get("SizeMax"));
+        assertEquals(6, values.size());
+    }
+
+    @Test
+    public void emptyHistogramCollectsZeros() {
+        Map<String, Long> values = new HashMap<>();
+        new Histogram(3).collect(collectInto(values), "Latency");
+
+        assertEquals(Long.valueOf(0), values.get("LatencyUpTo1"));
+        assertEquals(Long.valueOf(0), values.get("LatencyUpTo2"));
+        assertEquals(Long.valueOf(0), values.get("LatencyOver2"));
+        assertEquals(Long.valueOf(0), values.get("LatencyCount"));
+        assertEquals(Long.valueOf(0), values.get("LatencyMax"));
+    }
+}
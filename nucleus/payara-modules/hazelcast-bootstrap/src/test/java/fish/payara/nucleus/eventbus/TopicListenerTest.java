@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TopicListenerTest {
+
+    private final TopicListener listener = new TopicListener("test");
+    private final List<Object> received = new ArrayList<>();
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    public void localMessagesAreDeliveredInPublishOrder() {
+        listener.addMessageReceiver(message -> received.add(message.getPayload()));
+        listener.deliverLocally(new ClusterMessage<>("a"), tasks::add);
+        listener.deliverLocally(new ClusterMessageBatch(Arrays.asList(
+                new ClusterMessage<>("b"), new ClusterMessage<>("c"))), tasks::add);
+        listener.deliverLocally(new ClusterMessage<>("d"), tasks::add);
+
+        assertEquals("one delivery task for messages published while it is pending", 1, tasks.size());
+        runTasks();
+        assertEquals(Arrays.asList("a", "b", "c", "d"), received);
+    }
+
+    @Test
+    public void receiversGetThePublishedInstance() {
+        List<ClusterMessage<?>> messages = new ArrayList<>();
+        listener.addMessageReceiver(messages::add);
+        ClusterMessage<ArrayList<String>> message = new ClusterMessage<>(new ArrayList<>());
+        listener.deliverLocally(message, tasks::add);
+        runTasks();
+
+        assertSame(message, messages.get(0));
+        assertSame(message.getPayload(), messages.get(0).getPayload());
+    }
+
+    @Test
+    public void failingReceiverDoesNotStopDelivery() {
+        listener.addMessageReceiver(message -> {
+            if ("a".equals(message.getPayload())) {
+                throw new IllegalStateException();
+            }
+            received.add(message.getPayload());
+        });
+        listener.deliverLocally(new ClusterMessage<>("a"), tasks::add);
+        listener.deliverLocally(new ClusterMessage<>("b"), tasks::add);
+        runTasks();
+
+        assertEquals(Arrays.asList("b"), received);
+    }
+
+    @Test
+    public void concurrentlyPublishedMessagesKeepThePublishersOrder() throws InterruptedException {
+        List<Object> delivered = new ArrayList<>();
+        listener.addMessageReceiver(message -> {
+            synchronized (delivered) {
+                delivered.add(message.getPayload());
+            }
+        });
+        int publishers = 4;
+        int messages = 1000;
+        ExecutorService pool = Executors.newFixedThreadPool(publishers + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(publishers);
+            for (int p = 0; p < publishers; p++) {
+                int publisher = p;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < messages; i++) {
+                            listener.deliverLocally(new ClusterMessage<>(publisher + ":" + i), pool);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (size(delivered) < publishers * messages && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(publishers * messages, delivered.size());
+        int[] next = new int[publishers];
+        for (Object payload : delivered) {
+            String[] parts = payload.toString().split(":");
+            int publisher = Integer.parseInt(parts[0]);
+            assertEquals(next[publisher]++, Integer.parseInt(parts[1]));
+        }
+    }
+
+    private static int size(List<Object> list) {
+        synchronized (list) {
+            return list.size();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.eventbus;
+
+import com.hazelcast.topic.ITopic;
+import fish.payara.nucleus.executorservice.PayaraExecutorService;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.internal.api.JavaEEContextUtil;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TopicPublisherTest {
+
+    /**
+     * The component of the current invocation, as seen by {@link #ctxUtil}
+     */
+    private final ThreadLocal<String> component = new ThreadLocal<>();
+    private final JavaEEContextUtil ctxUtil = contextUtil();
+
+    /**
+     * The messages handed to the topic, with the component they were sent in
+     */
+    private final List<Object> published = new ArrayList<>();
+    private final List<String> publishedIn = new ArrayList<>();
+    private RuntimeException publishFailure;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final PayaraExecutorService executor = new PayaraExecutorService() {
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            scheduled.add(command);
+            return null;
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private final ITopic<ClusterMessage<?>> topic = (ITopic<ClusterMessage<?>>) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] { ITopic.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                        return "test";
+                    case "publish":
+                        if (publishFailure != null) {
+                            throw publishFailure;
+                        }
+                        published.add(args[0]);
+                        publishedIn.add(component.get());
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    private JavaEEContextUtil contextUtil() {
+        return (JavaEEContextUtil) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { JavaEEContextUtil.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInvocationComponentId":
+                            return component.get();
+                        case "empty":
+                            return instance(null);
+                        case "fromComponentId":
+                            return instance((String) args[0]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private JavaEEContextUtil.Instance instance(String componentId) {
+        return (JavaEEContextUtil.Instance) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { JavaEEContextUtil.Instance.class }, (proxy, method, args) -> {
+                    if (!"pushContext".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String previous = component.get();
+                    component.set(componentId);
+                    return (JavaEEContextUtil.Context) () -> component.set(previous);
+                });
+    }
+
+    private TopicPublisher publisher(int maxBatchSize, long maxDelay) {
+        return new TopicPublisher(topic, executor, ctxUtil, maxBatchSize, maxDelay);
+    }
+
+    private static ClusterMessage<String> message(String body) {
+        return new ClusterMessage<>(body);
+    }
+
+    private void publishIn(TopicPublisher publisher, String componentId, ClusterMessage<?>... messages) {
+        component.set(componentId);
+        try {
+            for (ClusterMessage<?> message : messages) {
+                publisher.publish(message, null);
+            }
+        } finally {
+            component.remove();
+        }
+    }
+
+    private void runScheduled() {
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+    }
+
+    private List<ClusterMessage<?>> batchAt(int index) {
+        return Arrays.asList(((ClusterMessageBatch) published.get(index)).getPayload());
+    }
+
+    @Test
+    public void singleMessageIsPublishedWithoutBatch() {
+        ClusterMessage<String> message = message("a");
+        publishIn(publisher(64, 0), "app", message);
+
+        assertEquals(singletonList(message), published);
+        assertEquals(singletonList("app"), publishedIn);
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    public void messagesWithinDelayArePublishedAsBatchesInOrder() {
+        TopicPublisher publisher = publisher(2, 10);
+        ClusterMessage<String> a = message("a");
+        ClusterMessage<String> b = message("b");
+        ClusterMessage<String> c = message("c");
+        publishIn(publisher, "app", a, b, c);
+        assertTrue(published.isEmpty());
+
+        runScheduled();
+        assertEquals(2, published.size());
+        assertEquals(Arrays.asList(a, b), batchAt(0));
+        assertSame(c, published.get(1));
+    }
+
+    @Test
+    public void batchesAreSentWithinTheComponentMessagesWerePublishedFrom() {
+        TopicPublisher publisher = publisher(64, 10);
+        ClusterMessage<String> a1 = message("a1");
+        ClusterMessage<String> a2 = message("a2");
+        ClusterMessage<String> b = message("b");
+        ClusterMessage<String> none = message("none");
+        ClusterMessage<String> a3 = message("a3");
+        publishIn(publisher, "a", a1, a2);
+        publishIn(publisher, "b", b);
+        publishIn(publisher, null, none);
+        publishIn(publisher, "a", a3);
+
+        runScheduled();
+        assertEquals(Arrays.asList("a", "b", null, "a"), publishedIn);
+        assertEquals(Arrays.asList(a1, a2), batchAt(0));
+        assertEquals(Arrays.asList(b, none, a3), published.subList(1, 4));
+        assertNull("flushing thread context is restored", component.get());
+    }
+
+    @Test
+    public void failureIsCountedAndReportedForEveryMessageOfTheBatch() {
+        TopicPublisher publisher = publisher(64, 10);
+        publishFailure = new IllegalStateException("hazelcast down");
+        List<RuntimeException> reported = new ArrayList<>();
+        component.set("app");
+        publisher.publish(message("a"), reported::add);
+        publisher.publish(message("b"), null);
+        publisher.publish(message("c"), reported::add);
+        component.remove();
+
+        runScheduled();
+        assertEquals(Arrays.asList(publishFailure, publishFailure), reported);
+        assertEquals(3, publisher.getFailedCount());
+
+        Map<String, Long> values = new HashMap<>();
+        publisher.collect(HistogramTest.collectInto(values));
+        assertEquals(Long.valueOf(3), values.get("FailedCount"));
+        assertEquals(Long.valueOf(0), values.get("BatchSizeCount"));
+    }
+
+    @Test
+    public void failingFailureHandlerDoesNotStopOtherHandlers() {
+        TopicPublisher publisher = publisher(64, 10);
+        publishFailure = new IllegalStateException("hazelcast down");
+        List<RuntimeException> reported = new ArrayList<>();
+        publisher.publish(message("a"), ex -> {
+            throw new IllegalArgumentException();
+        });
+        publisher.publish(message("b"), reported::add);
+
+        runScheduled();
+        assertEquals(singletonList(publishFailure), reported);
+    }
+
+    @Test
+    public void publishedMessagesAreRecorded() {
+        TopicPublisher publisher = publisher(64, 10);
+        publishIn(publisher, null, message("a"), message("b"), message("c"));
+        runScheduled();
+
+        Map<String, Long> values = new HashMap<>();
+        publisher.collect(HistogramTest.collectInto(values));
+        assertEquals(Long.valueOf(1), values.get("BatchSizeCount"));
+        assertEquals(Long.valueOf(3), values.get("BatchSizeMax"));
+        assertEquals(Long.valueOf(3), values.get("PublishLatencyMicrosCount"));
+        assertEquals(Long.valueOf(0), values.get("FailedCount"));
+    }
+}
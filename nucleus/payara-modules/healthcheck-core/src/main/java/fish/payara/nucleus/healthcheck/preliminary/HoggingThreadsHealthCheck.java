@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2022 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -49,6 +49,7 @@ import fish.payara.monitoring.collect.MonitoringWatchSource;
 import fish.payara.notification.healthcheck.HealthCheckResultEntry;
 import fish.payara.notification.healthcheck.HealthCheckResultStatus;
 import fish.payara.nucleus.healthcheck.configuration.HoggingThreadsChecker;
+import fish.payara.nucleus.healthcheck.preliminary.ThreadCpuSampler.HoggingThreadConsumer;
 import org.glassfish.api.StartupRunLevel;
 import org.glassfish.hk2.runlevel.RunLevel;
 import org.jvnet.hk2.annotations.Service;
@@ -56,10 +57,6 @@ import org.jvnet.hk2.annotations.Service;
 import jakarta.annotation.PostConstruct;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
-import java.lang.management.ThreadMXBean;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -77,49 +74,9 @@ public class HoggingThreadsHealthCheck
         extends BaseHealthCheck<HealthCheckHoggingThreadsExecutionOptions, HoggingThreadsChecker>
         implements MonitoringDataSource, MonitoringWatchSource {
 
-    @FunctionalInterface
-    private interface HoggingThreadConsumer {
-
-        void accept(int percentage, int threshold, long totalTimeHogging, String initialMethod, ThreadInfo info);
-    }
-
-    /**
-     * Book-keeping record for each thread. All times are in milliseconds.
-     */
-    private static final class ThreadCpuTimeRecord {
-
-        ThreadCpuTimeRecord() {
-            // make visible
-        }
-
-        /**
-         * Timestamp in milliseconds from when the measuring interval started
-         */
-        long startOfIntervalTimestamp;
-        /**
-         * Total number of milliseconds spend by the thread doing CPU at the start of the measuring interval.
-         * This is not zero as only ever increases from zero after the thread has been created.
-         */
-        long startOfIntervalCpuTime;
-        /**
-         * Timestamp in milliseconds from when the thread first exceeded the threshold and was identified as "hogging".
-         */
-        long startOfExceedingThresholdTimestamp;
-        /**
-         * Number of times in a row the check has identified the thread as "hogging"
-         */
-        int identifiedAsHoggingCount;
-        /**
-         * This is the method on top of the stack trace when thread first is identified as "hogging". This method is the
-         * most likely candidate. Using the "current" method often is misleading as worker threads at some point get
-         * back to idle in the pool which would show the parking as the last method.
-         */
-        String identifiedAsHoggingMethod;
-    }
-
     private boolean supported;
-    private final Map<Long, ThreadCpuTimeRecord> checkRecordsByThreadId = new ConcurrentHashMap<>();
-    private final Map<Long, ThreadCpuTimeRecord> colletionRecordsByThreadId = new ConcurrentHashMap<>();
+    private final ThreadCpuSampler checkSampler = new ThreadCpuSampler(ManagementFactory.getThreadMXBean());
+    private final ThreadCpuSampler collectionSampler = new ThreadCpuSampler(ManagementFactory.getThreadMXBean());
 
     @PostConstruct
     void postConstruct() {
@@ -149,7 +106,7 @@ public class HoggingThreadsHealthCheck
                     " not support getting CPU times"));
             return result;
         }
-        acceptHoggingThreads(checkRecordsByThreadId,
+        acceptHoggingThreads(checkSampler,
                 (percentage, threshold, totalTimeHogging, initialMethod, info) ->
                     result.add(new HealthCheckResultEntry(HealthCheckResultStatus.CRITICAL,
                             "Thread with <id-name>: " + info.getThreadId() + "-" + info.getThreadName() +
@@ -167,7 +124,7 @@ public class HoggingThreadsHealthCheck
         }
         AtomicInteger hoggingThreadCount = new AtomicInteger(0);
         AtomicLong hoggingThreadMaxDuration = new AtomicLong(0L);
-        acceptHoggingThreads(colletionRecordsByThreadId,
+        acceptHoggingThreads(collectionSampler,
                 (percentage, threshold, totalTimeHogging, initialMethod, info) -> {
                     String thread = info.getThreadName();
                     if (thread == null || thread.isEmpty()) {
@@ -198,61 +155,11 @@ public class HoggingThreadsHealthCheck
             .red(1, -2, false, null, null, false);
     }
 
-    private void acceptHoggingThreads(Map<Long, ThreadCpuTimeRecord> recordsById, HoggingThreadConsumer consumer) {
-        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
-        final long now = System.currentTimeMillis();
-        final long currentThreadId = Thread.currentThread().getId();
-        final int retryCount = options.getRetryCount();
-        final int threshold = options.getThresholdPercentage().intValue();
-        for (long threadId : bean.getAllThreadIds()) {
-            if (threadId != currentThreadId) {
-                final long cpuTimeInNanos = bean.getThreadCpuTime(threadId);
-                if (cpuTimeInNanos == -1)
-                    continue;
-                long cpuTime = TimeUnit.NANOSECONDS.toMillis(cpuTimeInNanos);
-                // from here all times are in millis
-                ThreadCpuTimeRecord record = recordsById.get(threadId);
-                if (record == null) {
-                    record = new ThreadCpuTimeRecord();
-                    recordsById.put(threadId, record);
-                } else {
-                    acceptHoggingThread(bean, now, retryCount, threshold, threadId, cpuTime, record, consumer);
-                }
-                record.startOfIntervalTimestamp = now;
-                record.startOfIntervalCpuTime = cpuTime;
-            }
-        }
-    }
-
-    private static void acceptHoggingThread(final ThreadMXBean bean, final long now, final int retryCount, final int threshold,
-            long threadId, long cpuTime, ThreadCpuTimeRecord record, HoggingThreadConsumer consumer) {
-        long intervalLength = now - record.startOfIntervalTimestamp;
-        long intervalCpuTime = cpuTime - record.startOfIntervalCpuTime;
-        if (intervalLength <= 0) {
-            return;
-        }
-        int percentage = (int) (intervalCpuTime * 100L / intervalLength);
-        if (percentage > threshold) {
-            if (record.identifiedAsHoggingCount == 0) {
-                record.startOfExceedingThresholdTimestamp = record.startOfIntervalTimestamp;
-                record.identifiedAsHoggingMethod = getMethod(bean.getThreadInfo(threadId, 1));
-            }
-            record.identifiedAsHoggingCount++;
-            if (record.identifiedAsHoggingCount > retryCount) {
-                ThreadInfo info = bean.getThreadInfo(threadId, 1);
-                long totalTimeHogging = now - record.startOfExceedingThresholdTimestamp;
-                consumer.accept(percentage, threshold, totalTimeHogging, record.identifiedAsHoggingMethod, info);
-            }
-        } else {
-            record.identifiedAsHoggingCount = 0;
-        }
+    private void acceptHoggingThreads(ThreadCpuSampler sampler, HoggingThreadConsumer consumer) {
+        sampler.sample(options.getThresholdPercentage().intValue(), options.getRetryCount(), consumer);
     }
 
     static String getMethod(ThreadInfo info) {
-        if (info.getStackTrace().length == 0) {
-            return "?";
-        }
-        StackTraceElement frame = info.getStackTrace()[0];
-        return frame.getClassName() + "#" + frame.getMethodName() + ":" + frame.getLineNumber();
+        return ThreadCpuSampler.getMethod(info);
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.healthcheck.preliminary;
+
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the CPU time of all live threads to identify "hogging" threads.
+ * <p>
+ * The book-keeping of each sample is held in primitive arrays that are indexed in the order of the sorted thread IDs,
+ * so a sample does not allocate objects per thread. Thread information is only requested for the threads that
+ * exceeded the threshold, in a single batched call with a bounded stack depth, as each such call brings the JVM to a
+ * safepoint.
+ *
+ * @author Payara Foundation
+ */
+final class ThreadCpuSampler {
+
+    /**
+     * Maximum number of stack frames captured for a thread that exceeded the threshold.
+     */
+    static final int MAX_STACK_DEPTH = 16;
+
+    @FunctionalInterface
+    interface HoggingThreadConsumer {
+
+        void accept(int percentage, int threshold, long totalTimeHogging, String initialMethod, ThreadInfo info);
+    }
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final ThreadMXBean bean;
+
+    /**
+     * Timestamp in milliseconds of the previous sample
+     */
+    private long sampleTimestamp;
+    /**
+     * Sorted IDs of the threads in the previous sample
+     */
+    private long[] threadIds = NO_IDS;
+    /**
+     * Total number of milliseconds spend by each thread doing CPU at the previous sample, -1 if unknown
+     */
+    private long[] cpuTimes = NO_IDS;
+    /**
+     * Timestamp in milliseconds from when each thread first exceeded the threshold and was identified as "hogging".
+     */
+    private long[] hoggingSince = NO_IDS;
+    /**
+     * Number of times in a row each thread has been identified as "hogging"
+     */
+    private int[] hoggingCounts = new int[0];
+    /**
+     * This is the method on top of the stack trace when the thread first was identified as "hogging". This method is
+     * the most likely candidate. Using the "current" method often is misleading as worker threads at some point get
+     * back to idle in the pool which would show the parking as the last method.
+     */
+    private String[] hoggingMethods = new String[0];
+
+    ThreadCpuSampler(ThreadMXBean bean) {
+        this.bean = bean;
+    }
+
+    /**
+     * Takes a sample and passes each thread that exceeded the threshold more than retry count times in a row to the
+     * consumer. The first sample only establishes the baseline.
+     *
+     * @param threshold CPU usage in percent of the sampling interval above which a thread is "hogging"
+     * @param retryCount number of times a thread has to be "hogging" in a row before it is accepted
+     * @param consumer receives the hogging threads
+     */
+    synchronized void sample(int threshold, int retryCount, HoggingThreadConsumer consumer) {
+        final long now = System.currentTimeMillis();
+        final long currentThreadId = Thread.currentThread().getId();
+        final long intervalLength = now - sampleTimestamp;
+        final long[] ids = bean.getAllThreadIds();
+        Arrays.sort(ids);
+        final int count = ids.length;
+        final long[] times = new long[count];
+        final long[] since = new long[count];
+        final int[] counts = new int[count];
+        final String[] methods = new String[count];
+        final int[] candidates = new int[count];
+        final int[] percentages = new int[count];
+        int candidateCount = 0;
+        for (int i = 0; i < count; i++) {
+            long threadId = ids[i];
+            long cpuTimeInNanos = threadId == currentThreadId ? -1 : bean.getThreadCpuTime(threadId);
+            times[i] = cpuTimeInNanos == -1 ? -1 : TimeUnit.NANOSECONDS.toMillis(cpuTimeInNanos);
+            int previous = Arrays.binarySearch(threadIds, threadId);
+            if (times[i] == -1 || previous < 0 || cpuTimes[previous] == -1 || intervalLength <= 0) {
+                continue;
+            }
+            int percentage = (int) ((times[i] - cpuTimes[previous]) * 100L / intervalLength);
+            if (percentage > threshold) {
+                counts[i] = hoggingCounts[previous] + 1;
+                since[i] = counts[i] == 1 ? sampleTimestamp : hoggingSince[previous];
+                methods[i] = hoggingMethods[previous];
+                percentages[candidateCount] = percentage;
+                candidates[candidateCount++] = i;
+            }
+        }
+        if (candidateCount > 0) {
+            long[] candidateIds = new long[candidateCount];
+            for (int j = 0; j < candidateCount; j++) {
+                candidateIds[j] = ids[candidates[j]];
+            }
+            ThreadInfo[] infos = bean.getThreadInfo(candidateIds, MAX_STACK_DEPTH);
+            for (int j = 0; j < candidateCount; j++) {
+                int i = candidates[j];
+                ThreadInfo info = infos[j];
+                if (info == null) { // thread has died since
+                    counts[i] = 0;
+                    continue;
+                }
+                if (methods[i] == null) {
+                    methods[i] = getMethod(info);
+                }
+                if (counts[i] > retryCount) {
+                    consumer.accept(percentages[j], threshold, now - since[i], methods[i], info);
+                }
+            }
+        }
+        sampleTimestamp = now;
+        threadIds = ids;
+        cpuTimes = times;
+        hoggingSince = since;
+        hoggingCounts = counts;
+        hoggingMethods = methods;
+    }
+
+    static String getMethod(ThreadInfo info) {
+        if (info.getStackTrace().length == 0) {
+            return "?";
+        }
+        StackTraceElement frame = info.getStackTrace()[0];
+        return frame.getClassName() + "#" + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+}
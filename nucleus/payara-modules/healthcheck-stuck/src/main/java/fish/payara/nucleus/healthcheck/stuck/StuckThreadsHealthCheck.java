@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -85,6 +85,11 @@ public class StuckThreadsHealthCheck extends
     private static final String STUCK_THREAD_COUNT = "count";
     private static final String STUCK_THREAD_MAX_DURATION = "maxDuration";
     private static final Set<String> VALID_SUB_ATTRIBUTES = Set.of(STUCK_THREAD_COUNT, STUCK_THREAD_MAX_DURATION);
+    /**
+     * Maximum number of stack frames captured for a stuck thread, matching the frames printed by
+     * {@link ThreadInfo#toString()}.
+     */
+    private static final int MAX_STACK_DEPTH = 8;
 
     @FunctionalInterface
     private interface StuckThreadConsumer {
@@ -203,16 +208,26 @@ public class StuckThreadsHealthCheck extends
         long thresholdInMillis = getThresholdInMillis();
         long now = System.currentTimeMillis();
         ConcurrentHashMap<Long, Long> threads = stuckThreadsStore.getThreads();
-        String[] blacklist = checker.getBlacklistPatterns().split(",");
+        long[] candidateIds = new long[threads.size()];
+        long[] workStartedTimes = new long[candidateIds.length];
+        int candidateCount = 0;
         for (Entry<Long, Long> thread : threads.entrySet()) {
-            Long threadId = thread.getKey();
             long workStartedTime = thread.getValue();
-            long timeWorkingInMillis = now - workStartedTime;
-            if (timeWorkingInMillis > thresholdInMillis){
-                ThreadInfo info = bean.getThreadInfo(threadId, Integer.MAX_VALUE);
-                if (info != null && !isInBlacklist(info.getThreadName(), blacklist)){ //check thread hasn't died already
-                    consumer.accept(workStartedTime, timeWorkingInMillis, thresholdInMillis, info);
-                }
+            if (now - workStartedTime > thresholdInMillis && candidateCount < candidateIds.length) {
+                candidateIds[candidateCount] = thread.getKey();
+                workStartedTimes[candidateCount++] = workStartedTime;
+            }
+        }
+        if (candidateCount == 0) {
+            return;
+        }
+        // a single batched call, each call to getThreadInfo brings the JVM to a safepoint
+        ThreadInfo[] infos = bean.getThreadInfo(Arrays.copyOf(candidateIds, candidateCount), MAX_STACK_DEPTH);
+        String[] blacklist = checker.getBlacklistPatterns().split(",");
+        for (int i = 0; i < candidateCount; i++) {
+            ThreadInfo info = infos[i];
+            if (info != null && !isInBlacklist(info.getThreadName(), blacklist)){ //check thread hasn't died already
+                consumer.accept(workStartedTimes[i], now - workStartedTimes[i], thresholdInMillis, info);
             }
         }
     }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -89,6 +89,12 @@ public class SetJDBCConfigSourceConfiguration implements AdminCommand {
     @Param
     private String valueColumnName;
 
+    @Param(optional = true)
+    private Integer pollInterval;
+
+    @Param(optional = true)
+    private String versionColumnName;
+
     @Inject
     private Target targetUtil;
 
@@ -123,6 +129,12 @@ public class SetJDBCConfigSourceConfiguration implements AdminCommand {
                 if (valueColumnName != null) {
                     configProxy.setValueColumnName(valueColumnName);
                 }
+                if (pollInterval != null) {
+                    configProxy.setPollInterval(pollInterval.toString());
+                }
+                if (versionColumnName != null) {
+                    configProxy.setVersionColumnName(versionColumnName);
+                }
                 actionReport.setActionExitCode(ActionReport.ExitCode.SUCCESS);
                 return configProxy;
             }, jdbcConfigSourceConfiguration);
@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.microprofile.config.source;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fish.payara.nucleus.microprofile.config.spi.ConfigProviderResolverImpl;
+import fish.payara.nucleus.microprofile.config.spi.JDBCConfigSourceConfiguration;
+
+/**
+ * Immutable snapshot of the whole JDBC config table, shared by all {@link JDBCConfigSource}s and reloaded in the
+ * background every poll interval. Lookups are plain reads of the current map.
+ * <p>
+ * If a version column is configured, each poll only reads its maximum value and the table is reloaded when that
+ * changed. After a reload only the cached values of the properties that were added, changed or removed are evicted
+ * from the configs.
+ */
+public class JDBCConfigSnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(JDBCConfigSnapshot.class.getName());
+
+    private final JDBCConfigSourceConfiguration configuration;
+    private final ConfigProviderResolverImpl configService;
+    private final long pollInterval;
+    private final ScheduledFuture<?> poller;
+
+    private volatile Map<String, String> values = Collections.emptyMap();
+    private String version;
+
+    public JDBCConfigSnapshot(JDBCConfigSourceConfiguration configuration, ConfigProviderResolverImpl configService,
+            long pollInterval) {
+        this.configuration = configuration;
+        this.configService = configService;
+        this.pollInterval = pollInterval;
+        refresh();
+        this.poller = configService.getExecutor().scheduleWithFixedDelay(this::refresh, pollInterval, pollInterval, SECONDS);
+    }
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * @param configuration the JDBC config source configuration
+     * @return the configured poll interval in seconds, 0 if the table is queried on each lookup or no datasource is
+     * configured
+     */
+    public static long getPollInterval(JDBCConfigSourceConfiguration configuration) {
+        String jndiName = configuration.getJndiName();
+        String pollInterval = configuration.getPollInterval();
+        if (jndiName == null || jndiName.trim().isEmpty() || pollInterval == null) {
+            return 0;
+        }
+        return Long.parseLong(pollInterval);
+    }
+
+    public String getValue(String propertyName) {
+        return values.get(propertyName);
+    }
+
+    public Map<String, String> getProperties() {
+        return values;
+    }
+
+    public void stop() {
+        if (poller != null) {
+            poller.cancel(false);
+        }
+    }
+
+    /**
+     * Reloads the table if it changed, keeping the previous snapshot if it cannot be read. Stops polling once the
+     * JDBC config source is disabled or its poll interval changed.
+     */
+    synchronized void refresh() {
+        if (getPollInterval(configuration) != pollInterval) {
+            stop();
+            configService.removeJDBCConfigSnapshot(this);
+            return;
+        }
+        Map<String, String> loaded;
+        try (JDBCConfigSourceHelper helper = new JDBCConfigSourceHelper(configuration)) {
+            if (!helper.isConnected()) {
+                return;
+            }
+            String currentVersion = helper.getVersion();
+            if (currentVersion != null && currentVersion.equals(version)) {
+                return;
+            }
+            loaded = helper.readAllConfigValues();
+            version = currentVersion;
+        } catch (SQLException | IOException ex) {
+            LOGGER.log(Level.WARNING, "Error reloading the JDBC config source table, keeping the previous values", ex);
+            return;
+        }
+
+        Map<String, String> previous = values;
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, String> entry : loaded.entrySet()) {
+            if (!Objects.equals(entry.getValue(), previous.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : previous.keySet()) {
+            if (!loaded.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        values = Collections.unmodifiableMap(loaded);
+        LOGGER.log(Level.FINE, "JDBC config source table reloaded, {0} properties changed", changed.size());
+        configService.clearCache(changed);
+    }
+}
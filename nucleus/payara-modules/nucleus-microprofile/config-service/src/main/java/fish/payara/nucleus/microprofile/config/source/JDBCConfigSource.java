@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -60,6 +60,10 @@ public class JDBCConfigSource extends PayaraConfigSource {
 
     @Override
     public Map<String, String> getProperties() {
+        JDBCConfigSnapshot snapshot = getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getProperties();
+        }
         JDBCConfigSourceHelper helper = getHelper();
         if (helper == null) {
             return null;
@@ -86,6 +90,10 @@ public class JDBCConfigSource extends PayaraConfigSource {
 
     @Override
     public String getValue(String propertyName) {
+        JDBCConfigSnapshot snapshot = getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getValue(propertyName);
+        }
         JDBCConfigSourceHelper helper = getHelper();
         if (helper == null) {
             return null;
@@ -106,6 +114,13 @@ public class JDBCConfigSource extends PayaraConfigSource {
         return "JDBC";
     }
 
+    private JDBCConfigSnapshot getSnapshot() {
+        if (config != null && configService != null) {
+            return configService.getJDBCConfigSnapshot(config);
+        }
+        return null;
+    }
+
     private JDBCConfigSourceHelper getHelper() {
         if (config != null) {
             return new JDBCConfigSourceHelper(config);
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -64,6 +64,7 @@ public class JDBCConfigSourceHelper implements Closeable {
 
     private final PreparedStatement selectOne;
     private final PreparedStatement selectAll;
+    private final PreparedStatement selectVersion;
 
     public JDBCConfigSourceHelper(JDBCConfigSourceConfiguration configuration) {
 
@@ -72,6 +73,7 @@ public class JDBCConfigSourceHelper implements Closeable {
         Connection connection = null;
         PreparedStatement selectOne = null;
         PreparedStatement selectAll = null;
+        PreparedStatement selectVersion = null;
 
         if (jdbcJNDIName != null && !jdbcJNDIName.trim().isEmpty()) {
             DataSource datasource = getDatasource(jdbcJNDIName);
@@ -81,10 +83,14 @@ public class JDBCConfigSourceHelper implements Closeable {
                 String valueColumn = configuration.getValueColumnName();
                 String queryOne = "select " + valueColumn + " from " + table + " where " + keyColumn + " = ?";
                 String queryAll = "select " + keyColumn + ", " + valueColumn + " from " + table;
+                String versionColumn = configuration.getVersionColumnName();
                 try {
                     connection = datasource.getConnection();
                     selectOne = connection.prepareStatement(queryOne);
                     selectAll = connection.prepareStatement(queryAll);
+                    if (versionColumn != null && !versionColumn.trim().isEmpty()) {
+                        selectVersion = connection.prepareStatement("select max(" + versionColumn + ") from " + table);
+                    }
                 } catch (SQLException ex) {
                     LOGGER.log(Level.WARNING, ex.getLocalizedMessage(), ex);
                 }
@@ -94,6 +100,14 @@ public class JDBCConfigSourceHelper implements Closeable {
         this.connection = connection;
         this.selectOne = selectOne;
         this.selectAll = selectAll;
+        this.selectVersion = selectVersion;
+    }
+
+    /**
+     * @return true if the statements could be prepared against the configured datasource
+     */
+    public boolean isConnected() {
+        return selectAll != null;
     }
 
     public synchronized String getConfigValue(String propertyName) {
@@ -112,20 +126,50 @@ public class JDBCConfigSourceHelper implements Closeable {
     }
 
     public synchronized Map<String, String> getAllConfigValues() {
-        Map<String, String> result = new HashMap<>();
         if (selectAll != null) {
             try {
-                ResultSet resultSet = selectAll.executeQuery();
-                while (resultSet.next()) {
-                    result.put(resultSet.getString(1), resultSet.getString(2));
-                }
+                return readAllConfigValues();
             } catch (SQLException ex) {
                 LOGGER.log(Level.WARNING, "Error in config source SQL execution", ex);
             }
         }
+        return new HashMap<>();
+    }
+
+    /**
+     * Reads the whole config table, failing rather than returning a partial result.
+     *
+     * @return all keys and values of the table
+     * @throws SQLException if the table could not be read or the datasource is not available
+     */
+    public synchronized Map<String, String> readAllConfigValues() throws SQLException {
+        if (selectAll == null) {
+            throw new SQLException("JDBC config source datasource is not available");
+        }
+        Map<String, String> result = new HashMap<>();
+        try (ResultSet resultSet = selectAll.executeQuery()) {
+            while (resultSet.next()) {
+                result.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        }
         return result;
     }
 
+    /**
+     * Reads the highest value of the configured change-version column.
+     *
+     * @return the current version of the table, or null if no version column is configured or the table is empty
+     * @throws SQLException if the version could not be read
+     */
+    public synchronized String getVersion() throws SQLException {
+        if (selectVersion == null) {
+            return null;
+        }
+        try (ResultSet resultSet = selectVersion.executeQuery()) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (connection != null) {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2023] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -63,10 +63,20 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import fish.payara.nucleus.events.HazelcastEvents;
 import fish.payara.nucleus.executorservice.PayaraExecutorService;
+import fish.payara.nucleus.hazelcast.HazelcastCore;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.spi.ConfigBuilder;
 import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
@@ -100,6 +110,7 @@ import fish.payara.nucleus.microprofile.config.converters.OptionalIntConverter;
 import fish.payara.nucleus.microprofile.config.converters.OptionalLongConverter;
 import fish.payara.nucleus.microprofile.config.converters.ShortConverter;
 import fish.payara.nucleus.microprofile.config.converters.StringConverter;
+import fish.payara.nucleus.microprofile.config.source.JDBCConfigSnapshot;
 import fish.payara.nucleus.microprofile.config.source.JDBCConfigSource;
 import fish.payara.nucleus.microprofile.config.source.ApplicationConfigSource;
 import fish.payara.nucleus.microprofile.config.source.ClusterConfigSource;
@@ -162,6 +173,15 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
     // a config used at the server level when there is no application associated with the thread
     private PayaraConfig serverLevelConfig;
 
+    // the polled snapshot of the JDBC config table shared by all JDBC config sources, null when not polling
+    private volatile JDBCConfigSnapshot jdbcConfigSnapshot;
+
+    // guards replacing the JDBC config snapshot, whose first load queries the database
+    private final Object jdbcConfigSnapshotLock = new Object();
+
+    // the Hazelcast instance the cluster config source changes are listened to on
+    private HazelcastInstance clusterConfigListenerInstance;
+
     @Inject
     private ExtensionConfigSourceService extensionService;
     
@@ -191,6 +211,7 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
         if (events != null) {
             events.register(this);
         }
+        listenToClusterConfigChanges();
     }
 
     public MicroprofileConfigConfiguration getMPConfig() {
@@ -314,6 +335,99 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
     public PayaraExecutorService getExecutor() {
         return this.executorService;
     }
+
+    /**
+     * Returns the snapshot of the JDBC config table, starting or restarting its polling when the configured poll
+     * interval changed and stopping it when the JDBC config source was disabled.
+     * <p>
+     * Loading a new snapshot queries the database. Only threads looking up the JDBC config snapshot wait for it, not
+     * the ones synchronizing on this resolver.
+     *
+     * @param jdbcConfig the JDBC config source configuration
+     * @return the shared snapshot, or null if the table is to be queried on each lookup
+     */
+    public JDBCConfigSnapshot getJDBCConfigSnapshot(JDBCConfigSourceConfiguration jdbcConfig) {
+        long pollInterval = JDBCConfigSnapshot.getPollInterval(jdbcConfig);
+        JDBCConfigSnapshot snapshot = jdbcConfigSnapshot;
+        if (snapshot == null ? pollInterval <= 0 : snapshot.getPollInterval() == pollInterval) {
+            return snapshot;
+        }
+        synchronized (jdbcConfigSnapshotLock) {
+            snapshot = jdbcConfigSnapshot;
+            if (snapshot == null ? pollInterval <= 0 : snapshot.getPollInterval() == pollInterval) {
+                return snapshot;
+            }
+            if (snapshot != null) {
+                snapshot.stop();
+                jdbcConfigSnapshot = null;
+            }
+            if (pollInterval > 0) {
+                snapshot = new JDBCConfigSnapshot(jdbcConfig, this, pollInterval);
+                jdbcConfigSnapshot = snapshot;
+            }
+            return jdbcConfigSnapshot;
+        }
+    }
+
+    /**
+     * Forgets the given JDBC config snapshot, which stopped polling because its configuration changed.
+     *
+     * @param snapshot the stopped snapshot
+     */
+    public void removeJDBCConfigSnapshot(JDBCConfigSnapshot snapshot) {
+        synchronized (jdbcConfigSnapshotLock) {
+            if (jdbcConfigSnapshot == snapshot) {
+                jdbcConfigSnapshot = null;
+            }
+        }
+    }
+
+    /**
+     * Stops polling the JDBC config table when the server shuts down.
+     */
+    @PreDestroy
+    public void preDestroy() {
+        synchronized (jdbcConfigSnapshotLock) {
+            if (jdbcConfigSnapshot != null) {
+                jdbcConfigSnapshot.stop();
+                jdbcConfigSnapshot = null;
+            }
+        }
+    }
+
+    /**
+     * Removes all cached values from the server level config and all application configs.
+     */
+    public void clearCache() {
+        if (serverLevelConfig != null) {
+            serverLevelConfig.clearCache();
+        }
+        for (String appName : applicationRegistry.getAllApplicationNames()) {
+            ApplicationInfo appInfo = applicationRegistry.get(appName);
+            PayaraConfig appConfig = appInfo == null ? null : appInfo.getTransientAppMetaData(METADATA_KEY, PayaraConfig.class);
+            if (appConfig != null) {
+                appConfig.clearCache();
+            }
+        }
+    }
+
+    /**
+     * Removes the cached values of the given properties from the server level config and all application configs.
+     *
+     * @param propertyNames names of the properties that changed
+     */
+    public void clearCache(Set<String> propertyNames) {
+        if (serverLevelConfig != null) {
+            serverLevelConfig.clearCache(propertyNames);
+        }
+        for (String appName : applicationRegistry.getAllApplicationNames()) {
+            ApplicationInfo appInfo = applicationRegistry.get(appName);
+            PayaraConfig appConfig = appInfo == null ? null : appInfo.getTransientAppMetaData(METADATA_KEY, PayaraConfig.class);
+            if (appConfig != null) {
+                appConfig.clearCache(propertyNames);
+            }
+        }
+    }
     
     Config getNamedConfig(String applicationName) {
         Config result = null;
@@ -551,17 +665,51 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
     @Override
     public void event(Event<?> event) {
         if (event.is(EventTypes.SERVER_STARTUP)) {
-            if (serverLevelConfig != null) {
-                serverLevelConfig.clearCache();
-            }
-            for (String appName : applicationRegistry.getAllApplicationNames()) {
-                PayaraConfig appConfig = applicationRegistry.get(appName).getTransientAppMetaData(METADATA_KEY, PayaraConfig.class);
-                //Server will have already populated cache in deployment before this point,
-                //cache needs clearing as config extensions have not yet been loaded and may have values
-                if (appConfig != null) {
-                    appConfig.clearCache();
-                }
-            }
+            //Server will have already populated cache in deployment before this point,
+            //cache needs clearing as config extensions have not yet been loaded and may have values
+            clearCache();
+        }
+        if (event.is(HazelcastEvents.HAZELCAST_BOOTSTRAP_COMPLETE)) {
+            listenToClusterConfigChanges();
+        }
+    }
+
+    /**
+     * Evicts cached values when a property of the {@link ClusterConfigSource} is changed by any cluster member.
+     */
+    private synchronized void listenToClusterConfigChanges() {
+        HazelcastCore hazelcast = HazelcastCore.getCore();
+        if (hazelcast == null || !hazelcast.isEnabled()) {
+            return;
+        }
+        HazelcastInstance instance = hazelcast.getInstance();
+        if (instance != null && instance != clusterConfigListenerInstance) {
+            instance.getMap(ClusterConfigSource.CLUSTERED_CONFIG_STORE).addEntryListener(new ClusterConfigListener(), false);
+            clusterConfigListenerInstance = instance;
+        }
+    }
+
+    private final class ClusterConfigListener implements EntryAddedListener<Object, Object>,
+            EntryUpdatedListener<Object, Object>, EntryRemovedListener<Object, Object>, MapClearedListener {
+
+        @Override
+        public void entryAdded(EntryEvent<Object, Object> event) {
+            clearCache(Collections.singleton(String.valueOf(event.getKey())));
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Object, Object> event) {
+            clearCache(Collections.singleton(String.valueOf(event.getKey())));
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<Object, Object> event) {
+            clearCache(Collections.singleton(String.valueOf(event.getKey())));
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            clearCache();
         }
     }
 
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -62,4 +62,19 @@ public interface JDBCConfigSourceConfiguration extends ConfigBeanProxy, ConfigEx
     @Attribute(required = true)
     String getValueColumnName();
     void setValueColumnName(String valueColumName);
+
+    /**
+     * @return seconds between reloads of the snapshot of the whole table, 0 to query the table on each lookup
+     */
+    @Attribute(defaultValue = "0", dataType = Integer.class)
+    String getPollInterval();
+    void setPollInterval(String pollInterval);
+
+    /**
+     * @return optional column whose maximum value changes whenever the table is updated. When set, the
+     * snapshot is only reloaded if that value changed since the last poll.
+     */
+    @Attribute
+    String getVersionColumnName();
+    void setVersionColumnName(String versionColumnName);
 }
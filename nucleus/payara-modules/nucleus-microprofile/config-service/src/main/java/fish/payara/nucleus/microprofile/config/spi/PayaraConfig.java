@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -50,6 +50,7 @@ import org.eclipse.microprofile.config.spi.Converter;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -58,7 +59,6 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
-import static fish.payara.nucleus.microprofile.config.spi.ConfigValueResolverImpl.getCacheKey;
 import static fish.payara.nucleus.microprofile.config.spi.ConfigValueResolverImpl.throwWhenNotExists;
 import static java.lang.System.currentTimeMillis;
 import java.util.logging.Level;
@@ -83,13 +83,24 @@ public class PayaraConfig implements Config {
     private static final Logger log = Logger.getLogger(PayaraConfig.class.getName());
 
     private static final class CacheEntry {
+        final String propertyName;
         final ConfigValueImpl value;
         final long expires;
 
-        CacheEntry(ConfigValueImpl value, long expires) {
+        CacheEntry(String propertyName, ConfigValueImpl value, long expires) {
+            this.propertyName = propertyName;
             this.value = value;
             this.expires = expires;
         }
+
+        boolean dependsOn(Set<String> propertyNames) {
+            if (propertyNames.contains(propertyName)) {
+                return true;
+            }
+            // a value resolved from an expression may reference any of the changed properties
+            String rawValue = value.getRawValue();
+            return rawValue != null && rawValue.contains("${");
+        }
     }
 
     private final List<ConfigSource> sources;
@@ -97,6 +108,8 @@ public class PayaraConfig implements Config {
     private final long defaultCacheDurationMilliSeconds;
 
     private final Map<String, CacheEntry> cachedValuesByProperty = new ConcurrentHashMap<>();
+    // values looked up without default and with the configured TTL, by property type and then property name
+    private final Map<Class<?>, Map<String, CacheEntry>> cachedValuesByType = new ConcurrentHashMap<>();
 
     private volatile long configuredCacheDurationMilliSeconds;
     private volatile long configuredCacheDurationMilliSecondsExpires = 0; // force value reload at start
@@ -191,13 +204,29 @@ public class PayaraConfig implements Config {
     @SuppressWarnings("unchecked")
     private <T> T getValueInternal(String propertyName, Class<T> propertyType, ConfigValueType type) {
         if (propertyType == ConfigValue.class) {
-            return (T) getConfigValue(propertyName, getCacheKey(propertyName, propertyType), null, null, type);
+            return (T) getCachedConfigValue(propertyName, propertyType, type);
         }
         Optional<Converter<T>> converter = getConverter(propertyType);
         if (!converter.isPresent()) {
             throw new IllegalArgumentException("Unable to convert value to type " + propertyType.getName());
         }
-        return getValue(propertyName, getCacheKey(propertyName, propertyType), null, null, () -> converter);
+        return convertValue(getCachedConfigValue(propertyName, propertyType, ConfigValueType.NORMAL), null, converter);
+    }
+
+    /**
+     * Same as {@link #getConfigValue(String, String, Long, String, ConfigValueType)} without default value and with
+     * the configured TTL, but without building a cache key.
+     */
+    private ConfigValueImpl getCachedConfigValue(String propertyName, Class<?> propertyType, ConfigValueType type) {
+        long entryTTL = getCacheDurationMilliSeconds();
+        if (entryTTL <= 0) {
+            return searchConfigSources(propertyName, null);
+        }
+        Map<String, CacheEntry> cachedValues = cachedValuesByType.get(propertyType);
+        if (cachedValues == null) {
+            cachedValues = cachedValuesByType.computeIfAbsent(propertyType, key -> new ConcurrentHashMap<>());
+        }
+        return getCachedConfigValue(cachedValues, propertyName, propertyName, entryTTL, null, type);
     }
 
     @Override
@@ -237,10 +266,15 @@ public class PayaraConfig implements Config {
         }
 
         final String entryKey = cacheKey + (defaultValue != null ? ":" + defaultValue : "") + ":" + (entryTTL / 1000) + "s";
+        return getCachedConfigValue(cachedValuesByProperty, entryKey, propertyName, entryTTL, defaultValue, type);
+    }
+
+    private ConfigValueImpl getCachedConfigValue(Map<String, CacheEntry> cachedValues, String entryKey,
+            String propertyName, long entryTTL, String defaultValue, ConfigValueType type) {
         final long now = currentTimeMillis();
         long expires = now + entryTTL;
 
-        CacheEntry cacheEntry = cachedValuesByProperty.get(entryKey);
+        CacheEntry cacheEntry = cachedValues.get(entryKey);
         // entry found and valid
         if (cacheEntry != null && now < cacheEntry.expires) {
             return cacheEntry.value;
@@ -249,9 +283,9 @@ public class PayaraConfig implements Config {
         boolean isExpansionEnabled = isExpansionEnabled(propertyName);
         // searchConfigSources can cause recursive call to getConfigValue when expansion is enabled
         ConfigValueImpl newValue = searchConfigSources(propertyName, defaultValue, isExpansionEnabled, type);
-        CacheEntry newCacheEntry = new CacheEntry(newValue, expires);
+        CacheEntry newCacheEntry = new CacheEntry(propertyName, newValue, expires);
         // put the new cache entry, if there is not a newer value from other thread
-        cacheEntry = cachedValuesByProperty.compute(entryKey, (key, entry) -> {
+        cacheEntry = cachedValues.compute(entryKey, (key, entry) -> {
             if (entry != null && newCacheEntry.expires < entry.expires) {
                 return entry;
             }
@@ -313,6 +347,37 @@ public class PayaraConfig implements Config {
     
     public void clearCache() {
         cachedValuesByProperty.clear();
+        cachedValuesByType.clear();
+        configuredCacheDurationMilliSecondsExpires = 0;
+    }
+
+    /**
+     * Removes only the cached values of the given properties, and of any property whose value is an expression.
+     *
+     * @param propertyNames names of the properties that changed, possibly prefixed with a profile
+     */
+    public void clearCache(Set<String> propertyNames) {
+        if (propertyNames.isEmpty()) {
+            return;
+        }
+        if (propertyNames.contains(MP_CONFIG_CACHE_DURATION) || propertyNames.contains(MP_CONFIG_EXPANSION_ENABLED_STRING)) {
+            // affects how every value is cached or resolved
+            clearCache();
+            return;
+        }
+        Set<String> names = new HashSet<>(propertyNames);
+        if (profile != null) {
+            String profilePrefix = "%" + profile + ".";
+            for (String propertyName : propertyNames) {
+                if (propertyName.startsWith(profilePrefix)) {
+                    names.add(propertyName.substring(profilePrefix.length()));
+                }
+            }
+        }
+        cachedValuesByProperty.values().removeIf(entry -> entry.dependsOn(names));
+        for (Map<String, CacheEntry> cachedValues : cachedValuesByType.values()) {
+            cachedValues.values().removeIf(entry -> entry.dependsOn(names));
+        }
     }
 
     private <E> Optional<Converter<Object>> createArrayConverter(Class<E> elementType) {
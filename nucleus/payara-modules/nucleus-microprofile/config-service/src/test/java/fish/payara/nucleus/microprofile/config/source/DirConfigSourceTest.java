@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -69,6 +69,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DirConfigSourceTest {
@@ -364,6 +366,7 @@ public class DirConfigSourceTest {
         source.removePropertyFromPath(subpath( "foo", "bar", "test"));
         // then
         assertTrue(source.getValue(property) == null);
+        verify(configService).clearCache(Collections.singleton(property));
         
     }
     
@@ -395,6 +398,7 @@ public class DirConfigSourceTest {
         BasicFileAttributes attsUpdate = writeFile(sut, "foobar2");
         assertEquals(true, source.upsertPropertyFromPath(sut, attsUpdate));
         assertEquals("foobar2", source.getValue("aptdir.sut-upsert-property-update"));
+        verify(configService, times(2)).clearCache(Collections.singleton("aptdir.sut-upsert-property-update"));
     }
     
     @Test
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2020-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -178,6 +178,33 @@ public class PayaraConfigTest {
         assertEquals("TTL <= 0 is still changed", "changed1", config.getValue("key1", String.class));
     }
 
+    @Test
+    public void clearCacheEvictsOnlyChangedProperties() {
+        PayaraConfig config = new PayaraConfig(asList(source1, source2), emptyMap(), 60_000L);
+        source1.getProperties().put("ref", "${key2}");
+        assertEquals("value1", config.getValue("key1", String.class));
+        assertEquals("value2", config.getValue("key2", String.class));
+        assertEquals("value2", config.getValue("ref", String.class));
+        source1.getProperties().put("key1", "changed1");
+        source2.getProperties().put("key2", "changed2");
+        config.clearCache(new HashSet<>(asList("key2")));
+        assertEquals("value1", config.getValue("key1", String.class));
+        assertEquals("changed2", config.getValue("key2", String.class));
+        assertEquals("changed2", config.getValue("ref", String.class));
+    }
+
+    @Test
+    public void clearCacheOfCacheDurationEvictsAllProperties() {
+        PayaraConfig config = new PayaraConfig(asList(source1, source2), emptyMap(), 60_000L);
+        assertEquals("value1", config.getValue("key1", String.class));
+        assertEquals(Integer.valueOf(2), config.getValue("int2", Integer.class));
+        source1.getProperties().put("key1", "changed1");
+        source2.getProperties().put("int2", "4");
+        config.clearCache(new HashSet<>(asList("mp.config.cache.duration")));
+        assertEquals("changed1", config.getValue("key1", String.class));
+        assertEquals(Integer.valueOf(4), config.getValue("int2", Integer.class));
+    }
+
     @Test
     public void undefinedPropertyThrowsException() {
         assertException(NoSuchElementException.class, "Unable to find property with name undefined",